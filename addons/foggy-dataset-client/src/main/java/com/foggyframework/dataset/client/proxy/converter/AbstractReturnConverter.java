@@ -1,9 +1,9 @@
 package com.foggyframework.dataset.client.proxy.converter;
 
-import com.foggyframework.core.ex.RX;
 import com.foggyframework.core.utils.StringUtils;
 import com.foggyframework.core.utils.beanhelper.BeanInfoHelper;
 import com.foggyframework.core.utils.beanhelper.BeanProperty;
+import com.foggyframework.dataset.resultset.spring.BeanRowMapperFactory;
 import com.foggyframework.dataset.resultset.spring.ComplexBeanRowMapper;
 import com.foggyframework.dataset.resultset.spring.JavaColumnNameFixRowMapper;
 import org.springframework.jdbc.core.RowMapper;
@@ -49,34 +49,27 @@ public abstract class AbstractReturnConverter<T> implements ReturnConverter {
         if (cls == null) {
             return queryMap;
         }
-        try {
-            Object inst = cls.newInstance();
-            BeanInfoHelper info = BeanInfoHelper.getClassHelper(cls);
+        Object inst = BeanRowMapperFactory.newInstance(cls);
+        BeanInfoHelper info = BeanInfoHelper.getClassHelper(cls);
 
-            for (Map.Entry<String, Object> e : queryMap.entrySet()) {
-                String name = e.getKey();
-                BeanProperty beanProperty = info.getBeanProperty(name);
-                if (beanProperty == null) {
-                    continue;
-                }
+        for (Map.Entry<String, Object> e : queryMap.entrySet()) {
+            String name = e.getKey();
+            BeanProperty beanProperty = info.getBeanProperty(name);
+            if (beanProperty == null) {
+                continue;
+            }
+            if (beanProperty.hasWriter()) {
+                beanProperty.setBeanValue(inst, e.getValue());
+            }
+            if (name.indexOf("_") > 0) {
+                String toName = StringUtils.to(name);
+                beanProperty = info.getBeanProperty(toName);
                 if (beanProperty.hasWriter()) {
                     beanProperty.setBeanValue(inst, e.getValue());
                 }
-                if (name.indexOf("_") > 0) {
-                    String toName = StringUtils.to(name);
-                    beanProperty = info.getBeanProperty(toName);
-                    if (beanProperty.hasWriter()) {
-                        beanProperty.setBeanValue(inst, e.getValue());
-                    }
-                }
             }
-            return inst;
-
-        } catch (InstantiationException e) {
-            throw RX.throwB(e);
-        } catch (IllegalAccessException e) {
-            throw RX.throwB(e);
         }
+        return inst;
     }
 
     @Override
@@ -0,0 +1,100 @@
+package com.foggyframework.core.utils.beanhelper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 为getter/setter生成调用
+ * <p>优先使用 LambdaMetafactory（JDK 生成隐藏类，JIT可内联），无法生成时（如跨模块无私有访问权限）使用 MethodHandle，
+ * 都不可用时返回null，由调用方继续走 Method.invoke。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+final class BeanAccessors {
+
+    private BeanAccessors() {
+    }
+
+    static Function<Object, Object> reader(Method m) {
+        if (m == null || Modifier.isStatic(m.getModifiers()) || m.getParameterCount() != 0) {
+            return null;
+        }
+        Class<?> owner = m.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle mh = lookup.unreflect(m);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), mh,
+                    MethodType.methodType(BeanInfoHelper.getPrimitiveClass(m.getReturnType()), owner));
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable t) {
+            if (log.isDebugEnabled()) {
+                log.debug("无法为" + m + "生成lambda，使用MethodHandle: " + t.getMessage());
+            }
+        }
+        try {
+            MethodHandle mh = MethodHandles.publicLookup().unreflect(m)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return bean -> {
+                try {
+                    return mh.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw BeanAccessors.<RuntimeException>sneakyThrow(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    static BiConsumer<Object, Object> writer(Method m) {
+        if (m == null || Modifier.isStatic(m.getModifiers()) || m.getParameterCount() != 1) {
+            return null;
+        }
+        Class<?> owner = m.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+            MethodHandle mh = lookup.unreflect(m);
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), mh,
+                    MethodType.methodType(void.class, owner, BeanInfoHelper.getPrimitiveClass(m.getParameterTypes()[0])));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable t) {
+            if (log.isDebugEnabled()) {
+                log.debug("无法为" + m + "生成lambda，使用MethodHandle: " + t.getMessage());
+            }
+        }
+        try {
+            // 链式setter的返回值直接丢弃
+            MethodHandle mh = MethodHandles.publicLookup().unreflect(m)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (bean, value) -> {
+                try {
+                    mh.invokeExact(bean, value);
+                } catch (Throwable e) {
+                    throw BeanAccessors.<RuntimeException>sneakyThrow(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * getter/setter抛出的受检异常原样抛出，由调用方按反射时的方式包装
+     */
+    private static <E extends Throwable> E sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+}
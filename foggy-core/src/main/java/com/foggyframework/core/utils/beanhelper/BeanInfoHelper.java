@@ -26,6 +26,7 @@ import java.math.BigDecimal;
 import java.net.URL;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 从2013-02-28开始支持对Element返回BeanInfoHelper（根据XSD配置决定其属性）， 同时建议在能够拿到bean实例的情况下使用
@@ -133,7 +134,7 @@ public class BeanInfoHelper {
 //				System.err.println("6678u6ytresdfg");
 //			}
             formatter = RequestBeanInjecter.getInstance().getObjectTransFormatter(type);
-
+            initAccessors();
         }
 
         @Override
@@ -230,7 +231,7 @@ public class BeanInfoHelper {
 
     static class MapBeanInfoHelper extends BeanInfoHelper {
 
-        Map<String, BeanProperty> mapBp = new HashMap<String, BeanProperty>();
+        Map<String, BeanProperty> mapBp = new ConcurrentHashMap<String, BeanProperty>();
 
         MapBeanInfoHelper(Class<?> cls) {
             super(cls);
@@ -240,13 +241,7 @@ public class BeanInfoHelper {
         public BeanProperty getBeanProperty(String name, boolean errorIfNotFound) {
             BeanProperty bp = mapBp.get(name);
             if (bp == null) {
-                synchronized (this) {
-                    bp = mapBp.get(name);
-                    if (bp == null) {
-                        bp = new MapItemBeanProperty(name);
-                        mapBp.put(name, bp);
-                    }
-                }
+                bp = mapBp.computeIfAbsent(name, MapItemBeanProperty::new);
             }
             return bp;
         }
@@ -399,7 +394,20 @@ public class BeanInfoHelper {
 
     static final MapBeanInfoHelper shareMapBeanInfoHelper = new MapBeanInfoHelper(HashMap.class);
 
-    private static final Map<Class, BeanInfoHelper> clsMap = new HashMap<Class, BeanInfoHelper>();
+    /**
+     * 类元数据缓存，读取不加锁；类卸载时随Class一起回收
+     */
+    private static final ClassValue<BeanInfoHelper> clsHelpers = new ClassValue<BeanInfoHelper>() {
+        @Override
+        protected BeanInfoHelper computeValue(Class<?> clazz) {
+            if (Map.class.isAssignableFrom(clazz)) {
+                return new MapBeanInfoHelper(clazz);
+            } else if (clazz.isArray()) {
+                return new ArrayBeanInfoHelper(clazz);
+            }
+            return new BeanInfoHelper(clazz);
+        }
+    };
 
 //	private static Map<String, ElementBeanInfoHelper> cache = new HashMap<String, ElementBeanInfoHelper>();
 
@@ -447,27 +455,7 @@ public class BeanInfoHelper {
         if (clazz == null) {
             throw new RuntimeException("clazz can't be null");
         }
-        BeanInfoHelper ec = null;
-        try {
-            synchronized (clazz) {
-                if (BeanInfoHelper.clsMap.containsKey(clazz)) {
-                    ec = BeanInfoHelper.clsMap.get(clazz);
-                } else {
-                    if (Map.class.isAssignableFrom(clazz)) {
-                        ec = new MapBeanInfoHelper(clazz);
-                    } else if (clazz.isArray()) {
-                        ec = new ArrayBeanInfoHelper(clazz);
-                    } else {
-                        ec = new BeanInfoHelper(clazz);
-                    }
-
-                    BeanInfoHelper.clsMap.put(clazz, ec);
-                }
-            }
-        } catch (RuntimeException e) {
-            throw e;
-        }
-        return ec;
+        return clsHelpers.get(clazz);
     }
 
     public final static BeanInfoHelper getClassHelperByType(final Type type) {
@@ -708,8 +696,9 @@ public class BeanInfoHelper {
     }
 
     public BeanProperty getBeanProperty(String name, boolean errorIfNotFound) {
-        if (nameToItems.containsKey(name))
-            return nameToItems.get(name);
+        BeanProperty bp = nameToItems.get(name);
+        if (bp != null)
+            return bp;
         else if (errorIfNotFound) {
 //            if(this.clazz.isArray()&& StringUtils.equals(name,"length")){
 ////                String
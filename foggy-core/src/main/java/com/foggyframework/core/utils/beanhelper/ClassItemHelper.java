@@ -21,6 +21,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Date;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * java.lang.reflect.Field 代理 应当还可以代理Method
@@ -42,6 +44,20 @@ abstract class ClassItemHelper {
 
     protected ObjectTransFormatter<?> formatter;
 
+    /**
+     * 生成的getter/setter调用，为null时走反射
+     */
+    private Function<Object, Object> reader;
+    private Class<?> readerOwner;
+
+    private BiConsumer<Object, Object> writer;
+    private Class<?> writerOwner;
+    /**
+     * setter参数的包装类型
+     */
+    private Class<?> writerParamType;
+    private boolean writerParamPrimitive;
+
     ClassItemHelper(final BeanInfoHelper entityClass, final AccessibleObject f) {
         this.entityClass = entityClass;
         item = f;
@@ -56,6 +72,21 @@ abstract class ClassItemHelper {
         }
     }
 
+    /**
+     * readerMethod、writerMehod确定后调用
+     */
+    protected void initAccessors() {
+        reader = BeanAccessors.reader(readerMethod);
+        readerOwner = reader == null ? null : readerMethod.getDeclaringClass();
+        writer = BeanAccessors.writer(writerMehod);
+        if (writer != null) {
+            writerOwner = writerMehod.getDeclaringClass();
+            Class<?> p = writerMehod.getParameterTypes()[0];
+            writerParamPrimitive = p.isPrimitive();
+            writerParamType = BeanInfoHelper.getPrimitiveClass(p);
+        }
+    }
+
     public Object format(Object v) {
         if (formatter != null) {
             return formatter.format(v);
@@ -68,6 +99,14 @@ abstract class ClassItemHelper {
     }
 
     public final Object getBeanValue(final Object bean) {
+        if (reader != null && readerOwner.isInstance(bean)) {
+            try {
+                return reader.apply(bean);
+            } catch (final Throwable e) {
+                // 与Method.invoke一致，getter内部的异常按InvocationTargetException处理
+                throw readError(bean, new InvocationTargetException(e));
+            }
+        }
         try {
 
             return readerMethod.invoke(bean);
@@ -93,15 +132,19 @@ abstract class ClassItemHelper {
             /*****************************************************************/
             throw RX.throwB("读取bean:[" + bean + "]的属性:[" + (item == null ? readerMethod : item) + "]时出现异常。", x);
         } catch (final Exception e) {
-            String msg = "读取bean:[" + bean + "]的属性:[" + (item == null ? readerMethod : item) + "]时出现异常。" + ErrorUtils.getMessage(e);
-            log.error(msg);
+            throw readError(bean, e);
+        }
+    }
+
+    private RuntimeException readError(final Object bean, final Exception e) {
+        String msg = "读取bean:[" + bean + "]的属性:[" + (item == null ? readerMethod : item) + "]时出现异常。" + ErrorUtils.getMessage(e);
+        log.error(msg);
 //			if(e instanceof ExRuntimeExceptionImpl){
 //				throw (ExRuntimeExceptionImpl)e;
 //			}
-            ErrorUtils.throwIfExRuntimeExceptionImpl(e);
-            // e.printStackTrace();
-            throw RX.throwB("读取bean:[" + bean + "]的属性:[" + (item == null ? readerMethod : item) + "]时出现异常。" + ErrorUtils.getMessage(e), ErrorUtils.toRuntimeException(e));
-        }
+        ErrorUtils.throwIfExRuntimeExceptionImpl(e);
+        // e.printStackTrace();
+        return RX.throwB("读取bean:[" + bean + "]的属性:[" + (item == null ? readerMethod : item) + "]时出现异常。" + ErrorUtils.getMessage(e), ErrorUtils.toRuntimeException(e));
     }
 
 
@@ -207,6 +250,20 @@ abstract class ClassItemHelper {
             }
         }
 
+        // 参数类型不匹配（含null传给基本类型）时走反射，保持原有的异常处理
+        if (writer != null && writerOwner.isInstance(bean)
+                && (value == null ? !writerParamPrimitive : writerParamType.isInstance(value))) {
+            try {
+                writer.accept(bean, value);
+            } catch (final Throwable e) {
+                if (errorIfFaild) {
+                    log.error(" call setter [" + writerMehod + "] has error :" + e.getMessage());
+                    throw ErrorUtils.toRuntimeException(e);
+                }
+            }
+            return;
+        }
+
         if (writerMehod == null) {
             // 尝试通过Field注入
             Field f = getField();
@@ -11,14 +11,19 @@ package com.foggyframework.core.utils.file;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * 
  * 跟踪文件变化事件,但不会跟踪到文件重命名.
+ * <p>优先通过 {@link FileWatcher} 按目录监听，文件变化后立即通知；目录无法监听时退回每2秒轮询一次修改时间。
  * 
  * @author Foggy
  * 
@@ -165,21 +170,80 @@ public class FileTracer {
 
 	private static final Scaner scaner = new Scaner();
 
-	static {
-		new Timer().schedule(scaner, 0, 2000);
+	private static volatile boolean scanerStarted;
+
+	/**
+	 * 只有存在需要轮询的文件时才启动定时器
+	 */
+	private static void startScaner() {
+		if (scanerStarted) {
+			return;
+		}
+		synchronized (Scaner.class) {
+			if (!scanerStarted) {
+				new Timer("foggy-file-tracer", true).schedule(scaner, 0, 2000);
+				scanerStarted = true;
+			}
+		}
 	}
 
 	final FileChangeListener listener;// new ArrayList<FileChangeListener>();
 
+	/**
+	 * 通过目录监听跟踪的文件及其修改时间，key 与 {@link FileWatcher} 上报的路径一样取 toAbsolutePath().normalize()
+	 */
+	private final Map<Path, Long> watchedFiles = new ConcurrentHashMap<>();
+
+	private final Consumer<Path> dirListener = this::onPathChanged;
+
 	public FileTracer(FileChangeListener listener) {
 		super();
 		this.listener = listener;
 	}
 
 	public void addFile(File f) {
+		Path file = f.toPath().toAbsolutePath().normalize();
+		Path dir = file.getParent();
+		if (dir != null && FileWatcher.getInstance().watch(dir, dirListener)) {
+			watchedFiles.putIfAbsent(file, file.toFile().lastModified());
+			return;
+		}
+		startScaner();
 		scaner.addFile(this, f);
 	}
 
+	/**
+	 * 目录监听收到变化，path为目录本身时(事件丢失或目录被删除)检查该目录下所有跟踪的文件
+	 */
+	private void onPathChanged(Path path) {
+		Path changed = path.toAbsolutePath().normalize();
+		if (watchedFiles.containsKey(changed)) {
+			check(changed);
+			return;
+		}
+		for (Path file : watchedFiles.keySet()) {
+			if (changed.equals(file.getParent())) {
+				check(file);
+			}
+		}
+	}
+
+	private void check(Path path) {
+		Long modifyTime = watchedFiles.get(path);
+		if (modifyTime == null) {
+			return;
+		}
+		File file = path.toFile();
+		if (!file.exists()) {
+			watchedFiles.remove(path);
+			fileDeleted(file);
+		} else if (modifyTime != file.lastModified()) {
+			watchedFiles.put(path, file.lastModified());
+			log.debug("File : [" + file.getName() + "] changed");
+			fileChanged(file);
+		}
+	}
+
 	public void addFile(String f) {
 		addFile(new File(f));
 	}
@@ -0,0 +1,177 @@
+package com.foggyframework.core.utils.file;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * 基于 {@link WatchService} 的目录监听
+ * <p>按目录注册，目录下的文件新增、修改、删除时通知监听者。同一路径在 {@link #DEBOUNCE_MILLIS} 内的多次事件合并为一次，
+ * 编辑器保存时产生的一连串事件只触发一次通知。空闲时没有任何轮询开销。
+ * <p>WatchService不可用（或设置了系统属性 foggy.file.watch=false）时 {@link #watch} 返回false，调用方自行退回轮询。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public final class FileWatcher {
+
+	public static final long DEBOUNCE_MILLIS = 100;
+
+	private static volatile FileWatcher instance;
+
+	private final WatchService watchService;
+
+	private final Map<Path, WatchKey> dir2Key = new ConcurrentHashMap<>();
+
+	private final Map<Path, List<Consumer<Path>>> dir2Listeners = new ConcurrentHashMap<>();
+
+	/**
+	 * 等待合并的事件，key为发生变化的路径
+	 */
+	private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService scheduler;
+
+	private FileWatcher(WatchService watchService) {
+		this.watchService = watchService;
+		if (watchService == null) {
+			scheduler = null;
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "foggy-file-watcher-notify");
+			t.setDaemon(true);
+			return t;
+		});
+		Thread t = new Thread(this::loop, "foggy-file-watcher");
+		t.setDaemon(true);
+		t.start();
+	}
+
+	public static FileWatcher getInstance() {
+		FileWatcher w = instance;
+		if (w == null) {
+			synchronized (FileWatcher.class) {
+				w = instance;
+				if (w == null) {
+					w = new FileWatcher(newWatchService());
+					instance = w;
+				}
+			}
+		}
+		return w;
+	}
+
+	private static WatchService newWatchService() {
+		if ("false".equalsIgnoreCase(System.getProperty("foggy.file.watch"))) {
+			log.info("已关闭文件监听(foggy.file.watch=false)，使用轮询");
+			return null;
+		}
+		try {
+			return FileSystems.getDefault().newWatchService();
+		} catch (Throwable t) {
+			log.warn("WatchService不可用，使用轮询: {}", t.getMessage());
+			return null;
+		}
+	}
+
+	public boolean isSupported() {
+		return watchService != null;
+	}
+
+	/**
+	 * 监听目录（不含子目录），同一个监听者重复注册只生效一次
+	 *
+	 * @param dir      目录
+	 * @param listener 收到变化的路径；事件丢失(OVERFLOW)时收到目录本身
+	 * @return 注册成功返回true，不支持或注册失败返回false
+	 */
+	public boolean watch(Path dir, Consumer<Path> listener) {
+		if (watchService == null || dir == null) {
+			return false;
+		}
+		Path key = dir.toAbsolutePath().normalize();
+		try {
+			dir2Key.computeIfAbsent(key, k -> {
+				try {
+					return k.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+							StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+				} catch (IOException e) {
+					throw new CompletionException(e);
+				}
+			});
+		} catch (CompletionException | UnsupportedOperationException e) {
+			log.warn("无法监听目录 {}: {}", key, e.getMessage());
+			return false;
+		}
+		List<Consumer<Path>> listeners = dir2Listeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+		if (!listeners.contains(listener)) {
+			listeners.add(listener);
+		}
+		return true;
+	}
+
+	public void unwatch(Path dir, Consumer<Path> listener) {
+		if (dir == null) {
+			return;
+		}
+		List<Consumer<Path>> listeners = dir2Listeners.get(dir.toAbsolutePath().normalize());
+		if (listeners != null) {
+			listeners.remove(listener);
+		}
+	}
+
+	private void loop() {
+		while (true) {
+			WatchKey key;
+			try {
+				key = watchService.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			Path dir = (Path) key.watchable();
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					schedule(dir, dir);
+				} else {
+					schedule(dir, dir.resolve((Path) event.context()));
+				}
+			}
+			if (!key.reset()) {
+				// 目录已被删除
+				dir2Key.remove(dir);
+				schedule(dir, dir);
+			}
+		}
+	}
+
+	private void schedule(Path dir, Path path) {
+		pending.compute(path, (k, old) -> {
+			if (old != null) {
+				old.cancel(false);
+			}
+			return scheduler.schedule(() -> notify(dir, path), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+		});
+	}
+
+	private void notify(Path dir, Path path) {
+		pending.remove(path);
+		List<Consumer<Path>> listeners = dir2Listeners.get(dir);
+		if (listeners == null) {
+			return;
+		}
+		for (Consumer<Path> listener : listeners) {
+			try {
+				listener.accept(path);
+			} catch (Throwable t) {
+				log.error("处理文件变化 {} 时出错", path, t);
+			}
+		}
+	}
+}
@@ -38,6 +38,12 @@ public class PagingResultImpl<T> implements PagingResult<T> {
     @ApiModelProperty(value = "汇总数据",notes = "应jdbc-model版本，加入汇总数据项，用于返回除了数量之外的其他汇总信息")
     Object totalData;
 
+    @ApiModelProperty(value = "下一页游标", notes = "仅游标分页时返回，为空表示没有更多数据")
+    String cursor;
+
+    @ApiModelProperty(value = "总条数是否为估算值", notes = "查询模型使用估算总数策略时为 true，此时汇总数据中只有总条数")
+    boolean totalApproximate;
+
     public PagingResultImpl(boolean hasNext, int start, int limit, List items) {
         super();
         this.hasNext = hasNext;
@@ -179,4 +185,20 @@ public class PagingResultImpl<T> implements PagingResult<T> {
     public void setTotalData(Object totalData) {
         this.totalData = totalData;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isTotalApproximate() {
+        return totalApproximate;
+    }
+
+    public void setTotalApproximate(boolean totalApproximate) {
+        this.totalApproximate = totalApproximate;
+    }
 }
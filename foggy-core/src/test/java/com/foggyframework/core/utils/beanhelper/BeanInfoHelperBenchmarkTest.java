@@ -0,0 +1,134 @@
+package com.foggyframework.core.utils.beanhelper;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BeanInfoHelper 多线程吞吐量对比：synchronized(clazz) + HashMap + Method.invoke 与 ClassValue + 生成的getter/setter
+ * <p>每次操作取一次类元数据、读写各一个属性。按 JMH 的方式先预热再分轮测量，输出每轮的 ops/ms。默认不执行，使用以下命令运行：
+ * <pre>
+ * mvn test -pl foggy-core -Dtest=BeanInfoHelperBenchmarkTest -Dfoggy.benchmark=true
+ * </pre>
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("BeanInfoHelper 多线程吞吐量对比")
+@EnabledIfSystemProperty(named = "foggy.benchmark", matches = "true")
+class BeanInfoHelperBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_MILLIS = 1000;
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    @Data
+    public static class Bean {
+        private Long id;
+        private String name;
+    }
+
+    interface Op {
+        void run(Bean bean) throws Exception;
+    }
+
+    /**
+     * 原有实现：每次调用都进入 synchronized(clazz) 读 HashMap，通过 Method.invoke 读写
+     */
+    static final class LegacyHelper {
+        private static final Map<Class<?>, LegacyHelper> CACHE = new HashMap<>();
+        final Map<String, Method[]> accessors = new HashMap<>();
+
+        LegacyHelper(Class<?> cls) throws NoSuchMethodException {
+            accessors.put("id", new Method[]{cls.getMethod("getId"), cls.getMethod("setId", Long.class)});
+            accessors.put("name", new Method[]{cls.getMethod("getName"), cls.getMethod("setName", String.class)});
+        }
+
+        static LegacyHelper get(Class<?> cls) throws NoSuchMethodException {
+            synchronized (cls) {
+                LegacyHelper h = CACHE.get(cls);
+                if (h == null) {
+                    h = new LegacyHelper(cls);
+                    CACHE.put(cls, h);
+                }
+                return h;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("读写属性的吞吐量")
+    void benchmark() throws Exception {
+        log.info("线程数: {}", THREADS);
+        run("synchronized + Method.invoke", bean -> {
+            LegacyHelper h = LegacyHelper.get(bean.getClass());
+            Object name = h.accessors.get("name")[0].invoke(bean);
+            h.accessors.get("id")[1].invoke(bean, name == null ? 0L : 1L);
+        });
+        run("ClassValue + 生成的调用", bean -> {
+            BeanInfoHelper h = BeanInfoHelper.getClassHelper(bean.getClass());
+            Object name = h.getBeanProperty("name").getBeanValue(bean);
+            h.getBeanProperty("id").setBeanValue(bean, name == null ? 0L : 1L);
+        });
+    }
+
+    private void run(String name, Op op) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(op);
+        }
+        double sum = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            double opsPerMs = iteration(op);
+            sum += opsPerMs;
+            log.info("{} 第{}轮: {} ops/ms", name, i + 1, String.format("%.2f", opsPerMs));
+        }
+        log.info("{} 平均: {} ops/ms", name, String.format("%.2f", sum / MEASURE_ITERATIONS));
+    }
+
+    private double iteration(Op op) throws Exception {
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        Exception[] error = new Exception[1];
+        long[] deadline = new long[1];
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                Bean bean = new Bean();
+                bean.setName("n");
+                try {
+                    start.await();
+                    long n = 0;
+                    while (System.nanoTime() < deadline[0]) {
+                        op.run(bean);
+                        n++;
+                    }
+                    ops.add(n);
+                } catch (Exception e) {
+                    error[0] = e;
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + ITERATION_MILLIS * 1_000_000L;
+        start.countDown();
+        done.await();
+        if (error[0] != null) {
+            throw error[0];
+        }
+        return ops.sum() / ((System.nanoTime() - begin) / 1_000_000.0);
+    }
+}
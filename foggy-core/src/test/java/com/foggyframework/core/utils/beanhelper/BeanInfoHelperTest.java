@@ -4,6 +4,13 @@ import lombok.Data;
 import org.junit.Test;
 import org.junit.jupiter.api.Assertions;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.Assert.*;
 
  class BeanInfoHelperTest {
@@ -62,4 +69,71 @@ import static org.junit.Assert.*;
          int dd;
          int d2;
      }
+
+     /**
+      * 生成的getter/setter与反射的行为一致
+      */
+     @org.junit.jupiter.api.Test
+     void generatedAccessors() {
+         BeanInfoHelper h = BeanInfoHelper.getClassHelper(AA.class);
+         AA aa = new AA();
+
+         h.getBeanProperty("id").setBeanValue(aa, 3L);
+         h.getBeanProperty("num").setBeanValue(aa, 5);
+         h.getBeanProperty("name").setBeanValue(aa, "x");
+         h.getBeanProperty("chain").setBeanValue(aa, "c");
+         Assertions.assertEquals(3L, h.getBeanProperty("id").getBeanValue(aa));
+         Assertions.assertEquals(5, h.getBeanProperty("num").getBeanValue(aa));
+         Assertions.assertEquals("x", aa.getName());
+         Assertions.assertEquals("c", aa.chain);
+
+         // 类型不一致时走格式化与反射
+         h.getBeanProperty("id").setBeanValue(aa, "7");
+         Assertions.assertEquals(7L, aa.getId());
+
+         // setter内部的异常原样抛出
+         RuntimeException e = Assertions.assertThrows(RuntimeException.class, () -> h.getBeanProperty("fail").setBeanValue(aa, "a"));
+         Assertions.assertEquals("fail", e.getMessage());
+         h.getBeanProperty("fail").setBeanValue(aa, "a", false);
+         Assertions.assertThrows(RuntimeException.class, () -> h.getBeanProperty("fail").getBeanValue(aa));
+     }
+
+     @org.junit.jupiter.api.Test
+     void concurrentGetClassHelper() throws Exception {
+         ExecutorService pool = Executors.newFixedThreadPool(8);
+         try {
+             List<Future<BeanInfoHelper>> list = new ArrayList<>();
+             for (int i = 0; i < 64; i++) {
+                 list.add(pool.submit(() -> BeanInfoHelper.getClassHelper(TT.class)));
+             }
+             for (Future<BeanInfoHelper> f : list) {
+                 Assertions.assertSame(BeanInfoHelper.getClassHelper(TT.class), f.get());
+             }
+         } finally {
+             pool.shutdownNow();
+         }
+         Assertions.assertSame(BeanInfoHelper.getClassHelper(HashMap.class).getBeanProperty("a"),
+                 BeanInfoHelper.getClassHelper(HashMap.class).getBeanProperty("a"));
+     }
+
+     @Data
+     public static class AA {
+         Long id;
+         int num;
+         String name;
+         String chain;
+
+         public AA setChain(String chain) {
+             this.chain = chain;
+             return this;
+         }
+
+         public String getFail() {
+             throw new IllegalStateException("fail");
+         }
+
+         public void setFail(String fail) {
+             throw new IllegalStateException("fail");
+         }
+     }
 }
\ No newline at end of file
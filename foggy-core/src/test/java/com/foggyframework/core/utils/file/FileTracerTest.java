@@ -0,0 +1,105 @@
+package com.foggyframework.core.utils.file;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文件变化跟踪测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("文件变化跟踪测试")
+class FileTracerTest {
+
+    private Path dir;
+
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    private final FileTracer tracer = new FileTracer(new FileChangeListener() {
+        @Override
+        public void fileChanged(File source) {
+            events.add("changed:" + source.getName());
+        }
+
+        @Override
+        public void fileDeleted(File f) {
+            events.add("deleted:" + f.getName());
+        }
+    });
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("file-tracer-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : files.toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Test
+    @DisplayName("修改与删除被跟踪的文件时收到通知，连续修改只通知一次")
+    void testChangeAndDelete() throws Exception {
+        assertTrue(FileWatcher.getInstance().isSupported());
+        File a = write("a.fsscript", "1");
+        File b = write("b.fsscript", "1");
+        tracer.addFile(a);
+        tracer.addFile(b);
+
+        Files.writeString(a.toPath(), "2");
+        Files.writeString(a.toPath(), "3");
+        a.setLastModified(a.lastModified() + 10_000);
+
+        assertEquals("changed:a.fsscript", events.poll(5, TimeUnit.SECONDS));
+        assertNull(events.poll(500, TimeUnit.MILLISECONDS));
+
+        Files.delete(b.toPath());
+        assertEquals("deleted:b.fsscript", events.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("以含 . 与 .. 的路径注册时同样收到通知")
+    void testNonNormalizedPath() throws Exception {
+        File a = write("a.fsscript", "1");
+        Files.createDirectory(dir.resolve("sub"));
+        tracer.addFile(new File(dir.toFile(), "./sub/../a.fsscript"));
+
+        Files.writeString(a.toPath(), "2");
+        a.setLastModified(a.lastModified() + 10_000);
+        assertEquals("changed:a.fsscript", events.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("未跟踪的文件不通知")
+    void testUntracked() throws Exception {
+        File a = write("a.fsscript", "1");
+        tracer.addFile(a);
+
+        write("other.fsscript", "1");
+        assertNull(events.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private File write(String name, String content) throws IOException {
+        Path p = dir.resolve(name);
+        Files.writeString(p, content);
+        return p.toFile();
+    }
+}
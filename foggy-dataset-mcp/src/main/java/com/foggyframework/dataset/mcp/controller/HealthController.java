@@ -1,7 +1,10 @@
 package com.foggyframework.dataset.mcp.controller;
 
+import com.foggyframework.dataset.db.model.engine.query_model.ModelWarmUp;
 import com.foggyframework.dataset.mcp.service.McpToolDispatcher;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,6 +22,8 @@ public class HealthController {
 
     private final McpToolDispatcher toolDispatcher;
 
+    private final ObjectProvider<ModelWarmUp> modelWarmUp;
+
     /**
      * 健康检查端点
      */
@@ -34,14 +39,26 @@ public class HealthController {
 
     /**
      * 就绪检查端点
+     * <p>开启模型预热时，预热完成前返回 503
      */
     @GetMapping("/readyz")
     public ResponseEntity<Map<String, Object>> readyCheck() {
         Map<String, Object> ready = new LinkedHashMap<>();
-        ready.put("status", "ready");
+        ModelWarmUp warmUp = modelWarmUp.getIfAvailable();
+        boolean isReady = warmUp == null || warmUp.isReady();
+        ready.put("status", isReady ? "ready" : "warming_up");
         ready.put("timestamp", LocalDateTime.now().toString());
         ready.put("tools_count", toolDispatcher.getToolDefinitions().size());
-        return ResponseEntity.ok(ready);
+        if (warmUp != null && warmUp.getStatus() != ModelWarmUp.Status.DISABLED) {
+            Map<String, Object> models = new LinkedHashMap<>();
+            models.put("status", warmUp.getStatus().name().toLowerCase());
+            models.put("total", warmUp.getTotal());
+            models.put("loaded", warmUp.getFinished());
+            models.put("failed", warmUp.getFailures().keySet());
+            models.put("elapsed_ms", warmUp.getElapsedMillis());
+            ready.put("models", models);
+        }
+        return isReady ? ResponseEntity.ok(ready) : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ready);
     }
 
     /**
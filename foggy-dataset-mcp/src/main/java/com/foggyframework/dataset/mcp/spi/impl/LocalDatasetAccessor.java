@@ -289,10 +289,11 @@ public class LocalDatasetAccessor implements DatasetAccessor {
             }
         }
 
-//        // cursor (分页游标)
-//        if (payload.containsKey("cursor")) {
-//            request.setCursor((String) payload.get("cursor"));
-//        }
+        // cursor (分页游标)
+        if (payload.containsKey("cursor")) {
+            Object cursor = payload.get("cursor");
+            request.setCursor(cursor == null ? null : cursor.toString());
+        }
         if (payload.containsKey("returnTotal")) {
             request.setReturnTotal(Iif.check( payload.get("returnTotal")));
         }
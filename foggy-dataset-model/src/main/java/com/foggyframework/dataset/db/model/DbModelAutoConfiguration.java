@@ -5,7 +5,10 @@ import com.foggyframework.bundle.SystemBundlesContext;
 import com.foggyframework.dataset.db.model.config.DatasetProperties;
 import com.foggyframework.dataset.db.model.config.SemanticProperties;
 import com.foggyframework.dataset.db.model.engine.formula.*;
+import com.foggyframework.dataset.db.model.engine.query.LocalQueryResultCache;
+import com.foggyframework.dataset.db.model.engine.query.ParallelQueryExecutor;
 import com.foggyframework.dataset.db.model.engine.query_model.DbModelFileChangeHandler;
+import com.foggyframework.dataset.db.model.engine.query_model.ModelWarmUp;
 import com.foggyframework.dataset.db.model.engine.query_model.QueryModelLoaderImpl;
 import com.foggyframework.dataset.db.model.impl.loader.JdbcTableModelLoaderImpl;
 import com.foggyframework.dataset.db.model.impl.loader.TableModelLoaderManagerImpl;
@@ -16,10 +19,13 @@ import com.foggyframework.dataset.db.model.plugins.result_set_filter.SemanticMon
 import com.foggyframework.dataset.db.model.service.impl.JdbcServiceImpl;
 import com.foggyframework.dataset.db.model.spi.DbModelLoadProcessor;
 import com.foggyframework.dataset.db.model.spi.QueryModelBuilder;
+import com.foggyframework.dataset.db.model.spi.QueryModelLoader;
+import com.foggyframework.dataset.db.model.spi.QueryResultCache;
 import com.foggyframework.dataset.db.model.spi.TableModelLoader;
 import com.foggyframework.dataset.db.model.spi.TableModelLoaderManager;
 import com.foggyframework.fsscript.loadder.FileFsscriptLoader;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -54,6 +60,12 @@ public class DbModelAutoConfiguration {
         return new DbModelFileChangeHandler(jdbcQueryModelLoader, jdbcModelLoader);
     }
 
+    @Bean
+    public ModelWarmUp modelWarmUp(SystemBundlesContext systemBundlesContext, TableModelLoaderManager tableModelLoaderManager,
+                                   QueryModelLoader queryModelLoader, DatasetProperties datasetProperties) {
+        return new ModelWarmUp(systemBundlesContext, tableModelLoaderManager, queryModelLoader, datasetProperties.getWarmUp());
+    }
+
     @Bean
     @ConditionalOnMissingBean(DataSetResultFilterManager.class)
     public DefaultDataSetResultFilterManagerImpl defaultDataSetResultFilterManager(List<DataSetResultStep> steps) {
@@ -77,6 +89,19 @@ public class DbModelAutoConfiguration {
         return new DatasetProperties();
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "foggy.dataset.parallel-query", name = "enabled", havingValue = "true")
+    public ParallelQueryExecutor parallelQueryExecutor(DatasetProperties datasetProperties) {
+        return new ParallelQueryExecutor(datasetProperties.getParallelQuery());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(QueryResultCache.class)
+    @ConditionalOnProperty(prefix = "foggy.dataset.result-cache", name = "enabled", havingValue = "true")
+    public LocalQueryResultCache localQueryResultCache(DatasetProperties datasetProperties) {
+        return new LocalQueryResultCache(datasetProperties.getResultCache());
+    }
+
     @Bean
     public SqlFormulaServiceImpl sqlFormulaService(List<SqlFormula> sqlFormulas, ApplicationContext appCtx) {
 
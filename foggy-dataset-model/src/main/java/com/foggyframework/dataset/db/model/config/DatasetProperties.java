@@ -3,6 +3,9 @@ package com.foggyframework.dataset.db.model.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Foggy Dataset Model 配置属性
  * <p>
@@ -109,4 +112,228 @@ public class DatasetProperties {
      * </pre>
      */
     private boolean validateOnStartup = false;
+
+    /**
+     * 明细查询与汇总查询并发执行配置
+     * <p>默认关闭，开启后 returnTotal=true 的查询会把明细 SQL 和汇总 SQL 放到两个连接上同时执行
+     */
+    private ParallelQuery parallelQuery = new ParallelQuery();
+
+    @Data
+    public static class ParallelQuery {
+
+        /**
+         * 是否启用并发查询
+         * <p>默认: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 全局同时进行的并发查询数上限
+         * <p>默认: 32，应小于连接池最大连接数
+         */
+        private int maxConcurrency = 32;
+
+        /**
+         * 单个查询模型同时进行的并发查询数上限
+         * <p>默认: 8，超出时退回串行执行
+         */
+        private int perModelLimit = 8;
+
+        /**
+         * 按查询模型单独指定并发上限，key 为 QM 名称
+         */
+        private Map<String, Integer> modelLimits = new HashMap<>();
+
+        /**
+         * 运行在 JDK 21+ 时是否使用虚拟线程
+         * <p>默认: true，低版本 JDK 自动使用平台线程池
+         */
+        private boolean virtualThreads = true;
+    }
+
+    /**
+     * 查询计划缓存配置
+     * <p>默认关闭，开启后同一查询模型下形状相同（仅切片值不同）的请求复用已生成的 SQL
+     */
+    private PlanCache planCache = new PlanCache();
+
+    @Data
+    public static class PlanCache {
+
+        /**
+         * 是否启用查询计划缓存
+         * <p>默认: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每个查询模型最多缓存的计划数量，超出后按 LRU 淘汰
+         * <p>默认: 256
+         */
+        private int maxSize = 256;
+    }
+
+    /**
+     * 查询结果缓存配置
+     * <p>默认关闭；QM 文件可通过 cacheTtl（秒）覆盖默认有效期，cacheTtl: 0 表示该模型不缓存
+     */
+    private ResultCache resultCache = new ResultCache();
+
+    @Data
+    public static class ResultCache {
+
+        /**
+         * 是否启用查询结果缓存
+         * <p>默认: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 默认有效期（秒）
+         * <p>默认: 60
+         */
+        private long defaultTtlSeconds = 60;
+
+        /**
+         * 缓存总权重上限（按估算字节数）
+         * <p>默认: 64MB
+         */
+        private long maxWeightBytes = 64L * 1024 * 1024;
+
+        /**
+         * 单条结果的权重上限，超出的结果不缓存
+         * <p>默认: 4MB
+         */
+        private long maxEntryBytes = 4L * 1024 * 1024;
+    }
+
+    /**
+     * 列式结果配置
+     * <p>开启后明细查询直接读入列式容器，所有行共享列名，数值列使用基本类型数组保存，
+     * 行以 Map 视图对外提供，适合行数多的汇总查询
+     */
+    private ColumnarResult columnarResult = new ColumnarResult();
+
+    @Data
+    public static class ColumnarResult {
+
+        /**
+         * 是否启用列式结果
+         * <p>默认: false
+         */
+        private boolean enabled = false;
+    }
+
+    /**
+     * 流式导出配置
+     * <p>导出接口逐行读取并写出，不在内存中构建完整结果集
+     */
+    private Streaming streaming = new Streaming();
+
+    @Data
+    public static class Streaming {
+
+        /**
+         * JDBC 每批拉取的行数（MySQL 始终逐行读取）
+         * <p>默认: 1000
+         */
+        private int fetchSize = 1000;
+
+        /**
+         * 单次导出的最大行数，0 表示不限制
+         * <p>默认: 0
+         */
+        private long maxRows = 0;
+
+        /**
+         * 每写出多少行刷新一次输出流
+         * <p>默认: 500
+         */
+        private int flushRows = 500;
+    }
+
+    /**
+     * 模型热加载配置
+     * <p>模型文件变化时只失效并重建受影响的 TM/QM
+     */
+    private ModelReload modelReload = new ModelReload();
+
+    @Data
+    public static class ModelReload {
+
+        /**
+         * 是否按依赖关系增量重建，关闭后任何模型文件变化都清空全部模型
+         * <p>默认: true
+         */
+        private boolean incremental = true;
+
+        /**
+         * 是否在后台线程重建，重建完成前请求继续使用旧模型；关闭后在文件变化事件中同步重建
+         * <p>默认: true
+         */
+        private boolean async = true;
+    }
+
+    /**
+     * 启动预热配置
+     * <p>开启后应用启动时在后台并行加载所有 bundle 中的 TM/QM，预热完成前就绪检查返回未就绪
+     */
+    private WarmUp warmUp = new WarmUp();
+
+    @Data
+    public static class WarmUp {
+
+        /**
+         * 是否启用启动预热
+         * <p>默认: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 预热使用的线程数
+         * <p>默认: 4
+         */
+        private int threads = 4;
+
+        /**
+         * 是否阻塞启动直到预热完成
+         * <p>默认: false，预热在后台进行，通过就绪检查判断是否完成
+         */
+        private boolean blocking = false;
+    }
+
+    /**
+     * returnTotal 总数计算配置
+     * <p>QM 文件中的 totals 属性优先于这里的 strategy
+     */
+    private Totals totals = new Totals();
+
+    @Data
+    public static class Totals {
+
+        /**
+         * 默认策略：exact、cached、estimated
+         * <p>默认: exact
+         */
+        private String strategy = "exact";
+
+        /**
+         * cached/estimated 策略下精确汇总结果的缓存有效期（秒）
+         * <p>默认: 60
+         */
+        private long cacheTtlSeconds = 60;
+
+        /**
+         * 每个查询模型最多缓存的汇总结果条数
+         * <p>默认: 1000
+         */
+        private int cacheMaxSize = 1000;
+
+        /**
+         * estimated 策略下估算行数低于该值时改为精确计算
+         * <p>默认: 100000
+         */
+        private long exactBelow = 100000;
+    }
 }
@@ -1,15 +1,22 @@
 package com.foggyframework.dataset.db.model.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foggyframework.core.ex.RX;
 import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
 import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
 import com.foggyframework.dataset.db.model.service.QueryFacade;
+import com.foggyframework.dataset.db.model.service.export.QueryRowStreamWriter;
 import com.foggyframework.dataset.model.PagingResultImpl;
 import io.swagger.annotations.ApiModelProperty;
+import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 /**
  * 查询模型数据接口
  * <p>
@@ -23,6 +30,12 @@ public class QueryModelDataStoreController {
     @Resource
     QueryFacade queryFacade;
 
+    @Resource
+    DatasetProperties datasetProperties;
+
+    @Resource
+    ObjectMapper objectMapper;
+
     @PostMapping("queryModelData")
     @ApiModelProperty("建议使用queryModelDataV2替代,URL上带上模型名称,更有利于缓存,第一层权限过滤等")
     public RX<PagingResultImpl> queryModelData(@RequestBody PagingRequest<DbQueryRequestDef> form) {
@@ -39,4 +52,33 @@ public class QueryModelDataStoreController {
         PagingResultImpl v = queryFacade.queryModelData(form);
         return RX.success(v);
     }
+
+    /**
+     * 流式导出
+     * <p>边读边写，不在内存中构建结果集；忽略分页参数，最大行数由 foggy.dataset.streaming.max-rows 控制
+     */
+    @PostMapping("export/{model}")
+    @ApiOperation("流式导出查询结果，format: csv|ndjson|sse")
+    public void exportModelData(
+            @ApiParam(value = "模型", required = true) @PathVariable String model,
+            @ApiParam(value = "输出格式: csv|ndjson|sse", defaultValue = "csv") @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestBody PagingRequest<DbQueryRequestDef> form,
+            HttpServletResponse response) throws IOException {
+
+        DbQueryRequestDef queryRequest = form.getParam();
+        queryRequest.setQueryModel(model);
+        String contentType = QueryRowStreamWriter.getContentType(format);
+
+        response.setContentType(contentType);
+        if ("csv".equalsIgnoreCase(format)) {
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + model + ".csv\"");
+        }
+        // 禁止代理缓冲，保证客户端可以边收边处理
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        QueryRowStreamWriter writer = QueryRowStreamWriter.create(format, response.getOutputStream(),
+                datasetProperties.getStreaming().getFlushRows(), objectMapper);
+        queryFacade.streamModelData(queryRequest, writer);
+    }
 }
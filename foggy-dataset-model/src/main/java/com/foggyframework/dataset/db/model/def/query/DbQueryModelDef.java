@@ -48,4 +48,17 @@ public class DbQueryModelDef extends DbDefSupport {
 
     List<DbAccessDef> accesses;
 
+    /**
+     * 查询结果缓存有效期（秒）
+     * <p>为 null 时使用 foggy.dataset.result-cache.default-ttl-seconds，为 0 表示该模型不缓存结果
+     */
+    Integer cacheTtl;
+
+    /**
+     * returnTotal 时总数的计算方式：exact（每次精确计算）、cached（按条件缓存精确结果，翻页复用）、
+     * estimated（按执行计划估算，数据库不支持时退回 cached）
+     * <p>为 null 时使用 foggy.dataset.totals.strategy
+     */
+    String totals;
+
 }
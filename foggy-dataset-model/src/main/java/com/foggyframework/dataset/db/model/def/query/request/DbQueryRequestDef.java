@@ -34,6 +34,16 @@ public class DbQueryRequestDef implements DbQueryRequest {
     @ApiModelProperty("是否返回总数及合计")
     boolean returnTotal;
 
+    @ApiModelProperty(value = "分页游标", notes = "不为 null 时使用游标分页并忽略 start：首页传空字符串，后续页传上一页返回的 cursor；总数只在首页计算")
+    String cursor;
+
+    /**
+     * 是否使用游标分页（keyset）
+     */
+    public boolean isCursorPaging() {
+        return cursor != null;
+    }
+
     /**
      * @deprecated 已废弃，系统始终自动处理 groupBy。此字段保留仅为 API 兼容性。
      */
@@ -14,6 +14,7 @@ import com.foggyframework.dataset.db.model.engine.formula.hierarchy.HierarchyOpe
 import com.foggyframework.dataset.db.model.engine.formula.hierarchy.HierarchyOperatorService;
 import com.foggyframework.dataset.db.model.engine.join.JoinGraph;
 import com.foggyframework.dataset.db.model.engine.query.JdbcQuery;
+import com.foggyframework.dataset.db.model.engine.query.KeysetPagination;
 import com.foggyframework.dataset.db.model.engine.query.SimpleSqlJdbcQueryVisitor;
 import com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl;
 import com.foggyframework.dataset.db.model.i18n.DatasetMessages;
@@ -82,6 +83,17 @@ public class JdbcModelQueryEngine implements QueryEngine {
     AggSqlOptimizer.OptimizationResult aggSqlOptimizationResult;
 
     List values;
+
+    /**
+     * 切片叶子条件的绑定信息，用于生成 {@link QueryPlan}
+     */
+    List<QueryPlan.SliceBinding> sliceBindings = new ArrayList<>();
+
+    /**
+     * 游标分页信息，非游标分页时为 null
+     */
+    KeysetPagination keysetPagination;
+
     private static final String PATTERN = "^[a-zA-Z\\s]+$";
     private static final Pattern PATTERN_OBJECT = Pattern.compile(PATTERN);
 
@@ -226,6 +238,9 @@ public class JdbcModelQueryEngine implements QueryEngine {
 
 
         if (queryRequest.hasGroupBy()) {
+            if (queryRequest.isCursorPaging()) {
+                throw RX.throwAUserTip("游标分页不支持分组查询，请改用 start 分页");
+            }
             //当有分组时，我们直接在jdbcQuery加入groupBy
             int idx=0;
             for (DbColumn column : jdbcQuery.getSelect().getColumns()) {
@@ -283,6 +298,12 @@ public class JdbcModelQueryEngine implements QueryEngine {
         }
 
 
+        // 游标分页：追加主键排序，续页时加入定位条件
+        if (queryRequest.isCursorPaging()) {
+            this.keysetPagination = KeysetPagination.build(systemBundlesContext.getApplicationContext(), jdbcQueryModel, jdbcQuery, queryRequest.getCursor());
+            this.keysetPagination.applyCondition(jdbcQuery, jdbcQueryModel.getDialect());
+        }
+
         // 4.生成明细查询语句
         this.jdbcQuery = jdbcQuery;
 
@@ -323,6 +344,88 @@ public class JdbcModelQueryEngine implements QueryEngine {
 
     }
 
+    /**
+     * 使用缓存的查询计划，只重新绑定切片参数
+     *
+     * @param plan    查询计划
+     * @param context 查询生命周期上下文
+     * @return false 表示参数绑定校验未通过，调用方需要执行完整分析
+     */
+    public boolean applyPlan(QueryPlan plan, ModelResultContext context) {
+        DbQueryRequestDef queryRequest = context.getRequest().getParam();
+        RX.notNull(queryRequest, "查询请求不得为空");
+
+        List<Object> boundValues = plan.bind(queryRequest, sqlFormulaService, jdbcQueryModel.getDialect());
+        if (boundValues == null) {
+            return false;
+        }
+
+        // 保持与完整分析相同的请求改写（内联表达式转换为计算字段）
+        preprocessInlineExpressions(queryRequest, context);
+        if (this.parsedInlineExpressions == null) {
+            this.parsedInlineExpressions = plan.getParsedInlineExpressions();
+        }
+
+        this.calculatedColumns = plan.getCalculatedColumns();
+        this.sqlExpContext = plan.getSqlExpContext();
+        if (context != null) {
+            context.setCalculatedColumns(this.calculatedColumns);
+        }
+
+        this.jdbcQuery = plan.getJdbcQuery();
+        this.innerSql = plan.getInnerSql();
+        this.innerSqlWithoutOrder = plan.getInnerSqlWithoutOrder();
+        this.sql = plan.getSql();
+        this.aggSql = plan.getAggSql();
+        this.aggSqlOptimizationResult = plan.getAggSqlOptimizationResult();
+        this.sliceBindings = plan.getSliceBindings();
+        this.values = boundValues;
+        return true;
+    }
+
+    /**
+     * 将本次分析结果转换为可复用的查询计划
+     *
+     * @param queryRequest 本次分析的查询请求
+     * @return 查询计划，不可缓存时返回 null
+     */
+    public QueryPlan toPlan(DbQueryRequestDef queryRequest) {
+        if (jdbcQuery == null || sql == null) {
+            return null;
+        }
+        if (jdbcQuery.getFrom().getJoins() != null) {
+            for (JdbcQuery.JdbcFrom.JdbcJoin join : jdbcQuery.getFrom().getJoins()) {
+                if (join.getOnBuilder() != null) {
+                    // ON 条件由脚本生成，可能依赖请求内容
+                    return null;
+                }
+            }
+        }
+
+        // 用绑定器重新计算一次参数，与本次分析的结果一致才可缓存
+        QueryPlan.BindResult r = QueryPlan.bind(sliceBindings, queryRequest, sqlFormulaService, jdbcQueryModel.getDialect());
+        if (r == null || !r.values.equals(values)) {
+            if (log.isDebugEnabled()) {
+                log.debug("查询计划参数绑定校验未通过，不缓存: {}", jdbcQueryModel.getName());
+            }
+            return null;
+        }
+
+        QueryPlan plan = new QueryPlan();
+        plan.sql = sql;
+        plan.innerSql = innerSql;
+        plan.innerSqlWithoutOrder = innerSqlWithoutOrder;
+        plan.aggSql = aggSql;
+        plan.jdbcQuery = jdbcQuery;
+        plan.calculatedColumns = calculatedColumns;
+        plan.sqlExpContext = sqlExpContext;
+        plan.parsedInlineExpressions = parsedInlineExpressions;
+        plan.aggSqlOptimizationResult = aggSqlOptimizationResult;
+        plan.sliceBindings = List.copyOf(sliceBindings);
+        plan.fragmentSignature = r.fragmentSignature;
+        return plan;
+    }
+
     private String buildGroupBy(SystemBundlesContext systemBundlesContext, DbQueryRequestDef queryRequest) {
         String groupBySql = buildAggSql(systemBundlesContext, queryRequest.getGroupBy().stream().collect(Collectors.toMap(GroupRequestDef::getField, e -> e)), queryRequest, true, false);
         return groupBySql;
@@ -528,6 +631,7 @@ public class JdbcModelQueryEngine implements QueryEngine {
 
             // 计算字段直接使用 SQL 表达式，不需要 JOIN 和特殊处理
             if (jdbcColumn.isCalculatedField()) {
+                sliceBindings.add(new QueryPlan.SliceBinding(isAggregateCondition, sliceDef.getOp(), jdbcColumn, null, sliceDef.getLink(), null));
                 // 聚合条件需要添加到HAVING，否则添加到WHERE
                 if (isAggregateCondition) {
                     sqlFormulaService.buildAndAddToJdbcCond(jdbcQuery.getHaving(), sliceDef.getOp(), jdbcColumn, null, sliceDef.getValue(), sliceDef.getLink());
@@ -542,6 +646,7 @@ public class JdbcModelQueryEngine implements QueryEngine {
                 jdbcQuery.join(jdbcColumn.getQueryObject());
             }
             String alias = jdbcQueryModel.getAlias(jdbcColumn.getQueryObject());
+            HierarchyOperator appliedHierarchyOp = null;
 
             if (jdbcColumn.isDimension()) {
                 DbModelParentChildDimensionImpl pp = jdbcColumn.getDecorate(DbDimensionColumn.class).getDimension().getDecorate(DbModelParentChildDimensionImpl.class);
@@ -560,6 +665,7 @@ public class JdbcModelQueryEngine implements QueryEngine {
 
                     // 处理层级操作符的 distance 条件
                     if (hierarchyOp != null) {
+                        appliedHierarchyOp = hierarchyOp;
                         hierarchyOp.buildDistanceCondition(listCond, alias, sliceDef.getMaxDepth());
                         // 将 op 转换为标准操作符（in 或 =）
                         sliceDef.setOp(sliceDef.getValue() instanceof List ? "in" : "=");
@@ -571,6 +677,8 @@ public class JdbcModelQueryEngine implements QueryEngine {
                 sliceDef.setOp(CondType.BIT_IN.getCode());
             }
 
+            sliceBindings.add(new QueryPlan.SliceBinding(isAggregateCondition, sliceDef.getOp(), jdbcColumn, alias, sliceDef.getLink(), appliedHierarchyOp));
+
             // 聚合条件需要添加到HAVING，否则添加到WHERE
             if (isAggregateCondition) {
                 sqlFormulaService.buildAndAddToJdbcCond(jdbcQuery.getHaving(), sliceDef.getOp(), jdbcColumn, alias, sliceDef.getValue(), sliceDef.getLink());
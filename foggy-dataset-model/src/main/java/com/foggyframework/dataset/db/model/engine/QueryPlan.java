@@ -0,0 +1,159 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.dataset.db.dialect.FDialect;
+import com.foggyframework.dataset.db.model.def.query.request.CondRequestDef;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.engine.expression.SqlExpContext;
+import com.foggyframework.dataset.db.model.engine.formula.SqlFormulaService;
+import com.foggyframework.dataset.db.model.engine.formula.hierarchy.HierarchyOperator;
+import com.foggyframework.dataset.db.model.engine.query.JdbcQuery;
+import com.foggyframework.dataset.db.model.plugins.result_set_filter.ModelResultContext;
+import com.foggyframework.dataset.db.model.spi.DbColumn;
+import com.foggyframework.dataset.db.model.spi.support.CalculatedDbColumn;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 已编译的查询计划
+ * <p>由 {@link JdbcModelQueryEngine} 在首次分析某种请求形状时生成，包含 SQL 模板与参数绑定器。
+ * 同形状的后续请求只需按 {@link SliceBinding} 重新计算参数值，跳过列解析、JOIN 解析与 SQL 拼接。
+ *
+ * <p>计划本身只读，可被多个线程共享。
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+@Getter
+public class QueryPlan {
+
+    /**
+     * 切片叶子条件的绑定信息，按深度优先顺序记录
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SliceBinding {
+        /**
+         * 条件是否进入 HAVING 子句
+         */
+        final boolean having;
+        /**
+         * 改写后的操作符（层级、位图列会改写原操作符）
+         */
+        final String op;
+        final DbColumn column;
+        final String alias;
+        final int link;
+        /**
+         * 父子维度层级操作符，可为 null
+         */
+        final HierarchyOperator hierarchyOperator;
+    }
+
+    /**
+     * 参数绑定结果
+     */
+    static class BindResult {
+        final List<Object> values;
+        final String fragmentSignature;
+
+        BindResult(List<Object> values, String fragmentSignature) {
+            this.values = values;
+            this.fragmentSignature = fragmentSignature;
+        }
+    }
+
+    String sql;
+    String innerSql;
+    String innerSqlWithoutOrder;
+    String aggSql;
+    JdbcQuery jdbcQuery;
+    List<CalculatedDbColumn> calculatedColumns;
+    SqlExpContext sqlExpContext;
+    ModelResultContext.ParsedInlineExpressions parsedInlineExpressions;
+    AggSqlOptimizer.OptimizationResult aggSqlOptimizationResult;
+    List<SliceBinding> sliceBindings;
+
+    /**
+     * 生成计划时各条件 SQL 片段的拼接结果，绑定时用于校验 SQL 模板仍然适用
+     */
+    String fragmentSignature;
+
+    /**
+     * 按切片绑定重新计算参数值
+     * <p>条件 SQL 片段会与生成计划时比对，不一致（例如把值直接写入 SQL 的操作符）时返回 null，调用方应退回完整分析
+     */
+    List<Object> bind(DbQueryRequestDef queryRequest, SqlFormulaService sqlFormulaService, FDialect dialect) {
+        BindResult r = bind(sliceBindings, queryRequest, sqlFormulaService, dialect);
+        if (r == null || !r.fragmentSignature.equals(fragmentSignature)) {
+            return null;
+        }
+        return r.values;
+    }
+
+    static BindResult bind(List<SliceBinding> bindings, DbQueryRequestDef queryRequest, SqlFormulaService sqlFormulaService, FDialect dialect) {
+        List<CondRequestDef> leaves = new ArrayList<>(bindings.size());
+        if (queryRequest.getSlice() != null) {
+            for (CondRequestDef c : queryRequest.getSlice()) {
+                collectLeaves(c, leaves);
+            }
+        }
+        if (leaves.size() != bindings.size()) {
+            return null;
+        }
+
+        JdbcQuery scratch = new JdbcQuery();
+        for (int i = 0; i < bindings.size(); i++) {
+            SliceBinding b = bindings.get(i);
+            CondRequestDef leaf = leaves.get(i);
+            JdbcQuery.JdbcListCond target = b.having ? scratch.getHaving() : scratch.getWhere();
+            if (b.hierarchyOperator != null) {
+                // 层级距离条件总是进入 WHERE，与 JdbcModelQueryEngine.buildSlice 一致
+                b.hierarchyOperator.buildDistanceCondition(scratch.getWhere(), b.alias, leaf.getMaxDepth());
+            }
+            sqlFormulaService.buildAndAddToJdbcCond(target, b.op, b.column, b.alias, leaf.getValue(), b.link);
+        }
+
+        // 与 SimpleSqlJdbcQueryVisitor 相同的顺序：先 WHERE 后 HAVING
+        List<Object> values = new ArrayList<>();
+        StringBuilder signature = new StringBuilder();
+        collectValues(scratch.getWhere(), dialect, values, signature);
+        signature.append("|having|");
+        collectValues(scratch.getHaving(), dialect, values, signature);
+        return new BindResult(values, signature.toString());
+    }
+
+    private static void collectLeaves(CondRequestDef cond, List<CondRequestDef> leaves) {
+        if (cond._hasChildren()) {
+            for (CondRequestDef child : cond.getChildren()) {
+                collectLeaves(child, leaves);
+            }
+        } else {
+            leaves.add(cond);
+        }
+    }
+
+    private static void collectValues(JdbcQuery.JdbcListCond listCond, FDialect dialect, List<Object> values, StringBuilder signature) {
+        for (JdbcQuery.JdbcCond cond : listCond.getConds()) {
+            signature.append(cond.getLink()).append('\u0001');
+            if (cond instanceof JdbcQuery.ValueCond vc) {
+                signature.append(vc.getSqlFragment());
+                values.add(dialect.convertParameterValue(vc.getValue()));
+            } else if (cond instanceof JdbcQuery.ListValueCond lc) {
+                signature.append(lc.getSqlFragment());
+                for (Object v : lc.getValue()) {
+                    values.add(dialect.convertParameterValue(v));
+                }
+            } else if (cond instanceof JdbcQuery.SqlFragmentCond fc) {
+                signature.append(fc.getSqlFragment());
+            } else if (cond instanceof JdbcQuery.JdbcListCond nested) {
+                collectValues(nested, dialect, values, signature);
+            } else {
+                signature.append(cond);
+            }
+            signature.append('\u0002');
+        }
+    }
+}
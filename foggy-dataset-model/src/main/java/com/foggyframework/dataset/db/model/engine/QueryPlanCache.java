@@ -0,0 +1,254 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.core.utils.StringUtils;
+import com.foggyframework.dataset.db.model.def.query.request.*;
+import com.foggyframework.dataset.db.model.plugins.result_set_filter.ModelResultContext;
+import com.foggyframework.dataset.db.model.spi.DbQueryDimension;
+import com.foggyframework.dataset.db.model.spi.DbQueryProperty;
+import com.foggyframework.dataset.db.model.spi.JdbcQueryModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个查询模型的查询计划缓存
+ * <p>以请求形状（列、切片字段/操作符/值结构、分组、排序、计算字段，不含切片值）为 key，
+ * 缓存 {@link QueryPlan}，命中时只重新绑定参数。缓存挂在 QueryModel 实例上，模型重新加载后自然失效。
+ *
+ * <h3>不缓存的情况：</h3>
+ * <ul>
+ *   <li>模型定义了 accesses 权限脚本（queryBuilder 可能依赖当前用户）</li>
+ *   <li>JOIN 使用了 onBuilder 脚本（ON 条件可能依赖请求内容）</li>
+ *   <li>参数绑定校验不通过（例如操作符把值直接写入 SQL）</li>
+ *   <li>游标分页请求（排序与定位条件由游标决定）</li>
+ * </ul>
+ *
+ * <h3>配置示例：</h3>
+ * <pre>
+ * foggy:
+ *   dataset:
+ *     plan-cache:
+ *       enabled: true
+ *       max-size: 256
+ * </pre>
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public class QueryPlanCache {
+
+    private final JdbcQueryModel queryModel;
+
+    private final Map<String, QueryPlan> plans;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong uncacheable = new AtomicLong();
+
+    /**
+     * 模型是否含有依赖运行时上下文的权限脚本，为 null 表示尚未检查
+     */
+    private volatile Boolean modelCacheable;
+
+    public QueryPlanCache(JdbcQueryModel queryModel, int maxSize) {
+        this.queryModel = queryModel;
+        int max = Math.max(1, maxSize);
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QueryPlan> eldest) {
+                if (size() > max) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 分析查询请求，优先使用缓存的计划
+     */
+    public void analysisQueryRequest(JdbcModelQueryEngine queryEngine, SystemBundlesContext systemBundlesContext, ModelResultContext context) {
+        if (!isModelCacheable() || context.getRequest().getParam().isCursorPaging()) {
+            uncacheable.incrementAndGet();
+            queryEngine.analysisQueryRequest(systemBundlesContext, context);
+            return;
+        }
+
+        // key 必须在分析之前计算，分析过程会改写请求（内联表达式、操作符）
+        String key = buildKey(context);
+        QueryPlan plan;
+        synchronized (plans) {
+            plan = plans.get(key);
+        }
+        if (plan != null && queryEngine.applyPlan(plan, context)) {
+            hits.incrementAndGet();
+            return;
+        }
+
+        misses.incrementAndGet();
+        queryEngine.analysisQueryRequest(systemBundlesContext, context);
+
+        QueryPlan newPlan = queryEngine.toPlan(context.getRequest().getParam());
+        if (newPlan == null) {
+            uncacheable.incrementAndGet();
+            return;
+        }
+        synchronized (plans) {
+            plans.put(key, newPlan);
+        }
+    }
+
+    public void clear() {
+        synchronized (plans) {
+            plans.clear();
+        }
+        modelCacheable = null;
+    }
+
+    public int size() {
+        synchronized (plans) {
+            return plans.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getUncacheable() {
+        return uncacheable.get();
+    }
+
+    /**
+     * 命中统计，用于日志与监控
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("model", queryModel.getName());
+        stats.put("size", size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("uncacheable", uncacheable.get());
+        return stats;
+    }
+
+    private boolean isModelCacheable() {
+        Boolean b = modelCacheable;
+        if (b == null) {
+            b = true;
+            for (DbQueryDimension d : queryModel.getQueryDimensions()) {
+                if (d.getQueryAccess() != null && d.getQueryAccess().getQueryBuilder() != null) {
+                    b = false;
+                    break;
+                }
+            }
+            for (DbQueryProperty p : queryModel.getQueryProperties()) {
+                if (p.getQueryAccess() != null && p.getQueryAccess().getQueryBuilder() != null) {
+                    b = false;
+                    break;
+                }
+            }
+            modelCacheable = b;
+            if (!b && log.isDebugEnabled()) {
+                log.debug("查询模型[{}]包含权限脚本，不使用查询计划缓存", queryModel.getName());
+            }
+        }
+        return b;
+    }
+
+    /**
+     * 构建请求形状 key：包含影响 SQL 文本的全部信息，但不含切片值本身
+     */
+    static String buildKey(ModelResultContext context) {
+        DbQueryRequestDef r = context.getRequest().getParam();
+        StringBuilder sb = new StringBuilder(256);
+        ModelResultContext.ParsedInlineExpressions parsed = context.getParsedInlineExpressions();
+        sb.append(parsed != null && parsed.isProcessed() ? 'P' : 'R');
+        sb.append(r.isOptimizeAggSqlEnabled() ? 'O' : 'N');
+        appendList(sb.append("|c:"), r.getColumns());
+        appendList(sb.append("|x:"), r.getExColumns());
+        sb.append("|g:");
+        if (r.getGroupBy() != null) {
+            for (GroupRequestDef g : r.getGroupBy()) {
+                sb.append(g.getField()).append('/').append(g.getAgg()).append(',');
+            }
+        }
+        sb.append("|o:");
+        if (r.getOrderBy() != null) {
+            for (OrderRequestDef o : r.getOrderBy()) {
+                sb.append(o.getField()).append('/').append(o.getOrder())
+                        .append(o.isNullFirst() ? "/nf" : "").append(o.isNullLast() ? "/nl" : "").append(',');
+            }
+        }
+        sb.append("|f:");
+        if (r.getCalculatedFields() != null) {
+            for (CalculatedFieldDef f : r.getCalculatedFields()) {
+                sb.append(f.getName()).append('=').append(f.getExpression()).append('/').append(f.getAgg()).append(',');
+            }
+        }
+        sb.append("|s:");
+        if (r.getSlice() != null) {
+            for (SliceRequestDef s : r.getSlice()) {
+                appendCond(sb, s);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void appendList(StringBuilder sb, List<String> list) {
+        if (list != null) {
+            for (String s : list) {
+                sb.append(s).append(',');
+            }
+        }
+    }
+
+    private static void appendCond(StringBuilder sb, CondRequestDef c) {
+        sb.append('(').append(c.getLink());
+        if (c._hasChildren()) {
+            for (CondRequestDef child : c.getChildren()) {
+                appendCond(sb, child);
+            }
+        } else {
+            sb.append(c.getField()).append(' ').append(c.getOp()).append(' ');
+            if (c.getMaxDepth() != null) {
+                sb.append('d').append(c.getMaxDepth());
+            }
+            appendValueShape(sb, c.getValue());
+        }
+        sb.append(')');
+    }
+
+    /**
+     * 值的结构：空值、标量、列表长度及各元素是否为空（区间操作符会按元素是否为空省略条件）
+     */
+    private static void appendValueShape(StringBuilder sb, Object value) {
+        if (StringUtils.isEmpty(value)) {
+            sb.append('e');
+        } else if (value instanceof List<?> list) {
+            sb.append('L').append(list.size()).append('[');
+            for (Object v : list) {
+                sb.append(StringUtils.isEmpty(v) ? 'e' : 's');
+            }
+            sb.append(']');
+        } else {
+            sb.append('s');
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.foggyframework.dataset.db.model.engine.query;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.core.utils.JsonUtils;
+import com.foggyframework.core.utils.StringUtils;
+import com.foggyframework.dataset.db.dialect.FDialect;
+import com.foggyframework.dataset.db.model.impl.query.DbQueryOrderColumnImpl;
+import com.foggyframework.dataset.db.model.spi.DbColumn;
+import com.foggyframework.dataset.db.model.spi.DbQueryColumn;
+import com.foggyframework.dataset.db.model.spi.JdbcQueryModel;
+import com.foggyframework.dataset.db.model.spi.QueryObject;
+import com.foggyframework.dataset.db.model.spi.support.SimpleSqlJdbcColumn;
+import com.foggyframework.dataset.resultset.columnar.ColumnarResult;
+import com.foggyframework.dataset.db.table.SqlColumn;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 游标分页（keyset / seek）
+ * <p>按排序列的值定位下一页，代替 OFFSET，深分页时不再扫描并丢弃前面的行。
+ *
+ * <h3>规则：</h3>
+ * <ul>
+ *   <li>在排序末尾自动追加主键作为唯一的 tiebreaker，主键之后的排序列被忽略</li>
+ *   <li>排序列不在 select 中时自动加入，返回结果前移除</li>
+ *   <li>游标为不透明字符串，包含排序签名，排序变化后旧游标不可用</li>
+ *   <li>排序列的值不能为空</li>
+ *   <li>不支持分组查询</li>
+ * </ul>
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+@Getter
+public class KeysetPagination {
+
+    /**
+     * 排序键
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Key {
+        /**
+         * 列在 SQL 中的表达式，用于 WHERE
+         */
+        final String declare;
+        /**
+         * 列在结果行中的名称
+         */
+        final String rowKey;
+        final boolean descending;
+        /**
+         * 是否为游标分页额外加入的列
+         */
+        final boolean hidden;
+    }
+
+    /**
+     * 查询模型未引用主键时，自动加入的主键列别名
+     */
+    public static final String HIDDEN_ID_ALIAS = "_keysetId";
+
+    private final List<Key> keys;
+
+    private final String signature;
+
+    /**
+     * 上一页游标中的值，首页为 null
+     */
+    private final List<Object> cursorValues;
+
+    private KeysetPagination(List<Key> keys, String signature, List<Object> cursorValues) {
+        this.keys = keys;
+        this.signature = signature;
+        this.cursorValues = cursorValues;
+    }
+
+    /**
+     * 根据已构建的排序生成游标分页，必要时追加主键排序与 select 列
+     */
+    public static KeysetPagination build(ApplicationContext appCtx, JdbcQueryModel jdbcQueryModel, JdbcQuery jdbcQuery, String cursor) {
+        DbColumn idSelectColumn = idColumn(jdbcQueryModel, jdbcQuery);
+        String idDeclare = declare(appCtx, jdbcQueryModel, idSelectColumn);
+
+        List<DbQueryOrderColumnImpl> orders = jdbcQuery.getOrder() == null ? Collections.emptyList() : jdbcQuery.getOrder().getOrders();
+        boolean hasId = false;
+        for (DbQueryOrderColumnImpl order : orders) {
+            if (idDeclare.equals(declare(appCtx, jdbcQueryModel, order.getSelectColumn()))) {
+                hasId = true;
+                break;
+            }
+        }
+        if (!hasId) {
+            jdbcQuery.addOrder(new DbQueryOrderColumnImpl(idSelectColumn, "asc"));
+            orders = jdbcQuery.getOrder().getOrders();
+        }
+
+        List<Key> keys = new ArrayList<>();
+        StringBuilder sig = new StringBuilder(jdbcQueryModel.getName());
+        for (DbQueryOrderColumnImpl order : orders) {
+            DbColumn column = order.getSelectColumn();
+            String declare = declare(appCtx, jdbcQueryModel, column);
+            boolean hidden = !jdbcQuery.containSelect(column);
+            if (hidden) {
+                jdbcQuery.select(column);
+            }
+            boolean desc = StringUtils.equalsIgnoreCase(StringUtils.trim(order.getOrder()), "desc");
+            keys.add(new Key(declare, column.getAlias(), desc, hidden));
+            sig.append('|').append(declare).append(desc ? " desc" : " asc");
+            if (declare.equals(idDeclare)) {
+                // 主键唯一，其后的排序不影响顺序
+                break;
+            }
+        }
+        String signature = Integer.toHexString(sig.toString().hashCode());
+
+        List<Object> cursorValues = StringUtils.isEmpty(cursor) ? null : decode(cursor, signature, keys.size());
+        return new KeysetPagination(keys, signature, cursorValues);
+    }
+
+    /**
+     * 主键列：优先使用查询模型中引用了主键的列，否则直接取主表的主键字段
+     */
+    private static DbColumn idColumn(JdbcQueryModel jdbcQueryModel, JdbcQuery jdbcQuery) {
+        DbQueryColumn idQueryColumn = jdbcQueryModel.getIdJdbcQueryColumn();
+        if (idQueryColumn != null) {
+            return idQueryColumn.getSelectColumn();
+        }
+        String idColumn = jdbcQueryModel.getJdbcModel() == null ? null : jdbcQueryModel.getJdbcModel().getIdColumn();
+        if (StringUtils.isEmpty(idColumn)) {
+            throw RX.throwAUserTip("查询模型[" + jdbcQueryModel.getName() + "]未定义主键列，不支持游标分页");
+        }
+        QueryObject fromObject = jdbcQuery.getFrom().getFromObject();
+        SqlColumn sqlColumn = fromObject.getSqlColumn(idColumn, true);
+        return new SimpleSqlJdbcColumn(fromObject, sqlColumn, HIDDEN_ID_ALIAS, sqlColumn.getName(), sqlColumn.getName());
+    }
+
+    private static String declare(ApplicationContext appCtx, JdbcQueryModel jdbcQueryModel, DbColumn column) {
+        return column.getDeclare(appCtx, jdbcQueryModel.getAlias(column.getQueryObject()));
+    }
+
+    /**
+     * 是否为续页（带有上一页游标）
+     */
+    public boolean isContinuation() {
+        return cursorValues != null;
+    }
+
+    /**
+     * 续页时在 WHERE 中加入定位条件
+     */
+    public void applyCondition(JdbcQuery jdbcQuery, FDialect dialect) {
+        if (cursorValues == null) {
+            return;
+        }
+        List<String> exprs = new ArrayList<>(keys.size());
+        List<Boolean> desc = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            exprs.add(key.declare);
+            desc.add(key.descending);
+        }
+        List<Object> params = new ArrayList<>();
+        String condition = dialect.buildKeysetCondition(exprs, desc, cursorValues, params);
+        jdbcQuery.getWhere().andList(condition, params);
+    }
+
+    /**
+     * 根据本页最后一行生成下一页游标
+     *
+     * @param items   本页数据（已截取到 limit 条）
+     * @param hasMore 是否还有下一页
+     * @return 下一页游标，没有更多数据时返回 null
+     */
+    public String nextCursor(List<?> items, boolean hasMore) {
+        if (!hasMore || items.isEmpty()) {
+            return null;
+        }
+        Map<?, ?> last = (Map<?, ?>) items.get(items.size() - 1);
+        List<Object> values = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            Object v = last.get(key.rowKey);
+            if (v == null) {
+                throw RX.throwAUserTip("游标分页的排序字段[" + key.rowKey + "]存在空值，请调整排序或改用 start 分页");
+            }
+            values.add(v);
+        }
+        return encode(signature, values);
+    }
+
+    /**
+     * 移除为游标分页额外加入的列
+     */
+    public void removeHiddenColumns(List<?> items) {
+        for (Key key : keys) {
+            if (!key.hidden) {
+                continue;
+            }
+            if (items instanceof ColumnarResult columnar) {
+                columnar.removeColumn(key.rowKey);
+                continue;
+            }
+            for (Object item : items) {
+                if (item instanceof Map<?, ?> m) {
+                    m.remove(key.rowKey);
+                }
+            }
+        }
+    }
+
+    static String encode(String signature, List<Object> values) {
+        List<List<String>> typed = new ArrayList<>(values.size());
+        for (Object v : values) {
+            typed.add(toTyped(v));
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("s", signature);
+        m.put("v", typed);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(JsonUtils.toJson(m).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Object> decode(String cursor, String signature, int size) {
+        Map<String, Object> m;
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            m = JsonUtils.fromJson(json, Map.class);
+        } catch (RuntimeException e) {
+            throw RX.throwAUserTip("无效的分页游标");
+        }
+        if (!signature.equals(m.get("s"))) {
+            throw RX.throwAUserTip("分页游标与当前查询的排序不一致，请从第一页重新查询");
+        }
+        List<List<String>> typed = (List<List<String>>) m.get("v");
+        if (typed == null || typed.size() != size) {
+            throw RX.throwAUserTip("无效的分页游标");
+        }
+        List<Object> values = new ArrayList<>(size);
+        for (List<String> t : typed) {
+            values.add(fromTyped(t.get(0), t.get(1)));
+        }
+        return values;
+    }
+
+    /**
+     * 带类型标记的值，保证解码后以原始 JDBC 类型绑定参数
+     */
+    private static List<String> toTyped(Object v) {
+        String type;
+        String repr;
+        if (v instanceof Integer || v instanceof Short || v instanceof Byte) {
+            type = "i";
+            repr = v.toString();
+        } else if (v instanceof Long) {
+            type = "l";
+            repr = v.toString();
+        } else if (v instanceof BigDecimal bd) {
+            type = "d";
+            repr = bd.toPlainString();
+        } else if (v instanceof BigInteger) {
+            type = "bi";
+            repr = v.toString();
+        } else if (v instanceof Double || v instanceof Float) {
+            type = "f";
+            repr = v.toString();
+        } else if (v instanceof Boolean) {
+            type = "b";
+            repr = v.toString();
+        } else if (v instanceof Timestamp ts) {
+            type = "ts";
+            repr = ts.toString();
+        } else if (v instanceof java.sql.Date) {
+            type = "dt";
+            repr = v.toString();
+        } else if (v instanceof Time) {
+            type = "tm";
+            repr = v.toString();
+        } else if (v instanceof java.util.Date d) {
+            type = "ts";
+            repr = new Timestamp(d.getTime()).toString();
+        } else if (v instanceof LocalDateTime) {
+            type = "ldt";
+            repr = v.toString();
+        } else if (v instanceof LocalDate) {
+            type = "ld";
+            repr = v.toString();
+        } else {
+            type = "s";
+            repr = v.toString();
+        }
+        return Arrays.asList(type, repr);
+    }
+
+    private static Object fromTyped(String type, String repr) {
+        try {
+            return switch (type) {
+                case "i" -> Integer.valueOf(repr);
+                case "l" -> Long.valueOf(repr);
+                case "d" -> new BigDecimal(repr);
+                case "bi" -> new BigInteger(repr);
+                case "f" -> Double.valueOf(repr);
+                case "b" -> Boolean.valueOf(repr);
+                case "ts" -> Timestamp.valueOf(repr);
+                case "dt" -> java.sql.Date.valueOf(repr);
+                case "tm" -> Time.valueOf(repr);
+                case "ldt" -> LocalDateTime.parse(repr);
+                case "ld" -> LocalDate.parse(repr);
+                default -> repr;
+            };
+        } catch (RuntimeException e) {
+            throw RX.throwAUserTip("无效的分页游标");
+        }
+    }
+}
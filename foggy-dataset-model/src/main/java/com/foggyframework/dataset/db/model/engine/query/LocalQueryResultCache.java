@@ -0,0 +1,322 @@
+package com.foggyframework.dataset.db.model.engine.query;
+
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.db.model.spi.QueryResultCache;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import com.foggyframework.dataset.resultset.columnar.ColumnarResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 进程内查询结果缓存
+ * <p>当 {@code foggy.dataset.result-cache.enabled=true} 且容器中没有其他 {@link QueryResultCache} 时启用
+ *
+ * <h3>规则：</h3>
+ * <ul>
+ *   <li>按估算的结果字节数计权重，总权重超出上限时按 LRU 淘汰</li>
+ *   <li>有效期优先取 QM 文件中的 cacheTtl（秒），为 0 表示该模型不缓存</li>
+ *   <li>同一 key 的并发未命中合并为一次查询</li>
+ *   <li>加载期间模型被失效时，本次结果不写入缓存</li>
+ * </ul>
+ *
+ * <h3>配置示例：</h3>
+ * <pre>
+ * foggy:
+ *   dataset:
+ *     result-cache:
+ *       enabled: true
+ *       default-ttl-seconds: 60
+ *       max-weight-bytes: 67108864
+ * </pre>
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public class LocalQueryResultCache implements QueryResultCache {
+
+    private static final class Entry {
+        final String modelName;
+        final PagingResultImpl result;
+        final long weight;
+        final long expireAt;
+        final long generation;
+
+        Entry(String modelName, PagingResultImpl result, long weight, long expireAt, long generation) {
+            this.modelName = modelName;
+            this.result = result;
+            this.weight = weight;
+            this.expireAt = expireAt;
+            this.generation = generation;
+        }
+    }
+
+    private final DatasetProperties.ResultCache config;
+
+    /**
+     * 按访问顺序排列，头部为最久未使用
+     */
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long totalWeight;
+
+    private final Map<Object, CompletableFuture<PagingResultImpl>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 模型失效代数，加载开始与结束时代数不同说明期间发生过失效
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LocalQueryResultCache(DatasetProperties.ResultCache config) {
+        this.config = config;
+    }
+
+    @Override
+    public PagingResultImpl getOrLoad(String modelName, Object key, Integer ttlSeconds, Supplier<PagingResultImpl> loader) {
+        long ttl = ttlSeconds == null ? config.getDefaultTtlSeconds() : ttlSeconds;
+        if (ttl <= 0) {
+            return loader.get();
+        }
+
+        Entry entry = lookup(key);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return copy(entry.result);
+        }
+
+        CompletableFuture<PagingResultImpl> future = new CompletableFuture<>();
+        CompletableFuture<PagingResultImpl> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return copy(join(existing));
+        }
+
+        misses.incrementAndGet();
+        long generation = generation(modelName).get();
+        try {
+            PagingResultImpl result = loader.get();
+            PagingResultImpl snapshot = copy(result);
+            future.complete(snapshot);
+            store(key, new Entry(modelName, snapshot, estimateWeight(snapshot),
+                    System.currentTimeMillis() + ttl * 1000L, generation));
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public void invalidate(String modelName) {
+        generation(modelName).incrementAndGet();
+        synchronized (entries) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry e = it.next();
+                if (e.modelName.equals(modelName)) {
+                    totalWeight -= e.weight;
+                    it.remove();
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("查询模型[{}]的结果缓存已失效", modelName);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (AtomicLong g : generations.values()) {
+            g.incrementAndGet();
+        }
+        synchronized (entries) {
+            entries.clear();
+            totalWeight = 0;
+        }
+    }
+
+    /**
+     * 命中统计，用于日志与监控
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+            stats.put("weight", totalWeight);
+        }
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private Entry lookup(Object key) {
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e == null) {
+                return null;
+            }
+            if (e.expireAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                totalWeight -= e.weight;
+                return null;
+            }
+            return e;
+        }
+    }
+
+    private void store(Object key, Entry entry) {
+        if (entry.weight > config.getMaxEntryBytes()) {
+            if (log.isDebugEnabled()) {
+                log.debug("查询模型[{}]的结果过大({} bytes)，不写入缓存", entry.modelName, entry.weight);
+            }
+            return;
+        }
+        synchronized (entries) {
+            // 加载期间发生了失效，结果可能基于旧模型
+            if (generation(entry.modelName).get() != entry.generation) {
+                return;
+            }
+            Entry old = entries.put(key, entry);
+            if (old != null) {
+                totalWeight -= old.weight;
+            }
+            totalWeight += entry.weight;
+            Iterator<Entry> it = entries.values().iterator();
+            while (totalWeight > config.getMaxWeightBytes() && it.hasNext()) {
+                Entry eldest = it.next();
+                totalWeight -= eldest.weight;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private AtomicLong generation(String modelName) {
+        return generations.computeIfAbsent(modelName, k -> new AtomicLong());
+    }
+
+    private static PagingResultImpl join(CompletableFuture<PagingResultImpl> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 复制结果，行与汇总 Map 都是新对象，避免后续步骤修改缓存内容
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static PagingResultImpl copy(PagingResultImpl source) {
+        List items = source.getItems();
+        List copiedItems = null;
+        if (items instanceof ColumnarResult columnar) {
+            copiedItems = columnar.copy();
+        } else if (items != null) {
+            copiedItems = new ArrayList(items.size());
+            for (Object item : items) {
+                copiedItems.add(item instanceof Map ? copyMap((Map) item) : item);
+            }
+        }
+        Object totalData = source.getTotalData();
+        return PagingResultImpl.builder()
+                .total(source.getTotal())
+                .hasNext(source.isHasNext())
+                .start(source.getStart())
+                .limit(source.getLimit())
+                .items(copiedItems)
+                .totalData(totalData instanceof Map ? copyMap((Map) totalData) : totalData)
+                .cursor(source.getCursor())
+                .totalApproximate(source.isTotalApproximate())
+                .build();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map copyMap(Map map) {
+        if (map instanceof LinkedCaseInsensitiveMap<?> ci) {
+            return ci.clone();
+        }
+        return new LinkedHashMap(map);
+    }
+
+    /**
+     * 粗略估算结果占用的字节数
+     */
+    static long estimateWeight(PagingResultImpl result) {
+        long weight = 64;
+        if (result.getItems() instanceof ColumnarResult columnar) {
+            weight += columnar.estimateBytes();
+        } else if (result.getItems() != null) {
+            for (Object item : result.getItems()) {
+                weight += estimateValue(item);
+            }
+        }
+        return weight + estimateValue(result.getTotalData());
+    }
+
+    private static long estimateValue(Object value) {
+        if (value == null) {
+            return 8;
+        }
+        if (value instanceof CharSequence cs) {
+            return 40 + 2L * cs.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long w = 48;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                w += 32 + estimateValue(e.getKey()) + estimateValue(e.getValue());
+            }
+            return w;
+        }
+        if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        }
+        if (value instanceof Collection<?> c) {
+            long w = 40;
+            for (Object o : c) {
+                w += estimateValue(o);
+            }
+            return w;
+        }
+        return 24;
+    }
+}
@@ -0,0 +1,301 @@
+package com.foggyframework.dataset.db.model.engine.query;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.core.tuple.Tuple2;
+import com.foggyframework.core.tuple.Tuples;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 明细查询与汇总查询并发执行器
+ * <p>当 {@code foggy.dataset.parallel-query.enabled=true} 时启用，
+ * 由 {@link com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl} 在 returnTotal=true 时使用
+ *
+ * <h3>执行规则：</h3>
+ * <ul>
+ *   <li>两条语句分别在独立线程上执行，各自从连接池借用连接</li>
+ *   <li>全局并发数与单模型并发数均有上限，拿不到许可时退回调用线程串行执行</li>
+ *   <li>任意一条语句失败时，对另一条正在执行的语句调用 {@link Statement#cancel()}</li>
+ *   <li>当前线程存在事务时不并发（其他连接看不到未提交的数据）</li>
+ * </ul>
+ *
+ * <h3>配置示例：</h3>
+ * <pre>
+ * foggy:
+ *   dataset:
+ *     parallel-query:
+ *       enabled: true
+ *       max-concurrency: 64
+ *       per-model-limit: 8
+ *       model-limits:
+ *         FactSalesQueryModel: 16
+ * </pre>
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public class ParallelQueryExecutor implements DisposableBean {
+
+    /**
+     * 可被取消的查询任务，执行时须通过 tracker 登记 Statement
+     */
+    @FunctionalInterface
+    public interface StatementTask<T> {
+        T execute(StatementTracker tracker) throws Exception;
+    }
+
+    /**
+     * 记录执行中的 Statement，以便兄弟任务失败时取消
+     */
+    public static class StatementTracker {
+        private volatile Statement statement;
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        public void register(Statement statement) throws SQLException {
+            this.statement = statement;
+            if (cancelled.get()) {
+                statement.cancel();
+            }
+        }
+
+        void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            Statement st = statement;
+            if (st != null) {
+                try {
+                    st.cancel();
+                } catch (SQLException | RuntimeException e) {
+                    log.debug("取消查询语句失败: {}", e.getMessage());
+                }
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+
+    /**
+     * 单次并发执行的耗时统计（毫秒）
+     */
+    @Getter
+    public static class Timings {
+        long firstDuration;
+        long secondDuration;
+        long wallDuration;
+        boolean parallel;
+    }
+
+    private final DatasetProperties.ParallelQuery config;
+
+    private final ExecutorService executorService;
+
+    private final Semaphore globalPermits;
+
+    private final Map<String, Semaphore> modelPermits = new ConcurrentHashMap<>();
+
+    @Getter
+    private final boolean virtualThreads;
+
+    public ParallelQueryExecutor(DatasetProperties.ParallelQuery config) {
+        this.config = config;
+        this.globalPermits = new Semaphore(Math.max(1, config.getMaxConcurrency()));
+        ExecutorService vt = config.isVirtualThreads() ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = vt != null;
+        this.executorService = vt != null ? vt : newPlatformThreadExecutor(Math.max(1, config.getMaxConcurrency()));
+    }
+
+    /**
+     * 并发执行两个查询任务，二者都成功才返回
+     *
+     * @param modelName 查询模型名称，用于单模型并发限制
+     * @param first     第一个任务（通常为明细查询）
+     * @param second    第二个任务（通常为汇总查询）
+     * @param timings   耗时统计，可为 null
+     * @return 两个任务的结果
+     */
+    public <A, B> Tuple2<A, B> executeBoth(String modelName, StatementTask<A> first, StatementTask<B> second, Timings timings) {
+        long wallStart = System.currentTimeMillis();
+        Semaphore modelSemaphore = getModelSemaphore(modelName);
+
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !globalPermits.tryAcquire()) {
+            return executeSequential(first, second, timings, wallStart);
+        }
+        if (!modelSemaphore.tryAcquire()) {
+            globalPermits.release();
+            if (log.isDebugEnabled()) {
+                log.debug("模型[{}]并发查询已达上限，退回串行执行", modelName);
+            }
+            return executeSequential(first, second, timings, wallStart);
+        }
+
+        StatementTracker secondTracker = new StatementTracker();
+        StatementTracker firstTracker = new StatementTracker();
+        AtomicInteger finished = new AtomicInteger();
+        Future<B> secondFuture;
+        try {
+            secondFuture = executorService.submit(() -> {
+                long start = System.currentTimeMillis();
+                try {
+                    if (secondTracker.isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    return second.execute(secondTracker);
+                } catch (Throwable t) {
+                    firstTracker.cancel();
+                    throw t;
+                } finally {
+                    if (timings != null) {
+                        timings.secondDuration = System.currentTimeMillis() - start;
+                    }
+                    if (finished.incrementAndGet() == 2) {
+                        releasePermits(modelSemaphore);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releasePermits(modelSemaphore);
+            return executeSequential(first, second, timings, wallStart);
+        }
+
+        A firstResult;
+        long start = System.currentTimeMillis();
+        try {
+            firstResult = first.execute(firstTracker);
+        } catch (Throwable t) {
+            // 不取消 Future 本身，保证任务的 finally 一定执行以归还许可
+            secondTracker.cancel();
+            throw propagate(t);
+        } finally {
+            if (timings != null) {
+                timings.firstDuration = System.currentTimeMillis() - start;
+            }
+            if (finished.incrementAndGet() == 2) {
+                releasePermits(modelSemaphore);
+            }
+        }
+
+        B secondResult;
+        try {
+            secondResult = secondFuture.get();
+        } catch (InterruptedException e) {
+            secondTracker.cancel();
+            Thread.currentThread().interrupt();
+            throw RX.throwB(e);
+        } catch (ExecutionException e) {
+            throw propagate(e);
+        }
+
+        if (timings != null) {
+            timings.parallel = true;
+            timings.wallDuration = System.currentTimeMillis() - wallStart;
+        }
+        return Tuples.of(firstResult, secondResult);
+    }
+
+    /**
+     * 构建登记 Statement 的 JDBC 查询
+     */
+    public static <T> T query(JdbcTemplate template, StatementTracker tracker, String sql, Object[] args, ResultSetExtractor<T> extractor) {
+        PreparedStatementCreator psc = con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            tracker.register(ps);
+            return ps;
+        };
+        return template.query(psc, new ArgumentPreparedStatementSetter(args), extractor);
+    }
+
+    private <A, B> Tuple2<A, B> executeSequential(StatementTask<A> first, StatementTask<B> second, Timings timings, long wallStart) {
+        try {
+            long start = System.currentTimeMillis();
+            A a = first.execute(new StatementTracker());
+            long firstEnd = System.currentTimeMillis();
+            B b = second.execute(new StatementTracker());
+            if (timings != null) {
+                timings.firstDuration = firstEnd - start;
+                timings.secondDuration = System.currentTimeMillis() - firstEnd;
+                timings.wallDuration = System.currentTimeMillis() - wallStart;
+                timings.parallel = false;
+            }
+            return Tuples.of(a, b);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    private void releasePermits(Semaphore modelSemaphore) {
+        modelSemaphore.release();
+        globalPermits.release();
+    }
+
+    private Semaphore getModelSemaphore(String modelName) {
+        return modelPermits.computeIfAbsent(modelName == null ? "" : modelName, name -> {
+            Integer limit = config.getModelLimits() == null ? null : config.getModelLimits().get(name);
+            return new Semaphore(Math.max(1, limit == null ? config.getPerModelLimit() : limit));
+        });
+    }
+
+    /**
+     * 运行时异常原样抛出，受检异常包装为业务异常
+     */
+    private static RuntimeException propagate(Throwable t) {
+        while ((t instanceof ExecutionException || t instanceof CompletionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        if (t instanceof RuntimeException re) {
+            return re;
+        }
+        if (t instanceof Error err) {
+            throw err;
+        }
+        return RX.throwB(t);
+    }
+
+    /**
+     * JDK 21+ 使用虚拟线程，低版本返回 null
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor(int maxThreads) {
+        AtomicInteger idx = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+            Thread t = new Thread(r, "foggy-parallel-query-" + idx.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.foggyframework.dataset.db.model.engine.query;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 预编译语句复用统计
+ * <p>驱动的语句缓存（MySQL cachePrepStmts、PostgreSQL prepareThreshold 等）按SQL文本缓存，
+ * 这里记录执行次数与其中不同SQL文本（形状）的个数，两者之差即可复用已预编译语句的次数，用于观察分页参数化等改动的效果。
+ * <p>不加锁：已见过的形状只做一次并发集合查找；最多记录 capacity 个形状，超出后的新形状只计数不记录。
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public class StatementCacheStats {
+
+    /**
+     * 与 MySQL 推荐的 prepStmtCacheSize 一致
+     */
+    public static final int DEFAULT_CAPACITY = 250;
+
+    private final int capacity;
+
+    private final Set<String> shapes = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public StatementCacheStats() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StatementCacheStats(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 记录一次语句执行
+     *
+     * @return 该SQL文本是否执行过
+     */
+    public boolean record(String sql) {
+        executions.increment();
+        if (shapes.contains(sql)) {
+            return true;
+        }
+        if (shapes.size() >= capacity || shapes.add(sql)) {
+            misses.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    public long getHits() {
+        return Math.max(0, executions.sum() - misses.sum());
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long total = executions.sum();
+        return total == 0 ? 0 : (double) getHits() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("executions=%d, shapes=%d, hitRate=%.2f", getExecutions(), getMisses(), getHitRate());
+    }
+}
@@ -0,0 +1,100 @@
+package com.foggyframework.dataset.db.model.engine.query;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 汇总结果缓存
+ * <p>每个查询模型一个实例，key 为汇总 SQL 与绑定参数。同一条件翻页时只有第一页执行 count 与度量汇总，
+ * 之后的页直接复用。模型重新加载时随实例一起丢弃。
+ *
+ * <p>按条数上限做 LRU 淘汰，过期条目在读取时移除。
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public class TotalsCache {
+
+    private static final class Entry {
+        final Map<String, Object> totalData;
+        final long expireAt;
+
+        Entry(Map<String, Object> totalData, long expireAt) {
+            this.totalData = totalData;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TotalsCache(int maxSize, long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    public static Object key(String aggSql, List<Object> values) {
+        return Arrays.asList(aggSql, values == null ? null : new ArrayList<>(values));
+    }
+
+    /**
+     * 读取缓存的汇总数据，返回副本，未命中或已过期返回 null
+     */
+    public Map<String, Object> get(Object key) {
+        Entry e;
+        synchronized (entries) {
+            e = entries.get(key);
+            if (e != null && e.expireAt <= System.currentTimeMillis()) {
+                entries.remove(key);
+                e = null;
+            }
+        }
+        if (e == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new LinkedHashMap<>(e.totalData);
+    }
+
+    public void put(Object key, Map<String, Object> totalData) {
+        if (totalData == null || ttlMillis <= 0) {
+            return;
+        }
+        Entry e = new Entry(new LinkedHashMap<>(totalData), System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, e);
+            Iterator<Object> it = entries.keySet().iterator();
+            while (entries.size() > maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
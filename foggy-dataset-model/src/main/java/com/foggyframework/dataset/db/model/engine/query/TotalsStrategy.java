@@ -0,0 +1,38 @@
+package com.foggyframework.dataset.db.model.engine.query;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.core.utils.StringUtils;
+
+/**
+ * returnTotal 时总数的计算方式
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public enum TotalsStrategy {
+    /**
+     * 每次查询都执行 count 与度量汇总
+     */
+    EXACT,
+    /**
+     * 精确计算，结果按汇总 SQL 与参数缓存，同一条件翻页时复用
+     */
+    CACHED,
+    /**
+     * 按数据库执行计划估算总数，不执行 count；结果标记为估算值且不含度量汇总。
+     * 数据库不支持、分组查询或估算值较小时退回 CACHED
+     */
+    ESTIMATED;
+
+    public static TotalsStrategy of(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return EXACT;
+        }
+        for (TotalsStrategy s : values()) {
+            if (s.name().equalsIgnoreCase(value.trim())) {
+                return s;
+            }
+        }
+        throw RX.throwAUserTip("不支持的总数计算方式: " + value + "，可选 exact、cached、estimated");
+    }
+}
@@ -1,26 +1,54 @@
 package com.foggyframework.dataset.db.model.engine.query_model;
 
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
 import com.foggyframework.dataset.db.model.impl.loader.TableModelLoaderManagerImpl;
-import com.foggyframework.dataset.db.model.impl.model.DbTableModelImpl;
-import com.foggyframework.dataset.db.model.spi.QueryModel;
-import com.foggyframework.dataset.db.model.spi.TableModel;
+import com.foggyframework.dataset.db.model.spi.QueryResultCache;
 import com.foggyframework.fsscript.loadder.FsscriptRemoveEvent;
 import com.foggyframework.fsscript.parser.spi.Fsscript;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * 模型文件变化处理
+ * <p>根据 {@link ModelDependencyGraph} 找出受影响的 TM/QM，先重建 TM 再重建使用它们的 QM，
+ * 每个模型重建完成后原子替换注册表中的旧模型，重建期间请求继续使用旧模型。
+ * 重建失败的模型会从注册表移除，下次请求时重新加载并把错误返回给调用方。
+ */
 @Slf4j
-public class DbModelFileChangeHandler implements ApplicationListener<FsscriptRemoveEvent> {
+public class DbModelFileChangeHandler implements ApplicationListener<FsscriptRemoveEvent>, DisposableBean {
 
     QueryModelLoaderImpl jdbcQueryModelLoader;
     TableModelLoaderManagerImpl jdbcModelLoader;
 
+    @Autowired(required = false)
+    QueryResultCache queryResultCache;
+
+    @Autowired(required = false)
+    DatasetProperties datasetProperties;
+
+    @Getter
+    private final ModelDependencyGraph dependencyGraph = new ModelDependencyGraph();
+
+    /**
+     * 各模型的重建统计，key 为 TM:名称 或 QM:名称
+     */
+    private final Map<String, ReloadStat> reloadStats = new ConcurrentHashMap<>();
+
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "foggy-model-reload");
+        t.setDaemon(true);
+        return t;
+    });
+
     public DbModelFileChangeHandler(QueryModelLoaderImpl jdbcQueryModelLoader, TableModelLoaderManagerImpl jdbcModelLoader) {
         this.jdbcQueryModelLoader = jdbcQueryModelLoader;
         this.jdbcModelLoader = jdbcModelLoader;
@@ -35,50 +63,125 @@ public class DbModelFileChangeHandler implements ApplicationListener<FsscriptRem
             log.debug("收到Fsscript变化事件");
             log.debug(fsscriptRemoveEvent.getRemovedFsscripts().toString());
         }
-        if(true){
-            log.debug("由于目前只会在开发环境发生模型变化 ，因此我们先简单粗暴的全清");
-            jdbcModelLoader.clearAll();
-            jdbcQueryModelLoader.clearAll();
+        DatasetProperties.ModelReload config = datasetProperties == null ? new DatasetProperties.ModelReload() : datasetProperties.getModelReload();
+        if (!config.isIncremental()) {
+            clearAll();
             return;
         }
-        Map<String, TableModel> mm = new HashMap<>(jdbcModelLoader.getName2JdbcModel());
-        Map<String, QueryModel> qmm = new HashMap<>(jdbcQueryModelLoader.getName2JdbcQueryModel());
-        List<DbTableModelImpl> removedTm = new ArrayList<>();
-        for (Fsscript removedFsscript : fsscriptRemoveEvent.getRemovedFsscripts()) {
-            for (Map.Entry<String, TableModel> stringJdbcModelEntry : mm.entrySet()) {
-                DbTableModelImpl tm = stringJdbcModelEntry.getValue().getDecorate(DbTableModelImpl.class);
-                if (tm != null && tm.getFScript().getPath().equals(removedFsscript.getPath())) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("移除模型" + tm.getName());
-                    }
-                    removedTm.add(tm);
-                    mm.remove(stringJdbcModelEntry.getKey());
-
-                }
+        List<String> paths = new ArrayList<>();
+        for (Fsscript removed : fsscriptRemoveEvent.getRemovedFsscripts()) {
+            if (removed != null && removed.getPath() != null) {
+                paths.add(removed.getPath());
             }
+        }
+        CompletableFuture<ModelDependencyGraph.Affected> future = reload(paths);
+        if (!config.isAsync()) {
+            future.join();
+        }
+    }
 
-            for (Map.Entry<String, QueryModel> stringJdbcQueryModelEntry : qmm.entrySet()) {
-                JdbcQueryModelImpl qtm = stringJdbcQueryModelEntry.getValue().getDecorate(JdbcQueryModelImpl.class);
-                if (qtm != null && qtm.getFsscript().getPath().equals(removedFsscript.getPath())) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("s1.移除查询模型" + qtm.getName());
-                    }
-                    qmm.remove(stringJdbcQueryModelEntry.getKey());
-                }
-
-                for (DbTableModelImpl jdbcModel : removedTm) {
-                    if(qtm.getJdbcModel().getName().equals(jdbcModel.getName())){
-                        if (log.isDebugEnabled()) {
-                            log.debug("s2.移除查询模型" + qtm.getName());
-                        }
-                    }
-                }
-            }
+    /**
+     * 重建受这些脚本变化影响的模型
+     *
+     * @param paths 变化的脚本路径
+     * @return 重建完成时结束，结果为受影响的模型
+     */
+    public CompletableFuture<ModelDependencyGraph.Affected> reload(Collection<String> paths) {
+        ModelDependencyGraph.Affected affected = dependencyGraph.affected(paths);
+        if (affected.isEmpty()) {
+            log.debug("变化的脚本未被任何已加载的模型使用: {}", paths);
+            return CompletableFuture.completedFuture(affected);
+        }
+        log.info("模型文件变化，重建 {}", affected);
+        invalidateResults(affected);
+        return CompletableFuture.supplyAsync(() -> {
+            rebuild(affected);
+            return affected;
+        }, reloadExecutor);
+    }
+
+    private void rebuild(ModelDependencyGraph.Affected affected) {
+        for (String name : affected.getTableModels()) {
+            rebuild("TM:" + name, () -> jdbcModelLoader.reload(name), () -> jdbcModelLoader.getTableModels().remove(name));
+        }
+        for (String name : affected.getQueryModels()) {
+            rebuild("QM:" + name, () -> jdbcQueryModelLoader.reload(name), () -> jdbcQueryModelLoader.getQueryModels().remove(name));
+        }
+        // 重建期间旧模型产生的结果也可能进入缓存
+        invalidateResults(affected);
+    }
 
+    private void rebuild(String key, Runnable reload, Runnable remove) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            reload.run();
+            success = true;
+        } catch (Throwable t) {
+            log.error("重建模型{}失败，已移除，下次访问时重新加载: {}", key, t.getMessage());
+            remove.run();
+        } finally {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            reloadStats.computeIfAbsent(key, k -> new ReloadStat()).record(millis, success);
+            log.debug("重建模型{}耗时{}ms", key, millis);
         }
+    }
+
+    private void invalidateResults(ModelDependencyGraph.Affected affected) {
+        if (queryResultCache != null) {
+            affected.getQueryModels().forEach(queryResultCache::invalidate);
+        }
+    }
+
+    /**
+     * 清空全部模型
+     */
+    public void clearAll() {
+        jdbcModelLoader.clearAll();
+        jdbcQueryModelLoader.clearAll();
+        dependencyGraph.clear();
+        if (queryResultCache != null) {
+            queryResultCache.invalidateAll();
+        }
+    }
+
+    /**
+     * 各模型的重建统计快照，key 为 TM:名称 或 QM:名称
+     */
+    public Map<String, ReloadStat> getReloadStats() {
+        return Collections.unmodifiableMap(reloadStats);
+    }
+
+    @Override
+    public void destroy() {
+        reloadExecutor.shutdownNow();
+    }
 
-        jdbcModelLoader.setName2JdbcModel(mm);
-        jdbcQueryModelLoader.setName2JdbcQueryModel(qmm);
+    /**
+     * 单个模型的重建统计
+     */
+    @Getter
+    public static class ReloadStat {
+        private long count;
+        private long failures;
+        private long lastMillis;
+        private long maxMillis;
+        private long totalMillis;
 
+        synchronized void record(long millis, boolean success) {
+            count++;
+            if (!success) {
+                failures++;
+            }
+            lastMillis = millis;
+            maxMillis = Math.max(maxMillis, millis);
+            totalMillis += millis;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "count=" + count + ", failures=" + failures + ", lastMillis=" + lastMillis
+                    + ", maxMillis=" + maxMillis + ", totalMillis=" + totalMillis;
+        }
     }
 }
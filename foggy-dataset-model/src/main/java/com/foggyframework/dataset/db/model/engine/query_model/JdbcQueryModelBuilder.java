@@ -2,7 +2,12 @@ package com.foggyframework.dataset.db.model.engine.query_model;
 
 import com.foggyframework.core.ex.RX;
 import com.foggyframework.dataset.db.model.def.query.DbQueryModelDef;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.db.model.engine.QueryPlanCache;
 import com.foggyframework.dataset.db.model.engine.formula.SqlFormulaService;
+import com.foggyframework.dataset.db.model.engine.query.ParallelQueryExecutor;
+import com.foggyframework.dataset.db.model.engine.query.TotalsCache;
+import com.foggyframework.dataset.db.model.engine.query.TotalsStrategy;
 import com.foggyframework.dataset.db.model.i18n.DatasetMessages;
 import com.foggyframework.dataset.db.model.impl.model.DbTableModelImpl;
 import com.foggyframework.dataset.db.model.interceptor.SqlLoggingInterceptor;
@@ -59,6 +64,15 @@ public class JdbcQueryModelBuilder implements QueryModelBuilder {
     @Autowired(required = false)
     private SqlLoggingInterceptor sqlLoggingInterceptor;
 
+    @Autowired(required = false)
+    private ParallelQueryExecutor parallelQueryExecutor;
+
+    @Autowired(required = false)
+    private DatasetProperties datasetProperties;
+
+    @Autowired(required = false)
+    private QueryResultCache queryResultCache;
+
     /**
      * 模型名称到 TableModelProxy 的映射
      */
@@ -117,6 +131,26 @@ public class JdbcQueryModelBuilder implements QueryModelBuilder {
         if (sqlLoggingInterceptor != null) {
             qm.setSqlLoggingInterceptor(sqlLoggingInterceptor);
         }
+        if (parallelQueryExecutor != null) {
+            qm.setParallelQueryExecutor(parallelQueryExecutor);
+        }
+        if (datasetProperties != null && datasetProperties.getPlanCache().isEnabled()) {
+            qm.setQueryPlanCache(new QueryPlanCache(qm, datasetProperties.getPlanCache().getMaxSize()));
+        }
+        if (datasetProperties != null && datasetProperties.getColumnarResult().isEnabled()) {
+            qm.setColumnarResult(true);
+        }
+        if (queryResultCache != null) {
+            qm.setQueryResultCache(queryResultCache);
+            qm.setResultCacheTtl(queryModelDef.getCacheTtl());
+        }
+        DatasetProperties.Totals totals = datasetProperties == null ? new DatasetProperties.Totals() : datasetProperties.getTotals();
+        TotalsStrategy totalsStrategy = TotalsStrategy.of(queryModelDef.getTotals() != null ? queryModelDef.getTotals() : totals.getStrategy());
+        qm.setTotalsStrategy(totalsStrategy);
+        if (totalsStrategy != TotalsStrategy.EXACT) {
+            qm.setTotalsCache(new TotalsCache(totals.getCacheMaxSize(), totals.getCacheTtlSeconds()));
+            qm.setTotalsExactBelow(totals.getExactBelow());
+        }
 
         queryModelDef.apply(qm);
 
@@ -1,28 +1,50 @@
 package com.foggyframework.dataset.db.model.engine.query_model;
 
 import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.core.ex.RX;
 import com.foggyframework.core.trans.ObjectTransFormatter;
+import com.foggyframework.core.tuple.Tuple2;
 import com.foggyframework.dataset.client.domain.PagingRequest;
 import com.foggyframework.dataset.db.dialect.FDialect;
 import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
 import com.foggyframework.dataset.db.model.engine.JdbcModelQueryEngine;
+import com.foggyframework.dataset.db.model.engine.QueryPlanCache;
 import com.foggyframework.dataset.db.model.engine.expression.SqlCalculatedFieldProcessor;
 import com.foggyframework.dataset.db.model.engine.formula.SqlFormulaService;
 import com.foggyframework.dataset.db.model.engine.query.DbQueryResult;
+import com.foggyframework.dataset.db.model.engine.query.KeysetPagination;
+import com.foggyframework.dataset.db.model.engine.query.ParallelQueryExecutor;
+import com.foggyframework.dataset.db.model.engine.query.StatementCacheStats;
+import com.foggyframework.dataset.db.model.engine.query.TotalsCache;
+import com.foggyframework.dataset.db.model.engine.query.TotalsStrategy;
 import com.foggyframework.dataset.db.model.impl.model.TableModelSupport;
 import com.foggyframework.dataset.db.model.interceptor.SqlLoggingInterceptor;
 import com.foggyframework.dataset.db.model.plugins.result_set_filter.ModelResultContext;
 import com.foggyframework.dataset.db.model.spi.*;
 import com.foggyframework.dataset.model.PagingResultImpl;
+import com.foggyframework.dataset.resultset.columnar.ColumnarResult;
+import com.foggyframework.dataset.resultset.spring.ColumnarResultSetExtractor;
 import com.foggyframework.dataset.utils.DataSourceQueryUtils;
 import com.foggyframework.dataset.utils.DbUtils;
 import com.foggyframework.fsscript.parser.spi.Fsscript;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +69,54 @@ public class JdbcQueryModelImpl extends QueryModelSupport implements JdbcQueryMo
      */
     private SqlLoggingInterceptor sqlLoggingInterceptor;
 
+    /**
+     * 明细/汇总并发执行器（可选依赖）
+     * <p>只有当 foggy.dataset.parallel-query.enabled=true 时才会注入，为空时串行执行
+     */
+    private ParallelQueryExecutor parallelQueryExecutor;
+
+    /**
+     * 查询计划缓存（可选）
+     * <p>只有当 foggy.dataset.plan-cache.enabled=true 时才会创建；模型重新加载时随实例一起失效
+     */
+    private QueryPlanCache queryPlanCache;
+
+    /**
+     * 查询结果缓存（可选依赖）
+     * <p>只有当 foggy.dataset.result-cache.enabled=true 时才会注入
+     */
+    private QueryResultCache queryResultCache;
+
+    /**
+     * QM 文件中声明的结果缓存有效期（秒），为 null 时使用默认值
+     */
+    private Integer resultCacheTtl;
+
+    /**
+     * 明细查询是否读入列式结果（foggy.dataset.columnar-result.enabled）
+     */
+    private boolean columnarResult;
+
+    /**
+     * returnTotal 时总数的计算方式（QM 文件中的 totals 或 foggy.dataset.totals.strategy）
+     */
+    private TotalsStrategy totalsStrategy = TotalsStrategy.EXACT;
+
+    /**
+     * 汇总结果缓存，totalsStrategy 为 CACHED/ESTIMATED 时创建
+     */
+    private TotalsCache totalsCache;
+
+    /**
+     * ESTIMATED 策略下估算值低于该值时改为精确计算
+     */
+    private long totalsExactBelow;
+
+    /**
+     * 明细SQL的执行次数与不同SQL文本个数，观察驱动预编译语句缓存的复用情况
+     */
+    private final StatementCacheStats statementCacheStats = new StatementCacheStats();
+
     public JdbcQueryModelImpl(List<TableModel> jdbcModelList, Fsscript fsscript, SqlFormulaService sqlFormulaService, DataSource dataSource) {
         super(jdbcModelList, fsscript);
         this.jdbcModel = jdbcModelList.get(0);
@@ -105,29 +175,67 @@ public class JdbcQueryModelImpl extends QueryModelSupport implements JdbcQueryMo
         /**
          * 构建 查询语句
          */
-        queryEngine.analysisQueryRequest(systemBundlesContext, context);
-
-        String pagingSql = DbUtils.getDialect(dataSource).generatePagingSql(queryEngine.getSql(), form.getStart(), form.getLimit());
+        if (queryPlanCache != null) {
+            queryPlanCache.analysisQueryRequest(queryEngine, systemBundlesContext, context);
+        } else {
+            queryEngine.analysisQueryRequest(systemBundlesContext, context);
+        }
 
-        // 记录 SQL 日志（明细查询）
-        if (sqlLoggingInterceptor != null) {
-            sqlLoggingInterceptor.logSql(pagingSql, queryEngine.getValues());
+        KeysetPagination keyset = queryEngine.getKeysetPagination();
+        // 分页以绑定参数追加在查询参数之后，汇总SQL仍使用 queryEngine.getValues()
+        List<Object> pagingValues = new ArrayList<>(queryEngine.getValues());
+        String pagingSql = keyset == null
+                ? DbUtils.getDialect(dataSource).generatePagingSql(queryEngine.getSql(), form.getStart(), form.getLimit(), pagingValues)
+                // 游标分页忽略 start，多取一行用于判断是否还有下一页
+                : DbUtils.getDialect(dataSource).generatePagingSql(queryEngine.getSql(), 0, form.getLimit() < 0 ? form.getLimit() : form.getLimit() + 1, pagingValues);
+
+        if (isResultCacheable()) {
+            PagingResultImpl result = queryResultCache.getOrLoad(getName(), buildResultCacheKey(pagingSql, pagingValues, form, queryEngine, context),
+                    resultCacheTtl, () -> executeQuery(pagingSql, pagingValues, form, queryEngine));
+            return DbQueryResult.of(result, queryEngine);
         }
+        return DbQueryResult.of(executeQuery(pagingSql, pagingValues, form, queryEngine), queryEngine);
+    }
 
-        long startTime = System.currentTimeMillis();
+    private PagingResultImpl executeQuery(String pagingSql, List<Object> pagingValues, PagingRequest<DbQueryRequestDef> form, JdbcModelQueryEngine queryEngine) {
+        KeysetPagination keyset = queryEngine.getKeysetPagination();
+        // 游标续页带有定位条件，只在首页计算总数
+        boolean returnTotal = form.getParam().isReturnTotal() && (keyset == null || !keyset.isContinuation());
+
+        // 估算值或缓存命中时不再执行汇总 SQL
+        Map<String, Object> totalData = null;
+        boolean approximate = false;
+        Object totalsKey = null;
+        if (returnTotal && totalsStrategy != TotalsStrategy.EXACT) {
+            if (totalsStrategy == TotalsStrategy.ESTIMATED && !form.getParam().hasGroupBy()) {
+                totalData = estimateTotal(queryEngine);
+                approximate = totalData != null;
+            }
+            if (totalData == null && totalsCache != null) {
+                totalsKey = TotalsCache.key(queryEngine.getAggSql(), queryEngine.getValues());
+                totalData = totalsCache.get(totalsKey);
+            }
+        }
 
         List items;
-        if (form.getLimit() < 0) {
-            //前端传了小于0的值，意味着不需要查明细~
-            items = Collections.EMPTY_LIST;
+        boolean parallel = parallelQueryExecutor != null && returnTotal && totalData == null && form.getLimit() >= 0;
+        if (parallel) {
+            Tuple2<List<Map<String, Object>>, Map<String, Object>> result = queryDetailAndTotalParallel(pagingSql, pagingValues, queryEngine);
+            items = result.getT1();
+            totalData = result.getT2();
         } else {
-            items = DataSourceQueryUtils.getDatasetTemplate(dataSource).getTemplate().queryForList(pagingSql, queryEngine.getValues().toArray(new Object[0]));
+            items = queryDetail(pagingSql, pagingValues, form, queryEngine);
         }
 
-        // 记录执行时间（明细查询）
-        if (sqlLoggingInterceptor != null && form.getLimit() >= 0) {
-            long duration = System.currentTimeMillis() - startTime;
-            sqlLoggingInterceptor.logExecutionTime(this.getName(), duration);
+        String cursor = null;
+        if (keyset != null && form.getLimit() >= 0) {
+            boolean hasMore = items.size() > form.getLimit();
+            if (hasMore) {
+                items.remove(items.size() - 1);
+            }
+            // 在格式化之前取值，保证游标中是原始类型
+            cursor = keyset.nextCursor(items, hasMore);
+            keyset.removeHiddenColumns(items);
         }
 
         //对items中的数据进行格式化
@@ -137,6 +245,10 @@ public class JdbcQueryModelImpl extends QueryModelSupport implements JdbcQueryMo
                 ObjectTransFormatter<?> ff = ((DbQueryColumn) column).getValueFormatter();
                 if (ff != null) {
                     String name = column.getName();
+                    if (items instanceof ColumnarResult columnar) {
+                        columnar.transformColumn(name, ff::format);
+                        continue;
+                    }
                     for (Object item : items) {
                         if (item instanceof Map) {
                             Map mm = (Map) item;
@@ -151,33 +263,278 @@ public class JdbcQueryModelImpl extends QueryModelSupport implements JdbcQueryMo
         /**
          * 查询汇总数据
          */
-        Map<String, Object> totalData = null;
         int total = 0;
-        if (form.getParam().isReturnTotal()) {
-            // 记录 SQL 日志（汇总查询）
-            if (sqlLoggingInterceptor != null) {
-                sqlLoggingInterceptor.logSql(queryEngine.getAggSql(), queryEngine.getValues());
+        if (returnTotal) {
+            if (!parallel && totalData == null) {
+                totalData = queryTotal(queryEngine);
+                if (totalsKey != null) {
+                    totalsCache.put(totalsKey, totalData);
+                }
+            } else if (parallel && totalsKey != null) {
+                totalsCache.put(totalsKey, totalData);
             }
 
-            long aggStartTime = System.currentTimeMillis();
+            Number it = totalData == null ? null : (Number) totalData.get("total");
+            if (it != null) {
+                total = it.intValue();
+                totalData.put("total", total);
+            }
+        }
+        PagingResultImpl result = PagingResultImpl.of(items, form.getStart(), form.getLimit(), totalData, total);
+        if (keyset != null) {
+            result.setCursor(cursor);
+            result.setHasNext(cursor != null);
+        }
+        result.setTotalApproximate(approximate);
+        return result;
+    }
+
+    /**
+     * 按执行计划估算总数，不支持、估算失败或估算值低于 totalsExactBelow 时返回 null
+     */
+    private Map<String, Object> estimateTotal(JdbcModelQueryEngine queryEngine) {
+        Long estimate;
+        try {
+            JdbcTemplate template = DataSourceQueryUtils.getDatasetTemplate(dataSource).getTemplate();
+            estimate = getDialect().estimateRowCount(template, queryEngine.getSql(), queryEngine.getValues().toArray(new Object[0]));
+        } catch (RuntimeException e) {
+            log.debug("查询模型[{}]估算总数失败，改为精确计算: {}", getName(), e.getMessage());
+            return null;
+        }
+        if (estimate == null || estimate < totalsExactBelow || estimate > Integer.MAX_VALUE) {
+            return null;
+        }
+        Map<String, Object> totalData = new LinkedHashMap<>();
+        totalData.put("total", estimate);
+        return totalData;
+    }
+
+    /**
+     * 事务中可能读到未提交的数据，不使用结果缓存
+     */
+    private boolean isResultCacheable() {
+        return queryResultCache != null
+                && (resultCacheTtl == null || resultCacheTtl > 0)
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * 结果缓存 key：完整 SQL、绑定参数（含分页参数）与安全上下文
+     */
+    private Object buildResultCacheKey(String pagingSql, List<Object> pagingValues, PagingRequest<DbQueryRequestDef> form, JdbcModelQueryEngine queryEngine, ModelResultContext context) {
+        ModelResultContext.SecurityContext security = context.getSecurityContext();
+        List<Object> securityKey = security == null ? null : Arrays.asList(security.getAuthorization(), security.getUserId(),
+                security.getTenantId(), security.getDeptId(), security.getRoles(), security.getAttributes());
+        return Arrays.asList(getName(), pagingSql, form.getParam().isReturnTotal() ? queryEngine.getAggSql() : null,
+                form.getLimit() < 0, pagingValues, securityKey);
+    }
 
-            totalData = DataSourceQueryUtils.getDatasetTemplate(dataSource).queryMapObject1(queryEngine.getAggSql(), queryEngine.getValues());
 
-            // 记录执行时间（汇总查询）
-            if (sqlLoggingInterceptor != null) {
-                long aggDuration = System.currentTimeMillis() - aggStartTime;
-                sqlLoggingInterceptor.logExecutionTime(this.getName() + " (COUNT)", aggDuration);
+    private List queryDetail(String pagingSql, List<Object> pagingValues, PagingRequest<DbQueryRequestDef> form, JdbcModelQueryEngine queryEngine) {
+        // 记录 SQL 日志（明细查询）
+        if (sqlLoggingInterceptor != null) {
+            sqlLoggingInterceptor.logSql(pagingSql, pagingValues);
+        }
+
+        if (form.getLimit() < 0) {
+            //前端传了小于0的值，意味着不需要查明细~
+            return Collections.EMPTY_LIST;
+        }
+
+        long startTime = System.currentTimeMillis();
+        JdbcTemplate template = DataSourceQueryUtils.getDatasetTemplate(dataSource).getTemplate();
+        Object[] args = pagingValues.toArray(new Object[0]);
+        statementCacheStats.record(pagingSql);
+        List items = columnarResult
+                ? template.query(pagingSql, ColumnarResultSetExtractor.DEFAULT, args)
+                : template.queryForList(pagingSql, args);
+
+        // 记录执行时间（明细查询）
+        if (sqlLoggingInterceptor != null) {
+            long duration = System.currentTimeMillis() - startTime;
+            sqlLoggingInterceptor.logExecutionTime(this.getName(), duration);
+            sqlLoggingInterceptor.logStatementCacheStats(this.getName(), statementCacheStats);
+        }
+        return items;
+    }
+
+    private Map<String, Object> queryTotal(JdbcModelQueryEngine queryEngine) {
+        // 记录 SQL 日志（汇总查询）
+        if (sqlLoggingInterceptor != null) {
+            sqlLoggingInterceptor.logSql(queryEngine.getAggSql(), queryEngine.getValues());
+        }
+
+        long aggStartTime = System.currentTimeMillis();
+
+        Map<String, Object> totalData = DataSourceQueryUtils.getDatasetTemplate(dataSource).queryMapObject1(queryEngine.getAggSql(), queryEngine.getValues());
+
+        // 记录执行时间（汇总查询）
+        if (sqlLoggingInterceptor != null) {
+            long aggDuration = System.currentTimeMillis() - aggStartTime;
+            sqlLoggingInterceptor.logExecutionTime(this.getName() + " (COUNT)", aggDuration);
+        }
+        return totalData;
+    }
+
+    /**
+     * 明细查询与汇总查询在两个连接上并发执行，任一失败时取消另一条
+     */
+    private Tuple2<List<Map<String, Object>>, Map<String, Object>> queryDetailAndTotalParallel(String pagingSql, List<Object> pagingValues, JdbcModelQueryEngine queryEngine) {
+        if (sqlLoggingInterceptor != null) {
+            sqlLoggingInterceptor.logSql(pagingSql, pagingValues);
+            sqlLoggingInterceptor.logSql(queryEngine.getAggSql(), queryEngine.getValues());
+        }
+        JdbcTemplate template = DataSourceQueryUtils.getDatasetTemplate(dataSource).getTemplate();
+        Object[] pagingArgs = pagingValues.toArray(new Object[0]);
+        Object[] args = queryEngine.getValues().toArray(new Object[0]);
+        String aggSql = queryEngine.getAggSql();
+        statementCacheStats.record(pagingSql);
+
+        ParallelQueryExecutor.Timings timings = new ParallelQueryExecutor.Timings();
+        Tuple2<List<Map<String, Object>>, Map<String, Object>> result = parallelQueryExecutor.executeBoth(getName(),
+                tracker -> columnarResult
+                        ? ParallelQueryExecutor.query(template, tracker, pagingSql, pagingArgs, ColumnarResultSetExtractor.DEFAULT)
+                        : ParallelQueryExecutor.query(template, tracker, pagingSql, pagingArgs, new RowMapperResultSetExtractor<>(new ColumnMapRowMapper())),
+                tracker -> {
+                    List<Map<String, Object>> rows = ParallelQueryExecutor.query(template, tracker, aggSql, args, new RowMapperResultSetExtractor<>(new ColumnMapRowMapper(), 1));
+                    return rows.isEmpty() ? null : rows.get(0);
+                },
+                timings);
+
+        if (sqlLoggingInterceptor != null) {
+            sqlLoggingInterceptor.logParallelExecutionTime(getName(), timings.getFirstDuration(), timings.getSecondDuration(),
+                    timings.getWallDuration(), timings.isParallel());
+            sqlLoggingInterceptor.logStatementCacheStats(getName(), statementCacheStats);
+        }
+        return result;
+    }
+
+    /**
+     * 流式查询：向前只读游标逐行读取，格式化后直接回调，不构建结果列表
+     */
+    @Override
+    public long stream(SystemBundlesContext systemBundlesContext, ModelResultContext context, QueryRowHandler handler,
+                       int fetchSize, long maxRows) {
+        if (context.getRequest().getParam().isCursorPaging()) {
+            throw RX.throwAUserTip("流式查询不支持游标分页");
+        }
+        JdbcModelQueryEngine queryEngine = new JdbcModelQueryEngine(this, sqlFormulaService);
+        if (queryPlanCache != null) {
+            queryPlanCache.analysisQueryRequest(queryEngine, systemBundlesContext, context);
+        } else {
+            queryEngine.analysisQueryRequest(systemBundlesContext, context);
+        }
+
+        FDialect dialect = getDialect();
+        List<Object> values = new ArrayList<>(queryEngine.getValues());
+        String sql = maxRows > 0
+                ? dialect.generatePagingSql(queryEngine.getSql(), 0, (int) Math.min(maxRows, Integer.MAX_VALUE), values)
+                : queryEngine.getSql();
+        Object[] args = values.toArray(new Object[0]);
+        if (sqlLoggingInterceptor != null) {
+            sqlLoggingInterceptor.logSql(sql, values);
+        }
+        statementCacheStats.record(sql);
+
+        long startTime = System.currentTimeMillis();
+        Long count = DataSourceQueryUtils.getDatasetTemplate(dataSource).getTemplate().execute(
+                (ConnectionCallback<Long>) conn -> streamRows(conn, dialect, sql, args, queryEngine, handler, fetchSize));
+
+        if (sqlLoggingInterceptor != null) {
+            sqlLoggingInterceptor.logExecutionTime(getName() + " (STREAM)", System.currentTimeMillis() - startTime);
+            sqlLoggingInterceptor.logStatementCacheStats(getName(), statementCacheStats);
+        }
+        return count == null ? 0 : count;
+    }
+
+    private long streamRows(Connection conn, FDialect dialect, String sql, Object[] args, JdbcModelQueryEngine queryEngine,
+                            QueryRowHandler handler, int fetchSize) throws SQLException {
+        boolean restoreAutoCommit = dialect.isStreamingRequiresNoAutoCommit() && conn.getAutoCommit();
+        if (restoreAutoCommit) {
+            conn.setAutoCommit(false);
+        }
+        long count;
+        try {
+            count = readRows(conn, dialect, sql, args, queryEngine, handler, fetchSize);
+        } catch (Throwable t) {
+            if (restoreAutoCommit) {
+                // 清理失败不能覆盖原始异常（如客户端断开、连接中断）
+                try {
+                    endReadOnlyTransaction(conn);
+                } catch (SQLException | RuntimeException e) {
+                    t.addSuppressed(e);
+                }
             }
+            throw t;
+        }
+        if (restoreAutoCommit) {
+            endReadOnlyTransaction(conn);
+        }
+        return count;
+    }
 
-            Number it = (Number) totalData.get("total");
-            if (it != null) {
-                total = it.intValue();
-                totalData.put("total", total);
+    /**
+     * 只读查询，结束事务即可
+     */
+    private static void endReadOnlyTransaction(Connection conn) throws SQLException {
+        conn.rollback();
+        conn.setAutoCommit(true);
+    }
+
+    private long readRows(Connection conn, FDialect dialect, String sql, Object[] args, JdbcModelQueryEngine queryEngine,
+                          QueryRowHandler handler, int fetchSize) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(dialect.getStreamingFetchSize(fetchSize));
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int n = metaData.getColumnCount();
+                List<String> columns = new ArrayList<>(n);
+                for (int i = 1; i <= n; i++) {
+                    columns.add(JdbcUtils.lookupColumnName(metaData, i));
+                }
+                ObjectTransFormatter<?>[] formatters = getValueFormatters(queryEngine, columns);
+
+                handler.start(columns);
+                Object[] values = new Object[n];
+                long count = 0;
+                while (rs.next()) {
+                    for (int i = 0; i < n; i++) {
+                        Object v = JdbcUtils.getResultSetValue(rs, i + 1);
+                        values[i] = formatters[i] == null ? v : formatters[i].format(v);
+                    }
+                    count++;
+                    if (!handler.row(values)) {
+                        break;
+                    }
+                }
+                handler.end(count);
+                return count;
             }
+        } catch (IOException e) {
+            throw RX.throwB(e);
         }
-        return DbQueryResult.of(PagingResultImpl.of(items, form.getStart(), form.getLimit(), totalData, total), queryEngine);
     }
 
+    /**
+     * 按结果列顺序取出各列的值格式化器，与 {@link #executeQuery} 中按列名格式化的规则一致
+     */
+    private static ObjectTransFormatter<?>[] getValueFormatters(JdbcModelQueryEngine queryEngine, List<String> columns) {
+        ObjectTransFormatter<?>[] formatters = new ObjectTransFormatter<?>[columns.size()];
+        for (DbColumn column : queryEngine.getJdbcQuery().getSelect().getColumns()) {
+            if (column instanceof DbQueryColumn) {
+                ObjectTransFormatter<?> ff = ((DbQueryColumn) column).getValueFormatter();
+                if (ff != null) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (columns.get(i).equalsIgnoreCase(column.getName())) {
+                            formatters[i] = ff;
+                        }
+                    }
+                }
+            }
+        }
+        return formatters;
+    }
 
     @Override
     public FDialect getDialect() {
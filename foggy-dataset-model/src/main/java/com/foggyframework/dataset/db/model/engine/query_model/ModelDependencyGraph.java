@@ -0,0 +1,117 @@
+package com.foggyframework.dataset.db.model.engine.query_model;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 模型依赖图
+ * <p>记录 TM/QM 与脚本文件、QM 与其使用的 TM 之间的关系，由加载器在加载模型时登记。
+ * 脚本之间的 import 关系由 fsscript 层处理：被 import 的脚本变化时，
+ * {@link com.foggyframework.fsscript.loadder.FsscriptRemoveEvent} 中会同时带上 import 它的脚本。
+ *
+ * <p>QM 使用的 TM 通过线程上下文识别：QM 加载期间在同一线程内加载（或命中缓存）的 TM 都视为它的依赖。
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public class ModelDependencyGraph {
+
+    /**
+     * 受文件变化影响的模型
+     */
+    @Getter
+    public static class Affected {
+        private final Set<String> tableModels = new LinkedHashSet<>();
+        private final Set<String> queryModels = new LinkedHashSet<>();
+
+        public boolean isEmpty() {
+            return tableModels.isEmpty() && queryModels.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "TM" + tableModels + ", QM" + queryModels;
+        }
+    }
+
+    private final Map<String, Set<String>> path2TableModels = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> path2QueryModels = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> tableModel2QueryModels = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Deque<Set<String>>> loadingQueryModels = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public void recordTableModel(String name, String path) {
+        if (path != null) {
+            path2TableModels.computeIfAbsent(path, k -> ConcurrentHashMap.newKeySet()).add(name);
+        }
+    }
+
+    /**
+     * 开始加载 QM，之后当前线程使用的 TM 都会被收集，需在 finally 中调用 {@link #endQueryModel(String, String)}
+     */
+    public void beginQueryModel() {
+        loadingQueryModels.get().push(new HashSet<>());
+    }
+
+    /**
+     * 结束加载 QM，登记 QM 所在的脚本及加载期间使用的 TM
+     *
+     * @param name QM 名称，加载失败时传 null，只结束收集不登记
+     * @param path QM 脚本路径
+     */
+    public void endQueryModel(String name, String path) {
+        Deque<Set<String>> stack = loadingQueryModels.get();
+        Set<String> used = stack.poll();
+        if (stack.isEmpty()) {
+            loadingQueryModels.remove();
+        }
+        if (name == null) {
+            return;
+        }
+        if (path != null) {
+            path2QueryModels.computeIfAbsent(path, k -> ConcurrentHashMap.newKeySet()).add(name);
+        }
+        if (used != null) {
+            for (String tm : used) {
+                tableModel2QueryModels.computeIfAbsent(tm, k -> ConcurrentHashMap.newKeySet()).add(name);
+            }
+        }
+    }
+
+    /**
+     * 登记当前线程正在加载的 QM 使用了该 TM
+     */
+    public void tableModelUsed(String tableModelName) {
+        Deque<Set<String>> stack = loadingQueryModels.get();
+        if (stack.isEmpty()) {
+            loadingQueryModels.remove();
+            return;
+        }
+        stack.peek().add(tableModelName);
+    }
+
+    /**
+     * 计算受这些脚本变化影响的模型：脚本本身定义的 TM/QM，以及使用了受影响 TM 的 QM
+     */
+    public Affected affected(Collection<String> paths) {
+        Affected affected = new Affected();
+        for (String path : paths) {
+            affected.tableModels.addAll(path2TableModels.getOrDefault(path, Collections.emptySet()));
+            affected.queryModels.addAll(path2QueryModels.getOrDefault(path, Collections.emptySet()));
+        }
+        for (String tm : affected.tableModels) {
+            affected.queryModels.addAll(tableModel2QueryModels.getOrDefault(tm, Collections.emptySet()));
+        }
+        return affected;
+    }
+
+    public void clear() {
+        path2TableModels.clear();
+        path2QueryModels.clear();
+        tableModel2QueryModels.clear();
+    }
+}
@@ -0,0 +1,208 @@
+package com.foggyframework.dataset.db.model.engine.query_model;
+
+import com.foggyframework.bundle.Bundle;
+import com.foggyframework.bundle.BundleResource;
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.db.model.spi.QueryModelLoader;
+import com.foggyframework.dataset.db.model.spi.TableModelLoaderManager;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 模型启动预热
+ * <p>应用启动后扫描所有 bundle（包括外部 bundle）中的 TM/QM 文件，在有界线程池中并行加载，
+ * 使第一个请求不再承担脚本执行、模型转换与 JoinGraph 构建的开销。
+ * 加载结果进入各加载器的注册表，与请求触发的加载共享同一次加载。
+ *
+ * <p>未开启预热时 {@link #isReady()} 始终为 true。
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public class ModelWarmUp implements ApplicationRunner {
+
+    public enum Status {
+        DISABLED, PENDING, RUNNING, DONE
+    }
+
+    private final SystemBundlesContext systemBundlesContext;
+
+    private final TableModelLoaderManager tableModelLoaderManager;
+
+    private final QueryModelLoader queryModelLoader;
+
+    private final DatasetProperties.WarmUp config;
+
+    @Getter
+    private volatile Status status;
+
+    /**
+     * 需要加载的模型总数
+     */
+    @Getter
+    private volatile int total;
+
+    private final AtomicInteger finished = new AtomicInteger();
+
+    /**
+     * 各模型加载耗时（毫秒），key 为 TM:名称 或 QM:名称
+     */
+    private final Map<String, Long> loadMillis = new ConcurrentHashMap<>();
+
+    /**
+     * 加载失败的模型及错误信息
+     */
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+    @Getter
+    private volatile long elapsedMillis;
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    public ModelWarmUp(SystemBundlesContext systemBundlesContext, TableModelLoaderManager tableModelLoaderManager,
+                       QueryModelLoader queryModelLoader, DatasetProperties.WarmUp config) {
+        this.systemBundlesContext = systemBundlesContext;
+        this.tableModelLoaderManager = tableModelLoaderManager;
+        this.queryModelLoader = queryModelLoader;
+        this.config = config;
+        this.status = config.isEnabled() ? Status.PENDING : Status.DISABLED;
+        if (!config.isEnabled()) {
+            done.complete(null);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Thread starter = new Thread(this::warmUp, "foggy-model-warm-up");
+        starter.setDaemon(true);
+        starter.start();
+        if (config.isBlocking()) {
+            done.join();
+        }
+    }
+
+    /**
+     * 执行预热，完成后返回
+     */
+    public void warmUp() {
+        status = Status.RUNNING;
+        long start = System.nanoTime();
+        ExecutorService pool = newPool(Math.max(1, config.getThreads()));
+        try {
+            Set<String> tms = findModelNames("**/*.tm", ".tm");
+            Set<String> qms = findModelNames("**/*.qm", ".qm");
+            total = tms.size() + qms.size();
+            log.info("开始预热模型: TM {} 个, QM {} 个, 线程数 {}", tms.size(), qms.size(), config.getThreads());
+
+            // TM 先于 QM 提交，QM 加载时多数 TM 已在加载中或已完成
+            List<Future<?>> futures = new ArrayList<>();
+            for (String name : tms) {
+                futures.add(pool.submit(() -> load("TM:" + name, name, tableModelLoaderManager::load)));
+            }
+            for (String name : qms) {
+                futures.add(pool.submit(() -> load("QM:" + name, name, queryModelLoader::getJdbcQueryModel)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            log.error("模型预热异常", t);
+        } finally {
+            pool.shutdownNow();
+            elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            status = Status.DONE;
+            done.complete(null);
+            log.info("模型预热完成: 成功 {}, 失败 {}, 耗时 {}ms", finished.get() - failures.size(), failures.size(), elapsedMillis);
+            failures.forEach((k, v) -> log.warn("  预热失败 {}: {}", k, v));
+        }
+    }
+
+    private void load(String key, String name, Consumer<String> loader) {
+        long start = System.nanoTime();
+        try {
+            loader.accept(name);
+        } catch (Throwable t) {
+            failures.put(key, String.valueOf(t.getMessage()));
+        } finally {
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            loadMillis.put(key, millis);
+            finished.incrementAndGet();
+            log.debug("预热 {} 耗时 {}ms", key, millis);
+        }
+    }
+
+    private Set<String> findModelNames(String pattern, String suffix) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Bundle bundle : systemBundlesContext.getBundleList()) {
+            try {
+                BundleResource[] resources = bundle.findBundleResources(pattern);
+                if (resources == null) {
+                    continue;
+                }
+                for (BundleResource resource : resources) {
+                    String filename = resource.getResource().getFilename();
+                    if (filename != null && filename.endsWith(suffix)) {
+                        names.add(filename.substring(0, filename.length() - suffix.length()));
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("从 bundle {} 查找 {} 文件时出错: {}", bundle.getName(), pattern, e.getMessage());
+            }
+        }
+        return names;
+    }
+
+    private static ExecutorService newPool(int threads) {
+        AtomicInteger idx = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "foggy-model-warm-up-" + idx.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 预热已完成或未开启预热
+     */
+    public boolean isReady() {
+        return done.isDone();
+    }
+
+    /**
+     * 等待预热完成
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            done.get(timeout, unit);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    public int getFinished() {
+        return finished.get();
+    }
+
+    public Map<String, Long> getLoadMillis() {
+        return Collections.unmodifiableMap(loadMillis);
+    }
+
+    public Map<String, String> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+}
@@ -15,6 +15,7 @@ import com.foggyframework.dataset.db.model.def.query.QueryConditionDef;
 import com.foggyframework.dataset.db.model.def.query.SelectColumnDef;
 import com.foggyframework.dataset.db.model.i18n.DatasetMessages;
 import com.foggyframework.dataset.db.model.impl.LoaderSupport;
+import com.foggyframework.dataset.db.model.impl.ModelRegistry;
 import com.foggyframework.dataset.db.model.impl.query.*;
 import com.foggyframework.dataset.db.model.spi.*;
 import com.foggyframework.dataset.db.model.spi.support.QueryColumnGroup;
@@ -22,6 +23,7 @@ import com.foggyframework.fsscript.loadder.FileFsscriptLoader;
 import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
 import com.foggyframework.fsscript.parser.spi.Fsscript;
 import jakarta.annotation.Resource;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +31,7 @@ import org.springframework.beans.BeanUtils;
 
 import javax.sql.DataSource;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -44,17 +47,23 @@ public class QueryModelLoaderImpl extends LoaderSupport implements QueryModelLoa
 
     private DbModelFileChangeHandler fileChangeHandler;
 
-    private Map<String, QueryModel> name2JdbcQueryModel = new HashMap<>();
+    /**
+     * 查询模型注册表，同名模型的并发首次请求只加载一次
+     */
+    private final ModelRegistry<QueryModel> queryModels = new ModelRegistry<>("QM");
 
     /**
      * 简称到模型名称的映射，用于通过简称查询模型
      */
-    private Map<String, String> shortAlias2Name = new HashMap<>();
+    private volatile Map<String, String> shortAlias2Name = new ConcurrentHashMap<>();
 
     /**
-     * 已使用的简称集合，包括所有模型全名（避免简称与全名冲突）
+     * 已使用的简称集合，包括所有模型全名（避免简称与全名冲突），仅在 aliasLock 内修改
      */
-    private Set<String> usedAliases = new HashSet<>();
+    private volatile Set<String> usedAliases = new HashSet<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Object aliasLock = new Object();
 
 
     private List<QueryModelBuilder> queryModelBuilders;
@@ -74,9 +83,11 @@ public class QueryModelLoaderImpl extends LoaderSupport implements QueryModelLoa
 
     @Override
     public void clearAll() {
-        name2JdbcQueryModel = new HashMap<>();
-        shortAlias2Name = new HashMap<>();
-        usedAliases = new HashSet<>();
+        synchronized (aliasLock) {
+            queryModels.clear();
+            shortAlias2Name = new ConcurrentHashMap<>();
+            usedAliases = new HashSet<>();
+        }
     }
 
     /**
@@ -90,7 +101,7 @@ public class QueryModelLoaderImpl extends LoaderSupport implements QueryModelLoa
     @Override
     public QueryModel getJdbcQueryModel(String queryModelNameOrAlias) {
         // 1. 先尝试通过全名查找
-        QueryModel tm = name2JdbcQueryModel.get(queryModelNameOrAlias);
+        QueryModel tm = queryModels.get(queryModelNameOrAlias);
         if (tm != null) {
             return tm;
         }
@@ -98,37 +109,74 @@ public class QueryModelLoaderImpl extends LoaderSupport implements QueryModelLoa
         // 2. 尝试通过简称查找
         String fullName = shortAlias2Name.get(queryModelNameOrAlias);
         if (fullName != null) {
-            return name2JdbcQueryModel.get(fullName);
+            return queryModels.getOrLoad(fullName, this::loadByName);
         }
 
-        // 3. 加载新模型（此时 queryModelNameOrAlias 应该是全名）
-        Fsscript fsscript = findFsscript(queryModelNameOrAlias, "qm");
-        ExpEvaluator ee = evalQmScript(fsscript);
-        Object queryModel = ee.getExportObject("queryModel");
-        DbQueryModelDef queryModelDef = FsscriptConversionService.getSharedInstance().convert(queryModel, DbQueryModelDef.class);
+        // 3. 加载新模型（此时 queryModelNameOrAlias 应该是全名），其他线程正在加载同名模型时等待其结果
+        return queryModels.getOrLoad(queryModelNameOrAlias, this::loadByName);
+    }
 
-        tm = loadJdbcQueryModel(ee, fsscript, queryModelDef);
-        registerQueryModel(queryModelNameOrAlias, (QueryModelSupport) tm);
-        return tm;
+    /**
+     * 重新加载查询模型，加载完成后替换注册表中的旧模型，加载期间请求继续使用旧模型
+     */
+    public QueryModel reload(String queryModelName) {
+        QueryModel qm = loadByName(queryModelName);
+        queryModels.put(queryModelName, qm);
+        return qm;
+    }
+
+    private QueryModel loadByName(String queryModelName) {
+        Fsscript fsscript = findFsscript(queryModelName, "qm");
+        ModelDependencyGraph graph = fileChangeHandler == null ? null : fileChangeHandler.getDependencyGraph();
+        QueryModelSupport qm = null;
+        if (graph != null) {
+            graph.beginQueryModel();
+        }
+        try {
+            ExpEvaluator ee = evalQmScript(fsscript);
+            Object queryModel = ee.getExportObject("queryModel");
+            DbQueryModelDef queryModelDef = FsscriptConversionService.getSharedInstance().convert(queryModel, DbQueryModelDef.class);
+
+            qm = loadJdbcQueryModel(ee, fsscript, queryModelDef);
+        } finally {
+            if (graph != null) {
+                graph.endQueryModel(qm == null ? null : queryModelName, fsscript.getPath());
+            }
+        }
+        registerQueryModel(queryModelName, qm);
+        return qm;
     }
 
     @Override
     public QueryModel loadJdbcQueryModel(BundleResource bundleResource) {
         Fsscript fsscript = fileFsscriptLoader.findLoadFsscript(bundleResource);
-        ExpEvaluator ee = evalQmScript(fsscript);
-        Object queryModel = ee.getExportObject("queryModel");
-        DbQueryModelDef queryModelDef = FsscriptConversionService.getSharedInstance().convert(queryModel, DbQueryModelDef.class);
+        ModelDependencyGraph graph = fileChangeHandler == null ? null : fileChangeHandler.getDependencyGraph();
+        QueryModelSupport qm = null;
+        if (graph != null) {
+            graph.beginQueryModel();
+        }
         try {
-            QueryModelSupport qm = loadJdbcQueryModel(ee, fsscript, queryModelDef);
+            ExpEvaluator ee = evalQmScript(fsscript);
+            Object queryModel = ee.getExportObject("queryModel");
+            DbQueryModelDef queryModelDef = FsscriptConversionService.getSharedInstance().convert(queryModel, DbQueryModelDef.class);
+            qm = loadJdbcQueryModel(ee, fsscript, queryModelDef);
             // 注册模型并分配简称
             String modelName = qm.getName();
-            if (!name2JdbcQueryModel.containsKey(modelName)) {
-                registerQueryModel(modelName, qm);
+            if (queryModels.get(modelName) == null) {
+                QueryModelSupport loaded = qm;
+                queryModels.getOrLoad(modelName, name -> {
+                    registerQueryModel(name, loaded);
+                    return loaded;
+                });
             }
             return qm;
         } catch (Throwable t) {
             log.error(String.format("加载%s时出现异常", bundleResource));
             throw ErrorUtils.toRuntimeException(t);
+        } finally {
+            if (graph != null) {
+                graph.endQueryModel(qm == null ? null : qm.getName(), fsscript.getPath());
+            }
         }
     }
 
@@ -517,16 +565,21 @@ public class QueryModelLoaderImpl extends LoaderSupport implements QueryModelLoa
      * @param qm        查询模型实例
      */
     private void registerQueryModel(String modelName, QueryModelSupport qm) {
-        // 先将模型全名加入已使用集合，防止简称与全名冲突
-        usedAliases.add(modelName);
-
-        // 分配简称
-        String shortAlias = allocateShortAlias(modelName);
-        qm.setShortAlias(shortAlias);
+        String shortAlias;
+        synchronized (aliasLock) {
+            // 先将模型全名加入已使用集合，防止简称与全名冲突
+            usedAliases.add(modelName);
+
+            // 分配简称，重新加载的模型沿用原简称
+            shortAlias = findShortAlias(modelName);
+            if (shortAlias == null) {
+                shortAlias = allocateShortAlias(modelName);
+            }
+            qm.setShortAlias(shortAlias);
 
-        // 注册映射
-        name2JdbcQueryModel.put(modelName, qm);
-        shortAlias2Name.put(shortAlias, modelName);
+            // 注册简称映射，模型本身由 queryModels 在加载完成后发布
+            shortAlias2Name.put(shortAlias, modelName);
+        }
 
         log.debug("已为模型 {} 分配简称: {}", modelName, shortAlias);
     }
@@ -544,6 +597,15 @@ public class QueryModelLoaderImpl extends LoaderSupport implements QueryModelLoa
      * @param modelName 模型全名
      * @return 分配的唯一简称
      */
+    private String findShortAlias(String modelName) {
+        for (Map.Entry<String, String> e : shortAlias2Name.entrySet()) {
+            if (e.getValue().equals(modelName)) {
+                return e.getKey();
+            }
+        }
+        return null;
+    }
+
     private String allocateShortAlias(String modelName) {
         // 1. 去掉 QueryModel 后缀
         String baseName = modelName;
@@ -0,0 +1,190 @@
+package com.foggyframework.dataset.db.model.impl;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.core.utils.ErrorUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * 模型注册表
+ * <p>读取无锁；同名模型的并发首次访问只加载一次，其余线程等待同一个加载结果，不同模型可以并行加载。
+ * 加载失败时移除占位，下次访问重新加载。
+ *
+ * <p>等待其他线程的加载结果前，沿"等待线程 → 加载线程"的链检查是否回到当前线程，
+ * 同一线程内或跨线程（A 加载 X 需要 Y，B 加载 Y 需要 X）的循环加载都报循环引用，而不是互相等待。
+ *
+ * <p>{@link #clear()} 与 {@link #replaceAll(Map)} 直接替换内部的 Map，
+ * 读取方看到的要么是旧的全部模型，要么是新的全部模型；替换前尚未完成的加载结果不会进入新的 Map。
+ *
+ * @param <V> 模型类型
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public class ModelRegistry<V> {
+
+    /**
+     * 正在等待其他线程加载结果的线程 → 所等待的加载，所有注册表共用（如 QM 加载时等待 TM），由自身加锁保护
+     */
+    private static final Map<Thread, Entry<?>> WAITING = new HashMap<>();
+
+    private static final class Entry<V> {
+        final CompletableFuture<V> future;
+        /**
+         * 执行加载的线程，用于识别循环加载
+         */
+        final Thread loader;
+
+        Entry(CompletableFuture<V> future, Thread loader) {
+            this.future = future;
+            this.loader = loader;
+        }
+    }
+
+    private final String kind;
+
+    private volatile ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param kind 模型种类，用于错误信息，如 TM、QM
+     */
+    public ModelRegistry(String kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * 获取已加载完成的模型，未加载或加载中返回 null
+     */
+    public V get(String name) {
+        Entry<V> e = entries.get(name);
+        if (e == null || !e.future.isDone() || e.future.isCompletedExceptionally()) {
+            return null;
+        }
+        return e.future.join();
+    }
+
+    /**
+     * 获取模型，不存在时由当前线程加载；其他线程正在加载同名模型时等待其结果
+     */
+    public V getOrLoad(String name, Function<String, V> loader) {
+        ConcurrentHashMap<String, Entry<V>> map = entries;
+        Entry<V> e = map.get(name);
+        if (e == null) {
+            Entry<V> mine = new Entry<>(new CompletableFuture<>(), Thread.currentThread());
+            e = map.putIfAbsent(name, mine);
+            if (e == null) {
+                return load(map, name, mine, loader);
+            }
+        }
+        if (e.future.isDone()) {
+            return await(e.future);
+        }
+        Thread current = Thread.currentThread();
+        synchronized (WAITING) {
+            // 链上已完成的加载不再构成等待，避免刚完成加载的线程被误判
+            for (Entry<?> w = e; w != null && !w.future.isDone(); w = WAITING.get(w.loader)) {
+                if (w.loader == current) {
+                    throw RX.throwB(kind + "模型[" + name + "]存在循环引用");
+                }
+            }
+            WAITING.put(current, e);
+        }
+        try {
+            return await(e.future);
+        } finally {
+            synchronized (WAITING) {
+                WAITING.remove(current);
+            }
+        }
+    }
+
+    private V load(ConcurrentHashMap<String, Entry<V>> map, String name, Entry<V> mine, Function<String, V> loader) {
+        V v;
+        try {
+            v = loader.apply(name);
+        } catch (Throwable t) {
+            map.remove(name, mine);
+            mine.future.completeExceptionally(t);
+            throw ErrorUtils.toRuntimeException(t);
+        }
+        mine.future.complete(v);
+        return v;
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ErrorUtils.toRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw ErrorUtils.toRuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * 注册已加载的模型，覆盖同名模型
+     */
+    public void put(String name, V value) {
+        entries.put(name, completed(value));
+    }
+
+    /**
+     * 同名模型不存在时注册
+     *
+     * @return 是否注册成功
+     */
+    public boolean putIfAbsent(String name, V value) {
+        return entries.putIfAbsent(name, completed(value)) == null;
+    }
+
+    public void remove(String name) {
+        entries.remove(name);
+    }
+
+    public boolean containsKey(String name) {
+        return get(name) != null;
+    }
+
+    /**
+     * 清空全部模型
+     */
+    public void clear() {
+        entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 已加载完成的模型快照
+     */
+    public Map<String, V> snapshot() {
+        Map<String, V> m = new HashMap<>();
+        for (Map.Entry<String, Entry<V>> e : entries.entrySet()) {
+            CompletableFuture<V> f = e.getValue().future;
+            if (f.isDone() && !f.isCompletedExceptionally()) {
+                m.put(e.getKey(), f.join());
+            }
+        }
+        return m;
+    }
+
+    /**
+     * 以给定的模型整体替换当前内容
+     */
+    public void replaceAll(Map<String, V> models) {
+        ConcurrentHashMap<String, Entry<V>> map = new ConcurrentHashMap<>();
+        models.forEach((k, v) -> map.put(k, completed(v)));
+        entries = map;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static <V> Entry<V> completed(V value) {
+        return new Entry<>(CompletableFuture.completedFuture(value), null);
+    }
+}
@@ -11,8 +11,10 @@ import com.foggyframework.dataset.db.model.def.dimension.DbDimensionDef;
 import com.foggyframework.dataset.db.model.def.measure.DbMeasureDef;
 import com.foggyframework.dataset.db.model.def.property.DbPropertyDef;
 import com.foggyframework.dataset.db.model.engine.query_model.DbModelFileChangeHandler;
+import com.foggyframework.dataset.db.model.engine.query_model.ModelDependencyGraph;
 import com.foggyframework.dataset.db.model.i18n.DatasetMessages;
 import com.foggyframework.dataset.db.model.impl.LoaderSupport;
+import com.foggyframework.dataset.db.model.impl.ModelRegistry;
 import com.foggyframework.dataset.db.model.impl.dimension.DbDimensionSupport;
 import com.foggyframework.dataset.db.model.impl.dimension.DbModelDimensionImpl;
 import com.foggyframework.dataset.db.model.impl.dimension.DbModelParentChildDimensionImpl;
@@ -35,6 +37,7 @@ import javax.sql.DataSource;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -54,10 +57,13 @@ public class TableModelLoaderManagerImpl extends LoaderSupport implements TableM
     DbModelFileChangeHandler fileChangeHandler;
     List<DbModelLoadProcessor> processors;
 
-    Map<String, TableModel> name2JdbcModel = new HashMap<>();
+    /**
+     * 表模型注册表，同名模型的并发首次请求只加载一次，不同模型可并行加载
+     */
+    final ModelRegistry<TableModel> tableModels = new ModelRegistry<>("TM");
     Map<String, TableModelLoader> typeName2Loader = new HashMap<>();
-    int dimIdx;
-    int modelIdx;
+    final AtomicInteger dimIdx = new AtomicInteger();
+    final AtomicInteger modelIdx = new AtomicInteger();
 
     public TableModelLoaderManagerImpl(SystemBundlesContext systemBundlesContext, FileFsscriptLoader fileFsscriptLoader, List<DbModelLoadProcessor> processors, List<TableModelLoader> loaders) {
         super(systemBundlesContext, fileFsscriptLoader);
@@ -67,16 +73,37 @@ public class TableModelLoaderManagerImpl extends LoaderSupport implements TableM
 
     @Override
     public void clearAll() {
-        name2JdbcModel = new HashMap<>();
+        tableModels.clear();
     }
 
     @Override
-    synchronized public TableModel load(String name) {
-        TableModel tm = name2JdbcModel.get(name);
+    public TableModel load(String name) {
+        ModelDependencyGraph graph = fileChangeHandler == null ? null : fileChangeHandler.getDependencyGraph();
+        if (graph != null) {
+            graph.tableModelUsed(name);
+        }
+        TableModel tm = tableModels.get(name);
         if (tm != null) {
             return tm;
         }
+        return tableModels.getOrLoad(name, this::doLoad);
+    }
+
+    /**
+     * 重新加载表模型，加载完成后替换注册表中的旧模型，加载期间请求继续使用旧模型
+     */
+    public TableModel reload(String name) {
+        TableModel tm = doLoad(name);
+        tableModels.put(name, tm);
+        return tm;
+    }
+
+    private TableModel doLoad(String name) {
+        TableModel tm;
         Fsscript fScript = this.findFsscript(name, "tm");
+        if (fileChangeHandler != null) {
+            fileChangeHandler.getDependencyGraph().recordTableModel(name, fScript.getPath());
+        }
         ExpEvaluator ee = fScript.eval(systemBundlesContext.getApplicationContext());
 //        fScript.get
         Object model = ee.getExportObject("model");
@@ -98,7 +125,6 @@ public class TableModelLoaderManagerImpl extends LoaderSupport implements TableM
 //        }
 
 
-        name2JdbcModel.put(name, tm);
         return tm;
     }
 
@@ -185,21 +211,21 @@ public class TableModelLoaderManagerImpl extends LoaderSupport implements TableM
         String d = "d";
         String m = "m";
         QueryObject qo = context.getJdbcModel().getQueryObject();
-        qo.getDecorate(QueryObjectSupport.class).setAlias(m + (++modelIdx));
+        qo.getDecorate(QueryObjectSupport.class).setAlias(m + modelIdx.incrementAndGet());
 
         for (DbDimension dimension : context.getJdbcModel().getDimensions()) {
             QueryObject dqo = dimension.getQueryObject();
             if (dqo == null) {
                 continue;
             }
-            dqo.getDecorate(QueryObjectSupport.class).setAlias(d + (++dimIdx));
+            dqo.getDecorate(QueryObjectSupport.class).setAlias(d + dimIdx.incrementAndGet());
             if (dimension.getDecorate(DbModelParentChildDimensionImpl.class) != null) {
                 DbModelParentChildDimensionImpl pcDim = dimension.getDecorate(DbModelParentChildDimensionImpl.class);
                 // 为闭包表分配别名
-                pcDim.getClosureQueryObject().getDecorate(QueryObjectSupport.class).setAlias(d + (++dimIdx));
+                pcDim.getClosureQueryObject().getDecorate(QueryObjectSupport.class).setAlias(d + dimIdx.incrementAndGet());
                 // 为层级视角维度表分配别名
                 if (pcDim.getHierarchyQueryObject() != null) {
-                    pcDim.getHierarchyQueryObject().getDecorate(QueryObjectSupport.class).setAlias(d + (++dimIdx));
+                    pcDim.getHierarchyQueryObject().getDecorate(QueryObjectSupport.class).setAlias(d + dimIdx.incrementAndGet());
                 }
             }
 
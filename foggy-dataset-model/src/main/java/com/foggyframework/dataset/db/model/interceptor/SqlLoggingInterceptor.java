@@ -1,6 +1,7 @@
 package com.foggyframework.dataset.db.model.interceptor;
 
 import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.db.model.engine.query.StatementCacheStats;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -89,6 +90,25 @@ public class SqlLoggingInterceptor {
         logByLevel(message);
     }
 
+    /**
+     * 记录明细/汇总并发查询的执行时间
+     *
+     * @param modelName      查询模型名称
+     * @param detailMs       明细查询耗时（毫秒）
+     * @param totalMs        汇总查询耗时（毫秒）
+     * @param wallMs         整体耗时（毫秒）
+     * @param parallel       是否实际并发执行（许可不足时会退回串行）
+     */
+    public void logParallelExecutionTime(String modelName, long detailMs, long totalMs, long wallMs, boolean parallel) {
+        if (!properties.isShowExecutionTime()) {
+            return;
+        }
+
+        String message = String.format("SQL execution time [%s]: detail %d ms, total %d ms, wall %d ms (%s)",
+                modelName, detailMs, totalMs, wallMs, parallel ? "parallel" : "sequential");
+        logByLevel(message);
+    }
+
     /**
      * 记录 SQL 执行时间（带 SQL 语句）
      *
@@ -105,6 +125,21 @@ public class SqlLoggingInterceptor {
         logByLevel(message);
     }
 
+    /**
+     * 记录明细SQL的复用情况（执行次数、不同SQL文本数、可复用预编译语句的比例）
+     *
+     * @param modelName 查询模型名称
+     * @param stats     模型的统计
+     */
+    public void logStatementCacheStats(String modelName, StatementCacheStats stats) {
+        if (!properties.isShowExecutionTime()) {
+            return;
+        }
+
+        String message = String.format("Statement reuse [%s]: %s", modelName, stats);
+        logByLevel(message);
+    }
+
     /**
      * 根据配置的日志级别输出日志
      */
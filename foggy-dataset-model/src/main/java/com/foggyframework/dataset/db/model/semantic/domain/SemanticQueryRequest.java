@@ -41,7 +41,7 @@ public class SemanticQueryRequest {
     @ApiModelProperty(value = "返回数量限制", example = "在不同的场景下，有不同的默认值，例如导出图片时，默认1000，或后续根据配置决定")
     private Integer limit;
     
-    @ApiModelProperty(value = "游标，用于分页（暂未支持）")
+    @ApiModelProperty(value = "游标，用于分页", notes = "首页传空字符串，后续页传上次返回的 cursor；传入后忽略 start")
     private String cursor;
     
     @ApiModelProperty(value = "查询提示，可选")
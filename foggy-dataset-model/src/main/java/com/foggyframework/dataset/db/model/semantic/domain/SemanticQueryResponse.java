@@ -33,6 +33,9 @@ public class SemanticQueryResponse {
     @ApiModelProperty(value = "是否有下一页")
     private Boolean hasNext;
 
+    @ApiModelProperty(value = "总记录数是否为估算值", notes = "仅估算时返回 true")
+    private Boolean totalApproximate;
+
     @ApiModelProperty(value = "分页游标")
     private String cursor;
 
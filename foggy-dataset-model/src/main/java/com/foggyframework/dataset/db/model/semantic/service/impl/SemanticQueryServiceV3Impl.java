@@ -171,6 +171,7 @@ public class SemanticQueryServiceV3Impl implements SemanticQueryServiceV3 {
         DbQueryRequestDef queryDef = new DbQueryRequestDef();
         queryDef.setQueryModel(model);
         queryDef.setReturnTotal(request.getReturnTotal());
+        queryDef.setCursor(request.getCursor());
         queryDef.setStrictColumns(true);
 
         // 获取模型定义用于字段校验
@@ -318,7 +319,10 @@ public class SemanticQueryServiceV3Impl implements SemanticQueryServiceV3 {
 
         // 判断是否有更多数据
         boolean hasMore = false;
-        if (totalCount != null) {
+        if (request.isCursorPaging()) {
+            // 游标分页由引擎多取一行判断
+            hasMore = queryResult.getCursor() != null;
+        } else if (totalCount != null) {
             // 有总数时，精确判断
             hasMore = (actualStart + returnedCount) < totalCount;
         } else {
@@ -340,6 +344,8 @@ public class SemanticQueryServiceV3Impl implements SemanticQueryServiceV3 {
         response.setTotal(queryResult.getTotal());
         response.setHasNext(hasMore);
         response.setTotalData(queryResult.getTotalData());
+        response.setCursor(queryResult.getCursor());
+        response.setTotalApproximate(queryResult.isTotalApproximate() ? Boolean.TRUE : null);
 
         // 设置警告信息
         response.setWarnings(context.warnings.isEmpty() ? null : context.warnings);
@@ -4,6 +4,7 @@ import com.foggyframework.dataset.client.domain.PagingRequest;
 import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
 import com.foggyframework.dataset.db.model.engine.query.DbQueryResult;
 import com.foggyframework.dataset.db.model.plugins.result_set_filter.ModelResultContext;
+import com.foggyframework.dataset.db.model.spi.QueryRowHandler;
 import com.foggyframework.dataset.model.PagingResultImpl;
 
 /**
@@ -69,4 +70,18 @@ public interface QueryFacade {
      * @return 查询结果（包含查询引擎信息）
      */
     DbQueryResult queryModelResult(ModelResultContext context);
+
+    /**
+     * 流式查询
+     * <p>
+     * 执行 beforeQuery 后逐行回调，不构建完整结果集，内存占用与行数无关。
+     * 忽略分页参数，不计算总数，也不执行 process Step。
+     * JDBC fetchSize 与最大行数取自 foggy.dataset.streaming 配置。
+     * </p>
+     *
+     * @param queryRequest 查询请求
+     * @param handler      逐行回调
+     * @return 处理的行数
+     */
+    long streamModelData(DbQueryRequestDef queryRequest, QueryRowHandler handler);
 }
@@ -0,0 +1,223 @@
+package com.foggyframework.dataset.db.model.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.dataset.db.model.spi.QueryRowHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.List;
+
+/**
+ * 把流式查询的行直接写到输出流
+ * <p>每行写完即可丢弃，每 flushRows 行刷新一次；输出流阻塞时查询随之暂停读取。
+ *
+ * <h3>支持的格式：</h3>
+ * <ul>
+ *   <li>csv：首行为列名，RFC 4180 转义</li>
+ *   <li>ndjson：每行一个 JSON 对象</li>
+ *   <li>sse：每行一个 data 事件，结束时发送 end 事件（含行数）</li>
+ * </ul>
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public abstract class QueryRowStreamWriter implements QueryRowHandler {
+
+    /**
+     * 未传入应用的 ObjectMapper 时使用：支持 LocalDateTime 等 java.time 类型，日期按字符串输出
+     */
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
+
+    protected final Writer writer;
+
+    private final int flushRows;
+
+    protected List<String> columns;
+
+    private long written;
+
+    protected QueryRowStreamWriter(OutputStream out, int flushRows) {
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    /**
+     * @param format csv、ndjson 或 sse
+     */
+    public static QueryRowStreamWriter create(String format, OutputStream out, int flushRows) {
+        return create(format, out, flushRows, DEFAULT_OBJECT_MAPPER);
+    }
+
+    /**
+     * @param objectMapper ndjson、sse 使用的 ObjectMapper，传入应用配置的实例，日期等格式与普通查询接口一致
+     */
+    public static QueryRowStreamWriter create(String format, OutputStream out, int flushRows, ObjectMapper objectMapper) {
+        switch (format == null ? "" : format.toLowerCase()) {
+            case "csv":
+                return new Csv(out, flushRows);
+            case "ndjson":
+                return new Json(out, flushRows, false, objectMapper);
+            case "sse":
+                return new Json(out, flushRows, true, objectMapper);
+            default:
+                throw RX.throwAUserTip("不支持的导出格式[" + format + "]，可选: csv、ndjson、sse");
+        }
+    }
+
+    public static String getContentType(String format) {
+        switch (format == null ? "" : format.toLowerCase()) {
+            case "csv":
+                return "text/csv;charset=UTF-8";
+            case "ndjson":
+                return "application/x-ndjson;charset=UTF-8";
+            case "sse":
+                return "text/event-stream;charset=UTF-8";
+            default:
+                throw RX.throwAUserTip("不支持的导出格式[" + format + "]，可选: csv、ndjson、sse");
+        }
+    }
+
+    @Override
+    public void start(List<String> columns) throws IOException {
+        this.columns = columns;
+        writeHeader();
+    }
+
+    @Override
+    public boolean row(Object[] values) throws IOException {
+        writeRow(values);
+        if (++written % flushRows == 0) {
+            flush();
+        }
+        return true;
+    }
+
+    @Override
+    public void end(long rowCount) throws IOException {
+        writeEnd(rowCount);
+        flush();
+    }
+
+    protected void flush() throws IOException {
+        writer.flush();
+    }
+
+    protected void writeHeader() throws IOException {
+    }
+
+    protected abstract void writeRow(Object[] values) throws IOException;
+
+    protected void writeEnd(long rowCount) throws IOException {
+    }
+
+    static class Csv extends QueryRowStreamWriter {
+
+        Csv(OutputStream out, int flushRows) {
+            super(out, flushRows);
+        }
+
+        @Override
+        protected void writeHeader() throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(columns.get(i));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeCell(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeCell(String s) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    quote = true;
+                    break;
+                }
+            }
+            if (!quote) {
+                writer.write(s);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+    }
+
+    static class Json extends QueryRowStreamWriter {
+
+        private final boolean sse;
+
+        private final JsonGenerator generator;
+
+        Json(OutputStream out, int flushRows, boolean sse, ObjectMapper objectMapper) {
+            super(out, flushRows);
+            this.sse = sse;
+            try {
+                this.generator = objectMapper.createGenerator(writer);
+                // 行之间由 writeRaw 分隔，不使用默认的空格分隔符
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw RX.throwB(e);
+            }
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            if (sse) {
+                generator.writeRaw("data: ");
+            }
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw(sse ? "\n\n" : "\n");
+        }
+
+        @Override
+        protected void writeEnd(long rowCount) throws IOException {
+            if (sse) {
+                generator.writeRaw("event: end\ndata: {\"total\":" + rowCount + "}\n\n");
+            }
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.foggyframework.dataset.db.model.service.impl;
 
 import com.foggyframework.bundle.SystemBundlesContext;
 import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
 import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
 import com.foggyframework.dataset.db.model.engine.query.DbQueryResult;
 import com.foggyframework.dataset.db.model.plugins.result_set_filter.DataSetResultFilterManager;
@@ -9,6 +10,7 @@ import com.foggyframework.dataset.db.model.plugins.result_set_filter.ModelResult
 import com.foggyframework.dataset.db.model.service.QueryFacade;
 import com.foggyframework.dataset.db.model.spi.QueryModel;
 import com.foggyframework.dataset.db.model.spi.QueryModelLoader;
+import com.foggyframework.dataset.db.model.spi.QueryRowHandler;
 import com.foggyframework.dataset.model.PagingResultImpl;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +38,9 @@ public class QueryFacadeImpl implements QueryFacade {
     @Resource
     private DataSetResultFilterManager dataSetResultFilterManager;
 
+    @Resource
+    private DatasetProperties datasetProperties;
+
     @Override
     public PagingResultImpl queryModelData(PagingRequest<DbQueryRequestDef> form) {
         return queryModelData(form, ModelResultContext.QueryType.NORMAL);
@@ -68,6 +73,20 @@ public class QueryFacadeImpl implements QueryFacade {
         return doQuery(context);
     }
 
+    @Override
+    public long streamModelData(DbQueryRequestDef queryRequest, QueryRowHandler handler) {
+        DatasetProperties.Streaming config = datasetProperties.getStreaming();
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, 0);
+        ModelResultContext context = new ModelResultContext(form, null);
+        context.setQueryType(ModelResultContext.QueryType.NORMAL);
+
+        QueryModel jdbcQueryModel = queryModelLoader.getJdbcQueryModel(queryRequest.getQueryModel());
+        context.setJdbcQueryModel(jdbcQueryModel);
+        dataSetResultFilterManager.beforeQuery(context);
+
+        return jdbcQueryModel.stream(systemBundlesContext, context, handler, config.getFetchSize(), config.getMaxRows());
+    }
+
     /**
      * 执行查询的核心流程
      * <p>
@@ -2,6 +2,7 @@ package com.foggyframework.dataset.db.model.spi;
 
 import com.foggyframework.bundle.SystemBundlesContext;
 import com.foggyframework.core.Decorate;
+import com.foggyframework.core.ex.RX;
 import com.foggyframework.dataset.client.domain.PagingRequest;
 import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
 import com.foggyframework.dataset.db.model.engine.join.JoinGraph;
@@ -69,6 +70,25 @@ public interface QueryModel extends Decorate, DbObject {
         return query(systemBundlesContext, context.getRequest());
     }
 
+    /**
+     * 流式查询
+     * <p>
+     * 逐行读取并回调，不构建完整结果集，适用于大批量导出。
+     * 不计算总数，也不执行 process Step。
+     * </p>
+     *
+     * @param systemBundlesContext 系统上下文
+     * @param context              已预处理的查询上下文
+     * @param handler              逐行回调
+     * @param fetchSize            JDBC 每批拉取的行数
+     * @param maxRows              最大行数，0 表示不限制
+     * @return 处理的行数
+     */
+    default long stream(SystemBundlesContext systemBundlesContext, ModelResultContext context, QueryRowHandler handler,
+                        int fetchSize, long maxRows) {
+        throw RX.throwAUserTip("查询模型[" + getName() + "]不支持流式查询");
+    }
+
     QueryObject getQueryObject();
 
     //    List<JdbcColumn> getSelectColumns();
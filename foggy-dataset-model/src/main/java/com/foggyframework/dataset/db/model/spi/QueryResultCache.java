@@ -0,0 +1,38 @@
+package com.foggyframework.dataset.db.model.spi;
+
+import com.foggyframework.dataset.model.PagingResultImpl;
+
+import java.util.function.Supplier;
+
+/**
+ * 查询结果缓存
+ * <p>在 SQL 生成之后、执行之前介入：key 由完整 SQL、绑定参数与安全上下文组成，
+ * 命中时不再访问数据库。默认实现为进程内缓存，可通过注册自定义 Bean 替换（例如 Redis）
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public interface QueryResultCache {
+
+    /**
+     * 读取缓存，未命中时执行 loader 并写入缓存
+     * <p>实现需要保证：同一 key 的并发未命中只执行一次 loader；返回给每个调用方的结果互不共享，可被后续步骤修改
+     *
+     * @param modelName  查询模型名称，用于按模型失效
+     * @param key        缓存 key
+     * @param ttlSeconds 模型声明的有效期（秒），为 null 时使用默认值
+     * @param loader     实际查询
+     * @return 查询结果
+     */
+    PagingResultImpl getOrLoad(String modelName, Object key, Integer ttlSeconds, Supplier<PagingResultImpl> loader);
+
+    /**
+     * 使指定查询模型的全部缓存失效
+     */
+    void invalidate(String modelName);
+
+    /**
+     * 清空全部缓存
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,39 @@
+package com.foggyframework.dataset.db.model.spi;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 流式查询的逐行回调
+ * <p>查询按游标向前读取，每读到一行回调一次，不在内存中保留已处理的行。
+ * 回调阻塞期间不会读取下一行，因此写出速度较慢时数据库读取随之放缓（背压）。
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+public interface QueryRowHandler {
+
+    /**
+     * 读取第一行之前回调
+     *
+     * @param columns 列名，顺序与 {@link #row(Object[])} 中的值一致
+     */
+    void start(List<String> columns) throws IOException;
+
+    /**
+     * 每行回调一次
+     * <p>values 数组在各行之间复用，实现不应持有其引用
+     *
+     * @param values 已格式化的列值
+     * @return false 表示停止读取
+     */
+    boolean row(Object[] values) throws IOException;
+
+    /**
+     * 读取结束后回调
+     *
+     * @param rowCount 实际处理的行数
+     */
+    default void end(long rowCount) throws IOException {
+    }
+}
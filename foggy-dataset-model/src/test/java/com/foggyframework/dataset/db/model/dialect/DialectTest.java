@@ -6,6 +6,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -42,6 +46,19 @@ public class DialectTest {
             assertEquals("SELECT * FROM users limit 20,10", dialect.generatePagingSql(sql, 20, 10));
         }
 
+        @Test
+        @DisplayName("测试参数化分页SQL - 不同页SQL文本相同")
+        void testGeneratePagingSqlWithParams() {
+            List<Object> p1 = new ArrayList<>(List.of("a"));
+            List<Object> p2 = new ArrayList<>(List.of("a"));
+            String sql1 = dialect.generatePagingSql("SELECT * FROM users WHERE name = ?", 0, 10, p1);
+            String sql2 = dialect.generatePagingSql("SELECT * FROM users WHERE name = ?", 20, 50, p2);
+            assertEquals("SELECT * FROM users WHERE name = ? limit ?,?", sql1);
+            assertEquals(sql1, sql2);
+            assertEquals(Arrays.asList("a", 0, 10), p1);
+            assertEquals(Arrays.asList("a", 20, 50), p2);
+        }
+
         @Test
         @DisplayName("测试NULL排序子句 - CASE WHEN模拟")
         void testBuildNullOrderClause() {
@@ -118,6 +135,18 @@ public class DialectTest {
             assertEquals("SELECT * FROM users LIMIT 10 OFFSET 20", dialect.generatePagingSql(sql, 20, 10));
         }
 
+        @Test
+        @DisplayName("测试参数化分页SQL - 不同页SQL文本相同")
+        void testGeneratePagingSqlWithParams() {
+            List<Object> p1 = new ArrayList<>();
+            List<Object> p2 = new ArrayList<>();
+            String sql1 = dialect.generatePagingSql("SELECT * FROM users", 0, 10, p1);
+            assertEquals("SELECT * FROM users LIMIT ? OFFSET ?", sql1);
+            assertEquals(sql1, dialect.generatePagingSql("SELECT * FROM users", 20, 50, p2));
+            assertEquals(Arrays.asList(10, 0), p1);
+            assertEquals(Arrays.asList(50, 20), p2);
+        }
+
         @Test
         @DisplayName("测试NULL排序子句 - 原生NULLS FIRST/LAST")
         void testBuildNullOrderClause() {
@@ -207,6 +236,18 @@ public class DialectTest {
             assertTrue(result.contains("OFFSET 0 ROWS FETCH NEXT 10 ROWS ONLY"));
         }
 
+        @Test
+        @DisplayName("测试参数化分页SQL - 不同页SQL文本相同")
+        void testGeneratePagingSqlWithParams() {
+            List<Object> p1 = new ArrayList<>();
+            List<Object> p2 = new ArrayList<>();
+            String sql1 = dialect.generatePagingSql("SELECT * FROM users", 0, 10, p1);
+            assertTrue(sql1.endsWith("ORDER BY (SELECT NULL) OFFSET ? ROWS FETCH NEXT ? ROWS ONLY"));
+            assertEquals(sql1, dialect.generatePagingSql("SELECT * FROM users", 20, 50, p2));
+            assertEquals(Arrays.asList(0, 10), p1);
+            assertEquals(Arrays.asList(20, 50), p2);
+        }
+
         @Test
         @DisplayName("测试NULL排序子句 - CASE WHEN模拟")
         void testBuildNullOrderClause() {
@@ -283,6 +324,18 @@ public class DialectTest {
             assertEquals("SELECT * FROM users LIMIT 10 OFFSET 20", dialect.generatePagingSql(sql, 20, 10));
         }
 
+        @Test
+        @DisplayName("测试参数化分页SQL - 不同页SQL文本相同")
+        void testGeneratePagingSqlWithParams() {
+            List<Object> p1 = new ArrayList<>();
+            List<Object> p2 = new ArrayList<>();
+            String sql1 = dialect.generatePagingSql("SELECT * FROM users", 0, 10, p1);
+            assertEquals("SELECT * FROM users LIMIT ? OFFSET ?", sql1);
+            assertEquals(sql1, dialect.generatePagingSql("SELECT * FROM users", 20, 50, p2));
+            assertEquals(Arrays.asList(10, 0), p1);
+            assertEquals(Arrays.asList(50, 20), p2);
+        }
+
         @Test
         @DisplayName("测试NULL排序子句 - 原生NULLS FIRST/LAST")
         void testBuildNullOrderClause() {
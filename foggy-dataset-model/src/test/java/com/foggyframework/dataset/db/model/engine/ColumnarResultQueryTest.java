@@ -0,0 +1,101 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.def.query.request.GroupRequestDef;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import com.foggyframework.dataset.resultset.columnar.ColumnarResult;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 列式结果查询测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("列式结果查询测试")
+class ColumnarResultQueryTest extends EcommerceTestSupport {
+
+    @Resource
+    private SystemBundlesContext systemBundlesContext;
+
+    @Test
+    @DisplayName("明细查询的列式结果与 Map 结果一致")
+    void testDetailMatches() {
+        assertSameResult(q -> {
+            q.setColumns(Arrays.asList("orderId", "orderLineNo", "orderStatus", "salesDate$caption", "salesAmount", "quantity"));
+            return q;
+        });
+    }
+
+    @Test
+    @DisplayName("汇总查询的列式结果与 Map 结果一致")
+    void testAggregateMatches() {
+        assertSameResult(q -> {
+            GroupRequestDef group = new GroupRequestDef();
+            group.setField("orderStatus");
+            q.setGroupBy(List.of(group));
+            q.setColumns(Arrays.asList("orderStatus", "salesAmount", "quantity"));
+            return q;
+        });
+    }
+
+    @Test
+    @DisplayName("游标分页使用列式结果时移除自动加入的列")
+    void testKeysetWithColumnar() {
+        JdbcQueryModelImpl queryModel = (JdbcQueryModelImpl) getQueryModel("FactSalesQueryModel");
+        queryModel.setColumnarResult(true);
+        try {
+            DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+            queryRequest.setQueryModel("FactSalesQueryModel");
+            queryRequest.setColumns(Arrays.asList("orderId", "salesAmount"));
+            queryRequest.setCursor("");
+            PagingResultImpl page = queryModel.query(systemBundlesContext, PagingRequest.buildPagingRequest(queryRequest, 3)).getPagingResult();
+            assertInstanceOf(ColumnarResult.class, page.getItems());
+            assertEquals(3, page.getItems().size());
+            assertNotNull(page.getCursor());
+            assertEquals(Arrays.asList("orderId", "salesAmount"), ((ColumnarResult) page.getItems()).getColumnNames());
+        } finally {
+            queryModel.setColumnarResult(false);
+        }
+    }
+
+    private void assertSameResult(Function<DbQueryRequestDef, DbQueryRequestDef> customizer) {
+        JdbcQueryModelImpl queryModel = (JdbcQueryModelImpl) getQueryModel("FactSalesQueryModel");
+        PagingResultImpl expected = query(queryModel, customizer);
+
+        queryModel.setColumnarResult(true);
+        PagingResultImpl actual;
+        try {
+            actual = query(queryModel, customizer);
+        } finally {
+            queryModel.setColumnarResult(false);
+        }
+
+        assertInstanceOf(ColumnarResult.class, actual.getItems());
+        assertFalse(expected.getItems().isEmpty());
+        assertEquals(expected.getItems(), actual.getItems());
+        assertEquals(expected.getTotal(), actual.getTotal());
+    }
+
+    private PagingResultImpl query(JdbcQueryModelImpl queryModel, Function<DbQueryRequestDef, DbQueryRequestDef> customizer) {
+        DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+        queryRequest.setQueryModel("FactSalesQueryModel");
+        queryRequest.setReturnTotal(true);
+        customizer.apply(queryRequest);
+        return queryModel.query(systemBundlesContext, PagingRequest.buildPagingRequest(queryRequest, 100)).getPagingResult();
+    }
+}
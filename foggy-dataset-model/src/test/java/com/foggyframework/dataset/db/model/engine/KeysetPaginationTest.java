@@ -0,0 +1,147 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.core.ex.ExRuntimeExceptionImpl;
+import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.dialect.FDialect;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.def.query.request.GroupRequestDef;
+import com.foggyframework.dataset.db.model.def.query.request.OrderRequestDef;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query.KeysetPagination;
+import com.foggyframework.dataset.db.model.spi.JdbcQueryModel;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 游标分页测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("游标分页测试")
+class KeysetPaginationTest extends EcommerceTestSupport {
+
+    @Resource
+    private SystemBundlesContext systemBundlesContext;
+
+    @Test
+    @DisplayName("逐页翻完的结果与 OFFSET 分页一致且不重复")
+    void testWalkAllPages() {
+        JdbcQueryModel queryModel = getQueryModel("FactSalesQueryModel");
+        int pageSize = 3;
+
+        PagingResultImpl all = query(queryModel, null, 0, 100000, true);
+        Set<String> expected = new HashSet<>();
+        for (Object row : all.getItems()) {
+            expected.add(rowKey((Map<?, ?>) row));
+        }
+        assertEquals(all.getItems().size(), expected.size(), "订单号+行号应唯一");
+        assertTrue(expected.size() > pageSize * 2, "测试数据不足");
+
+        Set<String> walked = new HashSet<>();
+        String cursor = "";
+        String lastStatus = null;
+        int pages = 0;
+        PagingResultImpl first = null;
+        while (cursor != null) {
+            PagingResultImpl page = query(queryModel, cursor, 0, pageSize, true);
+            if (first == null) {
+                first = page;
+            }
+            for (Object row : page.getItems()) {
+                Map<?, ?> m = (Map<?, ?>) row;
+                assertFalse(m.containsKey(KeysetPagination.HIDDEN_ID_ALIAS), "自动加入的主键列不应返回");
+                assertTrue(walked.add(rowKey(m)), "翻页结果不应重复");
+                String status = (String) m.get("orderStatus");
+                assertTrue(lastStatus == null || lastStatus.compareTo(status) >= 0, "应保持 orderStatus 降序");
+                lastStatus = status;
+            }
+            assertTrue(page.getItems().size() <= pageSize);
+            assertEquals(page.getCursor() != null, page.isHasNext());
+            cursor = page.getCursor();
+            pages++;
+        }
+
+        assertEquals(expected.size(), first.getTotal(), "首页应返回总数");
+        assertEquals(expected, walked);
+        assertEquals((expected.size() + pageSize - 1) / pageSize, pages);
+    }
+
+    @Test
+    @DisplayName("游标与排序不一致时拒绝")
+    void testCursorSignatureMismatch() {
+        JdbcQueryModel queryModel = getQueryModel("FactSalesQueryModel");
+        PagingResultImpl page = query(queryModel, "", 0, 3, false);
+        assertNotNull(page.getCursor());
+
+        DbQueryRequestDef queryRequest = request(page.getCursor());
+        queryRequest.getOrderBy().get(0).setOrder("asc");
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, 10);
+        assertThrows(ExRuntimeExceptionImpl.class, () -> queryModel.query(systemBundlesContext, form));
+    }
+
+    @Test
+    @DisplayName("游标分页不支持分组")
+    void testGroupByRejected() {
+        JdbcQueryModel queryModel = getQueryModel("FactSalesQueryModel");
+        DbQueryRequestDef queryRequest = request("");
+        GroupRequestDef group = new GroupRequestDef();
+        group.setField("orderStatus");
+        queryRequest.setGroupBy(List.of(group));
+        queryRequest.setColumns(Arrays.asList("orderStatus", "salesAmount"));
+        queryRequest.setOrderBy(null);
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, 10);
+        assertThrows(ExRuntimeExceptionImpl.class, () -> queryModel.query(systemBundlesContext, form));
+    }
+
+    @Test
+    @DisplayName("方向一致时使用行值比较，方向不一致或不支持时展开")
+    void testKeysetCondition() {
+        List<Object> params = new ArrayList<>();
+        String sql = FDialect.POSTGRES_DIALECT.buildKeysetCondition(Arrays.asList("t.a", "t.b"), Arrays.asList(true, true), Arrays.asList(1, 2), params);
+        assertEquals("((t.a, t.b) < (?, ?))", sql);
+        assertEquals(Arrays.asList(1, 2), params);
+
+        params.clear();
+        sql = FDialect.SQLSERVER_DIALECT.buildKeysetCondition(Arrays.asList("t.a", "t.b"), Arrays.asList(true, true), Arrays.asList(1, 2), params);
+        assertEquals("((t.a < ?) or (t.a = ? and t.b < ?))", sql);
+        assertEquals(Arrays.asList(1, 1, 2), params);
+
+        params.clear();
+        sql = FDialect.MYSQL_DIALECT.buildKeysetCondition(Arrays.asList("t.a", "t.b"), Arrays.asList(true, false), Arrays.asList(1, 2), params);
+        assertEquals("((t.a < ?) or (t.a = ? and t.b > ?))", sql);
+    }
+
+    private static String rowKey(Map<?, ?> row) {
+        return row.get("orderId") + "/" + row.get("orderLineNo");
+    }
+
+    private PagingResultImpl query(JdbcQueryModel queryModel, String cursor, int start, int limit, boolean returnTotal) {
+        DbQueryRequestDef queryRequest = request(cursor);
+        queryRequest.setReturnTotal(returnTotal);
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, limit);
+        form.setStart(start);
+        return queryModel.query(systemBundlesContext, form).getPagingResult();
+    }
+
+    private DbQueryRequestDef request(String cursor) {
+        DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+        queryRequest.setQueryModel("FactSalesQueryModel");
+        queryRequest.setColumns(Arrays.asList("orderId", "orderLineNo", "orderStatus", "salesAmount"));
+        OrderRequestDef order = new OrderRequestDef();
+        order.setField("orderStatus");
+        order.setOrder("desc");
+        queryRequest.setOrderBy(new ArrayList<>(List.of(order)));
+        queryRequest.setCursor(cursor);
+        return queryRequest;
+    }
+}
@@ -0,0 +1,98 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query_model.DbModelFileChangeHandler;
+import com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl;
+import com.foggyframework.dataset.db.model.engine.query_model.ModelDependencyGraph;
+import com.foggyframework.dataset.db.model.impl.model.DbTableModelImpl;
+import com.foggyframework.dataset.db.model.spi.QueryModel;
+import com.foggyframework.dataset.db.model.spi.TableModel;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模型增量重建测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("模型增量重建测试")
+class ModelReloadTest extends EcommerceTestSupport {
+
+    @Resource
+    private DbModelFileChangeHandler fileChangeHandler;
+
+    @BeforeEach
+    void setUp() {
+        fileChangeHandler.clearAll();
+    }
+
+    @Test
+    @DisplayName("TM 变化只重建该 TM 及使用它的 QM，其余模型不受影响")
+    void testReloadAffectedOnly() throws Exception {
+        QueryModel sales = queryModelLoader.getJdbcQueryModel("FactSalesQueryModel");
+        QueryModel join = queryModelLoader.getJdbcQueryModel("SalesReturnJoinQueryModel");
+        QueryModel order = queryModelLoader.getJdbcQueryModel("FactOrderQueryModel");
+        TableModel salesTm = tableModelLoaderManager.load("FactSalesModel");
+        TableModel orderTm = tableModelLoaderManager.load("FactOrderModel");
+
+        String path = salesTm.getDecorate(DbTableModelImpl.class).getFScript().getPath();
+        ModelDependencyGraph.Affected affected = fileChangeHandler.reload(List.of(path)).get(30, TimeUnit.SECONDS);
+        log.info("受影响的模型: {}", affected);
+
+        assertEquals(List.of("FactSalesModel"), List.copyOf(affected.getTableModels()));
+        assertTrue(affected.getQueryModels().contains("FactSalesQueryModel"));
+        assertTrue(affected.getQueryModels().contains("SalesReturnJoinQueryModel"));
+        assertFalse(affected.getQueryModels().contains("FactOrderQueryModel"));
+
+        QueryModel reloaded = queryModelLoader.getJdbcQueryModel("FactSalesQueryModel");
+        assertNotSame(sales, reloaded);
+        assertEquals(sales.getShortAlias(), reloaded.getShortAlias());
+        assertSame(reloaded, queryModelLoader.getJdbcQueryModel(sales.getShortAlias()));
+        assertNotSame(join, queryModelLoader.getJdbcQueryModel("SalesReturnJoinQueryModel"));
+        assertNotSame(salesTm, tableModelLoaderManager.load("FactSalesModel"));
+        assertSame(tableModelLoaderManager.load("FactSalesModel").getDecorate(DbTableModelImpl.class),
+                reloaded.getJdbcModel().getDecorate(DbTableModelImpl.class));
+
+        assertSame(order, queryModelLoader.getJdbcQueryModel("FactOrderQueryModel"));
+        assertSame(orderTm, tableModelLoaderManager.load("FactOrderModel"));
+
+        DbModelFileChangeHandler.ReloadStat stat = fileChangeHandler.getReloadStats().get("QM:FactSalesQueryModel");
+        assertNotNull(stat);
+        assertTrue(stat.getCount() >= 1);
+        assertEquals(0, stat.getFailures());
+    }
+
+    @Test
+    @DisplayName("QM 脚本变化只重建该 QM")
+    void testReloadQueryModel() throws Exception {
+        QueryModel sales = queryModelLoader.getJdbcQueryModel("FactSalesQueryModel");
+        TableModel salesTm = tableModelLoaderManager.load("FactSalesModel");
+
+        String path = sales.getDecorate(JdbcQueryModelImpl.class).getFsscript().getPath();
+        ModelDependencyGraph.Affected affected = fileChangeHandler.reload(List.of(path)).get(30, TimeUnit.SECONDS);
+
+        assertTrue(affected.getTableModels().isEmpty());
+        assertEquals(List.of("FactSalesQueryModel"), List.copyOf(affected.getQueryModels()));
+        assertNotSame(sales, queryModelLoader.getJdbcQueryModel("FactSalesQueryModel"));
+        assertSame(salesTm, tableModelLoaderManager.load("FactSalesModel"));
+    }
+
+    @Test
+    @DisplayName("未被模型使用的脚本变化不触发重建")
+    void testUnrelatedPath() throws Exception {
+        QueryModel sales = queryModelLoader.getJdbcQueryModel("FactSalesQueryModel");
+        ModelDependencyGraph.Affected affected = fileChangeHandler.reload(List.of("/not/used.fsscript")).get(30, TimeUnit.SECONDS);
+        assertTrue(affected.isEmpty());
+        assertSame(sales, queryModelLoader.getJdbcQueryModel("FactSalesQueryModel"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query_model.DbModelFileChangeHandler;
+import com.foggyframework.dataset.db.model.engine.query_model.ModelWarmUp;
+import com.foggyframework.dataset.db.model.engine.query_model.QueryModelLoaderImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模型启动预热测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("模型启动预热测试")
+class ModelWarmUpTest extends EcommerceTestSupport {
+
+    @Resource
+    private SystemBundlesContext systemBundlesContext;
+
+    @Resource
+    private DbModelFileChangeHandler fileChangeHandler;
+
+    @Resource
+    private ModelWarmUp modelWarmUp;
+
+    @Test
+    @DisplayName("未开启预热时直接就绪")
+    void testDisabled() {
+        assertEquals(ModelWarmUp.Status.DISABLED, modelWarmUp.getStatus());
+        assertTrue(modelWarmUp.isReady());
+    }
+
+    @Test
+    @DisplayName("并行加载所有 bundle 中的 TM/QM 并记录耗时")
+    void testWarmUp() {
+        fileChangeHandler.clearAll();
+
+        DatasetProperties.WarmUp config = new DatasetProperties.WarmUp();
+        config.setEnabled(true);
+        config.setThreads(4);
+        ModelWarmUp warmUp = new ModelWarmUp(systemBundlesContext, tableModelLoaderManager, queryModelLoader, config);
+        assertFalse(warmUp.isReady());
+
+        warmUp.warmUp();
+        log.info("预热耗时 {}ms, 各模型: {}, 失败: {}", warmUp.getElapsedMillis(), warmUp.getLoadMillis(), warmUp.getFailures());
+
+        assertTrue(warmUp.isReady());
+        assertEquals(ModelWarmUp.Status.DONE, warmUp.getStatus());
+        assertTrue(warmUp.getTotal() > 0);
+        assertEquals(warmUp.getTotal(), warmUp.getFinished());
+        assertTrue(warmUp.getLoadMillis().containsKey("TM:FactSalesModel"));
+        assertTrue(warmUp.getLoadMillis().containsKey("QM:FactSalesQueryModel"));
+        assertFalse(warmUp.getFailures().containsKey("QM:FactSalesQueryModel"));
+
+        // 预热结果已进入注册表
+        QueryModelLoaderImpl loader = (QueryModelLoaderImpl) queryModelLoader;
+        assertNotNull(loader.getQueryModels().get("FactSalesQueryModel"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.def.query.request.OrderRequestDef;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query.StatementCacheStats;
+import com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl;
+import com.foggyframework.dataset.db.model.interceptor.SqlLoggingInterceptor;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import jakarta.annotation.Resource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 参数化分页测试
+ *
+ * @author foggy-dataset-model
+ * @since 8.0.1-beta
+ */
+@DisplayName("参数化分页测试")
+class PagingSqlTest extends EcommerceTestSupport {
+
+    @Resource
+    private SystemBundlesContext systemBundlesContext;
+
+    @Test
+    @DisplayName("翻页使用相同的SQL文本，结果与分页位置一致")
+    void testPagesShareSql() {
+        JdbcQueryModelImpl queryModel = (JdbcQueryModelImpl) getQueryModel("FactSalesQueryModel");
+        SqlLoggingInterceptor old = queryModel.getSqlLoggingInterceptor();
+        StatementCacheStats stats = queryModel.getStatementCacheStats();
+        long executions = stats.getExecutions();
+        long hits = stats.getHits();
+        List<String> pagingSqls = new ArrayList<>();
+        queryModel.setSqlLoggingInterceptor(new SqlLoggingInterceptor(new DatasetProperties()) {
+            @Override
+            public void logSql(String sql, List<Object> parameters) {
+                String s = sql.toLowerCase();
+                if (s.contains("limit") || s.contains("fetch next")) {
+                    pagingSqls.add(sql);
+                }
+            }
+        });
+        try {
+            List<Object> all = new ArrayList<>();
+            for (Object row : query(queryModel, 0, 9).getItems()) {
+                all.add(key(row));
+            }
+
+            Set<Object> paged = new HashSet<>();
+            for (int start = 0; start < 9; start += 3) {
+                List<?> items = query(queryModel, start, 3).getItems();
+                assertEquals(3, items.size());
+                for (int i = 0; i < items.size(); i++) {
+                    Object key = key(items.get(i));
+                    assertEquals(all.get(start + i), key);
+                    paged.add(key);
+                }
+            }
+            assertEquals(9, paged.size());
+        } finally {
+            queryModel.setSqlLoggingInterceptor(old);
+        }
+        // 页大小、分页位置不同也是同一条SQL
+        assertEquals(4, pagingSqls.size());
+        assertEquals(1, new HashSet<>(pagingSqls).size());
+        assertEquals(4, stats.getExecutions() - executions);
+        assertTrue(stats.getHits() - hits >= 3);
+    }
+
+    @Test
+    @DisplayName("按SQL文本统计复用次数，超出容量的新形状只计数")
+    void testStats() {
+        StatementCacheStats stats = new StatementCacheStats(2);
+        assertFalse(stats.record("a"));
+        assertTrue(stats.record("a"));
+        assertFalse(stats.record("b"));
+        assertFalse(stats.record("c"));
+        assertFalse(stats.record("c"));
+        assertTrue(stats.record("a"));
+        assertEquals(6, stats.getExecutions());
+        assertEquals(2, stats.getHits());
+        assertEquals(4, stats.getMisses());
+        assertEquals(2.0 / 6, stats.getHitRate(), 1e-9);
+    }
+
+    private static Object key(Object row) {
+        Map<?, ?> m = (Map<?, ?>) row;
+        return Arrays.asList(m.get("orderId"), m.get("orderLineNo"));
+    }
+
+    private PagingResultImpl query(JdbcQueryModelImpl queryModel, int start, int limit) {
+        DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+        queryRequest.setQueryModel("FactSalesQueryModel");
+        queryRequest.setColumns(Arrays.asList("orderId", "orderLineNo", "salesAmount"));
+        List<OrderRequestDef> orders = new ArrayList<>();
+        for (String field : new String[]{"orderId", "orderLineNo"}) {
+            OrderRequestDef order = new OrderRequestDef();
+            order.setField(field);
+            order.setOrder("asc");
+            orders.add(order);
+        }
+        queryRequest.setOrderBy(orders);
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, limit);
+        form.setStart(start);
+        return queryModel.query(systemBundlesContext, form).getPagingResult();
+    }
+}
@@ -0,0 +1,151 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.core.tuple.Tuple2;
+import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query.ParallelQueryExecutor;
+import com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 明细/汇总并发查询测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("明细/汇总并发查询测试")
+class ParallelQueryExecutorTest extends EcommerceTestSupport {
+
+    @Resource
+    private SystemBundlesContext systemBundlesContext;
+
+    private ParallelQueryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        DatasetProperties.ParallelQuery config = new DatasetProperties.ParallelQuery();
+        config.setEnabled(true);
+        config.setMaxConcurrency(4);
+        config.setPerModelLimit(2);
+        executor = new ParallelQueryExecutor(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("并发模式与串行模式结果一致")
+    void testParallelMatchesSequential() {
+        JdbcQueryModelImpl queryModel = (JdbcQueryModelImpl) getQueryModel("FactSalesQueryModel");
+
+        PagingResultImpl sequential = query(queryModel);
+
+        queryModel.setParallelQueryExecutor(executor);
+        PagingResultImpl parallel;
+        try {
+            parallel = query(queryModel);
+        } finally {
+            queryModel.setParallelQueryExecutor(null);
+        }
+
+        assertEquals(sequential.getItems().size(), parallel.getItems().size());
+        assertEquals(sequential.getTotal(), parallel.getTotal());
+        assertTrue(parallel.getTotal() > 0, "应返回总数");
+        assertEquals(((Map<?, ?>) sequential.getTotalData()).get("salesAmount"),
+                ((Map<?, ?>) parallel.getTotalData()).get("salesAmount"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("任一任务失败时取消另一任务并抛出原始异常")
+    void testFailureCancelsSibling() {
+        AtomicBoolean secondCancelled = new AtomicBoolean(false);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> executor.executeBoth("m",
+                tracker -> {
+                    secondStarted.await(5, TimeUnit.SECONDS);
+                    throw new IllegalStateException("boom");
+                },
+                tracker -> {
+                    secondStarted.countDown();
+                    long deadline = System.currentTimeMillis() + 5000;
+                    while (!tracker.isCancelled() && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(10);
+                    }
+                    secondCancelled.set(tracker.isCancelled());
+                    return null;
+                }, null));
+
+        assertEquals("boom", ex.getMessage());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!secondCancelled.get() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(secondCancelled.get(), "兄弟任务应被取消");
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("单模型并发达上限时退回串行执行")
+    void testModelLimitFallsBackToSequential() throws Exception {
+        CountDownLatch hold = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(2);
+
+        Thread[] holders = new Thread[2];
+        for (int i = 0; i < holders.length; i++) {
+            holders[i] = new Thread(() -> executor.executeBoth("limited",
+                    tracker -> {
+                        running.countDown();
+                        hold.await();
+                        return 1;
+                    },
+                    tracker -> 2, null));
+            holders[i].start();
+        }
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        ParallelQueryExecutor.Timings timings = new ParallelQueryExecutor.Timings();
+        Tuple2<Integer, Integer> result = executor.executeBoth("limited", tracker -> 1, tracker -> 2, timings);
+        assertEquals(1, result.getT1());
+        assertEquals(2, result.getT2());
+        assertFalse(timings.isParallel(), "超出单模型上限时应串行执行");
+
+        hold.countDown();
+        for (Thread t : holders) {
+            t.join(5000);
+        }
+
+        Tuple2<Integer, Integer> again = executor.executeBoth("limited", tracker -> 1, tracker -> 2, timings);
+        assertEquals(2, again.getT2());
+        assertTrue(timings.isParallel(), "许可归还后应恢复并发执行");
+    }
+
+    private PagingResultImpl query(JdbcQueryModelImpl queryModel) {
+        DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+        queryRequest.setQueryModel("FactSalesQueryModel");
+        queryRequest.setColumns(Arrays.asList("product$categoryName", "salesAmount"));
+        queryRequest.setReturnTotal(true);
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, 10);
+        return queryModel.query(systemBundlesContext, form).getPagingResult();
+    }
+}
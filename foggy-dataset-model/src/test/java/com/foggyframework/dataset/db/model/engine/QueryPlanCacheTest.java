@@ -0,0 +1,112 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.def.query.request.SliceRequestDef;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 查询计划缓存测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("查询计划缓存测试")
+class QueryPlanCacheTest extends EcommerceTestSupport {
+
+    @Resource
+    private SystemBundlesContext systemBundlesContext;
+
+    private JdbcQueryModelImpl queryModel;
+
+    private QueryPlanCache cache;
+
+    @BeforeEach
+    void setUp() {
+        queryModel = (JdbcQueryModelImpl) getQueryModel("FactSalesQueryModel");
+        cache = new QueryPlanCache(queryModel, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryModel.setQueryPlanCache(null);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("相同形状、不同切片值命中缓存且结果与完整分析一致")
+    void testHitWithDifferentValues() {
+        PagingResultImpl expected = query(slice("=", "COMPLETED"));
+
+        queryModel.setQueryPlanCache(cache);
+        query(slice("=", "PENDING"));
+        PagingResultImpl cached = query(slice("=", "COMPLETED"));
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(expected.getTotal(), cached.getTotal());
+        assertEquals(expected.getItems(), cached.getItems());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("IN 列表长度不同视为不同形状")
+    void testListSizeChangesShape() {
+        queryModel.setQueryPlanCache(cache);
+        query(slice("in", Arrays.asList("COMPLETED", "PENDING")));
+        PagingResultImpl r = query(slice("in", Collections.singletonList("COMPLETED")));
+        PagingResultImpl expected;
+        queryModel.setQueryPlanCache(null);
+        expected = query(slice("in", Collections.singletonList("COMPLETED")));
+
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.size());
+        assertEquals(expected.getTotal(), r.getTotal());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("超出容量时按 LRU 淘汰")
+    void testEviction() {
+        cache = new QueryPlanCache(queryModel, 1);
+        queryModel.setQueryPlanCache(cache);
+        query(slice("=", "COMPLETED"));
+        query(slice("in", Collections.singletonList("COMPLETED")));
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    private SliceRequestDef slice(String op, Object value) {
+        SliceRequestDef slice = new SliceRequestDef();
+        slice.setField("orderStatus");
+        slice.setOp(op);
+        slice.setValue(value);
+        return slice;
+    }
+
+    private PagingResultImpl query(SliceRequestDef slice) {
+        DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+        queryRequest.setQueryModel("FactSalesQueryModel");
+        queryRequest.setColumns(Arrays.asList("orderId", "orderStatus", "salesAmount"));
+        queryRequest.setSlice(List.of(slice));
+        queryRequest.setReturnTotal(true);
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, 20);
+        return queryModel.query(systemBundlesContext, form).getPagingResult();
+    }
+}
@@ -0,0 +1,142 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foggyframework.core.utils.JsonUtils;
+import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.service.QueryFacade;
+import com.foggyframework.dataset.db.model.service.export.QueryRowStreamWriter;
+import com.foggyframework.dataset.db.model.spi.QueryRowHandler;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流式导出测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("流式导出测试")
+class StreamingExportTest extends EcommerceTestSupport {
+
+    @Resource
+    private QueryFacade queryFacade;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("NDJSON 导出与普通查询结果一致")
+    void testNdjsonMatchesQuery() {
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(request(), 100000);
+        form.getParam().setReturnTotal(true);
+        PagingResultImpl expected = queryFacade.queryModelData(form);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = queryFacade.streamModelData(request(), QueryRowStreamWriter.create("ndjson", out, 3));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(expected.getTotal(), count);
+        assertEquals(count, lines.length);
+
+        Set<String> expectedKeys = new HashSet<>();
+        for (Object row : expected.getItems()) {
+            expectedKeys.add(rowKey((Map<?, ?>) row));
+        }
+        Set<String> streamedKeys = new HashSet<>();
+        for (String line : lines) {
+            streamedKeys.add(rowKey(JsonUtils.fromJson(line, Map.class)));
+        }
+        assertEquals(expectedKeys, streamedKeys);
+    }
+
+    @Test
+    @DisplayName("回调返回 false 时停止读取")
+    void testHandlerStops() {
+        List<Object> seen = new ArrayList<>();
+        long count = queryFacade.streamModelData(request(), new QueryRowHandler() {
+            @Override
+            public void start(List<String> columns) {
+                assertTrue(columns.contains("orderId"));
+            }
+
+            @Override
+            public boolean row(Object[] values) {
+                seen.add(values[0]);
+                return seen.size() < 2;
+            }
+        });
+        assertEquals(2, count);
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    @DisplayName("CSV 与 SSE 格式")
+    void testCsvAndSse() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        QueryRowStreamWriter csv = QueryRowStreamWriter.create("csv", out, 100);
+        csv.start(Arrays.asList("a", "b"));
+        csv.row(new Object[]{"x,y", "say \"hi\""});
+        csv.row(new Object[]{null, 1});
+        csv.end(2);
+        assertEquals("a,b\r\n\"x,y\",\"say \"\"hi\"\"\"\r\n,1\r\n", out.toString(StandardCharsets.UTF_8));
+
+        out.reset();
+        QueryRowStreamWriter sse = QueryRowStreamWriter.create("sse", out, 100);
+        sse.start(Arrays.asList("a", "b"));
+        sse.row(new Object[]{"x", 1});
+        sse.row(new Object[]{null, 2});
+        sse.end(2);
+        assertEquals("data: {\"a\":\"x\",\"b\":1}\n\ndata: {\"a\":null,\"b\":2}\n\nevent: end\ndata: {\"total\":2}\n\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("日期列与普通查询接口格式一致")
+    void testDateValues() throws Exception {
+        LocalDateTime ldt = LocalDateTime.of(2024, 3, 5, 10, 20, 30);
+        Timestamp ts = Timestamp.valueOf(ldt);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        QueryRowStreamWriter ndjson = QueryRowStreamWriter.create("ndjson", out, 100, objectMapper);
+        ndjson.start(Arrays.asList("a", "b"));
+        ndjson.row(new Object[]{ldt, ts});
+        ndjson.end(1);
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("a", ldt);
+        expected.put("b", ts);
+        assertEquals(objectMapper.writeValueAsString(expected) + "\n", out.toString(StandardCharsets.UTF_8));
+
+        out.reset();
+        QueryRowStreamWriter sse = QueryRowStreamWriter.create("sse", out, 100);
+        sse.start(Arrays.asList("a", "b"));
+        sse.row(new Object[]{ldt, ts});
+        sse.end(1);
+        assertEquals("data: {\"a\":\"2024-03-05T10:20:30\",\"b\":\"2024-03-05 10:20:30\"}\n\nevent: end\ndata: {\"total\":1}\n\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static String rowKey(Map<?, ?> row) {
+        return row.get("orderId") + "/" + row.get("orderLineNo") + "/" + row.get("salesAmount");
+    }
+
+    private DbQueryRequestDef request() {
+        DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+        queryRequest.setQueryModel("FactSalesQueryModel");
+        queryRequest.setColumns(Arrays.asList("orderId", "orderLineNo", "orderStatus", "salesAmount"));
+        return queryRequest;
+    }
+}
@@ -0,0 +1,126 @@
+package com.foggyframework.dataset.db.model.engine;
+
+import com.foggyframework.bundle.SystemBundlesContext;
+import com.foggyframework.dataset.client.domain.PagingRequest;
+import com.foggyframework.dataset.db.model.def.query.request.DbQueryRequestDef;
+import com.foggyframework.dataset.db.model.def.query.request.SliceRequestDef;
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.engine.query.TotalsCache;
+import com.foggyframework.dataset.db.model.engine.query.TotalsStrategy;
+import com.foggyframework.dataset.db.model.engine.query_model.JdbcQueryModelImpl;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 总数计算策略测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("总数计算策略测试")
+class TotalsStrategyTest extends EcommerceTestSupport {
+
+    @Resource
+    private SystemBundlesContext systemBundlesContext;
+
+    private JdbcQueryModelImpl queryModel;
+
+    private TotalsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        queryModel = (JdbcQueryModelImpl) getQueryModel("FactSalesQueryModel");
+        cache = new TotalsCache(16, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryModel.setTotalsStrategy(TotalsStrategy.EXACT);
+        queryModel.setTotalsCache(null);
+        queryModel.setTotalsExactBelow(0);
+    }
+
+    @Test
+    @DisplayName("cached 策略翻页时复用第一页的汇总结果")
+    void testCachedAcrossPages() {
+        PagingResultImpl expected = query(0, null);
+
+        queryModel.setTotalsStrategy(TotalsStrategy.CACHED);
+        queryModel.setTotalsCache(cache);
+        PagingResultImpl page1 = query(0, null);
+        PagingResultImpl page2 = query(3, null);
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(expected.getTotal(), page1.getTotal());
+        assertEquals(expected.getTotal(), page2.getTotal());
+        assertEquals(expected.getTotalData(), page2.getTotalData());
+        assertFalse(page2.isTotalApproximate());
+        assertNotEquals(page1.getItems(), page2.getItems());
+    }
+
+    @Test
+    @DisplayName("条件不同的查询不共用汇总结果")
+    void testDifferentValues() {
+        queryModel.setTotalsStrategy(TotalsStrategy.CACHED);
+        queryModel.setTotalsCache(cache);
+        PagingResultImpl completed = query(0, "COMPLETED");
+        PagingResultImpl all = query(0, null);
+
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getHits());
+        assertTrue(completed.getTotal() <= all.getTotal());
+    }
+
+    @Test
+    @DisplayName("数据库不支持估算时退回精确计算并缓存")
+    void testEstimatedFallback() {
+        PagingResultImpl expected = query(0, null);
+
+        queryModel.setTotalsStrategy(TotalsStrategy.ESTIMATED);
+        queryModel.setTotalsCache(cache);
+        PagingResultImpl r = query(0, null);
+
+        assertFalse(r.isTotalApproximate());
+        assertEquals(expected.getTotal(), r.getTotal());
+        assertEquals(expected.getTotalData(), r.getTotalData());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("解析 QM 中的 totals 配置")
+    void testParse() {
+        assertEquals(TotalsStrategy.EXACT, TotalsStrategy.of(null));
+        assertEquals(TotalsStrategy.CACHED, TotalsStrategy.of("cached"));
+        assertEquals(TotalsStrategy.ESTIMATED, TotalsStrategy.of(" Estimated "));
+        assertThrows(RuntimeException.class, () -> TotalsStrategy.of("fast"));
+    }
+
+    private PagingResultImpl query(int start, String orderStatus) {
+        DbQueryRequestDef queryRequest = new DbQueryRequestDef();
+        queryRequest.setQueryModel("FactSalesQueryModel");
+        queryRequest.setColumns(Arrays.asList("orderId", "orderLineNo", "salesAmount"));
+        queryRequest.setReturnTotal(true);
+        if (orderStatus != null) {
+            SliceRequestDef slice = new SliceRequestDef();
+            slice.setField("orderStatus");
+            slice.setOp("=");
+            slice.setValue(orderStatus);
+            queryRequest.setSlice(Collections.singletonList(slice));
+        }
+        PagingRequest<DbQueryRequestDef> form = PagingRequest.buildPagingRequest(queryRequest, 3);
+        form.setStart(start);
+        return queryModel.query(systemBundlesContext, form).getPagingResult();
+    }
+}
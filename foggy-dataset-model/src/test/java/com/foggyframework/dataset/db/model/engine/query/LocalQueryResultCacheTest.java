@@ -0,0 +1,159 @@
+package com.foggyframework.dataset.db.model.engine.query;
+
+import com.foggyframework.dataset.db.model.config.DatasetProperties;
+import com.foggyframework.dataset.model.PagingResultImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 进程内查询结果缓存测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@DisplayName("进程内查询结果缓存测试")
+class LocalQueryResultCacheTest {
+
+    private DatasetProperties.ResultCache config;
+
+    private LocalQueryResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config = new DatasetProperties.ResultCache();
+        config.setEnabled(true);
+        cache = new LocalQueryResultCache(config);
+    }
+
+    @Test
+    @DisplayName("命中时返回副本，修改结果不影响缓存")
+    void testHitReturnsCopy() {
+        AtomicInteger loads = new AtomicInteger();
+        PagingResultImpl first = cache.getOrLoad("m", "k", null, () -> result(loads.incrementAndGet()));
+        first.getItems().clear();
+
+        PagingResultImpl second = cache.getOrLoad("m", "k", null, () -> result(loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals(1, second.getItems().size());
+        assertEquals(1, ((Map<?, ?>) second.getItems().get(0)).get("v"));
+
+        ((Map<String, Object>) second.getItems().get(0)).put("v", 99);
+        PagingResultImpl third = cache.getOrLoad("m", "k", null, () -> result(loads.incrementAndGet()));
+        assertEquals(1, ((Map<?, ?>) third.getItems().get(0)).get("v"));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("cacheTtl=0 的模型不缓存，过期后重新加载")
+    void testTtl() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("m", "k", 0, () -> result(loads.incrementAndGet()));
+        cache.getOrLoad("m", "k", 0, () -> result(loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+
+        cache.getOrLoad("m", "k2", 1, () -> result(loads.incrementAndGet()));
+        cache.getOrLoad("m", "k2", 1, () -> result(loads.incrementAndGet()));
+        assertEquals(3, loads.get());
+        Thread.sleep(1100);
+        cache.getOrLoad("m", "k2", 1, () -> result(loads.incrementAndGet()));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("总权重超限时淘汰最久未使用的结果")
+    void testWeightEviction() {
+        long one = LocalQueryResultCache.estimateWeight(result(1));
+        config.setMaxWeightBytes(one * 2);
+
+        cache.getOrLoad("m", "a", null, () -> result(1));
+        cache.getOrLoad("m", "b", null, () -> result(2));
+        cache.getOrLoad("m", "a", null, () -> result(1));
+        cache.getOrLoad("m", "c", null, () -> result(3));
+
+        assertEquals(1, cache.getEvictions());
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("m", "a", null, () -> result(loads.incrementAndGet()));
+        cache.getOrLoad("m", "b", null, () -> result(loads.incrementAndGet()));
+        assertEquals(1, loads.get(), "b 应已被淘汰，a 仍在缓存中");
+    }
+
+    @Test
+    @DisplayName("并发的相同未命中只执行一次查询")
+    void testSingleFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<PagingResultImpl>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(pool.submit(() -> cache.getOrLoad("m", "k", null, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return result(7);
+                })));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (cache.getCoalesced() < threads - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<PagingResultImpl> f : futures) {
+                assertEquals(7, ((Map<?, ?>) f.get(5, TimeUnit.SECONDS).getItems().get(0)).get("v"));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(threads - 1, cache.getCoalesced());
+    }
+
+    @Test
+    @DisplayName("按模型失效，加载期间失效的结果不写入缓存")
+    void testInvalidate() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("m1", "a", null, () -> result(loads.incrementAndGet()));
+        cache.getOrLoad("m2", "b", null, () -> result(loads.incrementAndGet()));
+        cache.invalidate("m1");
+        cache.getOrLoad("m1", "a", null, () -> result(loads.incrementAndGet()));
+        cache.getOrLoad("m2", "b", null, () -> result(loads.incrementAndGet()));
+        assertEquals(3, loads.get());
+
+        cache.getOrLoad("m3", "c", null, () -> {
+            cache.invalidate("m3");
+            return result(loads.incrementAndGet());
+        });
+        cache.getOrLoad("m3", "c", null, () -> result(loads.incrementAndGet()));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    @DisplayName("查询异常传递给所有等待方且不写入缓存")
+    void testFailureNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad("m", "k", null, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("m", "k", null, () -> result(loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+    }
+
+    private static PagingResultImpl result(int v) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("v", v);
+        Map<String, Object> totalData = new HashMap<>();
+        totalData.put("total", 1);
+        return PagingResultImpl.of(new ArrayList<>(List.of(row)), 0, 10, totalData, 1);
+    }
+}
@@ -0,0 +1,167 @@
+package com.foggyframework.dataset.db.model.impl;
+
+import com.foggyframework.dataset.db.model.ecommerce.EcommerceTestSupport;
+import com.foggyframework.dataset.db.model.spi.QueryModel;
+import com.foggyframework.dataset.db.model.spi.TableModel;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模型注册表并发测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("模型注册表并发测试")
+class ModelRegistryTest extends EcommerceTestSupport {
+
+    private static final int THREADS = 16;
+
+    @Test
+    @DisplayName("并发首次访问同名模型只加载一次")
+    void testSingleLoad() throws Exception {
+        ModelRegistry<Object> registry = new ModelRegistry<>("TEST");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+
+        List<Object> results = runConcurrently(() -> registry.getOrLoad("m", name -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            sleep(50);
+            return new Object();
+        }));
+
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(1, new HashSet<>(results).size());
+        assertSame(results.get(0), registry.get("m"));
+    }
+
+    @Test
+    @DisplayName("加载失败后不保留占位，下次访问重新加载")
+    void testFailedLoadRetried() {
+        ModelRegistry<String> registry = new ModelRegistry<>("TEST");
+        assertThrows(RuntimeException.class, () -> registry.getOrLoad("m", name -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertNull(registry.get("m"));
+        assertEquals(0, registry.size());
+        assertEquals("ok", registry.getOrLoad("m", name -> "ok"));
+    }
+
+    @Test
+    @DisplayName("同一线程循环加载时报错而不是死锁")
+    void testCircularLoad() {
+        ModelRegistry<String> registry = new ModelRegistry<>("TEST");
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> registry.getOrLoad("a", name -> registry.getOrLoad("a", n -> "x")));
+        assertTrue(e.getMessage().contains("循环引用"), e.getMessage());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("两个线程互相等待对方的加载时报错而不是死锁")
+    void testCrossThreadCircularLoad() throws Exception {
+        ModelRegistry<String> registry = new ModelRegistry<>("TEST");
+        CyclicBarrier bothLoading = new CyclicBarrier(2);
+        Function<String, String> loader = name -> {
+            try {
+                bothLoading.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return registry.getOrLoad(name.equals("x") ? "y" : "x", n -> "never");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> a = executor.submit(() -> registry.getOrLoad("x", loader));
+            Future<String> b = executor.submit(() -> registry.getOrLoad("y", loader));
+            for (Future<String> f : Arrays.asList(a, b)) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(10, TimeUnit.SECONDS));
+                assertTrue(e.getCause().getMessage().contains("循环引用"), e.getCause().getMessage());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, registry.size());
+        assertEquals("ok", registry.getOrLoad("x", name -> "ok"));
+    }
+
+    @Test
+    @DisplayName("整体替换后读取方看到新的全部模型")
+    void testReplaceAll() {
+        ModelRegistry<String> registry = new ModelRegistry<>("TEST");
+        registry.put("a", "1");
+        Map<String, String> snapshot = registry.snapshot();
+        snapshot.put("b", "2");
+        snapshot.remove("a");
+        registry.replaceAll(snapshot);
+
+        assertNull(registry.get("a"));
+        assertEquals("2", registry.get("b"));
+        assertFalse(registry.putIfAbsent("b", "3"));
+        assertEquals("2", registry.get("b"));
+    }
+
+    @Test
+    @DisplayName("清空后并发获取查询模型与表模型得到同一实例")
+    void testLoadersConcurrent() throws Exception {
+        tableModelLoaderManager.clearAll();
+        queryModelLoader.clearAll();
+
+        List<QueryModel> qms = runConcurrently(() -> queryModelLoader.getJdbcQueryModel("FactSalesQueryModel"));
+        assertEquals(1, new HashSet<>(qms).size());
+
+        QueryModel qm = qms.get(0);
+        assertNotNull(qm.getShortAlias());
+        List<QueryModel> byAlias = runConcurrently(() -> queryModelLoader.getJdbcQueryModel(qm.getShortAlias()));
+        assertEquals(Set.of(qm), new HashSet<>(byAlias));
+
+        List<TableModel> tms = runConcurrently(() -> tableModelLoaderManager.load("FactSalesModel"));
+        assertEquals(1, new HashSet<>(tms).size());
+    }
+
+    private static <T> List<T> runConcurrently(Supplier<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(THREADS);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    return task.get();
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.foggyframework.dataset;
 
+import com.foggyframework.dataset.db.dialect.DataSourceCapabilityInvalidator;
 import com.foggyframework.dataset.fsscript.*;
 import com.foggyframework.dataset.fun.*;
 import com.foggyframework.dataset.utils.DataSourceFactory;
@@ -40,6 +41,14 @@ public class DataSetAutoConfiguration implements InitializingBean {
         funTable.addAll(regfuns);
     }
 
+    /**
+     * 数据源Bean销毁时移除数据源能力缓存，见 DataSourceCapabilityRegistry
+     */
+    @Bean
+    public static DataSourceCapabilityInvalidator dataSourceCapabilityInvalidator() {
+        return new DataSourceCapabilityInvalidator();
+    }
+
     @Bean
     public DataSetFsscriptUtils dataSetFsscriptUtils() {
         return new DataSetFsscriptUtils();
@@ -0,0 +1,496 @@
+package com.foggyframework.dataset.db.data.dll;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.dataset.db.dialect.DataSourceCapabilities;
+import com.foggyframework.dataset.db.dialect.FDialect;
+import com.foggyframework.dataset.resultset.support.SqlUtils;
+import com.foggyframework.dataset.utils.DbUtils;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 分块批量写入
+ * <p>输入按 chunkSize 分块，每块执行一次 executeBatch，避免整个列表进入同一个批次，驱动缓冲过大。
+ * <ul>
+ *     <li>多行 values：一条语句携带多行参数，效果与 MySQL 的 rewriteBatchedStatements 相同，
+ *     每条语句的行数受数据库绑定参数上限与 maxStatementBytes（估算的语句字节数，对应 MySQL 的 max_allowed_packet）限制</li>
+ *     <li>SQLite：连接为自动提交时，整个写入放在一个事务中提交，出错时回滚</li>
+ *     <li>pipelined：调用线程只负责取值，绑定参数与 executeBatch 在另一个线程的连接上执行，取下一块与写上一块重叠；
+ *     处于 Spring 事务中时不启用，保证写入在调用方的事务内</li>
+ * </ul>
+ * <p>连接通过 {@link DataSourceUtils} 获取，处于 Spring 事务中时使用事务的连接。
+ * 不在 Spring 事务中的手动提交连接（如连接池配置 autoCommit=false），以及由自己切换为手动提交的连接，
+ * 写完后提交、出错时回滚；处于调用方的事务中时，提交与回滚由调用方决定。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public class BulkWriter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * SQL Server 单条 values 最多 1000 行
+     */
+    private static final int SQLSERVER_MAX_VALUES_ROWS = 1000;
+
+    /**
+     * 4MB，MySQL 5.7 max_allowed_packet 的默认值（8.0 为 64MB）
+     */
+    public static final long DEFAULT_MAX_STATEMENT_BYTES = 4L * 1024 * 1024;
+
+    private static final List<Object[]> END = new ArrayList<>(0);
+
+    private static final class ExecutorHolder {
+        static final ExecutorService EXECUTOR = newExecutor();
+    }
+
+    private final DataSource dataSource;
+
+    private final InsertBuilder insertBuilder;
+
+    /**
+     * on duplicate key update 部分，为null时是普通insert
+     */
+    private final String suffix;
+
+    @Getter
+    @Setter
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    @Getter
+    @Setter
+    private boolean pipelined;
+
+    @Getter
+    @Setter
+    private boolean multiRowValues = true;
+
+    /**
+     * 多行 values 语句按参数估算的字节数上限，超过时减少该语句的行数
+     */
+    @Getter
+    @Setter
+    private long maxStatementBytes = DEFAULT_MAX_STATEMENT_BYTES;
+
+    BulkWriter(DataSource dataSource, InsertBuilder insertBuilder, String suffix) {
+        if (insertBuilder.columns == null || insertBuilder.columns.isEmpty()) {
+            throw RX.throwB("批量写入" + insertBuilder.sqlTable.getName() + "失败，没有可写入的列");
+        }
+        this.dataSource = dataSource;
+        this.insertBuilder = insertBuilder;
+        this.suffix = suffix;
+    }
+
+    public static BulkWriter insert(DataSource dataSource, InsertBuilder builder) {
+        return new BulkWriter(dataSource, builder, null);
+    }
+
+    public static BulkWriter upsert(DataSource dataSource, OnDuplicateKeyBuilderKey key) {
+        InsertBuilder builder = key.builder.insertBuilder;
+        String insertSql = builder.genSql();
+        if (!key.sql.startsWith(insertSql)) {
+            throw RX.throwB("无法识别的upsert语句: " + key.sql);
+        }
+        return new BulkWriter(dataSource, builder, key.sql.substring(insertSql.length()));
+    }
+
+    public List<IdxSqlColumn> getColumns() {
+        return insertBuilder.columns;
+    }
+
+    /**
+     * 按列名从Map取值
+     */
+    public int writeMaps(Collection<? extends Map<String, Object>> list) throws SQLException {
+        List<IdxSqlColumn> columns = getColumns();
+        return write(map(list.iterator(), data -> {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = data.get(columns.get(i).sqlColumn.getName());
+            }
+            return row;
+        }));
+    }
+
+    /**
+     * 按列的顺序从List取值
+     */
+    public int writeLists(Collection<? extends List> list) throws SQLException {
+        int size = getColumns().size();
+        return write(map(list.iterator(), data -> {
+            Object[] row = new Object[size];
+            for (int i = 0; i < size; i++) {
+                row[i] = data.get(i);
+            }
+            return row;
+        }));
+    }
+
+    /**
+     * 按列的idx从结果集取值
+     */
+    public int write(ResultSet rs) throws SQLException {
+        List<IdxSqlColumn> columns = getColumns();
+        return write(new Iterator<Object[]>() {
+            Boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == null) {
+                    try {
+                        hasNext = rs.next();
+                    } catch (SQLException e) {
+                        throw RX.throwB(e);
+                    }
+                }
+                return hasNext;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                Object[] row = new Object[columns.size()];
+                try {
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = rs.getObject(columns.get(i).idx);
+                    }
+                } catch (SQLException e) {
+                    throw RX.throwB(e);
+                }
+                return row;
+            }
+        });
+    }
+
+    /**
+     * @param rows 每行的值与 {@link #getColumns()} 的顺序一致
+     * @return 受影响的行数
+     */
+    public int write(Iterator<Object[]> rows) throws SQLException {
+        long start = System.currentTimeMillis();
+        DataSourceCapabilities capabilities = DbUtils.getCapabilities(dataSource);
+        int rowsPerStatement = rowsPerStatement(capabilities);
+        boolean singleTransaction = capabilities.getDialect() == FDialect.SQLITE_DIALECT;
+
+        // 写入线程拿不到调用线程绑定的事务连接，事务中退回单线程写入
+        boolean p = pipelined && !TransactionSynchronizationManager.isActualTransactionActive();
+        int r = p ? writePipelined(rows, rowsPerStatement, singleTransaction)
+                : writeDirect(rows, rowsPerStatement, singleTransaction);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("批量写入%s，影响%s行，每条语句%s行，费时%s毫秒", insertBuilder.sqlTable.getName(), r,
+                    rowsPerStatement, System.currentTimeMillis() - start));
+        }
+        return r;
+    }
+
+    int rowsPerStatement(DataSourceCapabilities capabilities) {
+        if (!multiRowValues) {
+            return 1;
+        }
+        int n = Math.min(chunkSize, capabilities.getMaxBindParameters() / getColumns().size());
+        if (capabilities.getDialect() == FDialect.SQLSERVER_DIALECT) {
+            n = Math.min(n, SQLSERVER_MAX_VALUES_ROWS);
+        }
+        return Math.max(1, n);
+    }
+
+    String genSql(int rows) {
+        String sql = insertBuilder.genSql(rows);
+        return suffix == null ? sql : sql + suffix;
+    }
+
+    private int writeDirect(Iterator<Object[]> rows, int rowsPerStatement, boolean singleTransaction) throws SQLException {
+        try (Sink sink = new Sink(rowsPerStatement, singleTransaction)) {
+            for (List<Object[]> chunk = nextChunk(rows); !chunk.isEmpty(); chunk = nextChunk(rows)) {
+                sink.write(chunk);
+            }
+            sink.finish();
+            return sink.count;
+        }
+    }
+
+    private int writePipelined(Iterator<Object[]> rows, int rowsPerStatement, boolean singleTransaction) throws SQLException {
+        // 容量2：写入线程处理一块时，调用线程最多再准备两块
+        BlockingQueue<List<Object[]>> queue = new ArrayBlockingQueue<>(2);
+        Future<Integer> consumer = ExecutorHolder.EXECUTOR.submit(() -> {
+            try (Sink sink = new Sink(rowsPerStatement, singleTransaction)) {
+                for (List<Object[]> chunk = queue.take(); chunk != END; chunk = queue.take()) {
+                    sink.write(chunk);
+                }
+                sink.finish();
+                return sink.count;
+            }
+        });
+        try {
+            for (; ; ) {
+                List<Object[]> chunk = nextChunk(rows);
+                boolean end = chunk.isEmpty();
+                if (!offer(queue, end ? END : chunk, consumer) || end) {
+                    break;
+                }
+            }
+            return consumer.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw RX.throwB(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            consumer.cancel(true);
+            throw RX.throwB(e);
+        } catch (RuntimeException e) {
+            // 取值失败，中断写入线程，未提交的部分回滚
+            consumer.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * @return 写入线程已结束（出错）时返回false
+     */
+    private static boolean offer(BlockingQueue<List<Object[]>> queue, List<Object[]> chunk, Future<?> consumer) throws InterruptedException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (consumer.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Object[]> nextChunk(Iterator<Object[]> rows) {
+        List<Object[]> chunk = new ArrayList<>(Math.min(chunkSize, 1024));
+        while (chunk.size() < chunkSize && rows.hasNext()) {
+            chunk.add(rows.next());
+        }
+        return chunk;
+    }
+
+    private static <T> Iterator<Object[]> map(Iterator<T> it, Function<T, Object[]> fn) {
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return fn.apply(it.next());
+            }
+        };
+    }
+
+    /**
+     * 持有一个连接，按块写入
+     */
+    private final class Sink implements AutoCloseable {
+        final Connection conn;
+        final int rowsPerStatement;
+        /**
+         * 不属于调用方的事务，由自己提交、回滚
+         */
+        final boolean ownTransaction;
+        /**
+         * 由自己切换为手动提交，结束时恢复
+         */
+        final boolean restoreAutoCommit;
+        /**
+         * 按每条语句的行数缓存：整条、最后一块的余数，以及受字节上限截断时取2的幂的行数
+         */
+        final Map<Integer, PreparedStatement> statements = new HashMap<>();
+        final long rowOverhead;
+        int count;
+        boolean finished;
+
+        Sink(int rowsPerStatement, boolean singleTransaction) throws SQLException {
+            this.conn = DataSourceUtils.getConnection(dataSource);
+            this.rowsPerStatement = rowsPerStatement;
+            this.rowOverhead = getColumns().size() * 2L + 3;
+            boolean own = false;
+            boolean restore = false;
+            try {
+                if (conn.getAutoCommit()) {
+                    restore = own = singleTransaction;
+                    if (restore) {
+                        conn.setAutoCommit(false);
+                    }
+                } else {
+                    own = !DataSourceUtils.isConnectionTransactional(conn, dataSource);
+                }
+            } catch (SQLException | RuntimeException e) {
+                DataSourceUtils.releaseConnection(conn, dataSource);
+                throw e;
+            }
+            this.ownTransaction = own;
+            this.restoreAutoCommit = restore;
+        }
+
+        void write(List<Object[]> chunk) throws SQLException {
+            int n = chunk.size();
+            PreparedStatement batch = null;
+            for (int from = 0; from < n; ) {
+                int limit = Math.min(rowsPerStatement, n - from);
+                int rows = fitRows(chunk, from, limit);
+                if (rows == rowsPerStatement) {
+                    if (batch == null) {
+                        batch = statement(rowsPerStatement);
+                    }
+                    bind(batch, chunk, from, rows);
+                    batch.addBatch();
+                } else {
+                    if (rows < limit) {
+                        rows = Integer.highestOneBit(rows);
+                    }
+                    // 先执行已加入批次的行，保持写入顺序（upsert 时后面的行覆盖前面的行）
+                    executeBatch(batch);
+                    batch = null;
+                    PreparedStatement ps = statement(rows);
+                    bind(ps, chunk, from, rows);
+                    count += ps.executeUpdate();
+                }
+                from += rows;
+            }
+            executeBatch(batch);
+        }
+
+        private void executeBatch(PreparedStatement batch) throws SQLException {
+            if (batch == null) {
+                return;
+            }
+            for (int i : batch.executeBatch()) {
+                count += i >= 0 ? i : (i == Statement.SUCCESS_NO_INFO ? rowsPerStatement : 0);
+            }
+        }
+
+        /**
+         * @return 从 from 开始、估算字节数不超过 maxStatementBytes 的行数，至少1行
+         */
+        private int fitRows(List<Object[]> chunk, int from, int limit) {
+            if (limit == 1) {
+                return 1;
+            }
+            long bytes = 0;
+            for (int r = 0; r < limit; r++) {
+                bytes += rowOverhead;
+                for (Object v : chunk.get(from + r)) {
+                    bytes += estimateBytes(v);
+                }
+                if (bytes > maxStatementBytes) {
+                    return Math.max(1, r);
+                }
+            }
+            return limit;
+        }
+
+        void finish() throws SQLException {
+            if (ownTransaction) {
+                conn.commit();
+            }
+            finished = true;
+        }
+
+        private PreparedStatement statement(int rows) throws SQLException {
+            PreparedStatement ps = statements.get(rows);
+            if (ps == null) {
+                ps = conn.prepareStatement(genSql(rows));
+                statements.put(rows, ps);
+            }
+            return ps;
+        }
+
+        private void bind(PreparedStatement ps, List<Object[]> chunk, int from, int rows) throws SQLException {
+            List<IdxSqlColumn> columns = getColumns();
+            int idx = 1;
+            for (int r = from; r < from + rows; r++) {
+                Object[] row = chunk.get(r);
+                for (int i = 0; i < row.length; i++) {
+                    SqlUtils.doPsValue(row[i], columns.get(i).sqlColumn, ps, idx++);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                for (PreparedStatement ps : statements.values()) {
+                    try {
+                        ps.close();
+                    } catch (SQLException ignored) {
+                    }
+                }
+                if (ownTransaction && !finished) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException e) {
+                        log.warn("批量写入回滚失败: " + e.getMessage());
+                    }
+                }
+                if (restoreAutoCommit) {
+                    conn.setAutoCommit(true);
+                }
+            } finally {
+                DataSourceUtils.releaseConnection(conn, dataSource);
+            }
+        }
+    }
+
+    /**
+     * 参数在语句中的估算字节数，字符串按 UTF-8 每字符最多3字节计
+     */
+    static long estimateBytes(Object v) {
+        if (v instanceof CharSequence) {
+            return ((CharSequence) v).length() * 3L + 2;
+        } else if (v instanceof byte[]) {
+            return ((byte[]) v).length * 2L + 3;
+        }
+        return 24;
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // JDK 21 以下
+        }
+        AtomicInteger idx = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "foggy-bulk-writer-" + idx.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -38,13 +38,28 @@ public class InsertBuilder extends RowEditBuilder {
     }
 
     public void genSql(StringBuilder root) {
+        genSql(root, 1);
+    }
+
+    /**
+     * 生成多行 values 的insert语句，参数按行依次排列
+     *
+     * @param rows 行数
+     */
+    public String genSql(int rows) {
+        StringBuilder root = new StringBuilder();
+        genSql(root, rows);
+        return root.toString();
+    }
+
+    public void genSql(StringBuilder root, int rows) {
 
         StringBuilder insertSql = new StringBuilder("insert into " + sqlTable.getName() + " (");
         if (columns == null) {
             throw RX.throwB("生成insert sql失败，没有columns。sql:" + insertSql);
         }
         int s = columns.size();
-        StringBuilder values = new StringBuilder(" values (");
+        StringBuilder values = new StringBuilder("(");
         for (IdxSqlColumn idxSqlColumn : columns) {
             SqlColumn sc = idxSqlColumn.sqlColumn;
             insertSql.append(sc.getName());
@@ -55,8 +70,12 @@ public class InsertBuilder extends RowEditBuilder {
             }
             s--;
         }
-        insertSql.append(")").append(values).append(")");
-        if (log.isDebugEnabled()) {
+        values.append(")");
+        insertSql.append(") values ").append(values);
+        for (int i = 1; i < rows; i++) {
+            insertSql.append(",").append(values);
+        }
+        if (log.isDebugEnabled() && rows == 1) {
             log.debug("gen insertSql :" + insertSql);
         }
         root.append(insertSql);
@@ -9,16 +9,22 @@ import com.foggyframework.dataset.resultset.ListResultSetMetaData;
 import com.foggyframework.dataset.resultset.Record;
 import com.foggyframework.dataset.resultset.support.SqlUtils;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Data
 @Slf4j
@@ -27,6 +33,35 @@ public class SqlTableRowEditor {
 
     DataSource dataSource;
 
+    /**
+     * 批量写入时每块的行数
+     */
+    int chunkSize = BulkWriter.DEFAULT_CHUNK_SIZE;
+
+    /**
+     * 批量写入时一条多行 values 语句的估算字节数上限，应小于数据库的包大小限制（如 MySQL 的 max_allowed_packet）
+     */
+    long maxStatementBytes = BulkWriter.DEFAULT_MAX_STATEMENT_BYTES;
+
+    /**
+     * 批量写入时，取值与写入是否在两个线程中重叠执行
+     */
+    boolean pipelined;
+
+    /**
+     * 生成的upsert语句，按列+configs缓存
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<List<Object>, OnDuplicateKeyBuilderKey> upsertKeys = new LinkedHashMap<List<Object>, OnDuplicateKeyBuilderKey>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, OnDuplicateKeyBuilderKey> eldest) {
+            return size() > MAX_CACHED_UPSERT_KEYS;
+        }
+    };
+
+    private static final int MAX_CACHED_UPSERT_KEYS = 64;
+
     public SqlTableRowEditor(SqlTable st) {
         this.sqlTable = st;
     }
@@ -135,6 +170,18 @@ public class SqlTableRowEditor {
     }
 
     private OnDuplicateKeyBuilderKey auto(Map<String, Object> mm, Map<String, Object> configs) {
+        List<Object> key = Arrays.asList(new ArrayList<>(mm.keySet()), snapshot(configs));
+        synchronized (upsertKeys) {
+            OnDuplicateKeyBuilderKey builderKey = upsertKeys.get(key);
+            if (builderKey == null) {
+                builderKey = auto0(mm, configs);
+                upsertKeys.put(key, builderKey);
+            }
+            return builderKey;
+        }
+    }
+
+    private OnDuplicateKeyBuilderKey auto0(Map<String, Object> mm, Map<String, Object> configs) {
         if (configs == null) {
             return buildInsertOnDuplicateKey(mm, configs);
         }
@@ -154,18 +201,38 @@ public class SqlTableRowEditor {
         return builderKey;
     }
 
+    /**
+     * configs 在生成语句时会被修改（如补充updates），缓存键使用其副本
+     */
+    private static Object snapshot(Object v) {
+        if (v instanceof Map) {
+            Map<Object, Object> m = new HashMap<>();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) v).entrySet()) {
+                m.put(e.getKey(), snapshot(e.getValue()));
+            }
+            return m;
+        }
+        if (v instanceof Collection) {
+            List<Object> l = new ArrayList<>();
+            for (Object o : (Collection<?>) v) {
+                l.add(snapshot(o));
+            }
+            return l;
+        }
+        return v;
+    }
+
+    private BulkWriter bulkWriter(BulkWriter writer) {
+        writer.setChunkSize(chunkSize);
+        writer.setPipelined(pipelined);
+        writer.setMaxStatementBytes(maxStatementBytes);
+        return writer;
+    }
+
     public void insertUpdateByListMap(DataSource ds, OnDuplicateKeyBuilderKey onDuplicateInsertKey, List<Map<String, Object>> list, Map<String, Object> configs, boolean commitByRow) throws SQLException {
         if (list.isEmpty()) {
             return;
         }
-        long start = 0;
-        if (log.isDebugEnabled()) {
-            start = System.currentTimeMillis();
-        }
-        //这个，还是不能用缓存，因为每次都有可能不一样的字段，不一样的configs
-        //如果考虑性能，请加大export var trunk = 1;让list每次多传点
-//        if (onDuplicateInsertSql == null) {
-//            synchronized (this) {
         if (onDuplicateInsertKey == null) {
             onDuplicateInsertKey = auto(list.get(0), configs);
         }
@@ -174,41 +241,7 @@ public class SqlTableRowEditor {
             log.debug(
                     "total : " + list.size() + ",commitByRow:" + commitByRow + ",insertUpdateByListMap " + onDuplicateInsertKey.sql);
         }
-        PreparedStatement ps = null;
-        try (Connection conn = ds.getConnection()) {
-
-            ps = conn.prepareStatement(onDuplicateInsertKey.sql);
-            for (Map<String, Object> data : list) {
-
-
-                int idx = 1;
-                for (IdxSqlColumn c : onDuplicateInsertKey.builder.insertBuilder.columns) {
-                    SqlUtils.doPsValue(data.get(c.sqlColumn.getName()), c.sqlColumn, ps, idx);
-                    idx++;
-                }
-
-                ps.addBatch();
-
-            }
-            ps.executeBatch();
-
-            if (!conn.getAutoCommit()) {
-                conn.commit();
-            }
-        } finally {
-            if (ps != null) {
-                try {
-                    ps.close();
-                } catch (Throwable t) {
-
-                }
-            }
-        }
-        if (log.isDebugEnabled()) {
-            log.debug(String.format("插入%s条，费时%s毫秒", list.size(), (System.currentTimeMillis() - start)));
-        }
-
-
+        bulkWriter(BulkWriter.upsert(ds, onDuplicateInsertKey)).writeMaps(list);
     }
 
     public int insertUpdateByListList(OnDuplicateKeyBuilderKey onDuplicateInsertKey, List<List> list, Map<String, Object> configs, boolean commitByRow) throws SQLException {
@@ -224,33 +257,7 @@ public class SqlTableRowEditor {
             log.debug(
                     "total : " + list.size() + ",insertUpdateByListMap " + onDuplicateInsertKey.sql);
         }
-        int r = 0;
-        PreparedStatement ps = null;
-        try (Connection conn = ds.getConnection()) {
-
-            ps = conn.prepareStatement(onDuplicateInsertKey.sql);
-            for (List data : list) {
-
-                int idx = 1;
-                for (IdxSqlColumn c : onDuplicateInsertKey.builder.insertBuilder.columns) {
-                    SqlUtils.doPsValue(data.get(idx - 1), c.sqlColumn, ps, idx);
-                    idx++;
-                }
-
-                r = r + ps.executeUpdate();
-                ps.addBatch();
-
-            }
-            ps.executeBatch();
-
-            if (!conn.getAutoCommit()) {
-                conn.commit();
-            }
-        } finally {
-            close(ps);
-        }
-        return r;
-
+        return bulkWriter(BulkWriter.upsert(ds, onDuplicateInsertKey)).writeLists(list);
     }
 
     public void insertUpdateByListMap(DataSource ds, List<Map<String, Object>> list, Map<String, Object> configs, boolean commitByRow) throws SQLException {
@@ -376,56 +383,28 @@ public class SqlTableRowEditor {
     }
 
     public int insertUpdateRs(ListResultSet rs, Map<String, Object> configs, boolean commitByRow) throws SQLException {
-        return insertUpdateRs(rs, configs, commitByRow);
+        return insertUpdateRs(dataSource, rs, configs, commitByRow);
     }
 
     public int insertUpdateRs(DataSource ds, ListResultSet rs, Map<String, Object> configs, boolean commitByRow) throws SQLException {
         long start = System.currentTimeMillis();
-        InsertBuilder builder = new InsertBuilder(sqlTable);
-        int size = rs.getMetaData().getColumnCount();
-        int r = 0;
-        for (int i = 1; i <= size; i++) {
-            String c = rs.getMetaData().getColumnName(i);
-
-            SqlColumn sqlColumn = sqlTable.getSqlColumn(c, false);
-            if (sqlColumn != null) {
-                builder.addColumn(i, sqlColumn);
+        InsertBuilder builder = build1(rs.getMetaData());
+        List<String> columns = builder.columns == null ? null
+                : builder.columns.stream().map(c -> c.idx + ":" + c.sqlColumn.getName()).collect(Collectors.toList());
+        List<Object> key = Arrays.asList(columns, snapshot(configs));
+        OnDuplicateKeyBuilderKey builderKey;
+        synchronized (upsertKeys) {
+            builderKey = upsertKeys.get(key);
+            if (builderKey == null) {
+                OnDuplicateKeyBuilder onDuplicateKeyBuilder = new OnDuplicateKeyBuilder(builder);
+                builderKey = new OnDuplicateKeyBuilderKey(onDuplicateKeyBuilder, onDuplicateKeyBuilder.genByConfigs(configs));
+                upsertKeys.put(key, builderKey);
             }
-
         }
+        int r = bulkWriter(BulkWriter.upsert(ds, builderKey)).write(rs);
 
-        OnDuplicateKeyBuilder onDuplicateKeyBuilder = new OnDuplicateKeyBuilder(builder);
-
-        String insertSql = onDuplicateKeyBuilder.genByConfigs(configs);
-
-        int num = 0;
-        PreparedStatement ps = null;
-
-        try (Connection conn = ds.getConnection()) {
-            ps = conn.prepareStatement(insertSql);
-
-            while (rs.next()) {
-                int idx = 1;
-                for (IdxSqlColumn c : builder.columns) {
-                    SqlUtils.doPsValue(rs.getObject(c.idx), c.sqlColumn, ps, idx);
-                    idx++;
-                }
-                ps.addBatch();
-                num++;
-            }
-
-            int[] rr = ps.executeBatch();
-            for (int i : rr) {
-                r = r + i;
-            }
-            if (!conn.getAutoCommit()) {
-                conn.commit();
-            }
-
-            System.out.println(
-                    "total : " + num + ",insertUpdateRs " + insertSql + " \n cost: " + (System.currentTimeMillis() - start));
-        } finally {
-            close(ps);
+        if (log.isDebugEnabled()) {
+            log.debug("insertUpdateRs " + builderKey.sql + " \n cost: " + (System.currentTimeMillis() - start));
         }
         return r;
     }
@@ -465,39 +444,10 @@ public class SqlTableRowEditor {
 
         InsertBuilder builder = build1(rs.getMetaData());
 
-        String insertSql = builder.genSql();
-        int num = 0;
-        int r = 0;
-        PreparedStatement ps = null;
-        try (Connection conn = ds.getConnection()) {
-
-            ps = conn.prepareStatement(insertSql);
+        int r = bulkWriter(BulkWriter.insert(ds, builder)).write(rs);
 
-            while (rs.next()) {
-
-                int idx = 1;
-                for (IdxSqlColumn c : builder.columns) {
-                    SqlUtils.doPsValue(rs.getObject(c.idx), c.sqlColumn, ps, idx);
-                    idx++;
-                }
-                ps.addBatch();
-
-                num++;
-            }
-
-            int[] rr = ps.executeBatch();
-            for (int i : rr) {
-                r = r + i;
-            }
-
-            if (!conn.getAutoCommit()) {
-                conn.commit();
-            }
-
-            System.out.println(
-                    "total : " + num + ",insert " + insertSql + " \n cost: " + (System.currentTimeMillis() - start));
-        } finally {
-            close(ps);
+        if (log.isDebugEnabled()) {
+            log.debug("insert " + sqlTable.getName() + " : " + r + " \n cost: " + (System.currentTimeMillis() - start));
         }
         return r;
     }
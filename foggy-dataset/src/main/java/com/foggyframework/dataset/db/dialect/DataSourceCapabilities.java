@@ -0,0 +1,131 @@
+package com.foggyframework.dataset.db.dialect;
+
+import lombok.Getter;
+
+/**
+ * 数据源能力，连接一次数据库后得到，由 {@link DataSourceCapabilityRegistry} 按数据源缓存
+ * <p>包含方言、数据库版本，以及与版本相关的特性开关，生成SQL时直接读取，不必再借用连接查询元数据。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Getter
+public final class DataSourceCapabilities {
+
+    private final FDialect dialect;
+
+    /**
+     * DatabaseMetaData.getDatabaseProductName()
+     */
+    private final String productName;
+
+    /**
+     * DatabaseMetaData.getDatabaseProductVersion()，如 8.0.33、5.5.5-10.6.12-MariaDB
+     */
+    private final String productVersion;
+
+    private final int majorVersion;
+
+    private final int minorVersion;
+
+    /**
+     * 行值比较，如 (a, b) > (?, ?)
+     */
+    private final boolean rowValueComparison;
+
+    /**
+     * 窗口函数，如 ROW_NUMBER() OVER (...)
+     */
+    private final boolean windowFunctions;
+
+    /**
+     * 原生 NULLS FIRST/LAST
+     */
+    private final boolean nullsFirst;
+
+    /**
+     * 单条语句最多可绑定的参数个数
+     */
+    private final int maxBindParameters;
+
+    public DataSourceCapabilities(FDialect dialect, String productName, String productVersion, int majorVersion, int minorVersion) {
+        this.dialect = dialect;
+        this.productName = productName;
+        this.productVersion = productVersion == null ? "" : productVersion;
+        boolean mariaDb = this.productVersion.toUpperCase().contains("MARIADB");
+        if (mariaDb) {
+            // 通过MySQL驱动连接MariaDB时，版本形如 5.5.5-10.6.12-MariaDB，取真实版本
+            int[] v = parseVersion(this.productVersion.replaceFirst("^5\\.5\\.5-", ""));
+            majorVersion = v[0];
+            minorVersion = v[1];
+        }
+        this.majorVersion = majorVersion;
+        this.minorVersion = minorVersion;
+
+        this.rowValueComparison = dialect.supportsRowValueComparison();
+        this.nullsFirst = dialect.supportsNativeNullsOrdering();
+        switch (dialect.getDbType()) {
+            case MYSQL:
+                windowFunctions = mariaDb ? atLeast(10, 2) : atLeast(8, 0);
+                maxBindParameters = 65535;
+                break;
+            case SQLITE:
+                windowFunctions = atLeast(3, 25);
+                maxBindParameters = atLeast(3, 32) ? 32766 : 999;
+                break;
+            case SQLSERVER:
+                windowFunctions = true;
+                maxBindParameters = 2100;
+                break;
+            case POSTGRESQL:
+                windowFunctions = true;
+                maxBindParameters = 32767;
+                break;
+            default:
+                windowFunctions = false;
+                maxBindParameters = 999;
+        }
+    }
+
+    public boolean atLeast(int major, int minor) {
+        return majorVersion > major || (majorVersion == major && minorVersion >= minor);
+    }
+
+    /**
+     * 解析版本号开头的 主版本.次版本，无法解析的部分为0
+     */
+    static int[] parseVersion(String version) {
+        int[] v = new int[2];
+        int idx = 0;
+        int n = -1;
+        for (int i = 0; i < version.length() && idx < 2; i++) {
+            char c = version.charAt(i);
+            if (c >= '0' && c <= '9') {
+                n = (n < 0 ? 0 : n * 10) + (c - '0');
+            } else {
+                if (n < 0) {
+                    break;
+                }
+                v[idx++] = n;
+                n = -1;
+                if (c != '.') {
+                    break;
+                }
+            }
+        }
+        if (n >= 0 && idx < 2) {
+            v[idx] = n;
+        }
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        return "DataSourceCapabilities{" +
+                "dialect=" + dialect.getProductName() +
+                ", productVersion='" + productVersion + '\'' +
+                ", windowFunctions=" + windowFunctions +
+                ", maxBindParameters=" + maxBindParameters +
+                '}';
+    }
+}
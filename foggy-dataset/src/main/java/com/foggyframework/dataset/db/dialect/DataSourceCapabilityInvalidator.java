@@ -0,0 +1,27 @@
+package com.foggyframework.dataset.db.dialect;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+
+import javax.sql.DataSource;
+
+/**
+ * 数据源Bean销毁（连接池关闭）时移除 {@link DataSourceCapabilityRegistry} 中的缓存
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public class DataSourceCapabilityInvalidator implements DestructionAwareBeanPostProcessor {
+
+    @Override
+    public void postProcessBeforeDestruction(Object bean, String beanName) throws BeansException {
+        if (bean instanceof DataSource) {
+            DataSourceCapabilityRegistry.invalidate((DataSource) bean);
+        }
+    }
+
+    @Override
+    public boolean requiresDestruction(Object bean) {
+        return bean instanceof DataSource;
+    }
+}
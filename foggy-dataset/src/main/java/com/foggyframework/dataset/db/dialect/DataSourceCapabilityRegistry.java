@@ -0,0 +1,99 @@
+package com.foggyframework.dataset.db.dialect;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.dataset.utils.DbUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据源能力注册表
+ * <p>每个数据源只在第一次使用时借用一个连接读取元数据，之后的查询直接读取缓存（ConcurrentHashMap.get，不加锁）。
+ * 数据源Bean销毁时由 {@link DataSourceCapabilityInvalidator} 移除，连接池切换到其他数据库后可调用 {@link #refresh(DataSource)}。
+ * <p>AbstractRoutingDataSource 每次可能路由到不同的数据库，不做缓存。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public final class DataSourceCapabilityRegistry {
+
+    private static final ConcurrentHashMap<DataSource, DataSourceCapabilities> CAPABILITIES = new ConcurrentHashMap<>();
+
+    private static final AtomicLong DETECT_COUNT = new AtomicLong();
+
+    private DataSourceCapabilityRegistry() {
+    }
+
+    public static DataSourceCapabilities get(DataSource ds) {
+        DataSourceCapabilities c = CAPABILITIES.get(ds);
+        if (c != null) {
+            return c;
+        }
+        if (ds instanceof AbstractRoutingDataSource) {
+            return detect(ds);
+        }
+        return CAPABILITIES.computeIfAbsent(ds, DataSourceCapabilityRegistry::detect);
+    }
+
+    /**
+     * 重新读取数据源的元数据
+     */
+    public static DataSourceCapabilities refresh(DataSource ds) {
+        DataSourceCapabilities c = detect(ds);
+        if (!(ds instanceof AbstractRoutingDataSource)) {
+            CAPABILITIES.put(ds, c);
+        }
+        return c;
+    }
+
+    public static void invalidate(DataSource ds) {
+        if (CAPABILITIES.remove(ds) != null && log.isDebugEnabled()) {
+            log.debug("移除数据源能力缓存: " + ds);
+        }
+    }
+
+    public static void clear() {
+        CAPABILITIES.clear();
+    }
+
+    /**
+     * 借用连接读取元数据的次数
+     */
+    public static long getDetectCount() {
+        return DETECT_COUNT.get();
+    }
+
+    private static DataSourceCapabilities detect(DataSource ds) {
+        DETECT_COUNT.incrementAndGet();
+        try (Connection con = ds.getConnection()) {
+            DatabaseMetaData md = con.getMetaData();
+            String productName = md.getDatabaseProductName();
+            FDialect dialect = DbUtils.getDialectByProductName(productName.toUpperCase());
+            int major = 0;
+            int minor = 0;
+            try {
+                major = md.getDatabaseMajorVersion();
+                minor = md.getDatabaseMinorVersion();
+            } catch (SQLException | UnsupportedOperationException e) {
+                // 部分驱动不支持，按版本字符串解析
+                int[] v = DataSourceCapabilities.parseVersion(md.getDatabaseProductVersion());
+                major = v[0];
+                minor = v[1];
+            }
+            DataSourceCapabilities c = new DataSourceCapabilities(dialect, productName, md.getDatabaseProductVersion(), major, minor);
+            if (log.isDebugEnabled()) {
+                log.debug("数据源能力: " + c);
+            }
+            return c;
+        } catch (Throwable e) {
+            throw RX.throwB(e);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import com.foggyframework.core.utils.StringUtils;
 import com.foggyframework.dataset.db.table.SqlColumn;
 import com.foggyframework.dataset.db.table.SqlTable;
 import com.foggyframework.dataset.utils.DbUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.util.Assert;
 
 import javax.sql.DataSource;
@@ -83,6 +84,15 @@ public abstract class FDialect {
 
     public abstract String generatePagingSql(String sql, int start, int limit);
 
+    /**
+     * 生成分页SQL，start、limit 以绑定参数的形式追加到 params 末尾
+     * <p>不同页、不同页大小得到相同的SQL文本，驱动与数据库的预编译语句缓存可以命中
+     * @param params 查询的绑定参数，追加分页参数
+     */
+    public String generatePagingSql(String sql, int start, int limit, List<Object> params) {
+        return generatePagingSql(sql, start, limit);
+    }
+
     /**
      * 获取数据库产品名称
      * @return 产品名称，如 MYSQL, POSTGRESQL, SQLSERVER, SQLITE
@@ -304,6 +314,91 @@ public abstract class FDialect {
         return false;
     }
 
+    /**
+     * 是否支持行值比较，如 (a, b) > (?, ?)
+     * @return true 支持
+     */
+    public boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * 流式读取时使用的 JDBC fetchSize
+     * <p>多数驱动按 fetchSize 分批拉取，直接返回配置值
+     * @param fetchSize 配置的每批行数
+     * @return 实际设置到 Statement 上的值
+     */
+    public int getStreamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
+    /**
+     * 使用执行计划估算查询返回的行数，不实际执行查询
+     * <p>用于超大事实表的近似总数，不支持时返回 null，由调用方退回精确计数
+     * @param template JdbcTemplate
+     * @param sql      不带分页的查询语句
+     * @param args     绑定参数
+     * @return 估算行数，不支持时返回 null
+     */
+    public Long estimateRowCount(JdbcTemplate template, String sql, Object[] args) {
+        return null;
+    }
+
+    /**
+     * 流式读取是否需要关闭自动提交
+     * <p>部分驱动（如 PostgreSQL）只有在事务内才会使用服务端游标，否则仍一次性读入全部结果
+     * @return true 需要关闭自动提交
+     */
+    public boolean isStreamingRequiresNoAutoCommit() {
+        return false;
+    }
+
+    /**
+     * 构建游标分页（keyset）的续页条件
+     * <p>
+     * 各列排序方向一致且方言支持行值比较时生成 {@code (k1, k2) > (?, ?)}，
+     * 否则展开为 {@code (k1 > ? or (k1 = ? and k2 > ?))}
+     * </p>
+     *
+     * @param columnExprs 排序列表达式
+     * @param descending  各列是否降序
+     * @param values      上一页最后一行的排序列值
+     * @param params      输出参数，按占位符顺序追加
+     * @return 条件片段（已加括号）
+     */
+    public String buildKeysetCondition(List<String> columnExprs, List<Boolean> descending, List<Object> values, List<Object> params) {
+        Assert.isTrue(columnExprs.size() == descending.size() && columnExprs.size() == values.size(), "keyset 列与值的数量不一致");
+        int n = columnExprs.size();
+        boolean sameDirection = descending.stream().distinct().count() <= 1;
+        StringBuilder sb = new StringBuilder();
+        if (n > 1 && sameDirection && supportsRowValueComparison()) {
+            sb.append("((").append(String.join(", ", columnExprs)).append(")")
+                    .append(descending.get(0) ? " < (" : " > (");
+            for (int i = 0; i < n; i++) {
+                sb.append(i == 0 ? "?" : ", ?");
+            }
+            sb.append("))");
+            params.addAll(values);
+            return sb.toString();
+        }
+        sb.append("(");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(" or ");
+            }
+            sb.append("(");
+            for (int j = 0; j < i; j++) {
+                sb.append(columnExprs.get(j)).append(" = ? and ");
+                params.add(values.get(j));
+            }
+            sb.append(columnExprs.get(i)).append(descending.get(i) ? " < ?" : " > ?");
+            params.add(values.get(i));
+            sb.append(")");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
     /**
      * 获取列元数据查询 SQL
      * @return SQL语句，参数为 tableName, schema
@@ -4,7 +4,12 @@ import com.foggyframework.core.utils.StringUtils;
 import com.foggyframework.dataset.db.table.SqlColumn;
 import com.foggyframework.dataset.db.table.SqlTable;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+
 import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public  class MysqlDialect extends FDialect {
     public static final String geometry = "geometry";
@@ -43,6 +48,13 @@ public  class MysqlDialect extends FDialect {
         return new StringBuffer(sql.length() + 20).append(sql)
                 .append(start > 0 ? (" limit " + start + "," + limit) : " limit " + limit).toString();
     }
+
+    @Override
+    public String generatePagingSql(String sql, int start, int limit, List<Object> params) {
+        params.add(Math.max(start, 0));
+        params.add(limit);
+        return sql + " limit ?,?";
+    }
     public String getTypeName(int code, int length, int precision, int scale) {
         if(code == Types.LONGVARCHAR){
             return "longtext";
@@ -66,6 +78,42 @@ public  class MysqlDialect extends FDialect {
         return DbType.MYSQL;
     }
 
+    @Override
+    public boolean supportsRowValueComparison() {
+        // MySQL 5.7+ 对行值比较可使用范围扫描
+        return true;
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        // Connector/J 默认一次读入全部结果，Integer.MIN_VALUE 表示逐行流式读取
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public Long estimateRowCount(JdbcTemplate template, String sql, Object[] args) {
+        // 最外层 SELECT 中每张表的 rows * filtered% 相乘；eq_ref/const 连接的表 rows 为 1，不影响结果
+        List<Map<String, Object>> rows = template.queryForList("EXPLAIN " + sql, args);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object outerId = rows.get(0).get("id");
+        double estimate = 1;
+        for (Map<String, Object> row : rows) {
+            if (!Objects.equals(outerId, row.get("id"))) {
+                continue;
+            }
+            Object r = row.get("rows");
+            if (!(r instanceof Number)) {
+                return null;
+            }
+            Object filtered = row.get("filtered");
+            double f = filtered instanceof Number ? ((Number) filtered).doubleValue() / 100 : 1;
+            estimate *= Math.max(1, ((Number) r).doubleValue() * f);
+        }
+        return (long) Math.min(estimate, Long.MAX_VALUE);
+    }
+
     protected String getTableByNameSql(String name) {
         return "SELECT  TABLES.TABLE_NAME FROM  information_schema.TABLES WHERE TABLES.TABLE_NAME = '" + name + "'";
     }
@@ -8,7 +8,13 @@
  *******************************************************************************/
 package com.foggyframework.dataset.db.dialect;
 
+import org.springframework.jdbc.core.JdbcTemplate;
+
 import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * PostgreSQL 12+ 方言实现
@@ -66,6 +72,13 @@ public class PostgresDialect extends FDialect {
         return sb.toString();
     }
 
+    @Override
+    public String generatePagingSql(String sql, int start, int limit, List<Object> params) {
+        params.add(limit);
+        params.add(Math.max(start, 0));
+        return sql + " LIMIT ? OFFSET ?";
+    }
+
     @Override
     public String getQueryTableAndViewsSql() {
         return "SELECT table_name FROM information_schema.tables WHERE table_schema = current_schema()";
@@ -82,6 +95,30 @@ public class PostgresDialect extends FDialect {
         return columnExpr + (nullsFirst ? " NULLS FIRST" : " NULLS LAST");
     }
 
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    public boolean isStreamingRequiresNoAutoCommit() {
+        return true;
+    }
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+    @Override
+    public Long estimateRowCount(JdbcTemplate template, String sql, Object[] args) {
+        // JSON 计划中第一个 Plan Rows 属于根节点，即整个查询的输出行数
+        List<Map<String, Object>> rows = template.queryForList("EXPLAIN (FORMAT JSON) " + sql, args);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Object plan = rows.get(0).values().iterator().next();
+        Matcher m = PLAN_ROWS.matcher(String.valueOf(plan));
+        return m.find() ? Long.parseLong(m.group(1)) : null;
+    }
+
     @Override
     public boolean supportsNativeNullsOrdering() {
         return true;
@@ -9,6 +9,7 @@
 package com.foggyframework.dataset.db.dialect;
 
 import java.sql.Types;
+import java.util.List;
 
 /**
  * SQL Server 2012+ 方言实现
@@ -74,6 +75,19 @@ public class SqlServerDialect extends FDialect {
         return sb.toString();
     }
 
+    @Override
+    public String generatePagingSql(String sql, int start, int limit, List<Object> params) {
+        StringBuilder sb = new StringBuilder(sql.length() + 60);
+        sb.append(sql);
+        if (!sql.toUpperCase().contains("ORDER BY")) {
+            sb.append(" ORDER BY (SELECT NULL)");
+        }
+        sb.append(" OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+        params.add(Math.max(start, 0));
+        params.add(limit);
+        return sb.toString();
+    }
+
     @Override
     public String getQueryTableAndViewsSql() {
         return "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_CATALOG = DB_NAME()";
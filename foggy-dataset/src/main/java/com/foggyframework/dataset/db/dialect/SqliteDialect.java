@@ -17,6 +17,7 @@ import javax.sql.DataSource;
 import java.sql.Types;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 
 /**
  * SQLite 3.30+ 方言实现
@@ -82,6 +83,13 @@ public class SqliteDialect extends FDialect {
         return sb.toString();
     }
 
+    @Override
+    public String generatePagingSql(String sql, int start, int limit, List<Object> params) {
+        params.add(limit);
+        params.add(Math.max(start, 0));
+        return sql + " LIMIT ? OFFSET ?";
+    }
+
     @Override
     public String getQueryTableAndViewsSql() {
         return "SELECT name FROM sqlite_master WHERE type = 'table' AND name NOT LIKE 'sqlite_%'";
@@ -98,6 +106,11 @@ public class SqliteDialect extends FDialect {
         return columnExpr + (nullsFirst ? " NULLS FIRST" : " NULLS LAST");
     }
 
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;  // SQLite 3.15+
+    }
+
     @Override
     public boolean supportsNativeNullsOrdering() {
         return true;  // SQLite 3.30+
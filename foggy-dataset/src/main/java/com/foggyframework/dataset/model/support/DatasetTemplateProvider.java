@@ -3,17 +3,16 @@ package com.foggyframework.dataset.model.support;
 import com.foggyframework.dataset.utils.DatasetTemplate;
 
 import javax.sql.DataSource;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DatasetTemplateProvider {
 
-    private static Map<DataSource, DatasetTemplate> dataSourceJdbcTemplateMap = new HashMap<>();
+    private static Map<DataSource, DatasetTemplate> dataSourceJdbcTemplateMap = new ConcurrentHashMap<>();
     public static final DatasetTemplate getDatasetTemplate(DataSource dataSource){
         DatasetTemplate jdbcTemplate = dataSourceJdbcTemplateMap.get(dataSource);
         if(jdbcTemplate==null){
-            jdbcTemplate = new DatasetTemplate(dataSource);
-            dataSourceJdbcTemplateMap.put(dataSource,jdbcTemplate);
+            jdbcTemplate = dataSourceJdbcTemplateMap.computeIfAbsent(dataSource, DatasetTemplate::new);
         }
         return jdbcTemplate;
     }
@@ -0,0 +1,516 @@
+package com.foggyframework.dataset.resultset.columnar;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * 单列数据
+ * <p>按第一个非空值选择存储方式，后续值类型不一致时整列退化为 {@link ObjectVector}。
+ * 取值时还原为与 JDBC 返回时相同的 Java 类型。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+abstract class ColumnVector {
+
+    protected int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 是否可以不改变存储方式保存该值
+     */
+    abstract boolean accepts(Object v);
+
+    abstract Object get(int row);
+
+    /**
+     * 调用前需保证 {@link #accepts(Object)}
+     */
+    abstract void set(int row, Object v);
+
+    /**
+     * 调用前需保证 {@link #accepts(Object)}
+     */
+    abstract void append(Object v);
+
+    abstract void remove(int row);
+
+    abstract ColumnVector copy();
+
+    /**
+     * 估算占用的字节数
+     */
+    abstract long estimateBytes();
+
+    abstract void trimToSize();
+
+    /**
+     * 转换为能保存 v 的存储方式，保留已有的值
+     */
+    ColumnVector promote(Object v) {
+        ObjectVector o = new ObjectVector(Math.max(size, 8));
+        for (int i = 0; i < size; i++) {
+            o.append(get(i));
+        }
+        return o;
+    }
+
+    static int grow(int capacity, int min) {
+        return Math.max(min, capacity + (capacity >> 1) + 8);
+    }
+
+    static void removeBit(BitSet bits, int row, int size) {
+        for (int i = row; i < size - 1; i++) {
+            bits.set(i, bits.get(i + 1));
+        }
+        bits.clear(size - 1);
+    }
+
+    /**
+     * 尚未遇到非空值的列，只记录行数
+     */
+    static class NullVector extends ColumnVector {
+
+        @Override
+        boolean accepts(Object v) {
+            return v == null;
+        }
+
+        @Override
+        Object get(int row) {
+            return null;
+        }
+
+        @Override
+        void set(int row, Object v) {
+        }
+
+        @Override
+        void append(Object v) {
+            size++;
+        }
+
+        @Override
+        void remove(int row) {
+            size--;
+        }
+
+        @Override
+        ColumnVector copy() {
+            NullVector n = new NullVector();
+            n.size = size;
+            return n;
+        }
+
+        @Override
+        long estimateBytes() {
+            return 16;
+        }
+
+        @Override
+        void trimToSize() {
+        }
+
+        @Override
+        ColumnVector promote(Object v) {
+            ColumnVector typed = forValue(v, Math.max(size + 1, 8));
+            for (int i = 0; i < size; i++) {
+                typed.append(null);
+            }
+            return typed;
+        }
+
+        private static ColumnVector forValue(Object v, int capacity) {
+            if (v instanceof String) {
+                return new DictionaryVector(capacity);
+            }
+            if (v instanceof Long || v instanceof Integer || v instanceof Short || v instanceof Byte) {
+                return new LongVector(capacity, v.getClass());
+            }
+            if (v instanceof Double || v instanceof Float) {
+                return new DoubleVector(capacity, v.getClass());
+            }
+            if (v instanceof BigDecimal bd && DecimalVector.fits(bd)) {
+                return new DecimalVector(capacity, bd.scale());
+            }
+            return new ObjectVector(capacity);
+        }
+    }
+
+    /**
+     * 整数列：long[] + 空值位图，记录原始包装类型
+     */
+    static class LongVector extends ColumnVector {
+        private final Class<?> boxType;
+        private long[] values;
+        private final BitSet nulls = new BitSet();
+
+        LongVector(int capacity, Class<?> boxType) {
+            this.values = new long[capacity];
+            this.boxType = boxType;
+        }
+
+        @Override
+        boolean accepts(Object v) {
+            return v == null || v.getClass() == boxType;
+        }
+
+        @Override
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            long v = values[row];
+            if (boxType == Long.class) {
+                return v;
+            } else if (boxType == Integer.class) {
+                return (int) v;
+            } else if (boxType == Short.class) {
+                return (short) v;
+            }
+            return (byte) v;
+        }
+
+        @Override
+        void set(int row, Object v) {
+            if (v == null) {
+                nulls.set(row);
+                values[row] = 0;
+            } else {
+                nulls.clear(row);
+                values[row] = ((Number) v).longValue();
+            }
+        }
+
+        @Override
+        void append(Object v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+            set(size++, v);
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(values, row + 1, values, row, size - row - 1);
+            removeBit(nulls, row, size);
+            size--;
+        }
+
+        @Override
+        ColumnVector copy() {
+            LongVector c = new LongVector(0, boxType);
+            c.values = Arrays.copyOf(values, size);
+            c.nulls.or(nulls);
+            c.size = size;
+            return c;
+        }
+
+        @Override
+        long estimateBytes() {
+            return 48 + 8L * values.length + nulls.size() / 8;
+        }
+
+        @Override
+        void trimToSize() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * 浮点列：double[] + 空值位图
+     */
+    static class DoubleVector extends ColumnVector {
+        private final Class<?> boxType;
+        private double[] values;
+        private final BitSet nulls = new BitSet();
+
+        DoubleVector(int capacity, Class<?> boxType) {
+            this.values = new double[capacity];
+            this.boxType = boxType;
+        }
+
+        @Override
+        boolean accepts(Object v) {
+            return v == null || v.getClass() == boxType;
+        }
+
+        @Override
+        Object get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            return boxType == Double.class ? (Object) values[row] : (Object) (float) values[row];
+        }
+
+        @Override
+        void set(int row, Object v) {
+            if (v == null) {
+                nulls.set(row);
+                values[row] = 0;
+            } else {
+                nulls.clear(row);
+                values[row] = ((Number) v).doubleValue();
+            }
+        }
+
+        @Override
+        void append(Object v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+            set(size++, v);
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(values, row + 1, values, row, size - row - 1);
+            removeBit(nulls, row, size);
+            size--;
+        }
+
+        @Override
+        ColumnVector copy() {
+            DoubleVector c = new DoubleVector(0, boxType);
+            c.values = Arrays.copyOf(values, size);
+            c.nulls.or(nulls);
+            c.size = size;
+            return c;
+        }
+
+        @Override
+        long estimateBytes() {
+            return 48 + 8L * values.length + nulls.size() / 8;
+        }
+
+        @Override
+        void trimToSize() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * 定点小数列：未缩放值存为 long，整列共享 scale
+     * <p>金额等 DECIMAL 列通常 scale 固定，取值时还原为相等（含 scale）的 BigDecimal
+     */
+    static class DecimalVector extends ColumnVector {
+        private final int scale;
+        private long[] unscaled;
+        private final BitSet nulls = new BitSet();
+
+        DecimalVector(int capacity, int scale) {
+            this.unscaled = new long[capacity];
+            this.scale = scale;
+        }
+
+        static boolean fits(BigDecimal bd) {
+            return bd.unscaledValue().bitLength() < 64;
+        }
+
+        @Override
+        boolean accepts(Object v) {
+            return v == null || (v instanceof BigDecimal bd && bd.scale() == scale && fits(bd));
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : BigDecimal.valueOf(unscaled[row], scale);
+        }
+
+        @Override
+        void set(int row, Object v) {
+            if (v == null) {
+                nulls.set(row);
+                unscaled[row] = 0;
+            } else {
+                nulls.clear(row);
+                unscaled[row] = ((BigDecimal) v).unscaledValue().longValue();
+            }
+        }
+
+        @Override
+        void append(Object v) {
+            if (size == unscaled.length) {
+                unscaled = Arrays.copyOf(unscaled, grow(unscaled.length, size + 1));
+            }
+            set(size++, v);
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(unscaled, row + 1, unscaled, row, size - row - 1);
+            removeBit(nulls, row, size);
+            size--;
+        }
+
+        @Override
+        ColumnVector copy() {
+            DecimalVector c = new DecimalVector(0, scale);
+            c.unscaled = Arrays.copyOf(unscaled, size);
+            c.nulls.or(nulls);
+            c.size = size;
+            return c;
+        }
+
+        @Override
+        long estimateBytes() {
+            return 48 + 8L * unscaled.length + nulls.size() / 8;
+        }
+
+        @Override
+        void trimToSize() {
+            unscaled = Arrays.copyOf(unscaled, size);
+        }
+    }
+
+    /**
+     * 字符串列：字典编码，相同的字符串只保存一份，-1 表示空值
+     */
+    static class DictionaryVector extends ColumnVector {
+        private int[] codes;
+        private final List<String> dictionary;
+        private final Map<String, Integer> lookup;
+
+        DictionaryVector(int capacity) {
+            this(new int[capacity], new ArrayList<>(), new HashMap<>());
+        }
+
+        private DictionaryVector(int[] codes, List<String> dictionary, Map<String, Integer> lookup) {
+            this.codes = codes;
+            this.dictionary = dictionary;
+            this.lookup = lookup;
+        }
+
+        int getDictionarySize() {
+            return dictionary.size();
+        }
+
+        @Override
+        boolean accepts(Object v) {
+            return v == null || v instanceof String;
+        }
+
+        @Override
+        Object get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        @Override
+        void set(int row, Object v) {
+            if (v == null) {
+                codes[row] = -1;
+                return;
+            }
+            Integer code = lookup.get(v);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add((String) v);
+                lookup.put((String) v, code);
+            }
+            codes[row] = code;
+        }
+
+        @Override
+        void append(Object v) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, size + 1));
+            }
+            set(size++, v);
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(codes, row + 1, codes, row, size - row - 1);
+            size--;
+        }
+
+        @Override
+        ColumnVector copy() {
+            // 字典只增不改，copy 之后各自追加互不影响
+            DictionaryVector c = new DictionaryVector(Arrays.copyOf(codes, size), new ArrayList<>(dictionary), new HashMap<>(lookup));
+            c.size = size;
+            return c;
+        }
+
+        @Override
+        long estimateBytes() {
+            long w = 64 + 4L * codes.length;
+            for (String s : dictionary) {
+                w += 72 + 2L * s.length();
+            }
+            return w;
+        }
+
+        @Override
+        void trimToSize() {
+            codes = Arrays.copyOf(codes, size);
+        }
+    }
+
+    /**
+     * 通用列，保存对象引用
+     */
+    static class ObjectVector extends ColumnVector {
+        private Object[] values;
+
+        ObjectVector(int capacity) {
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        boolean accepts(Object v) {
+            return true;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object v) {
+            values[row] = v;
+        }
+
+        @Override
+        void append(Object v) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+            values[size++] = v;
+        }
+
+        @Override
+        void remove(int row) {
+            System.arraycopy(values, row + 1, values, row, size - row - 1);
+            values[--size] = null;
+        }
+
+        @Override
+        ColumnVector copy() {
+            ObjectVector c = new ObjectVector(0);
+            c.values = Arrays.copyOf(values, size);
+            c.size = size;
+            return c;
+        }
+
+        @Override
+        long estimateBytes() {
+            long w = 32 + 8L * values.length;
+            for (int i = 0; i < size; i++) {
+                Object v = values[i];
+                w += v == null ? 0 : v instanceof CharSequence cs ? 40 + 2L * cs.length() : 24;
+            }
+            return w;
+        }
+
+        @Override
+        void trimToSize() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
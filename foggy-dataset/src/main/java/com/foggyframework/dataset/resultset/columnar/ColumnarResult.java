@@ -0,0 +1,403 @@
+package com.foggyframework.dataset.resultset.columnar;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 列式查询结果
+ * <p>所有行共享一份列名，每列按类型使用 long[]/double[]、字典编码的字符串或对象数组保存，
+ * 空值用位图记录。与每行一个 Map 相比，不再为每行重复保存列名与装箱对象。
+ *
+ * <p>本身是 {@code List<Map<String, Object>>}：{@link #get(int)} 返回按需创建的行视图，
+ * 列名不区分大小写（与 JdbcTemplate.queryForList 返回的行一致）。
+ * 对行视图修改已有列的值会直接写回列；新增或删除键时该行会转换为独立的 Map 保存。
+ *
+ * <p>非线程安全，与普通 ArrayList 结果的使用方式一致。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public class ColumnarResult extends AbstractList<Map<String, Object>> implements RandomAccess {
+
+    private String[] names;
+
+    private LinkedCaseInsensitiveMap<Integer> index;
+
+    private ColumnVector[] columns;
+
+    private int rowCount;
+
+    /**
+     * 已转换为独立 Map 的行，按需分配
+     */
+    private Map<String, Object>[] detached;
+
+    public ColumnarResult(List<String> columnNames) {
+        this.names = columnNames.toArray(new String[0]);
+        this.columns = new ColumnVector[names.length];
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = new ColumnVector.NullVector();
+        }
+        rebuildIndex();
+    }
+
+    private ColumnarResult(String[] names, ColumnVector[] columns, int rowCount, Map<String, Object>[] detached) {
+        this.names = names;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.detached = detached;
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        index = new LinkedCaseInsensitiveMap<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            index.put(names[i], i);
+        }
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    public int getColumnCount() {
+        return names.length;
+    }
+
+    /**
+     * 列序号，不存在时返回 -1
+     */
+    public int indexOf(String columnName) {
+        Integer i = index.get(columnName);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * 追加一行，values 的顺序与列名一致，数组可在调用后复用
+     */
+    public void addRow(Object[] values) {
+        for (int c = 0; c < columns.length; c++) {
+            append(c, values[c]);
+        }
+        rowCount++;
+        modCount++;
+    }
+
+    private void append(int c, Object v) {
+        ColumnVector column = columns[c];
+        if (!column.accepts(v)) {
+            column = columns[c] = column.promote(v);
+        }
+        column.append(v);
+    }
+
+    public Object getValue(int row, int column) {
+        Objects.checkIndex(row, rowCount);
+        Map<String, Object> d = detachedRow(row);
+        if (d != null) {
+            return d.get(names[column]);
+        }
+        return columns[column].get(row);
+    }
+
+    /**
+     * 设置单元格的值，值的类型与列不一致时整列转换存储方式
+     *
+     * @return 原值
+     */
+    public Object setValue(int row, int column, Object value) {
+        Objects.checkIndex(row, rowCount);
+        Map<String, Object> d = detachedRow(row);
+        if (d != null) {
+            return d.put(names[column], value);
+        }
+        ColumnVector vector = columns[column];
+        Object old = vector.get(row);
+        if (!vector.accepts(value)) {
+            vector = columns[column] = vector.promote(value);
+        }
+        vector.set(row, value);
+        return old;
+    }
+
+    /**
+     * 对整列的值做转换，如格式化
+     */
+    public void transformColumn(String columnName, Function<Object, Object> fn) {
+        int c = indexOf(columnName);
+        if (c < 0) {
+            return;
+        }
+        for (int row = 0; row < rowCount; row++) {
+            setValue(row, c, fn.apply(getValue(row, c)));
+        }
+    }
+
+    /**
+     * 删除整列
+     */
+    public void removeColumn(String columnName) {
+        int c = indexOf(columnName);
+        if (c < 0) {
+            return;
+        }
+        String name = names[c];
+        String[] newNames = new String[names.length - 1];
+        ColumnVector[] newColumns = new ColumnVector[columns.length - 1];
+        System.arraycopy(names, 0, newNames, 0, c);
+        System.arraycopy(names, c + 1, newNames, c, names.length - c - 1);
+        System.arraycopy(columns, 0, newColumns, 0, c);
+        System.arraycopy(columns, c + 1, newColumns, c, columns.length - c - 1);
+        names = newNames;
+        columns = newColumns;
+        rebuildIndex();
+        if (detached != null) {
+            for (Map<String, Object> d : detached) {
+                if (d != null) {
+                    d.remove(name);
+                }
+            }
+        }
+        modCount++;
+    }
+
+    @Override
+    public Map<String, Object> get(int row) {
+        Objects.checkIndex(row, rowCount);
+        Map<String, Object> d = detachedRow(row);
+        return d != null ? d : new RowView(row);
+    }
+
+    @Override
+    public Map<String, Object> remove(int row) {
+        Map<String, Object> old = copyRow(row);
+        for (ColumnVector column : columns) {
+            column.remove(row);
+        }
+        if (detached != null) {
+            if (detached.length < rowCount) {
+                detached = Arrays.copyOf(detached, rowCount);
+            }
+            System.arraycopy(detached, row + 1, detached, row, rowCount - row - 1);
+            detached[rowCount - 1] = null;
+        }
+        rowCount--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * 深拷贝，拷贝之后两者互不影响
+     */
+    @SuppressWarnings("unchecked")
+    public ColumnarResult copy() {
+        ColumnVector[] copied = new ColumnVector[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            copied[i] = columns[i].copy();
+        }
+        Map<String, Object>[] copiedDetached = null;
+        if (detached != null) {
+            copiedDetached = new Map[detached.length];
+            for (int i = 0; i < detached.length; i++) {
+                if (detached[i] != null) {
+                    copiedDetached[i] = new LinkedCaseInsensitiveMap<>(detached[i].size());
+                    copiedDetached[i].putAll(detached[i]);
+                }
+            }
+        }
+        return new ColumnarResult(names.clone(), copied, rowCount, copiedDetached);
+    }
+
+    /**
+     * 读取完成后释放各列多余的容量
+     */
+    public void trimToSize() {
+        for (ColumnVector column : columns) {
+            column.trimToSize();
+        }
+    }
+
+    /**
+     * 粗略估算占用的字节数
+     */
+    public long estimateBytes() {
+        long w = 64 + 48L * names.length;
+        for (ColumnVector column : columns) {
+            w += column.estimateBytes();
+        }
+        if (detached != null) {
+            w += 8L * detached.length;
+            for (Map<String, Object> d : detached) {
+                if (d != null) {
+                    w += 64 + 48L * d.size();
+                }
+            }
+        }
+        return w;
+    }
+
+    private Map<String, Object> detachedRow(int row) {
+        return detached == null || row >= detached.length ? null : detached[row];
+    }
+
+    private Map<String, Object> copyRow(int row) {
+        Map<String, Object> d = detachedRow(row);
+        if (d != null) {
+            return d;
+        }
+        Map<String, Object> m = new LinkedCaseInsensitiveMap<>(names.length);
+        for (int c = 0; c < names.length; c++) {
+            m.put(names[c], columns[c].get(row));
+        }
+        return m;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> detach(int row) {
+        Map<String, Object> d = detachedRow(row);
+        if (d == null) {
+            if (detached == null) {
+                detached = new Map[Math.max(rowCount, 1)];
+            } else if (detached.length < rowCount) {
+                detached = Arrays.copyOf(detached, rowCount);
+            }
+            d = copyRow(row);
+            detached[row] = d;
+        }
+        return d;
+    }
+
+    /**
+     * 行视图，不保存数据，读写都落到列上
+     */
+    private class RowView extends AbstractMap<String, Object> {
+        private final int row;
+
+        RowView(int row) {
+            this.row = row;
+        }
+
+        private Map<String, Object> detachedOrNull() {
+            return row < rowCount ? detachedRow(row) : null;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Map<String, Object> d = detachedOrNull();
+            if (d != null) {
+                return d.get(key);
+            }
+            Integer c = key instanceof String s ? index.get(s) : null;
+            return c == null ? null : columns[c].get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            Map<String, Object> d = detachedOrNull();
+            if (d != null) {
+                return d.containsKey(key);
+            }
+            return key instanceof String s && index.containsKey(s);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Map<String, Object> d = detachedOrNull();
+            if (d != null) {
+                return d.put(key, value);
+            }
+            Integer c = index.get(key);
+            if (c != null) {
+                return setValue(row, c, value);
+            }
+            return detach(row).put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            return detach(row).remove(key);
+        }
+
+        @Override
+        public void clear() {
+            detach(row).clear();
+        }
+
+        @Override
+        public int size() {
+            Map<String, Object> d = detachedOrNull();
+            return d != null ? d.size() : names.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Map<String, Object> d = detachedOrNull();
+            if (d != null) {
+                return d.entrySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int c;
+
+                        @Override
+                        public boolean hasNext() {
+                            return c < names.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (c >= names.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int col = c++;
+                            return new Entry<>() {
+                                @Override
+                                public String getKey() {
+                                    return names[col];
+                                }
+
+                                @Override
+                                public Object getValue() {
+                                    return columns[col].get(row);
+                                }
+
+                                @Override
+                                public Object setValue(Object value) {
+                                    return ColumnarResult.this.setValue(row, col, value);
+                                }
+
+                                @Override
+                                public boolean equals(Object o) {
+                                    return o instanceof Entry<?, ?> e && Objects.equals(getKey(), e.getKey())
+                                            && Objects.equals(getValue(), e.getValue());
+                                }
+
+                                @Override
+                                public int hashCode() {
+                                    return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+                                }
+                            };
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return names.length;
+                }
+            };
+        }
+    }
+}
@@ -1,16 +1,11 @@
 package com.foggyframework.dataset.resultset.spring;
 
-import com.foggyframework.core.ex.RX;
-import com.foggyframework.core.utils.StringUtils;
-import com.foggyframework.core.utils.beanhelper.BeanInfoHelper;
-import com.foggyframework.core.utils.beanhelper.BeanProperty;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.util.Assert;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
  * 优化从数据库查询返回的列名称
@@ -19,7 +14,12 @@ import java.util.Map;
 public class BeanRowMapper<T> implements RowMapper<T> {
 
     Class<T> clazz;
-    Map<String, BeanProperty> name2BeanProperty;
+
+    /**
+     * 当前结果集的形状，以及它对应的列绑定；不持有结果集本身
+     */
+    List<Object> shape;
+    BeanRowMapperFactory.ColumnBinding[] bindings;
 
     public BeanRowMapper(Class clazz) {
         Assert.notNull(clazz, "clazz不得为空,如果没有clazz,您可以使用 JavaColumnNameFixRowMapper");
@@ -29,43 +29,14 @@ public class BeanRowMapper<T> implements RowMapper<T> {
 
     @Override
     public T mapRow(ResultSet rs, int rowNum) throws SQLException {
-        if (name2BeanProperty == null) {
-            //建立rs字段到BeanProperty的映射关系
-            name2BeanProperty = new HashMap<>();
-            BeanInfoHelper beanInfoHelper = BeanInfoHelper.getClassHelper(clazz);
-
-            int c = rs.getMetaData().getColumnCount();
-
-            for (int i = 1; i <= c; i++) {
-                String name = rs.getMetaData().getColumnLabel(i);
-                BeanProperty beanProperty = beanInfoHelper.getBeanProperty(name);
-                if (beanProperty == null && name.indexOf("_") > 0) {
-
-                    beanProperty = beanInfoHelper.getBeanProperty(StringUtils.to(name));
-
-                }
-                if (beanProperty != null && beanProperty.hasWriter()) {
-                    name2BeanProperty.put(name, beanProperty);
-                }
-
+        if (bindings == null || rowNum == 0) {
+            //每个结果集的第一行检查形状，建立rs字段到BeanProperty的映射关系，同一形状只解析一次
+            List<Object> key = BeanRowMapperFactory.shapeKey(clazz, rs.getMetaData(), false);
+            if (!key.equals(shape)) {
+                bindings = BeanRowMapperFactory.getBindings(key);
+                shape = key;
             }
-
-        }
-        try {
-            T inst = clazz.newInstance();
-            for (Map.Entry<String, BeanProperty> e : name2BeanProperty.entrySet()) {
-                Object value = rs.getObject(e.getKey());
-                if (value != null) {
-                    e.getValue().setBeanValue(inst, value);
-                }
-            }
-            return inst;
-        } catch (InstantiationException e) {
-            throw RX.throwB(e);
-        } catch (IllegalAccessException e) {
-            throw RX.throwB(e);
         }
-
-
+        return BeanRowMapperFactory.mapRow(clazz, bindings, rs);
     }
 }
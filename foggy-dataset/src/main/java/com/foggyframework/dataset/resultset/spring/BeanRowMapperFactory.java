@@ -0,0 +1,308 @@
+package com.foggyframework.dataset.resultset.spring;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.core.utils.StringUtils;
+import com.foggyframework.core.utils.beanhelper.BeanInfoHelper;
+import com.foggyframework.core.utils.beanhelper.BeanProperty;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Bean行映射工厂
+ * <p>每个类通过 LambdaMetafactory 生成构造器的调用（JDK 生成隐藏类，调用与直接调用相当），
+ * 每种结果集形状（列名+列类型）只解析一次列下标与属性的对应关系，
+ * 列类型与属性类型匹配时直接调用 getLong、getBigDecimal 等，其余列仍走 getObject + 格式化。
+ * 写入属性统一通过 {@link BeanProperty#setBeanValue}，值的类型与属性一致时由 BeanInfoHelper 调用生成的setter。
+ * <p>无法生成构造器时（如不可访问）退回反射。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public final class BeanRowMapperFactory {
+
+    private static final int MAX_SHAPES = 512;
+
+    private static final ClassValue<Supplier<Object>> CONSTRUCTORS = new ClassValue<Supplier<Object>>() {
+        @Override
+        protected Supplier<Object> computeValue(Class<?> type) {
+            return generateConstructor(type);
+        }
+    };
+
+    private static final Map<List<Object>, ColumnBinding[]> SHAPES = new LinkedHashMap<List<Object>, ColumnBinding[]>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, ColumnBinding[]> eldest) {
+            return size() > MAX_SHAPES;
+        }
+    };
+
+    private BeanRowMapperFactory() {
+    }
+
+    public static <T> T newInstance(Class<T> clazz) {
+        return (T) CONSTRUCTORS.get(clazz).get();
+    }
+
+    /**
+     * 取结果集形状对应的列绑定
+     *
+     * @param complex 是否支持 xx.yy 形式的列名
+     */
+    public static ColumnBinding[] getBindings(Class<?> clazz, ResultSetMetaData md, boolean complex) throws SQLException {
+        return getBindings(shapeKey(clazz, md, complex));
+    }
+
+    /**
+     * 结果集的形状：类、列名、列类型、是否有符号、精度，行映射器保存它而不是结果集本身
+     *
+     * @param complex 是否支持 xx.yy 形式的列名
+     */
+    public static List<Object> shapeKey(Class<?> clazz, ResultSetMetaData md, boolean complex) throws SQLException {
+        int c = md.getColumnCount();
+        String[] labels = new String[c];
+        Integer[] types = new Integer[c];
+        Boolean[] signed = new Boolean[c];
+        Integer[] precisions = new Integer[c];
+        for (int i = 1; i <= c; i++) {
+            labels[i - 1] = md.getColumnLabel(i);
+            types[i - 1] = md.getColumnType(i);
+            signed[i - 1] = md.isSigned(i);
+            precisions[i - 1] = md.getPrecision(i);
+        }
+        return Arrays.asList(clazz, complex, Arrays.asList(labels), Arrays.asList(types),
+                Arrays.asList(signed), Arrays.asList(precisions));
+    }
+
+    /**
+     * @param key {@link #shapeKey} 的返回值
+     */
+    public static ColumnBinding[] getBindings(List<Object> key) {
+        ColumnBinding[] bindings;
+        synchronized (SHAPES) {
+            bindings = SHAPES.get(key);
+        }
+        if (bindings == null) {
+            bindings = resolve(key);
+            synchronized (SHAPES) {
+                SHAPES.put(key, bindings);
+            }
+        }
+        return bindings;
+    }
+
+    public static <T> T mapRow(Class<T> clazz, ColumnBinding[] bindings, ResultSet rs) throws SQLException {
+        T inst = newInstance(clazz);
+        for (ColumnBinding binding : bindings) {
+            binding.apply(rs, inst);
+        }
+        return inst;
+    }
+
+    private static ColumnBinding[] resolve(List<Object> key) {
+        Class<?> clazz = (Class<?>) key.get(0);
+        boolean complex = (Boolean) key.get(1);
+        List<String> labels = (List<String>) key.get(2);
+        List<Integer> types = (List<Integer>) key.get(3);
+        List<Boolean> signed = (List<Boolean>) key.get(4);
+        List<Integer> precisions = (List<Integer>) key.get(5);
+
+        BeanInfoHelper beanInfoHelper = BeanInfoHelper.getClassHelper(clazz);
+        List<ColumnBinding> bindings = new ArrayList<>(labels.size());
+        Set<String> bound = new HashSet<>();
+        for (int i = 0; i < labels.size(); i++) {
+            String name = labels.get(i);
+            // 重复的列名（如 a.id, b.id）与按列名取值一致，取第一列
+            if (!bound.add(name.toLowerCase())) {
+                continue;
+            }
+            BeanProperty beanProperty = beanInfoHelper.getBeanProperty(name);
+            if (beanProperty == null && complex) {
+                //复杂 对象，需要继续 转换！
+                beanProperty = beanInfoHelper.getComplexBeanProperty(name);
+            }
+            if (beanProperty == null && name.indexOf("_") > 0) {
+                beanProperty = beanInfoHelper.getBeanProperty(StringUtils.to(name));
+            }
+            if (beanProperty == null || !beanProperty.hasWriter()) {
+                continue;
+            }
+            bindings.add(new ColumnBinding(i + 1, beanProperty, Getter.of(beanProperty.getType(), types.get(i), signed.get(i), precisions.get(i))));
+        }
+        return bindings.toArray(new ColumnBinding[0]);
+    }
+
+    /**
+     * 按属性类型选择的类型化读取方法
+     */
+    enum Getter {
+        LONG, INT, SHORT, BYTE, DOUBLE, FLOAT, BIG_DECIMAL, BOOLEAN, STRING;
+
+        /**
+         * @param signed    无符号整数列（如 MySQL INT UNSIGNED）的取值可能超出同名Java类型的范围
+         * @param precision BIT(n>1) 是位串而不是布尔值
+         * @return 列类型与属性类型不完全匹配时返回null，走 getObject + 格式化
+         */
+        static Getter of(Class<?> type, int sqlType, boolean signed, int precision) {
+            if (!signed && (sqlType == Types.TINYINT || sqlType == Types.SMALLINT || sqlType == Types.INTEGER
+                    || sqlType == Types.BIGINT)) {
+                return null;
+            }
+            if (sqlType == Types.BIT && precision > 1) {
+                return null;
+            }
+            boolean integer = sqlType == Types.TINYINT || sqlType == Types.SMALLINT || sqlType == Types.INTEGER;
+            boolean bigint = integer || sqlType == Types.BIGINT;
+            boolean decimal = sqlType == Types.DECIMAL || sqlType == Types.NUMERIC;
+            boolean floating = sqlType == Types.FLOAT || sqlType == Types.REAL || sqlType == Types.DOUBLE;
+            if (type == long.class || type == Long.class) {
+                return bigint ? LONG : null;
+            } else if (type == int.class || type == Integer.class) {
+                return integer ? INT : null;
+            } else if (type == short.class || type == Short.class) {
+                return sqlType == Types.TINYINT || sqlType == Types.SMALLINT ? SHORT : null;
+            } else if (type == byte.class || type == Byte.class) {
+                return sqlType == Types.TINYINT ? BYTE : null;
+            } else if (type == double.class || type == Double.class) {
+                return bigint || decimal || floating ? DOUBLE : null;
+            } else if (type == float.class || type == Float.class) {
+                return sqlType == Types.FLOAT || sqlType == Types.REAL ? FLOAT : null;
+            } else if (type == BigDecimal.class) {
+                return bigint || decimal ? BIG_DECIMAL : null;
+            } else if (type == boolean.class || type == Boolean.class) {
+                return sqlType == Types.BIT || sqlType == Types.BOOLEAN ? BOOLEAN : null;
+            } else if (type == String.class) {
+                switch (sqlType) {
+                    case Types.CHAR:
+                    case Types.VARCHAR:
+                    case Types.LONGVARCHAR:
+                    case Types.NCHAR:
+                    case Types.NVARCHAR:
+                    case Types.LONGNVARCHAR:
+                        return STRING;
+                    default:
+                        return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 结果集中的一列到Bean属性的绑定
+     */
+    public static final class ColumnBinding {
+        final int index;
+        final BeanProperty property;
+        final Getter getter;
+
+        ColumnBinding(int index, BeanProperty property, Getter getter) {
+            this.index = index;
+            this.property = property;
+            this.getter = getter;
+        }
+
+        public boolean isTyped() {
+            return getter != null;
+        }
+
+        void apply(ResultSet rs, Object bean) throws SQLException {
+            if (getter == null) {
+                Object value = rs.getObject(index);
+                if (value != null) {
+                    property.setBeanValue(bean, value);
+                }
+                return;
+            }
+            Object value;
+            switch (getter) {
+                case LONG:
+                    long l = rs.getLong(index);
+                    value = rs.wasNull() ? null : Long.valueOf(l);
+                    break;
+                case INT:
+                    int i = rs.getInt(index);
+                    value = rs.wasNull() ? null : Integer.valueOf(i);
+                    break;
+                case SHORT:
+                    short s = rs.getShort(index);
+                    value = rs.wasNull() ? null : Short.valueOf(s);
+                    break;
+                case BYTE:
+                    byte b = rs.getByte(index);
+                    value = rs.wasNull() ? null : Byte.valueOf(b);
+                    break;
+                case DOUBLE:
+                    double d = rs.getDouble(index);
+                    value = rs.wasNull() ? null : Double.valueOf(d);
+                    break;
+                case FLOAT:
+                    float f = rs.getFloat(index);
+                    value = rs.wasNull() ? null : Float.valueOf(f);
+                    break;
+                case BOOLEAN:
+                    boolean z = rs.getBoolean(index);
+                    value = rs.wasNull() ? null : Boolean.valueOf(z);
+                    break;
+                case BIG_DECIMAL:
+                    value = rs.getBigDecimal(index);
+                    break;
+                case STRING:
+                    value = rs.getString(index);
+                    break;
+                default:
+                    throw new IllegalStateException(getter.name());
+            }
+            if (value != null) {
+                property.setBeanValue(bean, value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ColumnBinding{" + index + "->" + property.getName() + (getter == null ? "" : "," + getter) + '}';
+        }
+    }
+
+    private static Supplier<Object> generateConstructor(Class<?> clazz) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            MethodHandle mh = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), mh, MethodType.methodType(clazz));
+            return (Supplier<Object>) site.getTarget().invoke();
+        } catch (Throwable t) {
+            if (log.isDebugEnabled()) {
+                log.debug("无法为" + clazz + "生成构造器，使用反射: " + t.getMessage());
+            }
+        }
+        return () -> {
+            try {
+                Constructor<?> c = clazz.getDeclaredConstructor();
+                c.setAccessible(true);
+                return c.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw RX.throwB(e);
+            }
+        };
+    }
+}
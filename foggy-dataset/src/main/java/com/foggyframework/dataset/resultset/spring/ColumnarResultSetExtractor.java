@@ -0,0 +1,55 @@
+package com.foggyframework.dataset.resultset.spring;
+
+import com.foggyframework.dataset.resultset.columnar.ColumnarResult;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 把 ResultSet 直接读入 {@link ColumnarResult}，不为每行创建 Map
+ * <p>列名与取值方式与 ColumnMapRowMapper 一致，行视图的内容与 queryForList 的结果相同
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public class ColumnarResultSetExtractor implements ResultSetExtractor<ColumnarResult> {
+
+    public static final ColumnarResultSetExtractor DEFAULT = new ColumnarResultSetExtractor(0);
+
+    /**
+     * 最多读取的行数，0 表示不限制
+     */
+    private final int maxRows;
+
+    public ColumnarResultSetExtractor(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public ColumnarResult extractData(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int n = metaData.getColumnCount();
+        List<String> names = new ArrayList<>(n);
+        for (int i = 1; i <= n; i++) {
+            names.add(JdbcUtils.lookupColumnName(metaData, i));
+        }
+
+        ColumnarResult result = new ColumnarResult(names);
+        Object[] values = new Object[n];
+        int rows = 0;
+        while ((maxRows <= 0 || rows < maxRows) && rs.next()) {
+            for (int i = 0; i < n; i++) {
+                values[i] = JdbcUtils.getResultSetValue(rs, i + 1);
+            }
+            result.addRow(values);
+            rows++;
+        }
+        result.trimToSize();
+        return result;
+    }
+}
@@ -12,6 +12,8 @@ package com.foggyframework.dataset.utils;
 import com.foggyframework.core.ex.RX;
 import com.foggyframework.core.utils.StringUtils;
 import com.foggyframework.dataset.db.SqlObject;
+import com.foggyframework.dataset.db.dialect.DataSourceCapabilities;
+import com.foggyframework.dataset.db.dialect.DataSourceCapabilityRegistry;
 import com.foggyframework.dataset.db.dialect.FDialect;
 import com.foggyframework.dataset.db.table.SqlColumn;
 import com.foggyframework.dataset.db.table.SqlTable;
@@ -177,37 +179,35 @@ public final class DbUtils {
 //		return ds.getDataSet(tableName).getSqlColumns();
 //	}
 
+	/**
+	 * 方言取自数据源能力注册表，只在第一次使用数据源时借用连接读取元数据
+	 */
 	public static  FDialect getDialect(DataSource ds) {
-		Connection con = null;
-		try {
-			con = ds.getConnection();
-			String productName = con.getMetaData().getDatabaseProductName().toUpperCase();
-			if (isMysql(productName)) {
-				return FDialect.MYSQL_DIALECT;
-			} else if (isPostgres(productName)) {
-				return FDialect.POSTGRES_DIALECT;
-			} else if (isSqlServer(productName)) {
-				return FDialect.SQLSERVER_DIALECT;
-			} else if (isSqlite(productName)) {
-				return FDialect.SQLITE_DIALECT;
-			} else if (isOracle(productName)) {
-				throw new UnsupportedOperationException("Oracle 支持尚未实现");
-			} else if (isApacheDerby(productName)) {
-				throw new UnsupportedOperationException("Apache Derby 支持尚未实现");
-			}
-			throw new UnsupportedOperationException("不支持数据库 : " + productName);
-		} catch (Throwable e) {
-			throw RX.throwB(e);
-		} finally {
-			if (con != null) {
-				try {
-					con.close();
-				} catch (SQLException e) {
-					throw RX.throwB(e);
-				}
-			}
-		}
+		return DataSourceCapabilityRegistry.get(ds).getDialect();
+	}
+
+	public static DataSourceCapabilities getCapabilities(DataSource ds) {
+		return DataSourceCapabilityRegistry.get(ds);
+	}
 
+	/**
+	 * @param productName 大写的 DatabaseMetaData.getDatabaseProductName()
+	 */
+	public static FDialect getDialectByProductName(String productName) {
+		if (isMysql(productName)) {
+			return FDialect.MYSQL_DIALECT;
+		} else if (isPostgres(productName)) {
+			return FDialect.POSTGRES_DIALECT;
+		} else if (isSqlServer(productName)) {
+			return FDialect.SQLSERVER_DIALECT;
+		} else if (isSqlite(productName)) {
+			return FDialect.SQLITE_DIALECT;
+		} else if (isOracle(productName)) {
+			throw new UnsupportedOperationException("Oracle 支持尚未实现");
+		} else if (isApacheDerby(productName)) {
+			throw new UnsupportedOperationException("Apache Derby 支持尚未实现");
+		}
+		throw new UnsupportedOperationException("不支持数据库 : " + productName);
 	}
 
 	public List<SqlTableSupport> getTableAndViews(final DataSource ds) {
@@ -0,0 +1,237 @@
+package com.foggyframework.dataset.db.data.dll;
+
+import com.foggyframework.dataset.db.dialect.DataSourceCapabilities;
+import com.foggyframework.dataset.db.dialect.DataSourceCapabilityRegistry;
+import com.foggyframework.dataset.db.dialect.FDialect;
+import com.foggyframework.dataset.db.table.SqlColumn;
+import com.foggyframework.dataset.db.table.SqlColumnType;
+import com.foggyframework.dataset.db.table.SqlTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分块批量写入测试，使用SQLite
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("分块批量写入测试")
+class BulkWriterTest {
+
+    @TempDir
+    Path dir;
+
+    DriverManagerDataSource ds;
+
+    JdbcTemplate jdbcTemplate;
+
+    SqlTable sqlTable;
+
+    @BeforeEach
+    void setUp() {
+        ds = new DriverManagerDataSource("jdbc:sqlite:" + dir.resolve("bulk.db"));
+        jdbcTemplate = new JdbcTemplate(ds);
+        jdbcTemplate.execute("create table t_bulk (id integer primary key, name varchar(64), amount integer)");
+
+        sqlTable = new SqlTable("t_bulk", "t_bulk");
+        SqlColumn id = new SqlColumn("id", "id", SqlColumnType.INTEGER);
+        sqlTable.addSqlColumn(id);
+        sqlTable.addSqlColumn(new SqlColumn("name", "name", SqlColumnType.VARCHAR, 64));
+        sqlTable.addSqlColumn(new SqlColumn("amount", "amount", SqlColumnType.INTEGER));
+        sqlTable.setIdColumn(id);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceCapabilityRegistry.clear();
+    }
+
+    private InsertBuilder builder() {
+        InsertBuilder builder = new InsertBuilder(sqlTable);
+        builder.addColumn(1, sqlTable.getSqlColumn("id", true));
+        builder.addColumn(2, sqlTable.getSqlColumn("name", true));
+        builder.addColumn(3, sqlTable.getSqlColumn("amount", true));
+        return builder;
+    }
+
+    private static List<Map<String, Object>> rows(int from, int to) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Map<String, Object> m = new HashMap<>();
+            m.put("id", i);
+            m.put("name", "n" + i);
+            m.put("amount", i * 10);
+            list.add(m);
+        }
+        return list;
+    }
+
+    @Test
+    @DisplayName("按块写入，多行values与逐行批次结果一致")
+    void testChunked() throws SQLException {
+        BulkWriter writer = BulkWriter.insert(ds, builder());
+        writer.setChunkSize(300);
+        assertEquals(1000, writer.writeMaps(rows(0, 1000)));
+
+        writer.setMultiRowValues(false);
+        assertEquals(1000, writer.writeMaps(rows(1000, 2000)));
+
+        assertEquals(2000, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+        assertEquals((long) 1999 * 2000 / 2 * 10, jdbcTemplate.queryForObject("select sum(amount) from t_bulk", Long.class));
+        assertEquals("n1234", jdbcTemplate.queryForObject("select name from t_bulk where id=1234", String.class));
+    }
+
+    @Test
+    @DisplayName("取值与写入重叠执行")
+    void testPipelined() throws SQLException {
+        BulkWriter writer = BulkWriter.insert(ds, builder());
+        writer.setChunkSize(128);
+        writer.setPipelined(true);
+        List<List> lists = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            lists.add(Arrays.asList(i, "n" + i, i));
+        }
+        assertEquals(1500, writer.writeLists(lists));
+        assertEquals(1500, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+    }
+
+    @Test
+    @DisplayName("SQLite在一个事务中写入，出错时整体回滚")
+    void testRollback() {
+        List<Map<String, Object>> list = rows(0, 500);
+        list.addAll(rows(499, 600));
+        for (boolean pipelined : new boolean[]{false, true}) {
+            BulkWriter writer = BulkWriter.insert(ds, builder());
+            writer.setChunkSize(100);
+            writer.setPipelined(pipelined);
+            assertThrows(SQLException.class, () -> writer.writeMaps(list));
+            assertEquals(0, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+        }
+    }
+
+    @Test
+    @DisplayName("处于调用方事务中时不提交，由调用方回滚")
+    void testCallerTransaction() {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(ds));
+        for (boolean pipelined : new boolean[]{false, true}) {
+            BulkWriter writer = BulkWriter.insert(ds, builder());
+            writer.setChunkSize(100);
+            writer.setPipelined(pipelined);
+            int r = tx.execute(status -> {
+                jdbcTemplate.update("insert into t_bulk (id, name, amount) values (-1, 'caller', 0)");
+                try {
+                    int n = writer.writeMaps(rows(0, 500));
+                    assertEquals(501, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+                    status.setRollbackOnly();
+                    return n;
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertEquals(500, r);
+            assertEquals(0, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+        }
+
+        // 调用方事务中出错：前面的块没有被提交，调用方的写入随事务一起回滚
+        List<Map<String, Object>> list = rows(0, 500);
+        list.addAll(rows(499, 600));
+        BulkWriter writer = BulkWriter.insert(ds, builder());
+        writer.setChunkSize(100);
+        assertThrows(IllegalStateException.class, () -> tx.execute(status -> {
+            jdbcTemplate.update("insert into t_bulk (id, name, amount) values (-1, 'caller', 0)");
+            try {
+                return writer.writeMaps(list);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+    }
+
+    @Test
+    @DisplayName("连接池为手动提交且不在事务中时，由写入方提交")
+    void testManualCommitDataSource() {
+        DriverManagerDataSource manual = new DriverManagerDataSource(ds.getUrl()) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection conn = super.getConnection();
+                conn.setAutoCommit(false);
+                return conn;
+            }
+        };
+        for (boolean pipelined : new boolean[]{false, true}) {
+            BulkWriter writer = BulkWriter.insert(manual, builder());
+            writer.setChunkSize(100);
+            writer.setPipelined(pipelined);
+            int from = pipelined ? 500 : 0;
+            assertDoesNotThrow(() -> assertEquals(500, writer.writeMaps(rows(from, from + 500))));
+        }
+        assertEquals(1000, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+
+        // 出错时整体回滚
+        List<Map<String, Object>> list = rows(2000, 2500);
+        list.addAll(rows(2499, 2600));
+        BulkWriter writer = BulkWriter.insert(manual, builder());
+        writer.setChunkSize(100);
+        assertThrows(SQLException.class, () -> writer.writeMaps(list));
+        assertEquals(1000, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+    }
+
+    @Test
+    @DisplayName("按估算字节数限制每条语句的行数")
+    void testMaxStatementBytes() throws SQLException {
+        List<Map<String, Object>> list = rows(0, 1000);
+        char[] pad = new char[100];
+        Arrays.fill(pad, 'x');
+        for (Map<String, Object> m : list) {
+            m.put("name", m.get("name") + new String(pad));
+        }
+        BulkWriter writer = BulkWriter.insert(ds, builder());
+        writer.setChunkSize(300);
+        // 每行约 360 字节，每条语句最多 5 行，取 4 行
+        writer.setMaxStatementBytes(2000);
+        assertEquals(1000, writer.writeMaps(list));
+        assertEquals(1000, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+        assertEquals((long) 999 * 1000 / 2 * 10, jdbcTemplate.queryForObject("select sum(amount) from t_bulk", Long.class));
+
+        // 单行超过上限时仍按一行写入
+        writer.setMaxStatementBytes(1);
+        assertEquals(10, writer.writeMaps(rows(1000, 1010)));
+        assertEquals(1010, jdbcTemplate.queryForObject("select count(*) from t_bulk", Integer.class));
+    }
+
+    @Test
+    @DisplayName("多行upsert语句与每条语句的行数")
+    void testUpsertSql() {
+        SqlTableRowEditor editor = new SqlTableRowEditor(sqlTable, ds);
+        OnDuplicateKeyBuilderKey key = editor.buildInsertOnDuplicateKey1(Arrays.asList("id", "name", "amount"), null);
+        BulkWriter writer = BulkWriter.upsert(ds, key);
+        assertEquals(key.getSql(), writer.genSql(1));
+        assertEquals("insert into t_bulk (id,name,amount) values (?,?,?),(?,?,?)"
+                + " on duplicate key update name=values(name),amount=values(amount)", writer.genSql(2));
+
+        assertEquals(1000, writer.rowsPerStatement(new DataSourceCapabilities(FDialect.MYSQL_DIALECT, "MySQL", "8.0.33", 8, 0)));
+        assertEquals(333, writer.rowsPerStatement(new DataSourceCapabilities(FDialect.SQLITE_DIALECT, "SQLite", "3.24.0", 3, 24)));
+        assertEquals(700, writer.rowsPerStatement(new DataSourceCapabilities(FDialect.SQLSERVER_DIALECT, "Microsoft SQL Server", "16.0", 16, 0)));
+        writer.setMultiRowValues(false);
+        assertEquals(1, writer.rowsPerStatement(new DataSourceCapabilities(FDialect.MYSQL_DIALECT, "MySQL", "8.0.33", 8, 0)));
+    }
+}
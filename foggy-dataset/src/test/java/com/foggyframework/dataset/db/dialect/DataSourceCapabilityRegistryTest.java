@@ -0,0 +1,146 @@
+package com.foggyframework.dataset.db.dialect;
+
+import com.foggyframework.dataset.utils.DbUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据源能力注册表测试，使用只返回元数据的数据源
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("数据源能力注册表测试")
+class DataSourceCapabilityRegistryTest {
+
+    static class MetaDataSource extends AbstractDataSource {
+        final AtomicInteger connections = new AtomicInteger();
+        final String productName;
+        volatile String version;
+
+        MetaDataSource(String productName, String version) {
+            this.productName = productName;
+            this.version = version;
+        }
+
+        @Override
+        public Connection getConnection() {
+            connections.incrementAndGet();
+            DatabaseMetaData md = (DatabaseMetaData) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class[]{DatabaseMetaData.class}, (proxy, method, args) -> {
+                        int[] v = DataSourceCapabilities.parseVersion(version);
+                        switch (method.getName()) {
+                            case "getDatabaseProductName":
+                                return productName;
+                            case "getDatabaseProductVersion":
+                                return version;
+                            case "getDatabaseMajorVersion":
+                                return v[0];
+                            case "getDatabaseMinorVersion":
+                                return v[1];
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class[]{Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getMetaData":
+                                return md;
+                            case "close":
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceCapabilityRegistry.clear();
+    }
+
+    @Test
+    @DisplayName("并发获取方言时只借用一次连接")
+    void testDetectOnce() throws Exception {
+        MetaDataSource ds = new MetaDataSource("MySQL", "8.0.33");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<FDialect>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(pool.submit(() -> DbUtils.getDialect(ds)));
+            }
+            for (Future<FDialect> f : futures) {
+                assertSame(FDialect.MYSQL_DIALECT, f.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, ds.connections.get());
+
+        DataSourceCapabilities c = DbUtils.getCapabilities(ds);
+        assertTrue(c.isWindowFunctions());
+        assertTrue(c.isRowValueComparison());
+        assertEquals(65535, c.getMaxBindParameters());
+    }
+
+    @Test
+    @DisplayName("按数据库版本判断特性，refresh后重新读取")
+    void testVersionFeatures() {
+        MetaDataSource mysql57 = new MetaDataSource("MySQL", "5.7.44-log");
+        assertFalse(DbUtils.getCapabilities(mysql57).isWindowFunctions());
+
+        MetaDataSource mariaDb = new MetaDataSource("MySQL", "5.5.5-10.6.12-MariaDB");
+        DataSourceCapabilities c = DbUtils.getCapabilities(mariaDb);
+        assertEquals(10, c.getMajorVersion());
+        assertTrue(c.isWindowFunctions());
+
+        MetaDataSource sqlite = new MetaDataSource("SQLite", "3.24.0");
+        c = DbUtils.getCapabilities(sqlite);
+        assertSame(FDialect.SQLITE_DIALECT, c.getDialect());
+        assertFalse(c.isWindowFunctions());
+        assertEquals(999, c.getMaxBindParameters());
+
+        sqlite.version = "3.45.1";
+        assertEquals(999, DbUtils.getCapabilities(sqlite).getMaxBindParameters());
+        c = DataSourceCapabilityRegistry.refresh(sqlite);
+        assertTrue(c.isWindowFunctions());
+        assertEquals(32766, DbUtils.getCapabilities(sqlite).getMaxBindParameters());
+        assertEquals(2, sqlite.connections.get());
+
+        MetaDataSource sqlServer = new MetaDataSource("Microsoft SQL Server", "16.00.1000");
+        c = DbUtils.getCapabilities(sqlServer);
+        assertEquals(FDialect.SQLSERVER_DIALECT.supportsNativeNullsOrdering(), c.isNullsFirst());
+        assertEquals(2100, c.getMaxBindParameters());
+    }
+
+    @Test
+    @DisplayName("数据源销毁后移除缓存")
+    void testInvalidate() {
+        MetaDataSource ds = new MetaDataSource("PostgreSQL", "15.4");
+        assertSame(FDialect.POSTGRES_DIALECT, DbUtils.getDialect(ds));
+        new DataSourceCapabilityInvalidator().postProcessBeforeDestruction(ds, "ds");
+        assertSame(FDialect.POSTGRES_DIALECT, DbUtils.getDialect(ds));
+        assertEquals(2, ds.connections.get());
+    }
+}
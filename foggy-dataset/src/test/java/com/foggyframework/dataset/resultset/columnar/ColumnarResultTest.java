@@ -0,0 +1,121 @@
+package com.foggyframework.dataset.resultset.columnar;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 列式结果测试
+ *
+ * @author foggy-dataset
+ * @since 8.0.1-beta
+ */
+@DisplayName("列式结果测试")
+class ColumnarResultTest {
+
+    private ColumnarResult build() {
+        ColumnarResult result = new ColumnarResult(Arrays.asList("id", "name", "amount", "rate", "flag"));
+        result.addRow(new Object[]{1, "a", new BigDecimal("10.50"), 0.5d, true});
+        result.addRow(new Object[]{2, null, new BigDecimal("3.00"), null, false});
+        result.addRow(new Object[]{null, "a", null, 1.25d, null});
+        result.trimToSize();
+        return result;
+    }
+
+    @Test
+    @DisplayName("行视图与写入的数据一致")
+    void rowViewMatchesInput() {
+        ColumnarResult result = build();
+        assertEquals(3, result.size());
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1);
+        expected.put("name", "a");
+        expected.put("amount", new BigDecimal("10.50"));
+        expected.put("rate", 0.5d);
+        expected.put("flag", true);
+        assertEquals(expected, result.get(0));
+        assertEquals(expected.hashCode(), result.get(0).hashCode());
+
+        Map<String, Object> row = result.get(1);
+        assertEquals(Integer.valueOf(2), row.get("ID"));
+        assertNull(row.get("name"));
+        assertTrue(row.containsKey("name"));
+        assertEquals(new BigDecimal("3.00"), row.get("amount"));
+        assertNull(result.get(2).get("id"));
+        assertEquals(Arrays.asList("id", "name", "amount", "rate", "flag"), new ArrayList<>(row.keySet()));
+    }
+
+    @Test
+    @DisplayName("类型不一致时整列退化且值不变")
+    void mixedTypesPromoteColumn() {
+        ColumnarResult result = new ColumnarResult(Arrays.asList("v", "d"));
+        result.addRow(new Object[]{1, new BigDecimal("1.0")});
+        result.addRow(new Object[]{2L, new BigDecimal("1.25")});
+        result.addRow(new Object[]{"x", new BigDecimal("123456789012345678901234567890")});
+
+        assertEquals(1, result.get(0).get("v"));
+        assertEquals(2L, result.get(1).get("v"));
+        assertEquals("x", result.get(2).get("v"));
+        assertEquals(new BigDecimal("1.0"), result.get(0).get("d"));
+        assertEquals(new BigDecimal("1.25"), result.get(1).get("d"));
+        assertEquals(new BigDecimal("123456789012345678901234567890"), result.get(2).get("d"));
+    }
+
+    @Test
+    @DisplayName("修改、删除行列与拷贝")
+    void writesAndStructuralChanges() {
+        ColumnarResult result = build();
+
+        // 修改已有列写回列中，可以改变类型
+        result.get(0).put("id", "formatted");
+        assertEquals("formatted", result.get(0).get("id"));
+        assertEquals(2, result.get(1).get("id"));
+
+        // 新增键后该行独立保存
+        result.get(1).put("extra", 9);
+        assertEquals(9, result.get(1).get("extra"));
+        assertEquals(6, result.get(1).size());
+        assertFalse(result.get(0).containsKey("extra"));
+        result.get(1).put("name", "b");
+        assertEquals("b", result.get(1).get("name"));
+
+        result.transformColumn("name", v -> v == null ? null : v + "!");
+        assertEquals("a!", result.get(0).get("name"));
+        assertEquals("b!", result.get(1).get("name"));
+
+        ColumnarResult copy = result.copy();
+
+        result.remove(0);
+        assertEquals(2, result.size());
+        assertEquals(9, result.get(0).get("extra"));
+        assertNull(result.get(1).get("id"));
+
+        result.removeColumn("rate");
+        assertFalse(result.get(1).containsKey("rate"));
+        assertFalse(result.get(0).containsKey("rate"));
+        assertEquals(4, result.getColumnCount());
+
+        // 拷贝不受影响
+        assertEquals(3, copy.size());
+        assertEquals("formatted", copy.get(0).get("id"));
+        assertEquals(0.5d, copy.get(0).get("rate"));
+        copy.get(1).put("extra", 10);
+        assertEquals(9, result.get(0).get("extra"));
+    }
+
+    @Test
+    @DisplayName("重复字符串字典编码")
+    void dictionaryEncodesRepeatedStrings() {
+        ColumnarResult result = new ColumnarResult(Collections.singletonList("s"));
+        for (int i = 0; i < 1000; i++) {
+            result.addRow(new Object[]{"v" + (i % 3)});
+        }
+        assertEquals("v1", result.get(997).get("s"));
+        assertTrue(result.estimateBytes() < 1000 * 16);
+    }
+}
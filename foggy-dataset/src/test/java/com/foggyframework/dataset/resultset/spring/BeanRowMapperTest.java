@@ -0,0 +1,138 @@
+package com.foggyframework.dataset.resultset.spring;
+
+import com.foggyframework.core.utils.beanhelper.BeanInfoHelper;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bean行映射测试，使用SQLite
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("Bean行映射测试")
+class BeanRowMapperTest {
+
+    @Data
+    public static class Order {
+        private Long id;
+        private int qty;
+        private String userName;
+        private Double amount;
+        /**
+         * 列是字符串，需要格式化
+         */
+        private Integer code;
+        private Boolean paid;
+    }
+
+    @TempDir
+    Path dir;
+
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:sqlite:" + dir.resolve("mapper.db")));
+        jdbcTemplate.execute("create table t_order (id integer, qty integer, user_name varchar(32), amount double, code varchar(8))");
+        jdbcTemplate.update("insert into t_order values (1, 3, 'tom', 12.5, '42')");
+        jdbcTemplate.update("insert into t_order values (2, null, null, null, null)");
+    }
+
+    @Test
+    @DisplayName("按下标与类型化读取映射，空值不覆盖默认值")
+    void testMapRow() {
+        String sql = "select id, qty, user_name, amount, code, 1 as unknown_col from t_order order by id";
+        List<Order> list = jdbcTemplate.query(sql, new BeanRowMapper<>(Order.class));
+        assertEquals(2, list.size());
+
+        Order o = list.get(0);
+        assertEquals(1L, o.getId());
+        assertEquals(3, o.getQty());
+        assertEquals("tom", o.getUserName());
+        assertEquals(12.5, o.getAmount());
+        assertEquals(42, o.getCode());
+
+        Order empty = list.get(1);
+        assertEquals(2L, empty.getId());
+        assertEquals(0, empty.getQty());
+        assertNull(empty.getUserName());
+        assertNull(empty.getAmount());
+        assertNull(empty.getCode());
+
+        assertEquals(list, jdbcTemplate.query(sql, new ComplexBeanRowMapper<>(Order.class)));
+    }
+
+    @Test
+    @DisplayName("重复的列名取第一列")
+    void testDuplicateLabels() {
+        jdbcTemplate.execute("create table t_user (id integer, user_name varchar(32))");
+        jdbcTemplate.update("insert into t_user values (100, 'jerry')");
+        String sql = "select o.id, u.id, u.user_name from t_order o, t_user u where o.id = 1";
+        for (RowMapper<Order> mapper : Arrays.<RowMapper<Order>>asList(new BeanRowMapper<>(Order.class), new ComplexBeanRowMapper<>(Order.class))) {
+            List<Order> list = jdbcTemplate.query(sql, mapper);
+            assertEquals(1, list.size());
+            assertEquals(1L, list.get(0).getId());
+            assertEquals("jerry", list.get(0).getUserName());
+        }
+    }
+
+    @Test
+    @DisplayName("同一形状的结果集复用列绑定")
+    void testShapeCache() {
+        String sql = "select id, user_name, code from t_order";
+        BeanRowMapperFactory.ColumnBinding[][] holder = new BeanRowMapperFactory.ColumnBinding[2][];
+        for (int i = 0; i < 2; i++) {
+            int idx = i;
+            jdbcTemplate.query(sql, rs -> {
+                holder[idx] = BeanRowMapperFactory.getBindings(Order.class, rs.getMetaData(), false);
+            });
+        }
+        assertSame(holder[0], holder[1]);
+        assertEquals(3, holder[0].length);
+        assertTrue(holder[0][0].isTyped());
+        assertTrue(holder[0][1].isTyped());
+        // varchar 列到 Integer 属性走格式化
+        assertFalse(holder[0][2].isTyped());
+    }
+
+    @Test
+    @DisplayName("无符号整数与多位BIT列走格式化")
+    void testUnsignedAndBit() {
+        assertEquals(BeanRowMapperFactory.Getter.INT, BeanRowMapperFactory.Getter.of(Integer.class, Types.INTEGER, true, 10));
+        assertNull(BeanRowMapperFactory.Getter.of(Integer.class, Types.INTEGER, false, 10));
+        assertEquals(BeanRowMapperFactory.Getter.LONG, BeanRowMapperFactory.Getter.of(Long.class, Types.BIGINT, true, 19));
+        assertNull(BeanRowMapperFactory.Getter.of(Long.class, Types.BIGINT, false, 20));
+        assertNull(BeanRowMapperFactory.Getter.of(Long.class, Types.INTEGER, false, 10));
+        assertEquals(BeanRowMapperFactory.Getter.BOOLEAN, BeanRowMapperFactory.Getter.of(Boolean.class, Types.BIT, false, 1));
+        assertNull(BeanRowMapperFactory.Getter.of(Boolean.class, Types.BIT, false, 8));
+    }
+
+    @Test
+    @DisplayName("值类型不一致时由BeanProperty转换")
+    void testSetBeanValue() {
+        Order o = BeanRowMapperFactory.newInstance(Order.class);
+        BeanInfoHelper info = BeanInfoHelper.getClassHelper(Order.class);
+        info.getBeanProperty("id").setBeanValue(o, 7);
+        info.getBeanProperty("qty").setBeanValue(o, 5);
+        info.getBeanProperty("paid").setBeanValue(o, Boolean.TRUE);
+        info.getBeanProperty("userName").setBeanValue(o, null);
+        assertEquals(7L, o.getId());
+        assertEquals(5, o.getQty());
+        assertTrue(o.getPaid());
+        assertNull(o.getUserName());
+    }
+}
@@ -7,6 +7,7 @@ import com.foggyframework.fsscript.loadder.FsscriptLoader;
 import com.foggyframework.fsscript.parser.spi.Fsscript;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
 
 import java.io.FileNotFoundException;
@@ -17,7 +18,7 @@ import java.util.Map;
 
 @Getter
 @Setter
-@ToString(exclude = {"basePath", "systemBundlesContext"})
+@ToString(exclude = {"basePath", "systemBundlesContext", "resourceIndex"})
 @Slf4j
 //@EqualsAndHashCode(exclude = {"basePath", "systemBundlesContext"})
 public class BundleImpl implements Bundle {
@@ -44,6 +45,13 @@ public class BundleImpl implements Bundle {
 
     private final Object KEY = new Object();
 
+    /**
+     * 资源索引，首次查找时建立，目录变化或clearCache后重建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile BundleResourceIndex resourceIndex;
+
     public BundleImpl(SystemBundlesContext systemBundlesContext) {
         this.systemBundlesContext = systemBundlesContext;
     }
@@ -86,14 +94,50 @@ public class BundleImpl implements Bundle {
         return null;
     }
 
+    public void setBasePath(String basePath) {
+        this.basePath = basePath;
+        this.resourceIndex = null;
+    }
+
     @Override
     public void clearCache() {
         name2Path.clear();
+        resourceIndex = null;
     }
 
+    /**
+     * 返回当前有效的资源索引，建立失败时返回null
+     */
+    public BundleResourceIndex getResourceIndex() {
+        BundleResourceIndex index = resourceIndex;
+        if (index != null && !index.isStale()) {
+            return index;
+        }
+        synchronized (KEY) {
+            index = resourceIndex;
+            if (index != null && !index.isStale()) {
+                return index;
+            }
+            try {
+                ApplicationContext appCtx = systemBundlesContext.getApplicationContext();
+                index = BundleResourceIndex.ofResources(appCtx.getResources(basePath + "/**/*"), appCtx.getResources(basePath));
+                log.debug("模块{}建立资源索引，共{}个文件", name, index.size());
+            } catch (IOException e) {
+                log.warn("模块{}建立资源索引失败，查找时退回扫描: {}", name, e.getMessage());
+                index = null;
+            }
+            resourceIndex = index;
+            return index;
+        }
+    }
 
     @Override
     public Resource[] findResources(String path) {
+        BundleResourceIndex index = getResourceIndex();
+        Resource[] indexed = index == null ? null : index.find(path);
+        if (indexed != null) {
+            return indexed;
+        }
         try {
 
             Resource[] ress = systemBundlesContext.getApplicationContext().getResources(basePath + "/" + path);
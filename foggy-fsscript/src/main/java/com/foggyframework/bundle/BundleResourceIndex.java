@@ -0,0 +1,206 @@
+package com.foggyframework.bundle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * Bundle内的资源索引
+ * <p>一次性列出bundle下的所有文件，按文件名建立索引，之后按名称查找模型、数据集等文件时不再扫描classpath或遍历目录。
+ * 支持以下形式的查找，其他形式返回null，由调用方退回扫描：
+ * <ul>
+ *     <li>**&#47;name：按文件名精确查找</li>
+ *     <li>**&#47;dir/name：按文件名查找后再匹配路径后缀</li>
+ *     <li>**&#47;*.qm 等：文件名上的通配符</li>
+ * </ul>
+ * <p>位于文件系统中的资源会记录所在目录的修改时间，增删文件后目录的修改时间变化，{@link #isStale()} 返回true，由bundle重新建立索引；
+ * jar中的资源不会变化。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public final class BundleResourceIndex {
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    /**
+     * 目录修改时间的精度有限，建立索引前这段时间内修改过的目录，之后同一时间单位内的变化可能不会体现在修改时间上，
+     * 这类目录每次检查都视为已变化，直到修改时间足够早
+     */
+    private static final long RACY_MILLIS = 2000;
+
+    private static final class Entry {
+        final Resource resource;
+        final String filename;
+        /**
+         * 用于匹配路径后缀，统一使用"/"分隔
+         */
+        final String path;
+
+        Entry(Resource resource, String filename, String path) {
+            this.resource = resource;
+            this.filename = filename;
+            this.path = path;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final Map<String, List<Entry>> name2Entries = new HashMap<>();
+
+    /**
+     * 建立索引时各目录的修改时间
+     */
+    private final Map<File, Long> dirs = new HashMap<>();
+
+    private final long builtAt = System.currentTimeMillis();
+
+    private BundleResourceIndex() {
+    }
+
+    /**
+     * 由classpath扫描结果建立索引
+     *
+     * @param resources basePath/**&#47;* 的扫描结果
+     * @param roots     basePath对应的根目录，用于发现根目录下新增的文件
+     */
+    public static BundleResourceIndex ofResources(Resource[] resources, Resource[] roots) throws IOException {
+        BundleResourceIndex index = new BundleResourceIndex();
+        if (roots != null) {
+            for (Resource root : roots) {
+                if (root.isFile()) {
+                    index.addDir(root.getFile());
+                }
+            }
+        }
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null || filename.isEmpty()) {
+                // jar中的目录
+                continue;
+            }
+            if (resource.isFile()) {
+                File file = resource.getFile();
+                if (file.isDirectory()) {
+                    index.addDir(file);
+                    continue;
+                }
+                index.addDir(file.getParentFile());
+            }
+            index.add(resource, filename, resource.getURL().toString());
+        }
+        return index;
+    }
+
+    /**
+     * 遍历外部目录建立索引
+     */
+    public static BundleResourceIndex ofDirectory(Path baseDir) throws IOException {
+        BundleResourceIndex index = new BundleResourceIndex();
+        Files.walkFileTree(baseDir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                index.addDir(dir.toFile());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    index.add(new FileSystemResource(file.toFile()), file.getFileName().toString(), file.toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                log.warn("访问文件失败: {}", file, exc);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return index;
+    }
+
+    private void add(Resource resource, String filename, String path) {
+        Entry entry = new Entry(resource, filename, path.replace('\\', '/'));
+        entries.add(entry);
+        name2Entries.computeIfAbsent(filename, k -> new ArrayList<>(1)).add(entry);
+    }
+
+    private void addDir(File dir) {
+        if (dir != null && !dirs.containsKey(dir)) {
+            dirs.put(dir, dir.lastModified());
+        }
+    }
+
+    /**
+     * 查找资源
+     *
+     * @param pattern 相对于bundle根目录的模式，如 **&#47;FactSalesModel.tm
+     * @return 匹配的资源；不支持的模式返回null
+     */
+    public Resource[] find(String pattern) {
+        if (pattern == null || !pattern.startsWith("**/")) {
+            return null;
+        }
+        String rest = pattern.substring(3);
+        int idx = rest.lastIndexOf('/');
+        String name = idx < 0 ? rest : rest.substring(idx + 1);
+        String dir = idx < 0 ? null : rest.substring(0, idx);
+        if (name.isEmpty() || (dir != null && MATCHER.isPattern(dir))) {
+            return null;
+        }
+
+        List<Entry> candidates;
+        if (MATCHER.isPattern(name)) {
+            candidates = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (MATCHER.match(name, entry.filename)) {
+                    candidates.add(entry);
+                }
+            }
+        } else {
+            candidates = name2Entries.getOrDefault(name, Collections.emptyList());
+        }
+
+        List<Resource> result = new ArrayList<>(candidates.size());
+        String dirSuffix = dir == null ? null : "/" + dir + "/";
+        for (Entry entry : candidates) {
+            if (dirSuffix == null || entry.path.endsWith(dirSuffix + entry.filename)) {
+                result.add(entry.resource);
+            }
+        }
+        return result.toArray(new Resource[0]);
+    }
+
+    /**
+     * 文件系统中的目录有变化（新增、删除文件或目录）时返回true
+     */
+    public boolean isStale() {
+        for (Map.Entry<File, Long> e : dirs.entrySet()) {
+            if (e.getValue() + RACY_MILLIS >= builtAt || e.getKey().lastModified() != e.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 文件系统中被索引的目录
+     */
+    public Set<File> getDirectories() {
+        return Collections.unmodifiableSet(dirs.keySet());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -2,12 +2,15 @@ package com.foggyframework.bundle.external;
 
 import com.foggyframework.bundle.Bundle;
 import com.foggyframework.bundle.BundleResource;
+import com.foggyframework.bundle.BundleResourceIndex;
 import com.foggyframework.bundle.SystemBundlesContext;
 import com.foggyframework.core.bundle.BundleDefinition;
 import com.foggyframework.core.ex.RX;
+import com.foggyframework.core.utils.file.FileWatcher;
 import com.foggyframework.fsscript.closure.file.ResourceFsscriptClosureDefinitionSpace;
 import com.foggyframework.fsscript.loadder.FsscriptLoader;
 import com.foggyframework.fsscript.parser.spi.Fsscript;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +25,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 外部文件系统Bundle实现
@@ -84,6 +88,20 @@ public class ExternalFileBundle implements Bundle {
 
     private final Object KEY = new Object();
 
+    /**
+     * 资源索引，首次查找时建立，目录变化或clearCache后重建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile BundleResourceIndex resourceIndex;
+
+    /**
+     * 目录中有文件增删时立即丢弃索引，下次查找时重建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Consumer<Path> indexInvalidator = path -> resourceIndex = null;
+
     public ExternalFileBundle(SystemBundlesContext systemBundlesContext) {
         this.systemBundlesContext = systemBundlesContext;
     }
@@ -93,10 +111,48 @@ public class ExternalFileBundle implements Bundle {
         return MODE_EXTERNAL;
     }
 
+    public void setBasePath(String basePath) {
+        this.basePath = basePath;
+        this.resourceIndex = null;
+    }
+
     @Override
     public void clearCache() {
         synchronized (KEY) {
             name2Path.clear();
+            resourceIndex = null;
+        }
+    }
+
+    /**
+     * 返回当前有效的资源索引，目录不存在或建立失败时返回null
+     */
+    public BundleResourceIndex getResourceIndex() {
+        BundleResourceIndex index = resourceIndex;
+        if (index != null && !index.isStale()) {
+            return index;
+        }
+        synchronized (KEY) {
+            index = resourceIndex;
+            if (index != null && !index.isStale()) {
+                return index;
+            }
+            Path baseDir = Paths.get(basePath);
+            if (!Files.isDirectory(baseDir)) {
+                return null;
+            }
+            try {
+                index = BundleResourceIndex.ofDirectory(baseDir);
+                for (File dir : index.getDirectories()) {
+                    FileWatcher.getInstance().watch(dir.toPath(), indexInvalidator);
+                }
+                log.debug("外部Bundle {} 建立资源索引，共{}个文件", name, index.size());
+            } catch (IOException e) {
+                log.warn("外部Bundle {} 建立资源索引失败，查找时退回遍历目录: {}", name, e.getMessage());
+                index = null;
+            }
+            resourceIndex = index;
+            return index;
         }
     }
 
@@ -110,6 +166,12 @@ public class ExternalFileBundle implements Bundle {
             return new Resource[0];
         }
 
+        BundleResourceIndex index = getResourceIndex();
+        Resource[] indexed = index == null ? null : index.find(pattern);
+        if (indexed != null) {
+            return indexed;
+        }
+
         try {
             // 使用 Java PathMatcher 进行 glob 匹配
             final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
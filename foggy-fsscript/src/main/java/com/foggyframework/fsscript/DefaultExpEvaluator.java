@@ -9,17 +9,26 @@
 package com.foggyframework.fsscript;
 
 
+import com.foggyframework.core.ex.RX;
 import com.foggyframework.core.utils.StringUtils;
+import com.foggyframework.fsscript.closure.AbstractFsscriptClosure;
 import com.foggyframework.fsscript.closure.SimpleFsscriptClosureDefinition;
 import com.foggyframework.fsscript.exp.ExportExp;
+import com.foggyframework.fsscript.exp.IdExp;
 import com.foggyframework.fsscript.parser.spi.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.context.ApplicationContext;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 不支持内置函数！
@@ -33,55 +42,152 @@ public class DefaultExpEvaluator implements ExpEvaluator {
     @Override
     public ExpEvaluator clone() {
         DefaultExpEvaluator expEvaluator = new DefaultExpEvaluator(appCtx,null);
-        expEvaluator.stack = new Stack<>();
+        expEvaluator.stack = new FrameStack();
 //        for (FsscriptClosure fsscriptClosure : stack) {
 //            expEvaluator.stack.add(fsscriptClosure);
 //        }
         expEvaluator.stack.addAll(stack);
+        markCaptured(expEvaluator.stack);
 
         expEvaluator.expFactory = expFactory;
         return expEvaluator;
     }
 
+    /**
+     * 以source当前的闭包栈与配置重置本执行环境，函数被Java代码回调时复用执行环境，避免每次clone，见FunctionDefExp
+     */
+    public void resetFrom(DefaultExpEvaluator source) {
+        appCtx = source.appCtx;
+        expFactory = source.expFactory;
+        captured = false;
+        if (!(stack instanceof FrameStack)) {
+            stack = new FrameStack();
+        }
+        ((FrameStack) stack).copyFrom(source.stack);
+    }
+
+    /**
+     * 复用前释放对闭包的引用
+     */
+    public void release() {
+        stack.clear();
+    }
+
+    public void markCaptured() {
+        captured = true;
+    }
+
+    public boolean isCaptured() {
+        return captured;
+    }
+
+    /**
+     * 被复制引用的闭包不能再回收
+     */
+    public static void markCaptured(List<FsscriptClosure> closures) {
+        for (int i = 0; i < closures.size(); i++) {
+            if (closures.get(i) instanceof AbstractFsscriptClosure) {
+                ((AbstractFsscriptClosure) closures.get(i)).markCaptured();
+            }
+        }
+    }
+
     public Stack<FsscriptClosure> getStack() {
         return stack;
     }
 
-    private Stack<FsscriptClosure> stack = new Stack();
+    private Stack<FsscriptClosure> stack = new FrameStack();
+
+    /**
+     * 闭包栈，按IdExp查找变量时直接读取底层数组，避免Stack.get每次加锁
+     */
+    static final class FrameStack extends Stack<FsscriptClosure> {
+
+        Object[] frames() {
+            return elementData;
+        }
+
+        int depth() {
+            return elementCount;
+        }
+
+        void copyFrom(Stack<FsscriptClosure> src) {
+            removeAllElements();
+            if (src instanceof FrameStack) {
+                FrameStack f = (FrameStack) src;
+                synchronized (f) {
+                    int n = f.elementCount;
+                    ensureCapacity(n);
+                    System.arraycopy(f.elementData, 0, elementData, 0, n);
+                    elementCount = n;
+                }
+            } else {
+                addAll(src);
+            }
+        }
+    }
 
     private ApplicationContext appCtx;
 
     private ExpFactory expFactory;
 
+    /**
+     * 执行环境被函数定义引用后置为true，之后不能再复用
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean captured;
+
 //    public static
 
+    /**
+     * 正在执行的导入路径链，用于发现循环导入
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Deque<String> importing;
+
     @Override
     public ImportedFsscript getImport(String path) {
-        FsscriptClosure fs = stack.firstElement();
-        Map<String, ImportedFsscript> mm = (Map<String, ImportedFsscript>) fs.getVar(FsscriptClosure.IMPORT_MAP_KEY);
+        Map<String, ImportedFsscript> mm = getImportMap(false);
 
-        if (mm == null) {
-            mm = new HashMap<>();
-            fs.setVar(FsscriptClosure.IMPORT_MAP_KEY, mm);
-            return null;
-        }
+        return mm == null ? null : mm.get(path);
+    }
 
-        return mm.get(path);
+    /**
+     * 已导入的脚本放在根闭包中，被clone出来的执行环境共享，因此使用ConcurrentHashMap
+     */
+    private Map<String, ImportedFsscript> getImportMap(boolean create) {
+        FsscriptClosure fs = stack.firstElement();
+        synchronized (fs) {
+            Map<String, ImportedFsscript> mm = (Map<String, ImportedFsscript>) fs.getVar(FsscriptClosure.IMPORT_MAP_KEY);
+            if (mm == null && create) {
+                mm = new ConcurrentHashMap<>();
+                fs.setVar(FsscriptClosure.IMPORT_MAP_KEY, mm);
+            }
+            return mm;
+        }
     }
 
     @Override
     public ImportedFsscript addImport(ExpEvaluator ee, String path, Fsscript fscript) {
-        FsscriptClosure fs = stack.firstElement();
-        Map<String, ImportedFsscript> mm = (Map<String, ImportedFsscript>) fs.getVar(FsscriptClosure.IMPORT_MAP_KEY);
+        Map<String, ImportedFsscript> mm = getImportMap(true);
 
-        if (mm == null) {
-            mm = new HashMap<>();
-            fs.setVar(FsscriptClosure.IMPORT_MAP_KEY, mm);
-        }
-        if (mm.containsKey(path)) {
-            return mm.get(path);
+        ImportedFsscript imported = mm.get(path);
+        if (imported != null) {
+            return imported;
 //            throw new RuntimeException("已经导入过" + path + "，请不要重复导入");
         }
+        if (importing == null) {
+            importing = new ArrayDeque<>();
+        }
+        if (importing.contains(path)) {
+            List<String> chain = new ArrayList<>(importing);
+            Collections.reverse(chain);
+            chain.add(path);
+            throw RX.throwB("循环导入: " + String.join(" -> ", chain.subList(chain.indexOf(path), chain.size())));
+        }
+        importing.push(path);
         try {
             //执行fscript中的脚本，以得到export等初始化的数据
             pushFsscriptClosureOnly(fscript.getFsscriptClosureDefinition().newFoggyClosure());
@@ -90,11 +196,11 @@ public class DefaultExpEvaluator implements ExpEvaluator {
             //从fss弄到所有export的对象，放到ImportedFsscript
 
             ImportedFsscript importedFsscript = new ImportedFsscript(fss, fscript);
-            mm.put(path, importedFsscript);
-//        mm.put(path, fscript);
+            imported = mm.putIfAbsent(path, importedFsscript);
 
-            return importedFsscript;
+            return imported == null ? importedFsscript : imported;
         } finally {
+            importing.pop();
         }
     }
 
@@ -173,6 +279,43 @@ public class DefaultExpEvaluator implements ExpEvaluator {
         return null;
     }
 
+    @Override
+    public Object getVar(IdExp exp) {
+        VarDef def = getVarDef(exp);
+        return def == null ? null : def.getValue();
+    }
+
+    /**
+     * 与getVarDef(String)的查找规则一致，每一层闭包按IdExp缓存的槽位取值
+     */
+    public VarDef getVarDef(IdExp exp) {
+        if (!(stack instanceof FrameStack)) {
+            return getVarDef(stack, exp.getValue());
+        }
+        FrameStack frameStack = (FrameStack) stack;
+        int depth = frameStack.depth();
+        Object[] frames = frameStack.frames();
+
+        FsscriptClosureDefinitionSpace space = null;
+        for (int i = depth - 1; i >= 0; i--) {
+            FsscriptClosure fScriptClosure = (FsscriptClosure) frames[i];
+            if (space == null) {
+                space = fScriptClosure.getBeanDefinitionSpace();
+            }
+            if (fScriptClosure.getBeanDefinitionSpace() == space) {
+                VarDef def = fScriptClosure instanceof AbstractFsscriptClosure
+                        ? ((AbstractFsscriptClosure) fScriptClosure).getVarDef(exp)
+                        : fScriptClosure.getVarDef(exp.getValue());
+                if (def != null) {
+                    return def;
+                }
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
     @Override
     public <T> T getVar(String name, Class<T> cls) {
         return (T) getVar(name);
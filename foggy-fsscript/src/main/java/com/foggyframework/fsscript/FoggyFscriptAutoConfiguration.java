@@ -8,7 +8,11 @@ import com.foggyframework.fsscript.loadder.FileTxtFsscriptLoader;
 import com.foggyframework.fsscript.loadder.FsscriptFileChangeHandler;
 import com.foggyframework.fsscript.loadder.RootFsscriptLoader;
 import com.foggyframework.fsscript.parser.spi.ExpFactory;
+import com.foggyframework.fsscript.spring.cloud.AllFunDef;
+import com.foggyframework.fsscript.spring.cloud.AnyFunDef;
+import com.foggyframework.fsscript.spring.cloud.GetAsyncFunDef;
 import com.foggyframework.fsscript.spring.cloud.GetFunDef;
+import com.foggyframework.fsscript.spring.cloud.PostAsyncFunDef;
 import com.foggyframework.fsscript.spring.cloud.PostFunDef;
 import com.foggyframework.fsscript.utils.ExpUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -63,6 +67,38 @@ public class FoggyFscriptAutoConfiguration {
         return getFunDef;
     }
 
+    @Bean
+    @ConditionalOnClass(RestTemplate.class)
+    public GetAsyncFunDef getAsyncFunDef(FunTable funTable) {
+        GetAsyncFunDef getAsyncFunDef = new GetAsyncFunDef();
+        funTable.append(getAsyncFunDef);
+        return getAsyncFunDef;
+    }
+
+    @Bean
+    @ConditionalOnClass(RestTemplate.class)
+    public PostAsyncFunDef postAsyncFunDef(FunTable funTable) {
+        PostAsyncFunDef postAsyncFunDef = new PostAsyncFunDef();
+        funTable.append(postAsyncFunDef);
+        return postAsyncFunDef;
+    }
+
+    @Bean
+    @ConditionalOnClass(RestTemplate.class)
+    public AllFunDef allFunDef(FunTable funTable) {
+        AllFunDef allFunDef = new AllFunDef();
+        funTable.append(allFunDef);
+        return allFunDef;
+    }
+
+    @Bean
+    @ConditionalOnClass(RestTemplate.class)
+    public AnyFunDef anyFunDef(FunTable funTable) {
+        AnyFunDef anyFunDef = new AnyFunDef();
+        funTable.append(anyFunDef);
+        return anyFunDef;
+    }
+
     @Bean
     @ConditionalOnMissingBean(name="fileFsscriptLoader")
     public FileFsscriptLoader fileFsscriptLoader(ApplicationContext appCtx, RootFsscriptLoader rootFsscriptLoader, FsscriptFileChangeHandler fsscriptFileChangeHandler) {
@@ -9,12 +9,14 @@
 package com.foggyframework.fsscript.closure;
 
 import com.foggyframework.core.AbstractDecorate;
+import com.foggyframework.fsscript.exp.IdExp;
 import com.foggyframework.fsscript.parser.spi.FsscriptClosure;
 import com.foggyframework.fsscript.parser.spi.FsscriptClosureDefinition;
 import com.foggyframework.fsscript.parser.spi.FsscriptClosureDefinitionSpace;
 import com.foggyframework.fsscript.parser.spi.VarDef;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,10 +25,37 @@ public abstract class AbstractFsscriptClosure extends AbstractDecorate implement
 
     protected FsscriptClosureDefinition foggyClosureDefinition;
 
+    private static final VarDef[] EMPTY_SLOTS = new VarDef[0];
+
+    /**
+     * 定义的变量槽位表，为null时所有变量都放在name2VarDef中
+     */
+    private final VarSlotTable varSlotTable;
+
+    /**
+     * 按槽位存放的变量
+     */
+    private VarDef[] slots = EMPTY_SLOTS;
+
+    /**
+     * 没有槽位的变量（槽位表为null或已满）
+     */
     Map<String, VarDef> name2VarDef = new HashMap<>();
 
+    /**
+     * {@link #recycle()} 时留下的变量，按槽位存放，再次绑定同名变量时复用
+     */
+    private VarDef[] spare;
+
+    /**
+     * 闭包被函数定义或执行环境复制引用后置为true，之后不能再回收
+     */
+    private volatile boolean captured;
+
     public AbstractFsscriptClosure(FsscriptClosureDefinition foggyClosureDefinition) {
         this.foggyClosureDefinition = foggyClosureDefinition;
+        this.varSlotTable = foggyClosureDefinition instanceof AbstractFsscriptClosureDefinition
+                ? ((AbstractFsscriptClosureDefinition) foggyClosureDefinition).getVarSlotTable() : null;
     }
 
     @Override
@@ -42,26 +71,137 @@ public abstract class AbstractFsscriptClosure extends AbstractDecorate implement
 
     @Override
     public VarDef getVarDef(String name) {
-        return name2VarDef.get(name);
+        if (varSlotTable != null) {
+            int slot = varSlotTable.slotOf(name);
+            if (slot >= 0) {
+                return getVarDef(slot);
+            }
+        }
+        return name2VarDef.isEmpty() ? null : name2VarDef.get(name);
+    }
+
+    /**
+     * 按IdExp缓存的槽位查找，与getVarDef(String)结果一致
+     */
+    public VarDef getVarDef(IdExp exp) {
+        if (varSlotTable != null) {
+            int slot = exp.slotIn(varSlotTable);
+            if (slot >= 0) {
+                return getVarDef(slot);
+            }
+        }
+        return name2VarDef.isEmpty() ? null : name2VarDef.get(exp.getValue());
+    }
+
+    private VarDef getVarDef(int slot) {
+        VarDef[] s = slots;
+        return slot < s.length ? s[slot] : null;
     }
 
     @Override
     public VarDef setVarDef(VarDef varDef) {
-        return name2VarDef.put(varDef.getName(), varDef);
+        int slot = varSlotTable == null ? -1 : varSlotTable.allocate(varDef.getName());
+        if (slot < 0) {
+            return name2VarDef.put(varDef.getName(), varDef);
+        }
+        if (slot >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(slot + 1, slots.length * 2));
+        }
+        VarDef old = slots[slot];
+        slots[slot] = varDef;
+        return old;
     }
 
     @Override
     public Object setVar(String varName, Object value) {
         VarDef def = getVarDef(varName);
         if (def == null) {
-            def = new SimpleVarDef(varName, value);
-            name2VarDef.put(varName, def);
+            if (!reuseSpare(varSlotTable == null ? -1 : varSlotTable.slotOf(varName), value)) {
+                setVarDef(new SimpleVarDef(varName, value));
+            }
         } else {
             def.setValue(value);
         }
         return value;
     }
 
+    /**
+     * 按IdExp缓存的槽位绑定变量，与setVar(String, Object)结果一致
+     */
+    public Object setVar(IdExp exp, Object value) {
+        if (varSlotTable != null) {
+            int slot = exp.slotIn(varSlotTable);
+            if (slot >= 0) {
+                VarDef def = getVarDef(slot);
+                if (def != null) {
+                    def.setValue(value);
+                    return value;
+                }
+                if (reuseSpare(slot, value)) {
+                    return value;
+                }
+            }
+        }
+        return setVar(exp.getValue(), value);
+    }
+
+    private boolean reuseSpare(int slot, Object value) {
+        VarDef[] sp = spare;
+        if (slot < 0 || sp == null || slot >= sp.length || sp[slot] == null) {
+            return false;
+        }
+        VarDef def = sp[slot];
+        sp[slot] = null;
+        def.setValue(value);
+        // 回收前该槽位已有变量，slots的长度足够
+        slots[slot] = def;
+        return true;
+    }
+
+    /**
+     * 标记闭包已被引用，不能再回收
+     */
+    public void markCaptured() {
+        captured = true;
+    }
+
+    public boolean isCaptured() {
+        return captured;
+    }
+
+    /**
+     * 清空全部变量，以便同一个函数下次调用时复用本闭包。
+     * SimpleVarDef 留作下次绑定同名变量时复用，清空后查找变量的结果与新建的闭包相同
+     *
+     * @return 已被引用的闭包不能回收，返回false
+     */
+    public boolean recycle() {
+        if (captured) {
+            return false;
+        }
+        VarDef[] s = slots;
+        if (s.length > 0) {
+            VarDef[] sp = spare;
+            if (sp == null || sp.length < s.length) {
+                sp = spare = sp == null ? new VarDef[s.length] : Arrays.copyOf(sp, s.length);
+            }
+            for (int i = 0; i < s.length; i++) {
+                VarDef def = s[i];
+                if (def != null) {
+                    s[i] = null;
+                    if (def.getClass() == SimpleVarDef.class) {
+                        def.setValue(null);
+                        sp[i] = def;
+                    }
+                }
+            }
+        }
+        if (!name2VarDef.isEmpty()) {
+            name2VarDef.clear();
+        }
+        return true;
+    }
+
     @Override
     public int size() {
         return 0;
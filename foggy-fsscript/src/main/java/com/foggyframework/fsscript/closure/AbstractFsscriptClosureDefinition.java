@@ -9,6 +9,11 @@ public abstract class AbstractFsscriptClosureDefinition implements FsscriptClosu
 
     FsscriptClosureDefinitionSpace fScriptClosureDefinitionSpace;
 
+    /**
+     * 本定义创建的所有闭包共用的变量槽位表
+     */
+    private final VarSlotTable varSlotTable = new VarSlotTable();
+
     public AbstractFsscriptClosureDefinition(FsscriptClosureDefinitionSpace fScriptClosureDefinitionSpace) {
         this.fScriptClosureDefinitionSpace = fScriptClosureDefinitionSpace;
     }
@@ -28,6 +33,10 @@ public abstract class AbstractFsscriptClosureDefinition implements FsscriptClosu
 //        return null;
 //    }
 
+    public VarSlotTable getVarSlotTable() {
+        return varSlotTable;
+    }
+
     @Override
     public FsscriptClosure newFoggyClosure() {
         return new SimpleFsscriptClosure(this);
@@ -0,0 +1,68 @@
+package com.foggyframework.fsscript.closure;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 变量槽位表
+ * <p>同一个 FsscriptClosureDefinition 创建的闭包共用一张表：变量名第一次绑定时分配槽位，
+ * 闭包按槽位把 VarDef 存放在数组中。IdExp 解析一次槽位后，沿闭包栈查找时每一层只需一次数组访问，
+ * 不再逐层做 HashMap 查找。
+ * <p>槽位只增不减，数量达到 {@link #MAX_SLOTS} 后新的变量名不再分配槽位，改由闭包内的 HashMap 存放。
+ * 匿名函数以 null 为名绑定，null 同样不分配槽位。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public final class VarSlotTable {
+
+    public static final int MAX_SLOTS = 256;
+
+    private final ConcurrentHashMap<String, Integer> slots = new ConcurrentHashMap<>();
+
+    /**
+     * 返回变量名的槽位，未分配返回 -1
+     */
+    public int slotOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * 返回变量名的槽位，未分配时分配一个；槽位已满返回 -1
+     */
+    public int allocate(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer slot = slots.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        synchronized (this) {
+            slot = slots.get(name);
+            if (slot != null) {
+                return slot;
+            }
+            int size = slots.size();
+            if (size >= MAX_SLOTS) {
+                return -1;
+            }
+            slots.put(name, size);
+            return size;
+        }
+    }
+
+    /**
+     * 槽位已满后，未分配槽位的变量名不会再分配
+     */
+    public boolean isFull() {
+        return slots.size() >= MAX_SLOTS;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+}
@@ -19,9 +19,45 @@ import java.util.function.Function;
 public class ExpFunCall extends AbstractExp<Exp> {
     private static final long serialVersionUID = 1L;
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     private final List<Exp> args;
     private transient ExpFactory expFactory;
 
+    /**
+     * obj.method(args) 形式的内联缓存：接收者Class -> 按参数类型匹配到的方法，见 {@link InlineCache}
+     */
+    private transient volatile InlineCache<MethodSite> methodCache;
+
+    /**
+     * 一次重载匹配的结果，参数的Class（null参数记为null）与匹配时完全相同才能复用
+     */
+    private static final class MethodSite {
+        final Class<?>[] argTypes;
+        final Method method;
+
+        MethodSite(Object[] args, Method method) {
+            this.argTypes = new Class<?>[args.length];
+            for (int i = 0; i < args.length; i++) {
+                argTypes[i] = args[i] == null ? null : args[i].getClass();
+            }
+            this.method = method;
+        }
+
+        boolean matches(Object[] args) {
+            if (args.length != argTypes.length) {
+                return false;
+            }
+            for (int i = 0; i < args.length; i++) {
+                Class<?> c = args[i] == null ? null : args[i].getClass();
+                if (c != argTypes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     public ExpFunCall(ExpFactory expFactory, Exp funExp, List<Exp> args) {
         super(funExp);
         this.args = args;
@@ -90,7 +126,7 @@ public class ExpFunCall extends AbstractExp<Exp> {
         }
 
         // 尝试查找并调用方法
-        Method m = MethodFinder.findMethod(obj.getClass(), methodName, argValues);
+        Method m = findMethod(obj.getClass(), methodName, argValues);
         if (m == null) {
             // 尝试 Map 中的函数
             if (obj instanceof Map) {
@@ -122,11 +158,30 @@ public class ExpFunCall extends AbstractExp<Exp> {
         }
     }
 
+    /**
+     * 先查内联缓存，未命中时做重载匹配。自动转换参数（autoFixArgsAndFindMethod）会改写参数，其结果不缓存
+     */
+    private Method findMethod(Class<?> cls, String methodName, Object[] argValues) {
+        InlineCache<MethodSite> cache = methodCache;
+        if (cache == null) {
+            methodCache = cache = new InlineCache<>();
+        }
+        MethodSite site = cache.get(cls);
+        if (site != null && site.matches(argValues)) {
+            return site.method;
+        }
+        Method m = MethodFinder.findMethod(cls, methodName, argValues);
+        if (m != null && site == null) {
+            cache.put(cls, new MethodSite(argValues, m));
+        }
+        return m;
+    }
+
     private Object[] evalArgs(ExpEvaluator evaluator) {
         // 只有当唯一参数是 EmptyExp 时才视为无参数调用（如 foo()）
         // 否则 EmptyExp 应该求值为 null（如 foo(1,,3) 中间的空参数）
         if (args.size() == 1 && args.get(0) instanceof EmptyExp) {
-            return new Object[0];
+            return NO_ARGS;
         }
 
         Object[] argValues = new Object[args.size()];
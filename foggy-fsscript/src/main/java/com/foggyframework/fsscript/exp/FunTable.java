@@ -24,10 +24,16 @@ import java.util.Map;
 public class FunTable implements FunctionSet, DisposableBean {
     Map<String, FunDef> funs = new HashMap<String, FunDef>();
 
+    /**
+     * 增删函数时递增，见UnresolvedFunCall中缓存的FunDef
+     */
+    private volatile int version;
+
 //	Map<String, Pattern> patterns = new HashMap<String, Pattern>();
 
     public void clear() {
         funs.clear();
+        version++;
     }
 
 
@@ -109,6 +115,7 @@ public class FunTable implements FunctionSet, DisposableBean {
 //            throw RX.throwB("FunDef存在重复定义:" + f + "," + funs.get(name));
         }
         funs.put(name, f);
+        version++;
     }
 
     @Override
@@ -152,7 +159,13 @@ public class FunTable implements FunctionSet, DisposableBean {
             String name = regfun.getName().toUpperCase();
             funs.remove(name);
         }
+        version++;
+
+    }
 
+    @Override
+    public int getVersion() {
+        return version;
     }
 
     @Override
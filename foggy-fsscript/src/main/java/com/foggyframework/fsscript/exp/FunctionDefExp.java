@@ -2,10 +2,14 @@ package com.foggyframework.fsscript.exp;
 
 import com.foggyframework.core.ex.RX;
 import com.foggyframework.core.utils.beanhelper.BeanInfoHelper;
+import com.foggyframework.fsscript.DefaultExpEvaluator;
+import com.foggyframework.fsscript.closure.AbstractFsscriptClosure;
+import com.foggyframework.fsscript.closure.SimpleFsscriptClosure;
 import com.foggyframework.fsscript.parser.spi.*;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 函数使用见UnresolvedFunCall
@@ -38,6 +42,16 @@ public class FunctionDefExp extends AbstractExp<Exp> {
         List<FsscriptClosure> savedStack;
         private final Object key = new Object();
 
+        /**
+         * 空闲的执行环境，被Java代码回调（apply/threadSafeAccept）时复用，代替每次clone
+         */
+        private final AtomicReference<DefaultExpEvaluator> idleEvaluator = new AtomicReference<>();
+
+        /**
+         * 空闲的函数体闭包，调用结束时清空变量留给下次调用。递归或并发调用时取不到空闲闭包，按原方式新建
+         */
+        private final AtomicReference<AbstractFsscriptClosure> idleClosure = new AtomicReference<>();
+
         public X(ExpEvaluator ee) {
             this.ee = ee;
 
@@ -45,6 +59,11 @@ public class FunctionDefExp extends AbstractExp<Exp> {
 //            savedFss = ee.getCurrentFsscriptClosure();
             savedStack = new ArrayList<>(ee.getStack());
 //            ee.getSt
+            // 执行环境与闭包被本函数引用，不能再回收复用
+            if (ee instanceof DefaultExpEvaluator) {
+                ((DefaultExpEvaluator) ee).markCaptured();
+            }
+            DefaultExpEvaluator.markCaptured(savedStack);
         }
 
         @Override
@@ -59,13 +78,13 @@ public class FunctionDefExp extends AbstractExp<Exp> {
          */
         @Override
         public Object apply(Object... args) {
-            return executeFunction(ee.clone(), args);
+            return invoke(args);
         }
 
         @Override
         public Object threadSafeAccept(Object t) {
 //            synchronized (key) {
-                return executeFunction(ee.clone(),new Object[]{t});
+                return invoke(new Object[]{t});
 //            }
         }
 //
@@ -75,6 +94,29 @@ public class FunctionDefExp extends AbstractExp<Exp> {
 //            return executeFunction(ee, new Object[]{t});
 //        }
 
+        /**
+         * 在ee当前闭包栈的副本上执行函数，与executeFunction(ee.clone(), args)等价。
+         * DefaultExpEvaluator 的副本在调用结束后留给下次使用
+         */
+        private Object invoke(Object[] args) {
+            if (ee.getClass() != DefaultExpEvaluator.class) {
+                return executeFunction(ee.clone(), args);
+            }
+            DefaultExpEvaluator frame = idleEvaluator.getAndSet(null);
+            if (frame == null) {
+                frame = new DefaultExpEvaluator(null, null);
+            }
+            frame.resetFrom((DefaultExpEvaluator) ee);
+            try {
+                return executeFunction(frame, args);
+            } finally {
+                if (!frame.isCaptured()) {
+                    frame.release();
+                    idleEvaluator.set(frame);
+                }
+            }
+        }
+
         @Override
         public Class<?> getReturnType(ExpEvaluator evaluator) {
             return null;
@@ -84,53 +126,55 @@ public class FunctionDefExp extends AbstractExp<Exp> {
         public Object executeFunction(ExpEvaluator evaluator, Object... args) {
 
             String name;
-            int i = 0;
+            FsscriptClosure fs = null;
 
             try {
 
                 evaluator.pushFsscriptClosure(savedStack);
-                evaluator.pushNewFoggyClosure();
+                fs = pushFunctionClosure(evaluator);
                 Object value = null;
-                for (Exp e : argDefs) {
+                for (int i = 0; i < argDefs.size(); i++) {
+                    Exp e = argDefs.get(i);
                     value = args.length > i? args[i]:null;
                     if(e instanceof IdExp) {
-                        name = ((IdExp) e).getValue();
-//                        if (args.length > i) {
-//                            evaluator.setVar(name, args[i]);
-//                        } else {
+                        if (fs instanceof AbstractFsscriptClosure) {
+                            // 按IdExp缓存的槽位绑定参数
+                            ((AbstractFsscriptClosure) fs).setVar((IdExp) e, value);
+                        } else {
+                            name = ((IdExp) e).getValue();
                             evaluator.setVar(name, value);
-//                        }
+                        }
                     }else if(e instanceof MapExp){
-//                        if(value==null||BeanInfoHelper.isBaseClassByStr(value.getClass().getName())){
-//                            //基本类型，如int 等，不参与
-//                            for (MapEntry mapEntry : ((MapExp) e).getLl()) {
-//                                evaluator.setVar( mapEntry.getKey(), null);
-//                            }
-//                        }else if(value instanceof Map){
-//                            for (MapEntry mapEntry : ((MapExp) e).getLl()) {
-//                                evaluator.setVar( mapEntry.getKey(), ((Map<?, ?>) value).get(mapEntry.getKey()));
-//                            }
-//                        }else {
-//                            BeanInfoHelper h  = BeanInfoHelper.getClassHelper(value.getClass());
-//                            for (MapEntry mapEntry : ((MapExp) e).getLl()) {
-//                                evaluator.setVar( mapEntry.getKey(), h.getBeanProperty(mapEntry.getKey(),true).getBeanValue(value));
-//                            }
-//                        }
                         test(evaluator, (MapExp) e,value);
-//                        if (args.length > i) {
-//
-//                        } else {
-//                            evaluator.setVar(name, null);
-//                        }
                     }
-                    i++;
                 }
 
                 return evalValue(evaluator);
             } finally {
-                evaluator.popFsscriptClosure();
+                FsscriptClosure popped = evaluator.popFsscriptClosure();
                 evaluator.popFsscriptClosure(savedStack.size());
+                if (popped == fs) {
+                    recycleClosure(fs);
+                }
+            }
+        }
 
+        private FsscriptClosure pushFunctionClosure(ExpEvaluator evaluator) {
+            AbstractFsscriptClosure idle = idleClosure.getAndSet(null);
+            if (idle != null) {
+                // 与pushNewFoggyClosure相同，继承当前的EXPORT_MAP_KEY
+                return evaluator.pushFsscriptClosure(idle);
+            }
+            return evaluator.pushNewFoggyClosure();
+        }
+
+        /**
+         * 只回收由savedStack顶层闭包的定义创建的SimpleFsscriptClosure；savedStack为空时新闭包的定义取决于调用方，不回收
+         */
+        private void recycleClosure(FsscriptClosure fs) {
+            if (fs != null && !savedStack.isEmpty() && fs.getClass() == SimpleFsscriptClosure.class
+                    && ((AbstractFsscriptClosure) fs).recycle()) {
+                idleClosure.set((AbstractFsscriptClosure) fs);
             }
         }
 
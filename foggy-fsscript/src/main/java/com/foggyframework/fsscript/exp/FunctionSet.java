@@ -29,4 +29,12 @@ public interface FunctionSet {
 	public void append(String name, FunDef f);
 
 	public void clear();
+
+	/**
+	 * 函数表的版本，每次增删函数后递增，调用点据此判断缓存的FunDef是否仍然有效。
+	 * 返回 -1 表示不支持，调用点每次重新查找
+	 */
+	default int getVersion() {
+		return -1;
+	}
 }
@@ -1,17 +1,54 @@
 package com.foggyframework.fsscript.exp;
 
+import com.foggyframework.fsscript.closure.VarSlotTable;
 import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
 
 public class IdExp extends AbstractExp<String> implements NamedExp {
 
+    /**
+     * 最近一次解析的槽位，闭包栈中的闭包大多来自同一个定义，命中后不再查槽位表
+     */
+    private static final class ResolvedSlot {
+        final VarSlotTable table;
+        final int slot;
+
+        ResolvedSlot(VarSlotTable table, int slot) {
+            this.table = table;
+            this.slot = slot;
+        }
+    }
+
+    private transient volatile ResolvedSlot resolvedSlot;
+
     public IdExp(String value) {
         super(value);
     }
 
+    /**
+     * 返回本变量在槽位表中的槽位，未分配返回 -1。
+     * 未分配的结果不缓存，变量之后可能被绑定
+     */
+    public int slotIn(VarSlotTable table) {
+        ResolvedSlot r = resolvedSlot;
+        if (r != null && r.table == table) {
+            return r.slot;
+        }
+        int slot = table.slotOf(value);
+        if (slot < 0) {
+            if (!table.isFull()) {
+                return -1;
+            }
+            // 已满后不会再分配，重新读取一次得到确定的结果
+            slot = table.slotOf(value);
+        }
+        resolvedSlot = new ResolvedSlot(table, slot);
+        return slot;
+    }
+
     @Override
     public Object evalValue(ExpEvaluator evaluator) {
 
-        Object x = evaluator.getVar(value);
+        Object x = evaluator.getVar(this);
         return (x == EmptyExp.EMPTY || x == NullExp.NULL) ? null : unWarpResult(x);
     }
 
@@ -0,0 +1,60 @@
+package com.foggyframework.fsscript.exp;
+
+/**
+ * 表达式节点上的内联缓存
+ * <p>按接收者的 Class 记住属性、方法的查找结果，命中时只需比较 Class 引用，不再经过 BeanInfoHelper 的加锁查找和重载匹配。
+ * 最多记住 {@link #MAX_ENTRIES} 个 Class（多态），之后不再加入新的 Class，未命中时由调用方走原来的查找。
+ * <p>查找结果只由 Class 决定时才能放入缓存。
+ *
+ * @param <V> 查找结果
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+final class InlineCache<V> {
+
+    static final int MAX_ENTRIES = 4;
+
+    private static final Object[] EMPTY = {};
+
+    /**
+     * Class 与查找结果交替存放，整体替换，读取时不加锁
+     */
+    private volatile Object[] entries = EMPTY;
+
+    @SuppressWarnings("unchecked")
+    V get(Class<?> cls) {
+        Object[] e = entries;
+        for (int i = 0; i < e.length; i += 2) {
+            if (e[i] == cls) {
+                return (V) e[i + 1];
+            }
+        }
+        return null;
+    }
+
+    void put(Class<?> cls, V value) {
+        if (value == null) {
+            return;
+        }
+        synchronized (this) {
+            Object[] e = entries;
+            if (e.length >= MAX_ENTRIES * 2) {
+                return;
+            }
+            for (int i = 0; i < e.length; i += 2) {
+                if (e[i] == cls) {
+                    return;
+                }
+            }
+            Object[] n = new Object[e.length + 2];
+            System.arraycopy(e, 0, n, 0, e.length);
+            n[e.length] = cls;
+            n[e.length + 1] = value;
+            entries = n;
+        }
+    }
+
+    int size() {
+        return entries.length / 2;
+    }
+}
@@ -6,6 +6,7 @@ import com.foggyframework.core.utils.beanhelper.BeanProperty;
 import com.foggyframework.fsscript.parser.spi.Exp;
 import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
 import com.foggyframework.fsscript.parser.spi.PropertyHolder;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.BeanUtils;
 
@@ -14,6 +15,12 @@ public class PropertyExp extends AbstractExp<String> {
 
     Exp exp;
 
+    /**
+     * 接收者Class -> 属性，见 {@link InlineCache}
+     */
+    @Getter(AccessLevel.NONE)
+    private transient volatile InlineCache<BeanProperty> propertyCache;
+
     public PropertyExp(Exp exp, String name) {
         super(name);
         this.exp = exp;
@@ -47,8 +54,24 @@ public class PropertyExp extends AbstractExp<String> {
                 return x;
             }
         }
-        return BeanInfoHelper.getClassHelper(obj.getClass()).getBeanProperty(value, true).getBeanValue(obj);
+        return getBeanProperty(obj.getClass()).getBeanValue(obj);
+
+    }
 
+    /**
+     * 取接收者类型上的属性，找不到时抛出异常
+     */
+    BeanProperty getBeanProperty(Class<?> cls) {
+        InlineCache<BeanProperty> cache = propertyCache;
+        if (cache == null) {
+            propertyCache = cache = new InlineCache<>();
+        }
+        BeanProperty bp = cache.get(cls);
+        if (bp == null) {
+            bp = BeanInfoHelper.getClassHelper(cls).getBeanProperty(value, true);
+            cache.put(cls, bp);
+        }
+        return bp;
     }
 
     @Override
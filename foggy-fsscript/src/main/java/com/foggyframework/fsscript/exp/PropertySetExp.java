@@ -1,6 +1,5 @@
 package com.foggyframework.fsscript.exp;
 
-import com.foggyframework.core.utils.beanhelper.BeanInfoHelper;
 import com.foggyframework.fsscript.parser.spi.Exp;
 import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
 import org.springframework.beans.BeanUtils;
@@ -29,8 +28,7 @@ public class PropertySetExp extends AbstractExp<Exp> {
         if (l instanceof Map) {
             ((Map<Object, Object>) l).put(exp.value, v);
         } else if (l != null) {
-            BeanInfoHelper beanInfoHelper = BeanInfoHelper.getClassHelper(l.getClass());
-            beanInfoHelper.getBeanProperty(exp.value,true).setBeanValue(l,v);
+            exp.getBeanProperty(l.getClass()).setBeanValue(l,v);
         }
 
 //        BeanUtils.setObjectProperty(l, exp.value, v);
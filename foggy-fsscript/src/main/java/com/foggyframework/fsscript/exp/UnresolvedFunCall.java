@@ -29,10 +29,34 @@ public class UnresolvedFunCall extends AbstractExp<String> {
 		this.expFactory = expFactory;
 	}
 
+	/**
+	 * 调用点链接的FunDef，函数表版本变化后重新查找
+	 */
+	private static final class LinkedFun {
+		final FunctionSet functionSet;
+		final int version;
+		final FunDef funDef;
+
+		LinkedFun(FunctionSet functionSet, int version, FunDef funDef) {
+			this.functionSet = functionSet;
+			this.version = version;
+			this.funDef = funDef;
+		}
+	}
+
+	private transient volatile LinkedFun linkedFun;
+
+	/**
+	 * 函数名对应的变量表达式，查找同名脚本函数时可按槽位取值
+	 */
+	private transient volatile IdExp nameExp;
+
+	private transient volatile Exp[] argArray;
+
 	@Override
 	public Object evalValue(final ExpEvaluator context)
 			{
-		Object cc = context.getVar(value);
+		Object cc = context.getVar(getNameExp());
 
 		if (cc instanceof Function) {
 			// 采用内置函数执行
@@ -44,7 +68,7 @@ public class UnresolvedFunCall extends AbstractExp<String> {
 			}
 			return ((Function) cc).apply(ccArgs);
 		}
-		FunDef fd = expFactory.getFunctionSet().getFun(this);
+		FunDef fd = getFun();
 		if (fd == null) {
 			if(cc instanceof FunDef){
 				fd = (FunDef) cc;
@@ -54,14 +78,48 @@ public class UnresolvedFunCall extends AbstractExp<String> {
 			RX.notNull(fd, "未能找到函数 ["+ this.value+ "]!");
 		}
 
-		Exp[] as = new Exp[args.size()];
-		args.toArray(as);
-		Object obj = fd.execute(context, as);
+		Object obj = fd.execute(context, getArgArray());
 		return obj;
 		// return "\n[#error in execute :" + value + " args:" + args +
 		// "]\n";
 	}
 
+	/**
+	 * 从函数表查找FunDef，找到后缓存在调用点，函数表增删函数前不再重复查找
+	 */
+	private FunDef getFun() {
+		FunctionSet functionSet = expFactory.getFunctionSet();
+		LinkedFun linked = linkedFun;
+		int version = functionSet.getVersion();
+		if (linked != null && linked.functionSet == functionSet && linked.version == version && version >= 0) {
+			return linked.funDef;
+		}
+		FunDef fd = functionSet.getFun(this);
+		if (fd != null && version >= 0) {
+			linkedFun = new LinkedFun(functionSet, version, fd);
+		}
+		return fd;
+	}
+
+	private IdExp getNameExp() {
+		IdExp e = nameExp;
+		if (e == null) {
+			e = new IdExp(value);
+			nameExp = e;
+		}
+		return e;
+	}
+
+	private Exp[] getArgArray() {
+		Exp[] as = argArray;
+		if (as == null || as.length != args.size()) {
+			as = new Exp[args.size()];
+			args.toArray(as);
+			argArray = as;
+		}
+		return as;
+	}
+
 	public List<Exp> getArgs() {
 		return args;
 	}
@@ -85,6 +143,7 @@ public class UnresolvedFunCall extends AbstractExp<String> {
 
 	public void setArgs(List<Exp> args) {
 		this.args = args;
+		this.argArray = null;
 	}
 
 	@Override
@@ -43,6 +43,9 @@ import java.util.Map;
  * bindings2.put("b", 20);
  * compiled.eval(bindings2);  // sum = 30
  * </pre>
+ * <p>
+ * 编译结果本身不保存执行状态，每次 eval 创建独立的闭包与执行环境，同一实例可以在多个线程中并发执行，
+ * 各自使用自己的 Bindings。
  *
  * @author foggy
  * @since 8.0.0
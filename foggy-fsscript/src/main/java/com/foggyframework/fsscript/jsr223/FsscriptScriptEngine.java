@@ -31,7 +31,9 @@ import java.io.Reader;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * JSR-223 ScriptEngine 实现，提供 FSScript 脚本执行能力。
@@ -45,6 +47,9 @@ import java.util.Map;
  *   <li>Spring Bean 导入（需要 ApplicationContext）</li>
  * </ul>
  * <p>
+ * 引擎按脚本文本缓存编译结果（LRU，默认 {@link #DEFAULT_COMPILED_CACHE_SIZE} 条），
+ * 同一段脚本反复 eval 时只解析一次。缓存的 {@link FsscriptCompiledScript} 每次执行都创建独立的执行环境，可以在多个线程间共用。
+ * <p>
  * 使用示例：
  * <pre>
  * ScriptEngine engine = new FsscriptEngineFactory(appCtx).getScriptEngine();
@@ -63,9 +68,22 @@ public class FsscriptScriptEngine extends AbstractScriptEngine implements Compil
      */
     public static final String ATTR_APPLICATION_CONTEXT = "applicationContext";
 
+    /**
+     * 编译缓存的默认容量
+     */
+    public static final int DEFAULT_COMPILED_CACHE_SIZE = 256;
+
     private final ScriptEngineFactory factory;
     private final ApplicationContext factoryApplicationContext;
 
+    /**
+     * 脚本文本 -> 编译结果，容量为 0 时为 null，不缓存
+     */
+    private final Map<String, FsscriptCompiledScript> compiledCache;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     /**
      * 创建 FsscriptScriptEngine 实例。
      *
@@ -73,8 +91,29 @@ public class FsscriptScriptEngine extends AbstractScriptEngine implements Compil
      * @param applicationContext   Spring ApplicationContext，可为 null
      */
     public FsscriptScriptEngine(ScriptEngineFactory factory, ApplicationContext applicationContext) {
+        this(factory, applicationContext, DEFAULT_COMPILED_CACHE_SIZE);
+    }
+
+    /**
+     * 创建 FsscriptScriptEngine 实例。
+     *
+     * @param factory              创建此引擎的工厂
+     * @param applicationContext   Spring ApplicationContext，可为 null
+     * @param compiledCacheSize    编译缓存容量，小于等于 0 表示不缓存
+     */
+    public FsscriptScriptEngine(ScriptEngineFactory factory, ApplicationContext applicationContext, int compiledCacheSize) {
         this.factory = factory;
         this.factoryApplicationContext = applicationContext;
+        if (compiledCacheSize > 0) {
+            this.compiledCache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FsscriptCompiledScript> eldest) {
+                    return size() > compiledCacheSize;
+                }
+            };
+        } else {
+            this.compiledCache = null;
+        }
     }
 
     /**
@@ -112,52 +151,11 @@ public class FsscriptScriptEngine extends AbstractScriptEngine implements Compil
 
     @Override
     public Object eval(String script, ScriptContext context) throws ScriptException {
-        try {
-            ApplicationContext appCtx = getApplicationContext(context);
-
-            // 1. 创建闭包定义空间
-            SimpleFsscriptClosureDefinitionSpace space = new SimpleFsscriptClosureDefinitionSpace();
-            FsscriptClosureDefinition def = space.newFsscriptClosureDefinition();
-
-            // 2. 编译脚本
-            Exp exp = ExpUtils.compileEl(def, script, null);
-            if (exp == null) {
-                return null;
-            }
-            Fsscript fsscript = new FsscriptImpl(def, exp);
-
-            // 3. 创建执行环境
-            ExpEvaluator evaluator = DefaultExpEvaluator.newInstance(appCtx,
-                    def.newFoggyClosure());
-
-            // 4. 从 Bindings 绑定变量
-            Bindings bindings = context.getBindings(ScriptContext.ENGINE_SCOPE);
-            if (bindings != null) {
-                for (Map.Entry<String, Object> entry : bindings.entrySet()) {
-                    evaluator.setVar(entry.getKey(), entry.getValue());
-                }
-            }
-
-            // 5. 执行脚本
-            Object result = fsscript.evalResult(evaluator);
-
-            // 6. 将导出变量写回 Bindings
-            if (bindings != null) {
-                Map<String, Object> exportMap = evaluator.getExportMap();
-                if (exportMap != null) {
-                    for (Map.Entry<String, Object> entry : exportMap.entrySet()) {
-                        bindings.put(entry.getKey(), entry.getValue());
-                    }
-                }
-            }
-
-            return result;
-
-        } catch (CompileException e) {
-            throw new ScriptException(e.getMessage());
-        } catch (Exception e) {
-            throw new ScriptException(e);
+        FsscriptCompiledScript compiled = getCompiledScript(script);
+        if (compiled == null) {
+            return null;
         }
+        return compiled.eval(context);
     }
 
     @Override
@@ -184,13 +182,60 @@ public class FsscriptScriptEngine extends AbstractScriptEngine implements Compil
 
     @Override
     public CompiledScript compile(String script) throws ScriptException {
+        FsscriptCompiledScript compiled = getCompiledScript(script);
+        if (compiled == null) {
+            throw new ScriptException("Failed to compile script: empty result");
+        }
+        return compiled;
+    }
+
+    @Override
+    public CompiledScript compile(Reader reader) throws ScriptException {
+        try {
+            String script = readFully(reader);
+            return compile(script);
+        } catch (IOException e) {
+            throw new ScriptException(e);
+        }
+    }
+
+    /**
+     * 从缓存中取编译结果，未命中时编译并放入缓存。
+     *
+     * @param script 脚本文本
+     * @return 编译结果，空脚本返回 null
+     */
+    protected FsscriptCompiledScript getCompiledScript(String script) throws ScriptException {
+        if (compiledCache == null || script == null) {
+            return compileScript(script);
+        }
+        FsscriptCompiledScript compiled;
+        synchronized (compiledCache) {
+            compiled = compiledCache.get(script);
+        }
+        if (compiled != null) {
+            cacheHits.incrementAndGet();
+            return compiled;
+        }
+        cacheMisses.incrementAndGet();
+        // 编译放在锁外，并发编译同一段脚本时后放入的覆盖先放入的，结果等价
+        compiled = compileScript(script);
+        if (compiled != null) {
+            synchronized (compiledCache) {
+                compiledCache.put(script, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    private FsscriptCompiledScript compileScript(String script) throws ScriptException {
         try {
             SimpleFsscriptClosureDefinitionSpace space = new SimpleFsscriptClosureDefinitionSpace();
             FsscriptClosureDefinition def = space.newFsscriptClosureDefinition();
 
             Exp exp = ExpUtils.compileEl(def, script, null);
             if (exp == null) {
-                throw new ScriptException("Failed to compile script: empty result");
+                return null;
             }
             Fsscript fsscript = new FsscriptImpl(def, exp);
 
@@ -203,14 +248,32 @@ public class FsscriptScriptEngine extends AbstractScriptEngine implements Compil
         }
     }
 
-    @Override
-    public CompiledScript compile(Reader reader) throws ScriptException {
-        try {
-            String script = readFully(reader);
-            return compile(script);
-        } catch (IOException e) {
-            throw new ScriptException(e);
+    /**
+     * 清空编译缓存
+     */
+    public void clearCompiledCache() {
+        if (compiledCache != null) {
+            synchronized (compiledCache) {
+                compiledCache.clear();
+            }
+        }
+    }
+
+    public int getCompiledCacheSize() {
+        if (compiledCache == null) {
+            return 0;
         }
+        synchronized (compiledCache) {
+            return compiledCache.size();
+        }
+    }
+
+    public long getCompiledCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCompiledCacheMisses() {
+        return cacheMisses.get();
     }
 
     // ============ Invocable 接口实现 ============
@@ -11,6 +11,7 @@ import com.foggyframework.fsscript.parser.spi.ExpFactory;
 import com.foggyframework.fsscript.parser.spi.Fsscript;
 import com.foggyframework.fsscript.parser.spi.FsscriptClosureDefinition;
 import com.foggyframework.fsscript.support.FsscriptImpl;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
@@ -18,13 +19,19 @@ import org.springframework.util.Assert;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 public abstract class AbstractFileFsscriptLoader extends FsscriptLoader {
 
     private ApplicationContext appCtx;
 
-    private static final Object KEY = new Object();
+    /**
+     * 按路径加锁：同一文件只编译一次，不同文件可以并行编译。
+     * 编译结束（含失败）后移除，只保留正在编译的路径；不使用固定的分段锁，因为编译时会递归加载引用的脚本，分段锁可能互相等待
+     */
+    @Getter(AccessLevel.NONE)
+    private final ConcurrentHashMap<String, Object> pathLocks = new ConcurrentHashMap<>();
 
     private FsscriptFileChangeHandler changeHandler;
 
@@ -91,28 +98,41 @@ public abstract class AbstractFileFsscriptLoader extends FsscriptLoader {
 
         //开始加载
         //创建
-        synchronized (KEY) {
-            ResourceFsscriptClosureDefinitionSpace space = new ResourceFsscriptClosureDefinitionSpace(fscriptResource);
-            FsscriptClosureDefinition d = space.newFsscriptClosureDefinition();
-            String str = FileUtils.toString(fscriptResource.getInputStream());
-
-            Exp exp = compile(d, str,expFactory);
-            if (errorIfNull) {
-                Assert.notNull(exp, "编辑" + fscriptResource + "返回空？？");
+        Object lock = pathLocks.computeIfAbsent(path, k -> new Object());
+        try {
+            synchronized (lock) {
+                return loadLocked(path, fscriptResource, expFactory, errorIfNull);
             }
-            FsscriptImpl fScriptImpl = new FsscriptImpl(d, exp);
-            parentLoader.setFsscript(path, fScriptImpl);
-
-            if (changeHandler != null) {
-                //加入文件变化跟踪，在变化，或删除时，清空缓存
-                if (fscriptResource.isFile()) {
-                    changeHandler.addFile(fscriptResource.getFile());
-                }
-            }
-            return fScriptImpl;
+        } finally {
+            // 已在等待该锁的线程拿到锁后会从缓存取到结果；之后的线程使用新的锁对象
+            pathLocks.remove(path, lock);
+        }
+    }
+
+    private Fsscript loadLocked(String path, BundleResource fscriptResource, ExpFactory expFactory, boolean errorIfNull) {
+        Fsscript fScript = parentLoader.findLoadFsscript(path);
+        if (fScript != null) {
+            //等待锁期间已被其他线程加载
+            return fScript;
         }
+        ResourceFsscriptClosureDefinitionSpace space = new ResourceFsscriptClosureDefinitionSpace(fscriptResource);
+        FsscriptClosureDefinition d = space.newFsscriptClosureDefinition();
+        String str = FileUtils.toString(fscriptResource.getInputStream());
 
+        Exp exp = compile(d, str,expFactory);
+        if (errorIfNull) {
+            Assert.notNull(exp, "编辑" + fscriptResource + "返回空？？");
+        }
+        FsscriptImpl fScriptImpl = new FsscriptImpl(d, exp);
+        parentLoader.setFsscript(path, fScriptImpl);
 
+        if (changeHandler != null) {
+            //加入文件变化跟踪，在变化，或删除时，清空缓存
+            if (fscriptResource.isFile()) {
+                changeHandler.addFile(fscriptResource.getFile());
+            }
+        }
+        return fScriptImpl;
     }
 
 
@@ -38,9 +38,12 @@ public class FsscriptFileChangeHandler implements FileChangeListener {
         String filePath = ResourceFsscriptClosureDefinitionSpace.getResourcePath(f);
         List<Fsscript> removed = new ArrayList<>();
         log.debug("准备清理: " + filePath);
-        removed.add(rootFsscriptLoader.removePath(filePath));
-
+        // 需在移除前查找，移除后就找不到 import 它的脚本了
         List<Fsscript> ll = rootFsscriptLoader.getWhoImportMe(filePath);
+        Fsscript self = rootFsscriptLoader.removePath(filePath);
+        if (self != null) {
+            removed.add(self);
+        }
         removed.addAll(ll);
         log.debug("一共找到: " + ll.size() + "个依赖它的Fsscript");
 
@@ -52,7 +55,7 @@ public class FsscriptFileChangeHandler implements FileChangeListener {
         rootFsscriptLoader.getAppCtx().publishEvent(new FsscriptRemoveEvent(removed));
     }
 
-    public void addFile(File file) {
+    public synchronized void addFile(File file) {
         fileTracer.addFile(file);
     }
 }
@@ -0,0 +1,179 @@
+package com.foggyframework.fsscript.loadder;
+
+import com.foggyframework.core.ex.RX;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import com.foggyframework.fsscript.parser.spi.Fsscript;
+import com.foggyframework.fsscript.parser.spi.FsscriptClosureDefinitionSpace;
+import com.foggyframework.fsscript.support.FsscriptImpl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导入依赖图解析
+ * <p>脚本第一次执行前，按层遍历它的 import（递归），同一层的文件并行加载、编译，再检查依赖图中是否存在循环导入。
+ * 之后执行 import 语句时，被导入的脚本已在加载器缓存中，不必再逐个等待编译。
+ * <p>被导入脚本的执行仍由 {@link com.foggyframework.fsscript.DefaultExpEvaluator#addImport} 按书写顺序完成，
+ * 这里加载失败的文件会被忽略，由执行 import 语句时按原来的方式报错。
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+public final class FsscriptImportResolver {
+
+    static final int MAX_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final class ExecutorHolder {
+        static final ExecutorService EXECUTOR = newExecutor();
+    }
+
+    private FsscriptImportResolver() {
+    }
+
+    /**
+     * 加载root直接与间接导入的全部脚本
+     *
+     * @return 依赖图，key为脚本路径，value为它直接导入的脚本路径
+     */
+    public static Map<String, List<String>> resolve(ExpEvaluator ee, FsscriptImpl root) {
+        Map<String, List<String>> graph = new LinkedHashMap<>();
+        Map<String, FsscriptImpl> nodes = new HashMap<>();
+        nodes.put(root.getPath(), root);
+
+        List<FsscriptImpl> level = Collections.singletonList(root);
+        while (!level.isEmpty()) {
+            List<FsscriptImpl> from = new ArrayList<>();
+            List<String> files = new ArrayList<>();
+            for (FsscriptImpl f : level) {
+                graph.put(f.getPath(), new ArrayList<>());
+                for (String file : f.getImportFiles()) {
+                    from.add(f);
+                    files.add(file);
+                }
+            }
+            List<Fsscript> loaded = loadAll(ee, from, files);
+
+            List<FsscriptImpl> next = new ArrayList<>();
+            for (int i = 0; i < loaded.size(); i++) {
+                Fsscript dep = loaded.get(i);
+                if (dep == null) {
+                    continue;
+                }
+                graph.get(from.get(i).getPath()).add(dep.getPath());
+                if (dep instanceof FsscriptImpl && !nodes.containsKey(dep.getPath())) {
+                    FsscriptImpl impl = (FsscriptImpl) dep;
+                    nodes.put(dep.getPath(), impl);
+                    if (!impl.isImportsResolved()) {
+                        // 已解析过的脚本，其依赖都已加载并检查过
+                        next.add(impl);
+                    }
+                }
+            }
+            level = next;
+        }
+
+        checkCycle(graph);
+        for (FsscriptImpl f : nodes.values()) {
+            f.markImportsResolved();
+        }
+        return graph;
+    }
+
+    private static List<Fsscript> loadAll(ExpEvaluator ee, List<FsscriptImpl> from, List<String> files) {
+        int n = files.size();
+        List<Fsscript> result = new ArrayList<>(n);
+        if (n <= 1) {
+            for (int i = 0; i < n; i++) {
+                result.add(load(ee, from.get(i), files.get(i)));
+            }
+            return result;
+        }
+        List<CompletableFuture<Fsscript>> futures = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            FsscriptImpl f = from.get(i);
+            String file = files.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> load(ee, f, file), ExecutorHolder.EXECUTOR));
+        }
+        for (CompletableFuture<Fsscript> future : futures) {
+            result.add(future.join());
+        }
+        return result;
+    }
+
+    private static Fsscript load(ExpEvaluator ee, FsscriptImpl from, String file) {
+        try {
+            FsscriptClosureDefinitionSpace space = from.getFsscriptClosureDefinition().getFsscriptClosureDefinitionSpace();
+            return space.loadFsscript(ee, file);
+        } catch (RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("预加载" + from.getPath() + "导入的" + file + "失败，执行import时再加载", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 深度优先遍历依赖图，发现循环导入时抛出异常，异常信息中包含循环的路径
+     */
+    static void checkCycle(Map<String, List<String>> graph) {
+        Map<String, Boolean> visited = new HashMap<>();
+        List<String> chain = new ArrayList<>();
+        for (String path : graph.keySet()) {
+            visit(graph, path, visited, chain);
+        }
+    }
+
+    /**
+     * @param visited 值为false表示正在访问（在chain中），true表示已完成
+     */
+    private static void visit(Map<String, List<String>> graph, String path, Map<String, Boolean> visited, List<String> chain) {
+        Boolean done = visited.get(path);
+        if (done != null) {
+            if (!done) {
+                List<String> cycle = new ArrayList<>(chain.subList(chain.indexOf(path), chain.size()));
+                cycle.add(path);
+                throw RX.throwB("循环导入: " + String.join(" -> ", cycle));
+            }
+            return;
+        }
+        visited.put(path, false);
+        chain.add(path);
+        for (String dep : graph.getOrDefault(path, Collections.emptyList())) {
+            visit(graph, dep, visited, chain);
+        }
+        chain.remove(chain.size() - 1);
+        visited.put(path, true);
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // JDK 21 以下
+        }
+        AtomicInteger idx = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "foggy-fsscript-import-" + idx.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -6,10 +6,11 @@ import org.springframework.context.ApplicationContext;
 
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 @Getter
 public class RootFsscriptLoader extends FsscriptLoader {
 
-    Map<String, Fsscript> path2Fsscript = new HashMap<>();
+    Map<String, Fsscript> path2Fsscript = new ConcurrentHashMap<>();
     private static final Object KEY = new Object();
     ApplicationContext appCtx;
 
@@ -9,6 +9,7 @@
 package com.foggyframework.fsscript.parser.spi;
 
 import com.foggyframework.fsscript.exp.EmptyExp;
+import com.foggyframework.fsscript.exp.IdExp;
 import com.foggyframework.fsscript.exp.NullExp;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
@@ -37,6 +38,13 @@ public interface ExpEvaluator {
      */
     Object getVar(String name);
 
+    /**
+     * 按变量表达式取值，实现类可利用表达式缓存的槽位加速查找，结果必须与getVar(exp.getValue())一致
+     */
+    default Object getVar(IdExp exp) {
+        return getVar(exp.getValue());
+    }
+
     ImportedFsscript getImport(String path);
 
     ImportedFsscript addImport(ExpEvaluator ee,String path, Fsscript fscript);
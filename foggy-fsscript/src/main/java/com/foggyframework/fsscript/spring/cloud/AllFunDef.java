@@ -0,0 +1,53 @@
+package com.foggyframework.fsscript.spring.cloud;
+
+import com.foggyframework.fsscript.parser.FunDef;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+
+import java.util.*;
+
+/**
+ * 等待多个 {@link HttpPromise} 全部完成，按参数顺序返回结果列表；任意一个失败时抛出异常。
+ * 参数可以逐个传入，也可以传入一个数组
+ * <pre>
+ * let results = all(getAsync(a), getAsync(b));
+ * let results = all(promises);
+ * </pre>
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public class AllFunDef implements FunDef {
+
+    @Override
+    public Object execute(ExpEvaluator ee, Exp[] args) {
+        return HttpPromise.all(evalItems(ee, args));
+    }
+
+    /**
+     * 参数只有一个且为数组或集合时展开
+     */
+    static List<?> evalItems(ExpEvaluator ee, Exp[] args) {
+        if (args.length == 1) {
+            Object v = args[0].evalResult(ee);
+            if (v instanceof Collection) {
+                return new ArrayList<>((Collection<?>) v);
+            }
+            if (v instanceof Object[]) {
+                return Arrays.asList((Object[]) v);
+            }
+            return Collections.singletonList(v);
+        }
+        List<Object> items = new ArrayList<>(args.length);
+        for (Exp arg : args) {
+            items.add(arg.evalResult(ee));
+        }
+        return items;
+    }
+
+    @Override
+    public String getName() {
+        return "all";
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.foggyframework.fsscript.spring.cloud;
+
+import com.foggyframework.fsscript.parser.FunDef;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+
+/**
+ * 返回多个 {@link HttpPromise} 中最先成功的结果，全部失败时抛出最后一个异常。参数形式与 all 相同
+ * <pre>
+ * let data = any(getAsync(primary), getAsync(backup));
+ * </pre>
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public class AnyFunDef implements FunDef {
+
+    @Override
+    public Object execute(ExpEvaluator ee, Exp[] args) {
+        return HttpPromise.any(AllFunDef.evalItems(ee, args));
+    }
+
+    @Override
+    public String getName() {
+        return "any";
+    }
+
+}
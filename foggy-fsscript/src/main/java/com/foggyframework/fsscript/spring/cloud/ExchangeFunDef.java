@@ -13,13 +13,30 @@ import org.springframework.web.client.RestOperations;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public class ExchangeFunDef {
 
+    /**
+     * 异步调用的默认超时时间，可在config中用timeout（毫秒）指定
+     */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+
+    private static final int MAX_ASYNC_THREADS = 64;
+
+    /**
+     * 执行异步调用的线程池，JDK 21+ 使用虚拟线程
+     */
+    private static final class AsyncExecutorHolder {
+        static final ExecutorService EXECUTOR = newAsyncExecutor();
+    }
+
     /**
      * <pre>
      * config = {
@@ -66,6 +83,50 @@ public class ExchangeFunDef {
         throw RX.throwB(response.getStatusCode() + "");
     }
 
+    /**
+     * 在后台线程中执行请求，立即返回
+     * <p>超时（config.timeout，默认 {@link #DEFAULT_TIMEOUT_MILLIS} 毫秒）后HttpPromise以异常结束，
+     * 后台线程上的请求仍由RestTemplate自身的连接、读取超时结束。
+     */
+    public static HttpPromise executeAsync(RestOperations restTemplate, Map<String, Object> config, HttpMethod httpMethod) {
+        Assert.notNull(restTemplate, "需要定义restTemplate才能使用该函数！");
+        Assert.notNull(config, "config不能为空");
+        long timeout = toTimeout(config.get("timeout"));
+        CompletableFuture<Object> future = CompletableFuture
+                .supplyAsync(() -> execute(restTemplate, config, httpMethod), AsyncExecutorHolder.EXECUTOR)
+                .orTimeout(timeout, TimeUnit.MILLISECONDS);
+        return new HttpPromise(future);
+    }
+
+    private static long toTimeout(Object timeout) {
+        if (timeout == null) {
+            return DEFAULT_TIMEOUT_MILLIS;
+        }
+        long t = timeout instanceof Number ? ((Number) timeout).longValue() : Long.parseLong(timeout.toString());
+        if (t <= 0) {
+            throw RX.throwB("timeout必须大于0：" + timeout);
+        }
+        return t;
+    }
+
+    private static ExecutorService newAsyncExecutor() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // JDK 21 以下
+        }
+        AtomicInteger idx = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_ASYNC_THREADS, MAX_ASYNC_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "foggy-fsscript-http-" + idx.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     private static UriComponentsBuilder genUriComponentsBuilder(String url, Map<String, ?> params) {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
         if (params != null) {
@@ -0,0 +1,34 @@
+package com.foggyframework.fsscript.spring.cloud;
+
+import com.foggyframework.fsscript.parser.FunDef;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * get 的异步版本，立即返回 {@link HttpPromise}，参数与 get 相同，另外支持 timeout（毫秒）
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public class GetAsyncFunDef implements FunDef {
+
+    @Autowired(required = false)
+    RestTemplate restTemplate;
+
+    @Override
+    public Object execute(ExpEvaluator ee, Exp[] args) {
+        Map<String, Object> config = (Map<String, Object>) args[0].evalResult(ee);
+        return ExchangeFunDef.executeAsync(restTemplate, config, HttpMethod.GET);
+    }
+
+    @Override
+    public String getName() {
+        return "getAsync";
+    }
+
+}
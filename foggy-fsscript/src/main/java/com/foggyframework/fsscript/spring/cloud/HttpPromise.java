@@ -0,0 +1,153 @@
+package com.foggyframework.fsscript.spring.cloud;
+
+import com.foggyframework.core.ex.RX;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 异步HTTP调用的结果，由 getAsync/postAsync 返回
+ * <p>脚本中可以调用 get() 等待结果，用 then(fn) 对结果做转换，或交给 all(...)/any(...) 合并：
+ * <pre>
+ * let a = getAsync({service: 'user-service', apiPath: '/users/1'});
+ * let b = getAsync({service: 'order-service', apiPath: '/orders', params: {userId: 1}, timeout: 3000});
+ * let results = all(a, b);  // [user, orders]
+ * </pre>
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+public class HttpPromise {
+
+    private final CompletableFuture<Object> future;
+
+    public HttpPromise(CompletableFuture<Object> future) {
+        this.future = future;
+    }
+
+    public CompletableFuture<Object> getFuture() {
+        return future;
+    }
+
+    /**
+     * 等待并返回结果，请求失败或超时时抛出异常
+     */
+    public Object get() {
+        return join(future);
+    }
+
+    /**
+     * 结果到达后用fn转换，返回新的HttpPromise
+     */
+    public HttpPromise then(Function<Object[], Object> fn) {
+        return new HttpPromise(future.thenApply(v -> fn.apply(new Object[]{v})));
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    @Override
+    public String toString() {
+        return "HttpPromise[" + (future.isDone() ? "done" : "pending") + "]";
+    }
+
+    /**
+     * 等待全部结果，按参数顺序返回；任意一个失败时立即抛出该异常
+     *
+     * @param items HttpPromise、CompletableFuture 或普通值，普通值原样返回
+     */
+    public static List<Object> all(List<?> items) {
+        CompletableFuture<?>[] futures = toFutures(items);
+        CompletableFuture<Object> failed = new CompletableFuture<>();
+        for (CompletableFuture<?> f : futures) {
+            f.whenComplete((v, e) -> {
+                if (e != null) {
+                    failed.completeExceptionally(e);
+                }
+            });
+        }
+        join(CompletableFuture.anyOf(CompletableFuture.allOf(futures), failed));
+        if (failed.isCompletedExceptionally()) {
+            join(failed);
+        }
+        List<Object> result = new ArrayList<>(futures.length);
+        for (CompletableFuture<?> f : futures) {
+            result.add(f.join());
+        }
+        return result;
+    }
+
+    /**
+     * 返回最先成功的结果；全部失败时抛出最后一个异常
+     *
+     * @param items HttpPromise、CompletableFuture 或普通值，普通值视为已成功
+     */
+    public static Object any(List<?> items) {
+        CompletableFuture<?>[] futures = toFutures(items);
+        if (futures.length == 0) {
+            throw RX.throwB("any至少需要一个参数");
+        }
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(futures.length);
+        for (CompletableFuture<?> f : futures) {
+            f.whenComplete((v, e) -> {
+                if (e == null) {
+                    first.complete(v);
+                } else if (remaining.decrementAndGet() == 0) {
+                    first.completeExceptionally(e);
+                }
+            });
+        }
+        return join(first);
+    }
+
+    private static CompletableFuture<?>[] toFutures(List<?> items) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[items.size()];
+        for (int i = 0; i < futures.length; i++) {
+            Object item = items.get(i);
+            if (item instanceof HttpPromise) {
+                futures[i] = ((HttpPromise) item).future;
+            } else if (item instanceof CompletableFuture) {
+                futures[i] = (CompletableFuture<?>) item;
+            } else {
+                futures[i] = CompletableFuture.completedFuture(item);
+            }
+        }
+        return futures;
+    }
+
+    static Object join(CompletableFuture<?> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            throw propagate(e);
+        }
+    }
+
+    /**
+     * 运行时异常原样抛出，超时与受检异常包装为业务异常
+     */
+    static RuntimeException propagate(Throwable t) {
+        while ((t instanceof ExecutionException || t instanceof CompletionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        if (t instanceof TimeoutException) {
+            return RX.throwB("HTTP请求超时", null, t);
+        }
+        if (t instanceof RuntimeException re) {
+            return re;
+        }
+        if (t instanceof Error err) {
+            throw err;
+        }
+        return RX.throwB(t);
+    }
+}
@@ -4,18 +4,28 @@ import com.foggyframework.core.utils.ErrorUtils;
 import com.foggyframework.fsscript.DefaultExpEvaluator;
 import com.foggyframework.fsscript.exp.ImportFsscriptExp;
 import com.foggyframework.fsscript.exp.NCountExp;
+import com.foggyframework.fsscript.loadder.FsscriptImportResolver;
 import com.foggyframework.fsscript.parser.spi.Exp;
 import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
 import com.foggyframework.fsscript.parser.spi.Fsscript;
 import com.foggyframework.fsscript.parser.spi.FsscriptClosureDefinition;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 public class FsscriptImpl implements Fsscript {
     FsscriptClosureDefinition fsscriptClosureDefinition;
 
     Exp exp;
 
+    /**
+     * 导入的脚本是否已预先加载，见FsscriptImportResolver
+     */
+    private volatile boolean importsResolved;
+
     public FsscriptClosureDefinition getFsscriptClosureDefinition() {
         return fsscriptClosureDefinition;
     }
@@ -47,6 +57,31 @@ public class FsscriptImpl implements Fsscript {
         return false;
     }
 
+    /**
+     * 顶层import语句导入的文件，顺序与书写顺序一致
+     */
+    public List<String> getImportFiles() {
+        List<String> files = new ArrayList<>();
+        if (exp instanceof ImportFsscriptExp) {
+            files.add(((ImportFsscriptExp) exp).getFile());
+        } else if (exp instanceof NCountExp) {
+            for (Exp exp1 : ((NCountExp) exp).value) {
+                if (exp1 instanceof ImportFsscriptExp) {
+                    files.add(((ImportFsscriptExp) exp1).getFile());
+                }
+            }
+        }
+        return files;
+    }
+
+    public boolean isImportsResolved() {
+        return importsResolved;
+    }
+
+    public void markImportsResolved() {
+        importsResolved = true;
+    }
+
     public FsscriptImpl(FsscriptClosureDefinition fsscriptClosureDefinition, Exp exp) {
         this.fsscriptClosureDefinition = fsscriptClosureDefinition;
         this.exp = exp;
@@ -55,6 +90,9 @@ public class FsscriptImpl implements Fsscript {
     @Override
     public Object eval(ExpEvaluator ee) {
         try {
+            if (!importsResolved) {
+                FsscriptImportResolver.resolve(ee, this);
+            }
             return exp.evalValue(ee);
         }catch (Throwable t){
             log.error("执行fsscript异常: "+fsscriptClosureDefinition);
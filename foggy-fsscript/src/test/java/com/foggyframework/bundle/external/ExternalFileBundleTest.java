@@ -261,4 +261,30 @@ public class ExternalFileBundleTest {
 
         Assertions.assertEquals(0, resources.length);
     }
+
+    @Test
+    public void testIndexDetectsAddedAndDeletedFiles() throws IOException {
+        Assertions.assertNull(bundle.findBundleResource("added.fsscript", false));
+
+        Path added = tempDir.resolve("model").resolve("added.fsscript");
+        Files.createDirectories(added.getParent());
+        Files.write(added, "export var a = 1;".getBytes());
+
+        BundleResource resource = bundle.findBundleResource("added.fsscript", false);
+        Assertions.assertNotNull(resource);
+        Assertions.assertEquals(1, bundle.findResources("**/model/added.fsscript").length);
+        Assertions.assertEquals(0, bundle.findResources("**/query/added.fsscript").length);
+        Assertions.assertEquals(4, bundle.findResources("**/*.fsscript").length);
+
+        Files.delete(added);
+        Assertions.assertNull(bundle.findBundleResource("added.fsscript", false));
+    }
+
+    @Test
+    public void testSetBasePathResetsIndex() {
+        Assertions.assertNotNull(bundle.findBundleResource("utils.fsscript", false));
+
+        bundle.setBasePath("/non/existent/path");
+        Assertions.assertNull(bundle.findBundleResource("utils.fsscript", false));
+    }
 }
@@ -0,0 +1,93 @@
+package com.foggyframework.fsscript.closure;
+
+import com.foggyframework.fsscript.DefaultExpEvaluator;
+import com.foggyframework.fsscript.exp.IdExp;
+import com.foggyframework.fsscript.parser.ExpParser;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import com.foggyframework.fsscript.parser.spi.FsscriptClosure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Stack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 变量槽位查找测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("变量槽位查找测试")
+class VarSlotTableTest {
+
+    @Test
+    @DisplayName("同一个IdExp在不同闭包中按槽位取到各自的值，内层变量遮蔽外层")
+    void testShadowAndRecursion() {
+        String expStr = "var x = 1; "
+                + "function inner(x){ return x; }; "
+                + "function outer(){ var r = inner(2) + x; var x2 = x; return r + x2; }; "
+                + "function fib(n){ if(n < 2){ return n; } return fib(n - 1) + fib(n - 2); }; "
+                + "export var a = outer(); export var b = fib(10); export var c = x;";
+        Exp exp = new ExpParser().compileEl(expStr);
+
+        for (int i = 0; i < 3; i++) {
+            ExpEvaluator ee = DefaultExpEvaluator.newInstance();
+            exp.evalValue(ee);
+            Map<String, Object> mm = ee.getExportMap();
+            assertEquals(4, ((Number) mm.get("a")).intValue());
+            assertEquals(55, ((Number) mm.get("b")).intValue());
+            assertEquals(1, ((Number) mm.get("c")).intValue());
+        }
+    }
+
+    @Test
+    @DisplayName("槽位用尽后变量退回HashMap，按名称与按IdExp查找结果一致")
+    void testOverflow() {
+        SimpleFsscriptClosureDefinition definition = new SimpleFsscriptClosureDefinition(SimpleFsscriptClosureDefinitionSpace.SIMPL_FSCRIPT_CLOSURE_DEFINITION_SPACE);
+        DefaultExpEvaluator ee = DefaultExpEvaluator.newInstance(null, definition.newFoggyClosure());
+        int count = VarSlotTable.MAX_SLOTS + 10;
+        for (int i = 0; i < count; i++) {
+            ee.setVar("v" + i, i);
+        }
+        assertTrue(definition.getVarSlotTable().isFull());
+        assertEquals(-1, definition.getVarSlotTable().slotOf("v" + (count - 1)));
+
+        for (int i = 0; i < count; i++) {
+            IdExp id = new IdExp("v" + i);
+            assertEquals(i, ee.getVar("v" + i));
+            assertEquals(i, id.evalValue(ee));
+            assertEquals(i, id.evalValue(ee));
+        }
+        assertNull(new IdExp("missing").evalValue(ee));
+    }
+
+    @Test
+    @DisplayName("未绑定的变量不缓存槽位，之后绑定可以取到")
+    void testBindLater() {
+        DefaultExpEvaluator ee = DefaultExpEvaluator.newInstance();
+        IdExp id = new IdExp("slotBindLater");
+        assertNull(id.evalValue(ee));
+
+        ee.pushNewFoggyClosure();
+        ee.setVar("slotBindLater", "v1");
+        assertEquals("v1", id.evalValue(ee));
+
+        ee.popFsscriptClosure();
+        assertNull(id.evalValue(ee));
+    }
+
+    @Test
+    @DisplayName("外部替换为普通Stack时按名称查找")
+    void testPlainStack() {
+        DefaultExpEvaluator ee = DefaultExpEvaluator.newInstance();
+        ee.setVar("plain", "p");
+        Stack<FsscriptClosure> stack = new Stack<>();
+        stack.addAll(ee.getStack());
+        ee.setStack(stack);
+
+        assertEquals("p", new IdExp("plain").evalValue(ee));
+    }
+}
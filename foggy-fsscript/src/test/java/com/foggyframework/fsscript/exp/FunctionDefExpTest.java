@@ -0,0 +1,119 @@
+package com.foggyframework.fsscript.exp;
+
+import com.foggyframework.fsscript.DefaultExpEvaluator;
+import com.foggyframework.fsscript.parser.ExpParser;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 脚本函数重复调用（复用执行环境与闭包）测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("脚本函数重复调用测试")
+class FunctionDefExpTest {
+
+    private static ExpEvaluator eval(String script) {
+        Exp exp = new ExpParser().compileEl(script);
+        ExpEvaluator ee = DefaultExpEvaluator.newInstance();
+        exp.evalValue(ee);
+        return ee;
+    }
+
+    @Test
+    @DisplayName("上一次调用定义的局部变量不影响下一次调用")
+    void testNoLeakBetweenCalls() {
+        // a为真时在声明局部变量x之前返回，取到的是外层的x
+        ExpEvaluator ee = eval("var x = 5; export function f(a){ if (a) { return x; } var x = 1; return x; };");
+        FsscriptFunction f = ee.getExportObject("f");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, ((Number) f.apply(new Object[]{false})).intValue());
+            assertEquals(5, ((Number) f.apply(new Object[]{true})).intValue());
+            assertEquals(1, ((Number) f.threadSafeAccept(null)).intValue());
+            assertEquals(5, ((Number) f.threadSafeAccept(true)).intValue());
+        }
+    }
+
+    @Test
+    @DisplayName("函数返回的闭包在之后的调用中保持各自的变量")
+    void testCapturedClosure() {
+        ExpEvaluator ee = eval("export function mk(n){ return function(){ return n; }; };"
+                + "export function fib(n){ if (n < 2) { return n; } return fib(n - 1) + fib(n - 2); };");
+        FsscriptFunction mk = ee.getExportObject("mk");
+        List<FsscriptFunction> fns = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            fns.add((FsscriptFunction) mk.apply(new Object[]{i}));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, ((Number) fns.get(i).apply(new Object[0])).intValue());
+        }
+
+        FsscriptFunction fib = ee.getExportObject("fib");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(55, ((Number) fib.apply(new Object[]{10})).intValue());
+        }
+    }
+
+    @Test
+    @DisplayName("多个线程同时回调同一个函数")
+    void testConcurrentCallback() throws Exception {
+        ExpEvaluator ee = eval("let base = 1000; export function f(a){ var r = a * 2; return r + base; };");
+        FsscriptFunction f = ee.getExportObject("f");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 10000;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        int a = offset + i;
+                        assertEquals(a * 2 + 1000, ((Number) f.threadSafeAccept(a)).intValue());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("重复回调时复用执行环境，单次调用分配的内存很少")
+    void testLowAllocation() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        ExpEvaluator ee = eval("export function f(a, b){ return a; };");
+        FsscriptFunction f = ee.getExportObject("f");
+        Object[] args = {"x", "y"};
+        for (int i = 0; i < 20000; i++) {
+            f.apply(args);
+        }
+        long tid = Thread.currentThread().getId();
+        int n = 10000;
+        long before = bean.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < n; i++) {
+            f.apply(args);
+        }
+        long perCall = (bean.getThreadAllocatedBytes(tid) - before) / n;
+        // 原先每次调用需要新建执行环境、Stack、闭包与HashMap，约数百字节
+        assertTrue(perCall < 64, "每次调用分配了 " + perCall + " 字节");
+    }
+}
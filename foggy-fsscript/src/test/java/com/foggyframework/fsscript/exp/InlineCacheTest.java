@@ -0,0 +1,120 @@
+package com.foggyframework.fsscript.exp;
+
+import com.foggyframework.fsscript.DefaultExpEvaluator;
+import com.foggyframework.fsscript.parser.ExpParser;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import lombok.Data;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 属性访问、方法调用内联缓存测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("内联缓存测试")
+class InlineCacheTest {
+
+    @Data
+    public static class A {
+        String name = "a";
+    }
+
+    @Data
+    public static class B {
+        String name = "b";
+    }
+
+    @Data
+    public static class C {
+        String name = "c";
+    }
+
+    @Data
+    public static class D {
+        String name = "d";
+    }
+
+    @Data
+    public static class E {
+        String name = "e";
+    }
+
+    public static class Overload {
+        public String f(Integer i) {
+            return "int" + i;
+        }
+
+        public String f(String s) {
+            return "str" + s;
+        }
+    }
+
+    @Test
+    @DisplayName("超过缓存容量的多种接收者类型都能正确读写属性")
+    void testPolymorphicProperty() {
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(new A());
+            rows.add(new B());
+            rows.add(new C());
+            rows.add(new D());
+            rows.add(new E());
+            Map<String, Object> map = new HashMap<>();
+            map.put("name", "m");
+            rows.add(map);
+        }
+        Exp exp = new ExpParser().compileEl("let s = ''; for (let i = 0; i < rows.length; i++) { let r = rows[i]; s = s + r.name; r.name = 'x'; } s;");
+        ExpEvaluator ee = DefaultExpEvaluator.newInstance();
+        ee.setVar("rows", rows);
+        assertEquals("abcdemabcdemabcdem", exp.evalResult(ee));
+        assertEquals("x", ((A) rows.get(0)).getName());
+        assertEquals("x", ((E) rows.get(4)).getName());
+        assertEquals("x", ((Map<?, ?>) rows.get(5)).get("name"));
+        assertEquals("xxxxxxxxxxxxxxxxxx", exp.evalResult(ee));
+    }
+
+    @Test
+    @DisplayName("同一个调用点按参数类型选择重载方法")
+    void testOverloadByArgType() {
+        Exp exp = new ExpParser().compileEl("o.f(v)");
+        Overload o = new Overload();
+        Object[] values = {1, "s", 2, null, "t"};
+        String[] expected = {"int1", "strs", "int2", null, "strt"};
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < values.length; i++) {
+                ExpEvaluator ee = DefaultExpEvaluator.newInstance();
+                ee.setVar("o", o);
+                ee.setVar("v", values[i]);
+                Object r = exp.evalResult(ee);
+                if (expected[i] != null) {
+                    assertEquals(expected[i], r);
+                } else {
+                    assertTrue("intnull".equals(r) || "strnull".equals(r));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("缓存最多记住固定数量的类型")
+    void testBounded() {
+        InlineCache<String> cache = new InlineCache<>();
+        Class<?>[] classes = {A.class, B.class, C.class, D.class, E.class};
+        for (Class<?> cls : classes) {
+            cache.put(cls, cls.getSimpleName());
+        }
+        assertEquals(InlineCache.MAX_ENTRIES, cache.size());
+        assertEquals("A", cache.get(A.class));
+        assertNull(cache.get(E.class));
+    }
+}
@@ -0,0 +1,87 @@
+package com.foggyframework.fsscript.exp;
+
+import com.foggyframework.fsscript.DefaultExpEvaluator;
+import com.foggyframework.fsscript.parser.ExpParser;
+import com.foggyframework.fsscript.parser.FunDef;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 函数调用点链接测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("函数调用点链接测试")
+class UnresolvedFunCallTest {
+
+    static class Named implements FunDef {
+        final String result;
+
+        Named(String result) {
+            this.result = result;
+        }
+
+        @Override
+        public Object execute(ExpEvaluator ee, Exp[] args) {
+            return result + args.length;
+        }
+
+        @Override
+        public String getName() {
+            return "linkTest";
+        }
+    }
+
+    @Test
+    @DisplayName("函数表变化后调用点重新查找FunDef")
+    void testRelinkAfterFunTableChange() {
+        DefaultExpFactory factory = new DefaultExpFactory();
+        FunTable funTable = (FunTable) factory.getFunctionSet();
+        funTable.append(new Named("a"));
+
+        Exp exp = new ExpParser(factory).compileEl("linkTest(1, 2)");
+        ExpEvaluator ee = DefaultExpEvaluator.newInstance();
+        assertEquals("a2", exp.evalResult(ee));
+        assertEquals("a2", exp.evalResult(ee));
+
+        int version = funTable.getVersion();
+        funTable.append(new Named("b"));
+        assertTrue(funTable.getVersion() > version);
+        assertEquals("b2", exp.evalResult(ee));
+    }
+
+    @Test
+    @DisplayName("同名脚本函数优先于函数表")
+    void testScriptFunctionFirst() {
+        DefaultExpFactory factory = new DefaultExpFactory();
+        factory.getFunctionSet().append(new Named("a"));
+
+        Exp exp = new ExpParser(factory).compileEl("linkTest(1)");
+        DefaultExpEvaluator ee = DefaultExpEvaluator.newInstance();
+        assertEquals("a1", exp.evalResult(ee));
+
+        ee.pushNewFoggyClosure();
+        ee.setVar("linkTest", (Function<Object[], Object>) args -> "script" + args.length);
+        assertEquals("script1", exp.evalResult(ee));
+
+        ee.popFsscriptClosure();
+        assertEquals("a1", exp.evalResult(ee));
+    }
+
+    @Test
+    @DisplayName("运算符在循环中多次调用结果正确")
+    void testOperatorsInLoop() {
+        Exp exp = new ExpParser().compileEl("var s = 0; for (var i = 0; i < 100; i++) { s = s + i * 2 - 1; } s;");
+        for (int i = 0; i < 3; i++) {
+            Object r = exp.evalResult(DefaultExpEvaluator.newInstance());
+            assertEquals(9800, ((Number) r).intValue());
+        }
+    }
+}
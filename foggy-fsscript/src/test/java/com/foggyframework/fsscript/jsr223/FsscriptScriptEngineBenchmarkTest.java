@@ -0,0 +1,85 @@
+package com.foggyframework.fsscript.jsr223;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+/**
+ * ScriptEngine 吞吐量对比：不缓存的 eval、缓存的 eval、预编译后执行
+ * <p>按 JMH 的方式先预热再分轮测量，输出每轮的 ops/ms。默认不执行，使用以下命令运行：
+ * <pre>
+ * mvn test -pl foggy-fsscript -Dtest=FsscriptScriptEngineBenchmarkTest -Dfoggy.benchmark=true
+ * </pre>
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@Slf4j
+@DisplayName("ScriptEngine 吞吐量对比")
+@EnabledIfSystemProperty(named = "foggy.benchmark", matches = "true")
+class FsscriptScriptEngineBenchmarkTest {
+
+    private static final String SCRIPT = "let discount = level > 3 ? 0.8 : 1; "
+            + "let total = price * qty * discount; "
+            + "export let result = total > 1000 ? `big:${total}` : `small:${total}`;";
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_MILLIS = 1000;
+
+    interface Op {
+        void run(Bindings bindings) throws ScriptException;
+    }
+
+    @Test
+    @DisplayName("eval与预编译的吞吐量")
+    void benchmark() throws ScriptException {
+        FsscriptEngineFactory factory = new FsscriptEngineFactory();
+        FsscriptScriptEngine uncached = new FsscriptScriptEngine(factory, null, 0);
+        FsscriptScriptEngine cached = (FsscriptScriptEngine) factory.getScriptEngine();
+        CompiledScript compiled = cached.compile(SCRIPT);
+
+        run("eval(不缓存)", b -> uncached.eval(SCRIPT, b));
+        run("eval(缓存)", b -> cached.eval(SCRIPT, b));
+        run("compiled.eval", compiled::eval);
+    }
+
+    private void run(String name, Op op) throws ScriptException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(op);
+        }
+        double sum = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            double opsPerMs = iteration(op);
+            sum += opsPerMs;
+            log.info("{} 第{}轮: {} ops/ms", name, i + 1, String.format("%.2f", opsPerMs));
+        }
+        log.info("{} 平均: {} ops/ms", name, String.format("%.2f", sum / MEASURE_ITERATIONS));
+    }
+
+    private double iteration(Op op) throws ScriptException {
+        long ops = 0;
+        long start = System.nanoTime();
+        long end = start + ITERATION_MILLIS * 1_000_000L;
+        long now;
+        do {
+            Bindings bindings = new SimpleBindings();
+            bindings.put("level", (int) (ops & 7));
+            bindings.put("price", 100);
+            bindings.put("qty", (int) (ops % 20));
+            op.run(bindings);
+            if (bindings.get("result") == null) {
+                throw new IllegalStateException("no result");
+            }
+            ops++;
+            now = System.nanoTime();
+        } while (now < end);
+        return ops / ((now - start) / 1_000_000.0);
+    }
+}
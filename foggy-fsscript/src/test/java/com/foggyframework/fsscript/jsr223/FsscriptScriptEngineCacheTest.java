@@ -0,0 +1,105 @@
+package com.foggyframework.fsscript.jsr223;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ScriptEngine 编译缓存测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("ScriptEngine 编译缓存测试")
+class FsscriptScriptEngineCacheTest {
+
+    private final FsscriptEngineFactory factory = new FsscriptEngineFactory();
+
+    @Test
+    @DisplayName("同一段脚本只编译一次，每次执行使用各自的变量")
+    void testEvalHitsCache() throws ScriptException {
+        FsscriptScriptEngine engine = (FsscriptScriptEngine) factory.getScriptEngine();
+        String script = "export let sum = a + b; sum * 2;";
+        for (int i = 0; i < 10; i++) {
+            Bindings bindings = new SimpleBindings();
+            bindings.put("a", i);
+            bindings.put("b", 1);
+            assertEquals((i + 1) * 2, ((Number) engine.eval(script, bindings)).intValue());
+            assertEquals(i + 1, ((Number) bindings.get("sum")).intValue());
+        }
+        assertEquals(1, engine.getCompiledCacheMisses());
+        assertEquals(9, engine.getCompiledCacheHits());
+        assertEquals(1, engine.getCompiledCacheSize());
+
+        assertSame(engine.compile(script), engine.compile(script));
+    }
+
+    @Test
+    @DisplayName("超过容量后淘汰最久未使用的脚本")
+    void testBounded() throws ScriptException {
+        FsscriptScriptEngine engine = new FsscriptScriptEngine(factory, null, 2);
+        CompiledScript s1 = engine.compile("1 + 1;");
+        engine.compile("2 + 2;");
+        engine.compile("1 + 1;");
+        engine.compile("3 + 3;");
+        assertEquals(2, engine.getCompiledCacheSize());
+
+        assertSame(s1, engine.compile("1 + 1;"));
+        assertNotSame(engine.compile("2 + 2;"), engine.compile("4 + 4;"));
+
+        engine.clearCompiledCache();
+        assertEquals(0, engine.getCompiledCacheSize());
+    }
+
+    @Test
+    @DisplayName("容量为0时不缓存，空脚本eval返回null")
+    void testDisabled() throws ScriptException {
+        FsscriptScriptEngine engine = new FsscriptScriptEngine(factory, null, 0);
+        assertNotSame(engine.compile("1 + 1;"), engine.compile("1 + 1;"));
+        assertEquals(0, engine.getCompiledCacheSize());
+        assertNull(engine.eval(""));
+    }
+
+    @Test
+    @DisplayName("同一个编译结果在多个线程中并发执行")
+    void testConcurrentEval() throws Exception {
+        FsscriptScriptEngine engine = (FsscriptScriptEngine) factory.getScriptEngine();
+        CompiledScript compiled = engine.compile(
+                "function f(n){ var s = 0; for (var i = 0; i < n; i++) { s = s + i; } return s; }; "
+                        + "export let r = f(n) + base;");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int base = t * 1000;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        Bindings bindings = new SimpleBindings();
+                        bindings.put("n", i);
+                        bindings.put("base", base);
+                        compiled.eval(bindings);
+                        assertEquals(i * (i - 1) / 2 + base, ((Number) bindings.get("r")).intValue());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
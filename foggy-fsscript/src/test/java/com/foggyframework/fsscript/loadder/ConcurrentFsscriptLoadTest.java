@@ -0,0 +1,65 @@
+package com.foggyframework.fsscript.loadder;
+
+import com.foggyframework.fsscript.FoggyFrameworkFsscriptTestApplication;
+import com.foggyframework.fsscript.closure.file.ResourceFsscriptClosureDefinitionSpace;
+import com.foggyframework.fsscript.parser.spi.Fsscript;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 脚本并发加载测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@SpringBootTest(classes = FoggyFrameworkFsscriptTestApplication.class)
+@DisplayName("脚本并发加载测试")
+class ConcurrentFsscriptLoadTest {
+
+    @Test
+    @DisplayName("多线程加载同一批文件，每个文件只编译一次")
+    void testConcurrentLoad() throws Exception {
+        AbstractFileFsscriptLoader loader = FileFsscriptLoader.getInstance();
+        RootFsscriptLoader root = (RootFsscriptLoader) loader.parentLoader;
+        String[] files = {"for_test.fsscript", "for_test2.fsscript", "map_test.fsscript", "switch.fsscript"};
+        for (int i = 0; i < files.length; i++) {
+            files[i] = "classpath:/com/foggyframework/fsscript/exp/" + files[i];
+            root.removePath(ResourceFsscriptClosureDefinitionSpace.getResourcePath(loader.getAppCtx().getResource(files[i])));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Fsscript[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(pool.submit(() -> {
+                    Fsscript[] loaded = new Fsscript[files.length];
+                    for (int i = 0; i < files.length; i++) {
+                        int idx = (i + offset) % files.length;
+                        loaded[idx] = loader.findLoadFsscript(files[idx]);
+                    }
+                    return loaded;
+                }));
+            }
+            Fsscript[] first = futures.get(0).get();
+            for (Future<Fsscript[]> future : futures) {
+                Fsscript[] loaded = future.get();
+                for (int i = 0; i < files.length; i++) {
+                    assertNotNull(loaded[i]);
+                    assertSame(first[i], loaded[i]);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
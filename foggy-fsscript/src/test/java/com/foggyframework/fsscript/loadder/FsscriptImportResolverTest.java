@@ -0,0 +1,96 @@
+package com.foggyframework.fsscript.loadder;
+
+import com.foggyframework.fsscript.FoggyFrameworkFsscriptTestApplication;
+import com.foggyframework.fsscript.closure.file.ResourceFsscriptClosureDefinitionSpace;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import com.foggyframework.fsscript.parser.spi.Fsscript;
+import com.foggyframework.fsscript.support.FsscriptImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 导入依赖图解析测试
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@SpringBootTest(classes = FoggyFrameworkFsscriptTestApplication.class)
+@DisplayName("导入依赖图解析测试")
+class FsscriptImportResolverTest {
+
+    private static final String DIR = "classpath:/com/foggyframework/fsscript/loadder/import_graph/";
+
+    private static String path(AbstractFileFsscriptLoader loader, String file) {
+        return ResourceFsscriptClosureDefinitionSpace.getResourcePath(loader.getAppCtx().getResource(DIR + file));
+    }
+
+    private static FsscriptImpl reload(String... files) {
+        AbstractFileFsscriptLoader loader = FileFsscriptLoader.getInstance();
+        RootFsscriptLoader root = (RootFsscriptLoader) loader.parentLoader;
+        for (String file : files) {
+            root.removePath(path(loader, file));
+        }
+        return (FsscriptImpl) loader.findLoadFsscript(DIR + files[0]);
+    }
+
+    @Test
+    @DisplayName("执行前加载全部导入，共同依赖只执行一次")
+    void testResolveAndEval() {
+        AbstractFileFsscriptLoader loader = FileFsscriptLoader.getInstance();
+        RootFsscriptLoader root = (RootFsscriptLoader) loader.parentLoader;
+        FsscriptImpl fsscript = reload("root.fsscript", "a.fsscript", "b.fsscript", "shared.fsscript");
+        assertFalse(fsscript.isImportsResolved());
+
+        ExpEvaluator ee = fsscript.newInstance(loader.getAppCtx());
+        Map<String, List<String>> graph = FsscriptImportResolver.resolve(ee, fsscript);
+
+        assertEquals(4, graph.size());
+        assertEquals(Arrays.asList(path(loader, "a.fsscript"), path(loader, "b.fsscript"), path(loader, "shared.fsscript")),
+                graph.get(path(loader, "root.fsscript")));
+        assertEquals(Collections.singletonList(path(loader, "shared.fsscript")), graph.get(path(loader, "a.fsscript")));
+        for (String file : new String[]{"a.fsscript", "b.fsscript", "shared.fsscript"}) {
+            Fsscript dep = root.findLoadFsscript(path(loader, file));
+            assertNotNull(dep);
+            assertTrue(((FsscriptImpl) dep).isImportsResolved());
+        }
+
+        fsscript.eval(ee);
+        // a、b各调用一次shared中的inc，shared只执行了一次
+        assertEquals(13, ((Number) ee.getExportObject("result")).intValue());
+    }
+
+    @Test
+    @DisplayName("循环导入时抛出异常并给出循环路径")
+    void testCycle() {
+        FsscriptImpl fsscript = reload("cycle_a.fsscript", "cycle_b.fsscript");
+        ExpEvaluator ee = fsscript.newInstance(FileFsscriptLoader.getInstance().getAppCtx());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> fsscript.eval(ee));
+        assertTrue(e.getMessage().contains("循环导入"), e.getMessage());
+        assertTrue(e.getMessage().contains("cycle_b.fsscript"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("依赖图中的菱形依赖不是循环")
+    void testCheckCycle() {
+        Map<String, List<String>> graph = new LinkedHashMap<>();
+        graph.put("a", Arrays.asList("b", "c"));
+        graph.put("b", Collections.singletonList("d"));
+        graph.put("c", Collections.singletonList("d"));
+        graph.put("d", Collections.emptyList());
+        FsscriptImportResolver.checkCycle(graph);
+
+        graph.put("d", Collections.singletonList("b"));
+        RuntimeException e = assertThrows(RuntimeException.class, () -> FsscriptImportResolver.checkCycle(graph));
+        assertEquals("循环导入: b -> d -> b", e.getMessage());
+    }
+}
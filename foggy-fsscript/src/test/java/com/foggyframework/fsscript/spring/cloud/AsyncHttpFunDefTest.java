@@ -0,0 +1,147 @@
+package com.foggyframework.fsscript.spring.cloud;
+
+import com.foggyframework.fsscript.DefaultExpEvaluator;
+import com.foggyframework.fsscript.exp.DefaultExpFactory;
+import com.foggyframework.fsscript.parser.ExpParser;
+import com.foggyframework.fsscript.parser.spi.Exp;
+import com.foggyframework.fsscript.parser.spi.ExpEvaluator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步HTTP函数测试，使用本地的HTTP服务
+ *
+ * @author foggy
+ * @since 8.0.1-beta
+ */
+@DisplayName("异步HTTP函数测试")
+class AsyncHttpFunDefTest {
+
+    static HttpServer server;
+    static ExecutorService serverExecutor;
+    static String service;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // /slow?id=1&ms=300：等待ms毫秒后返回 {"id":"1"}；POST 时原样返回请求体
+        server.createContext("/slow", AsyncHttpFunDefTest::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        service = "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String id = "";
+        long ms = 0;
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String kv : query.split("&")) {
+                String[] p = kv.split("=");
+                if ("id".equals(p[0])) {
+                    id = p[1];
+                } else if ("ms".equals(p[0])) {
+                    ms = Long.parseLong(p[1]);
+                }
+            }
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "POST".equals(exchange.getRequestMethod())
+                ? exchange.getRequestBody().readAllBytes()
+                : ("{\"id\":\"" + id + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Object eval(String script) {
+        RestTemplate restTemplate = new RestTemplate();
+        GetAsyncFunDef getAsync = new GetAsyncFunDef();
+        getAsync.restTemplate = restTemplate;
+        PostAsyncFunDef postAsync = new PostAsyncFunDef();
+        postAsync.restTemplate = restTemplate;
+
+        DefaultExpFactory factory = new DefaultExpFactory();
+        factory.getFunctionSet().append(getAsync);
+        factory.getFunctionSet().append(postAsync);
+        factory.getFunctionSet().append(new AllFunDef());
+        factory.getFunctionSet().append(new AnyFunDef());
+
+        Exp exp = new ExpParser(factory).compileEl(script);
+        ExpEvaluator ee = DefaultExpEvaluator.newInstance();
+        ee.setVar("service", service);
+        return exp.evalResult(ee);
+    }
+
+    @Test
+    @DisplayName("多个请求并发执行，all按参数顺序返回结果")
+    void testAllRunsConcurrently() {
+        long start = System.currentTimeMillis();
+        Object r = eval("all(getAsync({service: service, apiPath: '/slow', params: {id: 1, ms: 400}}),"
+                + " getAsync({service: service, apiPath: '/slow', params: {id: 2, ms: 400}}),"
+                + " getAsync({service: service, apiPath: '/slow', params: {id: 3, ms: 400}}));");
+        long elapsed = System.currentTimeMillis() - start;
+
+        List<?> list = (List<?>) r;
+        assertEquals(3, list.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(String.valueOf(i + 1), ((Map<?, ?>) list.get(i)).get("id"));
+        }
+        assertTrue(elapsed < 1100, "三个请求耗时 " + elapsed + "ms，没有并发执行");
+    }
+
+    @Test
+    @DisplayName("any返回最先成功的结果，then转换结果，postAsync发送请求体")
+    void testAnyThenAndPost() {
+        Object r = eval("any(getAsync({service: service, apiPath: '/slow', params: {id: 'slow', ms: 1000}}),"
+                + " getAsync({service: service, apiPath: '/slow', params: {id: 'fast', ms: 10}}));");
+        assertEquals("fast", ((Map<?, ?>) r).get("id"));
+
+        r = eval("let p = getAsync({service: service, apiPath: '/slow', params: {id: 'x'}});"
+                + " function mark(v){ return v.id + '!'; }; let q = p.then(mark); q.get();");
+        assertEquals("x!", r);
+
+        r = eval("let p = postAsync({service: service, apiPath: '/slow', data: {name: 'n1'}}); p.get();");
+        assertEquals("n1", ((Map<?, ?>) r).get("name"));
+    }
+
+    @Test
+    @DisplayName("单个请求超时后all抛出异常")
+    void testTimeout() {
+        long start = System.currentTimeMillis();
+        RuntimeException e = assertThrows(RuntimeException.class, () -> eval(
+                "all(getAsync({service: service, apiPath: '/slow', params: {ms: 2000}, timeout: 200}),"
+                        + " getAsync({service: service, apiPath: '/slow', params: {ms: 10}}));"));
+        assertTrue(e.getMessage().contains("超时"), e.getMessage());
+        assertTrue(System.currentTimeMillis() - start < 1500);
+    }
+}